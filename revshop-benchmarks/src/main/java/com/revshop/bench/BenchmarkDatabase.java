@@ -0,0 +1,150 @@
+package com.revshop.bench;
+
+import com.revshop.config.DatabaseConfig;
+import com.revshop.config.MigrationRunner;
+import com.revshop.dao.ProductCatalogCache;
+import com.revshop.util.DataGenerator;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+
+// Embedded H2 database in MySQL mode, created and filled by DataGenerator once per trial.
+//
+// The application is pointed at it through system properties before DatabaseConfig is
+// first touched, so the DAOs run unchanged over the normal HikariCP pool. The schema
+// mirrors src/sql/schema.sql and the secondary indexes come from the application's
+// migrations. Data volume is set with JMH parameters, e.g. -p products=100000 -p buyers=5000.
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+    public static final String URL = "jdbc:h2:mem:revshop;MODE=MySQL;DATABASE_TO_LOWER=TRUE;" +
+            "DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE";
+    private static final String USERNAME = "sa";
+    private static final String PASSWORD = "";
+
+    // Stock is drawn up to this, so checkout benchmarks practically never run out
+    private static final int MAX_STOCK = 1_000_000_000;
+
+    @Param({"10000"})
+    public int products;
+
+    @Param({"1000"})
+    public int buyers;
+
+    @Param({"50"})
+    public int sellers;
+
+    @Param({"10"})
+    public int ordersPerBuyer;
+
+    @Param({"5"})
+    public int cartItemsPerBuyer;
+
+    @Param({"1.0"})
+    public double productSkew;
+
+    private DataGenerator.Dataset dataset;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        configureApplication();
+
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(URL);
+        dataSource.setUser(USERNAME);
+        dataSource.setPassword(PASSWORD);
+
+        try (Connection conn = dataSource.getConnection()) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("DROP ALL OBJECTS");
+            }
+            for (String sql : readScript("h2-schema.sql").split(";")) {
+                if (!sql.trim().isEmpty()) {
+                    try (Statement stmt = conn.createStatement()) {
+                        stmt.execute(sql);
+                    }
+                }
+            }
+            // Migrations first: the generator also fills tables they create
+            // (product_rating_stats); their backfills find nothing to copy yet
+            new MigrationRunner(dataSource).migrate();
+            dataset = new DataGenerator(new DataGenerator.Scale()
+                    .products(products)
+                    .buyers(buyers)
+                    .sellers(sellers)
+                    .ordersPerBuyer(ordersPerBuyer)
+                    .cartItemsPerBuyer(cartItemsPerBuyer)
+                    .productSkew(productSkew)
+                    .maxStock(MAX_STOCK)).generate(conn);
+        }
+
+        DatabaseConfig.getInstance();
+        ProductCatalogCache.getInstance().clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DatabaseConfig.shutdown();
+    }
+
+    // Point AppConfig at the embedded database and switch off background threads
+    private static void configureApplication() {
+        System.setProperty("db.url", URL);
+        System.setProperty("db.username", USERNAME);
+        System.setProperty("db.password", PASSWORD);
+        System.setProperty("db.migrate", "false");
+        System.setProperty("config.reloadIntervalSeconds", "0");
+        System.setProperty("metrics.pool.intervalSeconds", "0");
+        System.setProperty("metrics.jmx.enabled", "false");
+    }
+
+    public DataGenerator.Dataset getDataset() {
+        return dataset;
+    }
+
+    public int buyerId(int index) {
+        return dataset.buyerId(index);
+    }
+
+    // A product picked with the generated popularity skew
+    public int sampleProductId(Random random) {
+        return dataset.sampleProductId(random);
+    }
+
+    // A one-word search term that matches part of the catalog
+    public String searchTerm(int index) {
+        String[] adjectives = DataGenerator.ADJECTIVES;
+        String[] nouns = DataGenerator.NOUNS;
+        int i = Math.floorMod(index, adjectives.length + nouns.length);
+        return i < adjectives.length ? adjectives[i].toLowerCase() : nouns[i - adjectives.length].toLowerCase();
+    }
+
+    private static String readScript(String name) throws SQLException {
+        try (InputStream input = BenchmarkDatabase.class.getClassLoader().getResourceAsStream(name)) {
+            if (input == null) {
+                throw new SQLException("Script not found on classpath: " + name);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new SQLException("Error reading " + name, e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.revshop.bench;
+
+import com.revshop.dao.CartDAO;
+import com.revshop.model.CartItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Cart contents with their products, as shown on the cart and checkout screens
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CartBenchmark {
+    private CartDAO cartDAO;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        cartDAO = new CartDAO();
+    }
+
+    @Benchmark
+    public List<CartItem> getCartItems(BenchmarkDatabase database) {
+        return cartDAO.getCartItems(database.buyerId(next++));
+    }
+}
@@ -0,0 +1,83 @@
+package com.revshop.bench;
+
+import com.revshop.dao.CartDAO;
+import com.revshop.dao.OrderDAO;
+import com.revshop.model.CartItem;
+import com.revshop.model.CheckoutResult;
+import com.revshop.model.Order;
+import com.revshop.model.OrderItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// The checkout transaction: stock reservation, order insert and cart clear.
+//
+// checkout() follows BuyerService.checkout without the payment step. Each
+// thread checks out its own buyer so concurrent runs (-t N) do not clear each other's
+// carts; the cart is refilled before every invocation, outside the measured time.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CheckoutBenchmark {
+    private static final int CHECKOUT_ITEMS = 3;
+    private static final AtomicInteger threads = new AtomicInteger();
+
+    private CartDAO cartDAO;
+    private OrderDAO orderDAO;
+    private int checkoutBuyerId;
+    private Random random;
+
+    @Setup
+    public void setUp(BenchmarkDatabase database) {
+        cartDAO = new CartDAO();
+        orderDAO = new OrderDAO();
+        checkoutBuyerId = database.buyerId(threads.getAndIncrement());
+        random = new Random(checkoutBuyerId);
+    }
+
+    @Setup(Level.Invocation)
+    public void fillCart(BenchmarkDatabase database) {
+        List<CartItem> items = new ArrayList<>();
+        for (int i = 0; i < CHECKOUT_ITEMS; i++) {
+            items.add(new CartItem(checkoutBuyerId, database.sampleProductId(random), 1));
+        }
+        cartDAO.addAllToCart(items);
+    }
+
+    @Benchmark
+    public CheckoutResult checkout() {
+        List<CartItem> cartItems = cartDAO.getCartItems(checkoutBuyerId);
+
+        BigDecimal total = BigDecimal.ZERO;
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (CartItem cartItem : cartItems) {
+            BigDecimal price = cartItem.getProduct().getFinalPrice();
+            orderItems.add(new OrderItem(0, cartItem.getProductId(), cartItem.getQuantity(), price));
+            total = total.add(price.multiply(BigDecimal.valueOf(cartItem.getQuantity())));
+        }
+
+        Order order = new Order(checkoutBuyerId, total, "1 Bench St, City", "1 Bench St, City");
+        order.setPaymentMethod("Credit Card");
+        order.setPaymentStatus(Order.PaymentStatus.COMPLETED);
+        order.setOrderItems(orderItems);
+        return orderDAO.placeOrder(order);
+    }
+}
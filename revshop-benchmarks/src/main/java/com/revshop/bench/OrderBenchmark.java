@@ -0,0 +1,39 @@
+package com.revshop.bench;
+
+import com.revshop.dao.OrderDAO;
+import com.revshop.model.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Order history for a buyer, orders and items loaded together
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderBenchmark {
+    private OrderDAO orderDAO;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        orderDAO = new OrderDAO();
+    }
+
+    @Benchmark
+    public List<Order> getOrdersByBuyer(BenchmarkDatabase database) {
+        return orderDAO.getOrdersByBuyer(database.buyerId(next++));
+    }
+}
@@ -0,0 +1,65 @@
+package com.revshop.bench;
+
+import com.revshop.dao.ProductCatalogCache;
+import com.revshop.dao.ProductDAO;
+import com.revshop.model.Page;
+import com.revshop.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Catalog reads: search, the full listing (through and around the catalog cache) and
+// the first keyset page that replaced it in the browse screens.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductBenchmark {
+    private ProductDAO productDAO;
+    private int next;
+
+    // Takes the database so it is seeded before the index is built
+    @Setup
+    public void setUp(BenchmarkDatabase database) {
+        productDAO = new ProductDAO();
+        productDAO.buildSearchIndex();
+    }
+
+    @Benchmark
+    public List<Product> searchProducts(BenchmarkDatabase database) {
+        return productDAO.searchProducts(database.searchTerm(next++));
+    }
+
+    @Benchmark
+    public List<Product> searchProductsTwoWords(BenchmarkDatabase database) {
+        return productDAO.searchProducts(database.searchTerm(next++) + " " + database.searchTerm(next * 7));
+    }
+
+    @Benchmark
+    public List<Product> getAllProductsCached() {
+        return productDAO.getAllProducts();
+    }
+
+    @Benchmark
+    public List<Product> getAllProductsUncached() {
+        ProductCatalogCache.getInstance().clear();
+        return productDAO.getAllProducts();
+    }
+
+    @Benchmark
+    public Page<Product> getProductsFirstPage() {
+        return productDAO.getProductsPage(0, 20);
+    }
+}
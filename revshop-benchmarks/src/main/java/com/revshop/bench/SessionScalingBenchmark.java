@@ -0,0 +1,122 @@
+package com.revshop.bench;
+
+import com.revshop.dao.CartDAO;
+import com.revshop.dao.ProductDAO;
+import com.revshop.util.VirtualThreads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Sessions per JVM: how long it takes N concurrent sessions to each run a few browse
+// steps (a product lookup and a cart read, then a think-time pause), with one platform
+// thread per session as on Java 11 versus one virtual thread per session.
+//
+// Every session blocks on JDBC and sleeps most of the time, so the platform variant is
+// limited by thread stacks and scheduling long before the 20-connection pool is busy.
+// Raise -p sessions until the platform variant fails to start its threads (the JVM's
+// ceiling on this host) while the virtual one keeps going:
+//
+//   java -jar benchmarks.jar SessionScalingBenchmark -p sessions=1000,10000,50000
+//
+// Sessions per second is sessions / score. Both variants queue for connections behind
+// DatabaseConfig's permits; add -jvmArgsAppend -Dpool.permits.enabled=false to compare
+// without them.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SessionScalingBenchmark {
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"1000", "10000"})
+    public int sessions;
+
+    @Param({"5"})
+    public int steps;
+
+    @Param({"20"})
+    public int thinkTimeMs;
+
+    private ProductDAO productDAO;
+    private CartDAO cartDAO;
+    private BenchmarkDatabase database;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkDatabase database) {
+        this.database = database;
+        productDAO = new ProductDAO();
+        cartDAO = new CartDAO();
+    }
+
+    @Setup(Level.Iteration)
+    public void startExecutor() {
+        if ("virtual".equals(threads)) {
+            executor = VirtualThreads.newPerTaskExecutor("bench-session");
+        } else {
+            AtomicInteger count = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(sessions, r -> {
+                Thread thread = new Thread(r, "bench-session-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopExecutor() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    @Benchmark
+    public int runSessions() throws Exception {
+        List<Future<Integer>> running = new ArrayList<>(sessions);
+        for (int i = 0; i < sessions; i++) {
+            int session = i;
+            running.add(executor.submit(() -> runSession(session)));
+        }
+        int completedSteps = 0;
+        for (Future<Integer> future : running) {
+            completedSteps += future.get();
+        }
+        return completedSteps;
+    }
+
+    private int runSession(int session) throws InterruptedException {
+        Random random = new Random(session);
+        int buyerId = database.buyerId(session);
+        int completed = 0;
+        for (int step = 0; step < steps; step++) {
+            if (productDAO.getProductById(database.sampleProductId(random)) != null) {
+                cartDAO.getCartItems(buyerId);
+                completed++;
+            }
+            Thread.sleep(thinkTimeMs);
+        }
+        return completed;
+    }
+}
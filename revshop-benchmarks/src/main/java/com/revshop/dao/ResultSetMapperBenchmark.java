@@ -0,0 +1,125 @@
+package com.revshop.dao;
+
+import com.revshop.bench.BenchmarkDatabase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Row mapping cost of the DAO extract*FromResultSet helpers, isolated from query
+// execution: each result set is read once into memory (scrollable) and the benchmark
+// maps all of its rows. Lives in com.revshop.dao because the mappers are package-private.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultSetMapperBenchmark {
+
+    @Param({"100"})
+    public int rows;
+
+    private ProductDAO productDAO;
+    private OrderDAO orderDAO;
+    private CartDAO cartDAO;
+    private UserDAO userDAO;
+
+    private final List<Statement> statements = new ArrayList<>();
+    private Connection conn;
+    private ResultSet products;
+    private ResultSet orders;
+    private ResultSet orderItems;
+    private ResultSet cartItems;
+    private ResultSet users;
+
+    @Setup
+    public void setUp(BenchmarkDatabase database) throws SQLException {
+        productDAO = new ProductDAO();
+        orderDAO = new OrderDAO();
+        cartDAO = new CartDAO();
+        userDAO = new UserDAO();
+
+        conn = DriverManager.getConnection(BenchmarkDatabase.URL, "sa", "");
+        products = open("SELECT * FROM products ORDER BY product_id LIMIT " + rows);
+        orders = open("SELECT * FROM orders ORDER BY order_id LIMIT " + rows);
+        orderItems = open("SELECT oi.*, p.* FROM order_items oi JOIN products p ON oi.product_id = p.product_id " +
+                "ORDER BY oi.order_item_id LIMIT " + rows);
+        cartItems = open("SELECT c.*, p.* FROM cart c JOIN products p ON c.product_id = p.product_id " +
+                "ORDER BY c.cart_id LIMIT " + rows);
+        users = open("SELECT * FROM users ORDER BY user_id LIMIT " + rows);
+    }
+
+    private ResultSet open(String sql) throws SQLException {
+        Statement stmt = conn.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+        statements.add(stmt);
+        return stmt.executeQuery(sql);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        for (Statement stmt : statements) {
+            stmt.close();
+        }
+        conn.close();
+    }
+
+    @Benchmark
+    public void extractProduct(Blackhole bh) throws SQLException {
+        products.beforeFirst();
+        while (products.next()) {
+            bh.consume(productDAO.extractProductFromResultSet(products));
+        }
+    }
+
+    @Benchmark
+    public void extractOrder(Blackhole bh) throws SQLException {
+        orders.beforeFirst();
+        while (orders.next()) {
+            bh.consume(orderDAO.extractOrderFromResultSet(orders));
+        }
+    }
+
+    @Benchmark
+    public void extractOrderItem(Blackhole bh) throws SQLException {
+        orderItems.beforeFirst();
+        while (orderItems.next()) {
+            bh.consume(orderDAO.extractOrderItemFromResultSet(orderItems));
+        }
+    }
+
+    @Benchmark
+    public void extractCartItem(Blackhole bh) throws SQLException {
+        cartItems.beforeFirst();
+        while (cartItems.next()) {
+            bh.consume(cartDAO.extractCartItemFromResultSet(cartItems));
+            bh.consume(cartDAO.extractProductFromResultSet(cartItems));
+        }
+    }
+
+    @Benchmark
+    public void extractUser(Blackhole bh) throws SQLException {
+        users.beforeFirst();
+        while (users.next()) {
+            bh.consume(userDAO.extractUserFromResultSet(users));
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.revshop;
 
+import com.revshop.cart.CartStores;
 import com.revshop.config.LoggerConfig;
+import com.revshop.dao.ProductCatalogCache;
+import com.revshop.dao.ProductDAO;
 import com.revshop.menu.MainMenu;
+import com.revshop.metrics.QueryMetrics;
+import com.revshop.service.NotificationDispatcher;
 import com.revshop.util.DatabaseUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -40,6 +45,9 @@ public class MainApplication {
 
             // Start the application
             System.out.println(info("Initializing application..."));
+            new ProductDAO().buildSearchIndex();
+            NotificationDispatcher.getInstance().start();
+            CartStores.getDefault().start();
             MainMenu mainMenu = new MainMenu();
             mainMenu.start();
 
@@ -48,6 +56,11 @@ public class MainApplication {
             System.out.println(error("An error occurred: " + e.getMessage()));
             System.out.println(info("Check logs/revshop.log for details."));
         } finally {
+            CartStores.getDefault().stop();
+            NotificationDispatcher.getInstance().stop();
+            ProductCatalogCache.getInstance().logStats();
+            logger.info(DatabaseUtil.getConnectionPoolStatus());
+            QueryMetrics.getInstance().logReport(20);
             DatabaseUtil.closeConnection();
             System.out.println();
             System.out.println(info("Application terminated."));
@@ -0,0 +1,65 @@
+package com.revshop.cart;
+
+import com.revshop.model.CartItem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Net effect of a sequence of cart changes: per buyer, whether the cart was emptied and
+// the final quantity of every line touched afterwards (0 = removed). Later changes
+// replace earlier ones, so the result can be written with CartDAO.applyCartChanges.
+public final class CartChanges {
+    private final Set<Integer> clearedBuyers = new LinkedHashSet<>();
+    private final Map<Integer, Map<Integer, Integer>> lines = new LinkedHashMap<>();
+    private int lineCount;
+
+    public void set(int buyerId, int productId, int quantity) {
+        if (lines.computeIfAbsent(buyerId, id -> new LinkedHashMap<>()).put(productId, quantity) == null) {
+            lineCount++;
+        }
+    }
+
+    public void clear(int buyerId) {
+        Map<Integer, Integer> buyerLines = lines.remove(buyerId);
+        if (buyerLines != null) {
+            lineCount -= buyerLines.size();
+        }
+        clearedBuyers.add(buyerId);
+    }
+
+    public boolean isCleared(int buyerId) {
+        return clearedBuyers.contains(buyerId);
+    }
+
+    // Product ID -> quantity for one buyer
+    public Map<Integer, Integer> linesOf(int buyerId) {
+        return lines.getOrDefault(buyerId, Collections.emptyMap());
+    }
+
+    public Set<Integer> getClearedBuyers() {
+        return clearedBuyers;
+    }
+
+    public List<CartItem> toCartItems() {
+        List<CartItem> items = new ArrayList<>(lineCount);
+        for (Map.Entry<Integer, Map<Integer, Integer>> buyer : lines.entrySet()) {
+            for (Map.Entry<Integer, Integer> line : buyer.getValue().entrySet()) {
+                items.add(new CartItem(buyer.getKey(), line.getKey(), line.getValue()));
+            }
+        }
+        return items;
+    }
+
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    public boolean isEmpty() {
+        return clearedBuyers.isEmpty() && lineCount == 0;
+    }
+}
@@ -0,0 +1,181 @@
+package com.revshop.cart;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Append-only log of cart changes, so a write-behind cart survives a crash between
+// flushes. One record per line:
+//   S <buyerId> <productId> <quantity>   line set to quantity (0 = removed)
+//   C <buyerId>                          cart emptied by checkout
+//
+// The log is split into numbered segments. A flush starts a new segment first and, once
+// its batch has committed, deletes the older ones. Segments left over from a crash are
+// read back with readAll() before the store serves any cart. Each record is handed to
+// the OS before the change is acknowledged, which survives a process crash; with sync
+// it is also forced to disk, which survives losing the machine.
+public final class CartJournal {
+    private static final Logger logger = LogManager.getLogger(CartJournal.class);
+    private static final String PREFIX = "cart-journal-";
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final boolean sync;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long firstSegment;
+    private long segment;
+    private FileChannel channel;
+
+    public CartJournal(Path directory, boolean sync) throws IOException {
+        this.directory = directory;
+        this.sync = sync;
+        Files.createDirectories(directory);
+        List<Long> existing = existingSegments();
+        this.firstSegment = existing.isEmpty() ? 1 : existing.get(existing.size() - 1) + 1;
+        this.segment = firstSegment;
+        this.channel = open(segment);
+    }
+
+    // Changes in the segments written before this journal was opened, oldest first. A
+    // record without its newline was torn by a crash mid-write and is skipped.
+    public CartChanges readAll() throws IOException {
+        CartChanges changes = new CartChanges();
+        for (long number : existingSegments()) {
+            if (number >= firstSegment) {
+                break;
+            }
+            String content = new String(Files.readAllBytes(path(number)), StandardCharsets.UTF_8);
+            int end = content.lastIndexOf('\n') + 1;
+            for (String line : content.substring(0, end).split("\n")) {
+                if (!line.isEmpty() && !apply(line, changes)) {
+                    logger.warn("Skipping unreadable cart journal record in {}: {}", path(number), line);
+                }
+            }
+            if (end < content.length()) {
+                logger.warn("Skipping torn record at the end of {}", path(number));
+            }
+        }
+        return changes;
+    }
+
+    // Delete the segments written before this journal was opened (after readAll's
+    // changes have been stored)
+    public void deleteRecovered() {
+        deleteThrough(firstSegment - 1);
+    }
+
+    public void recordSet(int buyerId, int productId, int quantity) throws IOException {
+        append("S " + buyerId + " " + productId + " " + quantity + "\n");
+    }
+
+    public void recordClear(int buyerId) throws IOException {
+        append("C " + buyerId + "\n");
+    }
+
+    // Continue in a new segment; returns the number of the segment just closed
+    public long rotate() throws IOException {
+        lock.lock();
+        try {
+            FileChannel next = open(segment + 1);
+            channel.close();
+            channel = next;
+            return segment++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Delete segments up to and including lastSegment
+    public void deleteThrough(long lastSegment) {
+        try {
+            for (long number : existingSegments()) {
+                if (number <= lastSegment) {
+                    Files.deleteIfExists(path(number));
+                }
+            }
+        } catch (IOException e) {
+            // Harmless: replaying a segment again only rewrites the same quantities
+            logger.warn("Could not delete old cart journal segments in {}", directory, e);
+        }
+    }
+
+    public void close() {
+        lock.lock();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Error closing cart journal", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void append(String record) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(record.getBytes(StandardCharsets.UTF_8));
+        lock.lock();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (sync) {
+                channel.force(false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static boolean apply(String line, CartChanges changes) {
+        String[] fields = line.split(" ");
+        try {
+            if (fields.length == 4 && "S".equals(fields[0])) {
+                changes.set(Integer.parseInt(fields[1]), Integer.parseInt(fields[2]), Integer.parseInt(fields[3]));
+                return true;
+            }
+            if (fields.length == 2 && "C".equals(fields[0])) {
+                changes.clear(Integer.parseInt(fields[1]));
+                return true;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        return false;
+    }
+
+    private FileChannel open(long number) throws IOException {
+        return FileChannel.open(path(number), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private Path path(long number) {
+        return directory.resolve(PREFIX + number + SUFFIX);
+    }
+
+    private List<Long> existingSegments() throws IOException {
+        List<Long> numbers = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    numbers.add(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    // not one of ours
+                }
+            }
+        }
+        Collections.sort(numbers);
+        return numbers;
+    }
+}
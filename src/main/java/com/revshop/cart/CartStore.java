@@ -0,0 +1,36 @@
+package com.revshop.cart;
+
+import com.revshop.model.CartItem;
+
+import java.util.List;
+
+// Where BuyerService keeps carts. DatabaseCartStore writes every change straight to the
+// cart table; WriteBehindCartStore keeps live carts in memory and writes them in batches.
+public interface CartStore {
+
+    // Add to the buyer's line for the product; false if the product is unavailable or
+    // the line would exceed its stock
+    boolean add(CartItem item);
+
+    // Add several items; returns the ones that were not added
+    List<CartItem> addAll(List<CartItem> items);
+
+    // The buyer's line for a product (without the product), or null
+    CartItem getItem(int buyerId, int productId);
+
+    // The buyer's lines for active products with their products, newest first
+    List<CartItem> getItems(int buyerId);
+
+    // Set a line's quantity (0 removes it); false if there is no such line
+    boolean updateQuantity(int buyerId, int productId, int quantity);
+
+    boolean remove(int buyerId, int productId);
+
+    // The checkout transaction has emptied the buyer's cart in the table
+    void checkedOut(int buyerId);
+
+    // Background work and shutdown; nothing to do for stores without any
+    default void start() {}
+
+    default void stop() {}
+}
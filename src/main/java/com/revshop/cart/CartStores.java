@@ -0,0 +1,26 @@
+package com.revshop.cart;
+
+import com.revshop.config.AppConfig;
+
+// The cart store BuyerService uses by default: the cart table, or the write-behind store
+// when cart.writeBehind.enabled is set. One instance per JVM so every service sees the
+// same live carts.
+public final class CartStores {
+
+    private CartStores() {}
+
+    private static class Holder {
+        private static final CartStore DEFAULT = create(AppConfig.get());
+    }
+
+    public static CartStore getDefault() {
+        return Holder.DEFAULT;
+    }
+
+    public static CartStore create(AppConfig config) {
+        if (config.getBoolean("cart.writeBehind.enabled", false)) {
+            return WriteBehindCartStore.fromConfig(config);
+        }
+        return new DatabaseCartStore();
+    }
+}
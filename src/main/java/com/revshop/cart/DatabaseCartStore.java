@@ -0,0 +1,46 @@
+package com.revshop.cart;
+
+import com.revshop.dao.CartDAO;
+import com.revshop.model.CartItem;
+
+import java.util.List;
+
+// Every cart change is one statement on the cart table (the default)
+public class DatabaseCartStore implements CartStore {
+    private final CartDAO cartDAO = new CartDAO();
+
+    @Override
+    public boolean add(CartItem item) {
+        return cartDAO.addToCart(item);
+    }
+
+    @Override
+    public List<CartItem> addAll(List<CartItem> items) {
+        return cartDAO.addAllToCart(items);
+    }
+
+    @Override
+    public CartItem getItem(int buyerId, int productId) {
+        return cartDAO.getCartItem(buyerId, productId);
+    }
+
+    @Override
+    public List<CartItem> getItems(int buyerId) {
+        return cartDAO.getCartItems(buyerId);
+    }
+
+    @Override
+    public boolean updateQuantity(int buyerId, int productId, int quantity) {
+        return cartDAO.updateCartItemQuantity(buyerId, productId, quantity);
+    }
+
+    @Override
+    public boolean remove(int buyerId, int productId) {
+        return cartDAO.removeFromCart(buyerId, productId);
+    }
+
+    @Override
+    public void checkedOut(int buyerId) {
+        // Already cleared by the checkout transaction
+    }
+}
@@ -0,0 +1,442 @@
+package com.revshop.cart;
+
+import com.revshop.config.AppConfig;
+import com.revshop.dao.CartDAO;
+import com.revshop.dao.ProductDAO;
+import com.revshop.model.CartItem;
+import com.revshop.model.Product;
+import com.revshop.util.VirtualThreads;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+// Cart store that keeps live carts in memory and writes them to the cart table in the
+// background.
+//
+// A buyer's cart is loaded on first use. Every change is appended to the CartJournal
+// before it is applied in memory, and only the last quantity of each changed line is
+// remembered, so ten clicks on "+" become one row in the next batch. Every
+// flushIntervalMs the changed lines of all carts are written in batches of batchSize
+// rows, one transaction per batch; a checkout flushes the buyer's cart right away.
+// Carts without pending changes that were not used for idleSeconds are dropped.
+//
+// The memory copy is authoritative, so this store is only for a single application node:
+// a second node would not see this node's unflushed changes, and its writes would be
+// overwritten. Stock is checked against the product cache; checkout re-checks it under
+// lock as before.
+public class WriteBehindCartStore implements CartStore {
+    private static final Logger logger = LogManager.getLogger(WriteBehindCartStore.class);
+
+    private final CartDAO cartDAO;
+    private final ProductDAO productDAO;
+    private final CartJournal journal;
+    private final long flushIntervalMs;
+    private final int batchSize;
+    private final long idleMillis;
+
+    private final ConcurrentHashMap<Integer, LiveCart> carts = new ConcurrentHashMap<>();
+    private final Set<LiveCart> dirtyCarts = ConcurrentHashMap.newKeySet();
+    // Bumped before a cart is dropped, so a load that raced with the drop is not installed
+    private final AtomicLong evictions = new AtomicLong();
+    // One flush at a time; carts are only dropped while holding it
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final LongAdder flushedLines = new LongAdder();
+    private volatile ScheduledExecutorService executor;
+
+    // Replays what the journal holds from a previous run into the cart table first; fails
+    // if that is not possible, since carts loaded without it would be out of date
+    public WriteBehindCartStore(Path journalDirectory, boolean syncJournal, long flushIntervalMs, int batchSize,
+                                long idleSeconds) throws IOException {
+        this(new CartDAO(), new ProductDAO(), journalDirectory, syncJournal, flushIntervalMs, batchSize,
+                idleSeconds);
+    }
+
+    // Same, over the given DAOs
+    public WriteBehindCartStore(CartDAO cartDAO, ProductDAO productDAO, Path journalDirectory, boolean syncJournal,
+                                long flushIntervalMs, int batchSize, long idleSeconds) throws IOException {
+        this.cartDAO = cartDAO;
+        this.productDAO = productDAO;
+        this.journal = new CartJournal(journalDirectory, syncJournal);
+        this.flushIntervalMs = Math.max(10, flushIntervalMs);
+        this.batchSize = Math.max(1, batchSize);
+        this.idleMillis = TimeUnit.SECONDS.toMillis(idleSeconds);
+
+        CartChanges recovered = journal.readAll();
+        if (!recovered.isEmpty()) {
+            if (!cartDAO.applyCartChanges(recovered.getClearedBuyers(), recovered.toCartItems())) {
+                journal.close();
+                throw new IllegalStateException("Could not replay the cart journal in " + journalDirectory);
+            }
+            logger.info("Replayed {} cart lines and {} cleared carts from the cart journal",
+                    recovered.getLineCount(), recovered.getClearedBuyers().size());
+        }
+        journal.deleteRecovered();
+    }
+
+    public static WriteBehindCartStore fromConfig(AppConfig config) {
+        Path directory = Paths.get(config.getString("cart.writeBehind.journalDir", "cart-journal"));
+        try {
+            return new WriteBehindCartStore(directory,
+                    config.getBoolean("cart.writeBehind.journalSync", false),
+                    config.getLong("cart.writeBehind.flushIntervalMs", 1000),
+                    config.getInt("cart.writeBehind.batchSize", 500),
+                    config.getLong("cart.writeBehind.idleSeconds", 1800));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not open the cart journal in " + directory, e);
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = VirtualThreads.newScheduledExecutor("revshop-cart-flusher");
+        executor.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        logger.info("Write-behind cart store started: flushing every {} ms", flushIntervalMs);
+    }
+
+    // Stop flushing in the background, write what is pending and close the journal. If
+    // the last flush fails the journal keeps the changes for the next start.
+    @Override
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            executor = null;
+        }
+        flush();
+        journal.close();
+        logger.info("Write-behind cart store stopped; {} cart lines written", flushedLines.sum());
+    }
+
+    @Override
+    public boolean add(CartItem item) {
+        Product product = productDAO.getProductById(item.getProductId());
+        if (product == null || item.getQuantity() <= 0) {
+            return false;
+        }
+        Boolean added = withCart(item.getBuyerId(), cart -> {
+            int quantity = cart.quantity(item.getProductId()) + item.getQuantity();
+            return quantity <= product.getStockQuantity() && cart.set(item.getProductId(), quantity);
+        });
+        return Boolean.TRUE.equals(added);
+    }
+
+    @Override
+    public List<CartItem> addAll(List<CartItem> items) {
+        List<CartItem> rejected = new ArrayList<>();
+        for (CartItem item : items) {
+            if (!add(item)) {
+                rejected.add(item);
+            }
+        }
+        return rejected;
+    }
+
+    @Override
+    public CartItem getItem(int buyerId, int productId) {
+        return withCart(buyerId, cart -> {
+            Line line = cart.lines.get(productId);
+            return line == null ? null : line.toCartItem(buyerId, productId);
+        });
+    }
+
+    @Override
+    public List<CartItem> getItems(int buyerId) {
+        List<CartItem> items = withCart(buyerId, cart -> {
+            List<CartItem> copy = new ArrayList<>(cart.lines.size());
+            for (Map.Entry<Integer, Line> line : cart.lines.entrySet()) {
+                copy.add(line.getValue().toCartItem(buyerId, line.getKey()));
+            }
+            return copy;
+        });
+        if (items == null) {
+            return new ArrayList<>();
+        }
+
+        // Products come from the catalog cache, outside the cart's lock
+        List<CartItem> active = new ArrayList<>(items.size());
+        for (CartItem item : items) {
+            Product product = productDAO.getProductById(item.getProductId());
+            if (product != null) {
+                item.setProduct(product);
+                active.add(item);
+            }
+        }
+        active.sort(Comparator.comparing(CartItem::getAddedAt).reversed());
+        return active;
+    }
+
+    @Override
+    public boolean updateQuantity(int buyerId, int productId, int quantity) {
+        int target = Math.max(0, quantity);
+        return Boolean.TRUE.equals(withCart(buyerId,
+                cart -> cart.lines.containsKey(productId) && cart.set(productId, target)));
+    }
+
+    @Override
+    public boolean remove(int buyerId, int productId) {
+        return updateQuantity(buyerId, productId, 0);
+    }
+
+    @Override
+    public void checkedOut(int buyerId) {
+        LiveCart cleared = withCart(buyerId, cart -> cart.clear() ? cart : null);
+        if (cleared != null) {
+            flush(List.of(cleared));
+        }
+    }
+
+    // Write the pending changes of every cart, then drop idle carts
+    public void flush() {
+        flushLock.lock();
+        try {
+            long closedSegment = -1;
+            try {
+                closedSegment = journal.rotate();
+            } catch (IOException e) {
+                logger.warn("Could not start a new cart journal segment; keeping the old ones", e);
+            }
+            // Carts are marked dirty before their change is journaled, so every change in
+            // the closed segments belongs to a cart in this snapshot
+            if (flush(new ArrayList<>(dirtyCarts)) && closedSegment >= 0) {
+                journal.deleteThrough(closedSegment);
+            }
+            evictIdleCarts();
+        } catch (RuntimeException e) {
+            logger.warn("Error flushing carts", e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // Statistics
+    public int getLiveCartCount() { return carts.size(); }
+    public int getDirtyCartCount() { return dirtyCarts.size(); }
+    public long getFlushedLineCount() { return flushedLines.sum(); }
+
+    // Write the pending changes of the given carts in batches; on failure they are put
+    // back to be retried. Returns false if any batch failed.
+    private boolean flush(List<LiveCart> pending) {
+        flushLock.lock();
+        try {
+            int next = 0;
+            while (next < pending.size()) {
+                CartChanges batch = new CartChanges();
+                List<LiveCart> batchCarts = new ArrayList<>();
+                while (next < pending.size() && batch.getLineCount() < batchSize) {
+                    LiveCart cart = pending.get(next++);
+                    dirtyCarts.remove(cart);
+                    cart.lock.lock();
+                    try {
+                        cart.drainTo(batch);
+                    } finally {
+                        cart.lock.unlock();
+                    }
+                    batchCarts.add(cart);
+                }
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                if (!cartDAO.applyCartChanges(batch.getClearedBuyers(), batch.toCartItems())) {
+                    for (LiveCart cart : batchCarts) {
+                        cart.restore(batch);
+                    }
+                    logger.warn("Cart flush failed; changes of {} carts will be retried", dirtyCarts.size());
+                    return false;
+                }
+                flushedLines.add(batch.getLineCount());
+            }
+            return true;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void evictIdleCarts() {
+        long cutoff = System.currentTimeMillis() - idleMillis;
+        for (LiveCart cart : carts.values()) {
+            if (cart.lastUsed >= cutoff || !cart.lock.tryLock()) {
+                continue;
+            }
+            try {
+                if (!cart.hasPendingChanges() && cart.lastUsed < cutoff) {
+                    cart.evicted = true;
+                    evictions.incrementAndGet();
+                    carts.remove(cart.buyerId, cart);
+                }
+            } finally {
+                cart.lock.unlock();
+            }
+        }
+    }
+
+    // Run action on the buyer's cart under its lock; null if the cart cannot be loaded
+    private <T> T withCart(int buyerId, Function<LiveCart, T> action) {
+        while (true) {
+            LiveCart cart = load(buyerId);
+            if (cart == null) {
+                return null;
+            }
+            cart.lock.lock();
+            try {
+                if (!cart.evicted) {
+                    cart.lastUsed = System.currentTimeMillis();
+                    return action.apply(cart);
+                }
+            } finally {
+                cart.lock.unlock();
+            }
+        }
+    }
+
+    private LiveCart load(int buyerId) {
+        while (true) {
+            long evictionsBefore = evictions.get();
+            LiveCart cart = carts.get(buyerId);
+            if (cart != null) {
+                return cart;
+            }
+            List<CartItem> lines = cartDAO.getCartLines(buyerId);
+            if (lines == null) {
+                return null;
+            }
+            LiveCart loaded = new LiveCart(buyerId, lines);
+            LiveCart installed = carts.compute(buyerId, (id, current) -> current != null ? current
+                    : evictions.get() == evictionsBefore ? loaded : null);
+            if (installed != null) {
+                return installed;
+            }
+            // A cart was dropped while this one loaded; its last flush may be newer
+        }
+    }
+
+    private static final class Line {
+        final int quantity;
+        final Timestamp addedAt;
+
+        Line(int quantity, Timestamp addedAt) {
+            this.quantity = quantity;
+            this.addedAt = addedAt;
+        }
+
+        CartItem toCartItem(int buyerId, int productId) {
+            CartItem item = new CartItem(buyerId, productId, quantity);
+            item.setAddedAt(addedAt);
+            return item;
+        }
+    }
+
+    // One buyer's cart. Fields other than lastUsed are guarded by lock.
+    private final class LiveCart {
+        final int buyerId;
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<Integer, Line> lines = new LinkedHashMap<>();
+        // Product ID -> quantity (0 = removed) not yet written, and whether the cart must be
+        // emptied in the table before they are
+        Map<Integer, Integer> dirty = new HashMap<>();
+        boolean clearPending;
+        boolean evicted;
+        volatile long lastUsed = System.currentTimeMillis();
+
+        LiveCart(int buyerId, List<CartItem> loaded) {
+            this.buyerId = buyerId;
+            for (CartItem item : loaded) {
+                lines.put(item.getProductId(), new Line(item.getQuantity(), item.getAddedAt()));
+            }
+        }
+
+        int quantity(int productId) {
+            Line line = lines.get(productId);
+            return line == null ? 0 : line.quantity;
+        }
+
+        // Journal, then apply; false if the journal could not be written
+        boolean set(int productId, int quantity) {
+            dirtyCarts.add(this);
+            try {
+                journal.recordSet(buyerId, productId, quantity);
+            } catch (IOException e) {
+                logger.error("Could not journal cart change: buyer={}, product={}", buyerId, productId, e);
+                return false;
+            }
+            Line line = lines.get(productId);
+            if (quantity <= 0) {
+                lines.remove(productId);
+            } else {
+                lines.put(productId, new Line(quantity,
+                        line != null ? line.addedAt : new Timestamp(System.currentTimeMillis())));
+            }
+            dirty.put(productId, quantity);
+            return true;
+        }
+
+        boolean clear() {
+            dirtyCarts.add(this);
+            try {
+                journal.recordClear(buyerId);
+            } catch (IOException e) {
+                logger.error("Could not journal cart checkout: buyer={}", buyerId, e);
+                return false;
+            }
+            lines.clear();
+            dirty.clear();
+            clearPending = true;
+            return true;
+        }
+
+        boolean hasPendingChanges() {
+            return clearPending || !dirty.isEmpty();
+        }
+
+        void drainTo(CartChanges batch) {
+            if (clearPending) {
+                batch.clear(buyerId);
+            }
+            for (Map.Entry<Integer, Integer> change : dirty.entrySet()) {
+                batch.set(buyerId, change.getKey(), change.getValue());
+            }
+            dirty = new HashMap<>();
+            clearPending = false;
+        }
+
+        // Put back changes of a failed batch, unless newer ones replace them
+        void restore(CartChanges batch) {
+            lock.lock();
+            try {
+                if (!clearPending) {
+                    clearPending = batch.isCleared(buyerId);
+                    for (Map.Entry<Integer, Integer> change : batch.linesOf(buyerId).entrySet()) {
+                        dirty.putIfAbsent(change.getKey(), change.getValue());
+                    }
+                }
+                dirtyCarts.add(this);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.revshop.config;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+// Immutable snapshot of application configuration, loaded once and read lock-free.
+//
+// Values are resolved in this order (first match wins):
+//   1. JVM system property with the same key       -Dpool.maximumPoolSize=30
+//   2. Environment variable REVSHOP_<KEY>           REVSHOP_POOL_MAXIMUMPOOLSIZE=30
+//   3. External file given by -Drevshop.config.file (optional)
+//   4. database.properties on the classpath
+//
+// reload() builds a new snapshot and swaps it in; callers holding the old one keep a
+// consistent view. DatabaseConfig uses this to hot-reload pool sizing.
+public final class AppConfig {
+    private static final Logger logger = LogManager.getLogger(AppConfig.class);
+
+    public static final String CLASSPATH_FILE = "database.properties";
+    public static final String EXTERNAL_FILE_PROPERTY = "revshop.config.file";
+    private static final String ENV_PREFIX = "REVSHOP_";
+
+    private static volatile AppConfig current = load();
+
+    private final Properties properties;
+    private final PoolSettings poolSettings;
+
+    private AppConfig(Properties properties) {
+        this.properties = properties;
+        this.poolSettings = new PoolSettings(this);
+    }
+
+    // Current configuration snapshot
+    public static AppConfig get() {
+        return current;
+    }
+
+    // Re-read all sources and replace the current snapshot
+    public static AppConfig reload() {
+        AppConfig reloaded = load();
+        current = reloaded;
+        return reloaded;
+    }
+
+    // Build a snapshot from explicit properties instead of the configuration files
+    public static AppConfig of(Properties properties) {
+        Properties copy = new Properties();
+        copy.putAll(properties);
+        return new AppConfig(copy);
+    }
+
+    private static AppConfig load() {
+        Properties props = new Properties();
+
+        try (InputStream input = AppConfig.class.getClassLoader().getResourceAsStream(CLASSPATH_FILE)) {
+            if (input == null) {
+                logger.error("Unable to find {}", CLASSPATH_FILE);
+                throw new RuntimeException(CLASSPATH_FILE + " not found");
+            }
+            props.load(input);
+        } catch (IOException e) {
+            logger.error("Error loading {}", CLASSPATH_FILE, e);
+            throw new RuntimeException("Failed to load " + CLASSPATH_FILE, e);
+        }
+
+        String externalFile = System.getProperty(EXTERNAL_FILE_PROPERTY);
+        if (externalFile != null) {
+            try (InputStream input = new FileInputStream(externalFile)) {
+                props.load(input);
+            } catch (IOException e) {
+                logger.warn("Error loading external configuration {}, ignoring it", externalFile, e);
+            }
+        }
+
+        // Environment and system properties override file values for known keys
+        for (String key : props.stringPropertyNames()) {
+            String override = override(key);
+            if (override != null) {
+                props.setProperty(key, override);
+            }
+        }
+        return new AppConfig(props);
+    }
+
+    private static String override(String key) {
+        String value = System.getProperty(key);
+        if (value != null) {
+            return value;
+        }
+        return System.getenv(envName(key));
+    }
+
+    // pool.maximumPoolSize -> REVSHOP_POOL_MAXIMUMPOOLSIZE
+    private static String envName(String key) {
+        return ENV_PREFIX + key.replace('.', '_').replace('-', '_').toUpperCase(Locale.ROOT);
+    }
+
+    // Typed getters. Keys missing from every file are still looked up in the
+    // environment and system properties, so new settings need no file entry.
+    public String getString(String key, String defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            value = override(key);
+        }
+        return value != null ? value.trim() : defaultValue;
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = getString(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid integer for {}: '{}', using default: {}", key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public long getLong(String key, long defaultValue) {
+        String value = getString(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid long for {}: '{}', using default: {}", key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = getString(key, null);
+        return value != null ? Boolean.parseBoolean(value) : defaultValue;
+    }
+
+    // All keys starting with prefix, with the prefix removed
+    public Map<String, String> getWithPrefix(String prefix) {
+        Map<String, String> values = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(prefix)) {
+                values.put(key.substring(prefix.length()), properties.getProperty(key).trim());
+            }
+        }
+        return Collections.unmodifiableMap(values);
+    }
+
+    // Database settings
+    public String getDbUrl() { return getString("db.url", null); }
+    public String getDbUsername() { return getString("db.username", null); }
+    public String getDbPassword() { return getString("db.password", null); }
+    public boolean isMigrateOnStartup() { return getBoolean("db.migrate", true); }
+    public PoolSettings getPoolSettings() { return poolSettings; }
+
+    // Seconds between configuration reload checks; 0 disables hot reload
+    public int getReloadIntervalSeconds() { return getInt("config.reloadIntervalSeconds", 30); }
+
+    // Connection pool sizing and timeouts; all of these can change at runtime
+    public static final class PoolSettings {
+        private final int minimumIdle;
+        private final int maximumPoolSize;
+        private final long connectionTimeout;
+        private final long idleTimeout;
+        private final long maxLifetime;
+
+        private PoolSettings(AppConfig config) {
+            this.minimumIdle = config.getInt("pool.minimumIdle", 5);
+            this.maximumPoolSize = config.getInt("pool.maximumPoolSize", 20);
+            this.connectionTimeout = config.getLong("pool.connectionTimeout", 30000);
+            this.idleTimeout = config.getLong("pool.idleTimeout", 600000);
+            this.maxLifetime = config.getLong("pool.maxLifetime", 1800000);
+        }
+
+        public int getMinimumIdle() { return minimumIdle; }
+        public int getMaximumPoolSize() { return maximumPoolSize; }
+        public long getConnectionTimeout() { return connectionTimeout; }
+        public long getIdleTimeout() { return idleTimeout; }
+        public long getMaxLifetime() { return maxLifetime; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PoolSettings)) return false;
+            PoolSettings that = (PoolSettings) o;
+            return minimumIdle == that.minimumIdle && maximumPoolSize == that.maximumPoolSize &&
+                    connectionTimeout == that.connectionTimeout && idleTimeout == that.idleTimeout &&
+                    maxLifetime == that.maxLifetime;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = minimumIdle;
+            result = 31 * result + maximumPoolSize;
+            result = 31 * result + Long.hashCode(connectionTimeout);
+            result = 31 * result + Long.hashCode(idleTimeout);
+            result = 31 * result + Long.hashCode(maxLifetime);
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("minimumIdle=%d, maximumPoolSize=%d, connectionTimeout=%dms, " +
+                    "idleTimeout=%dms, maxLifetime=%dms",
+                    minimumIdle, maximumPoolSize, connectionTimeout, idleTimeout, maxLifetime);
+        }
+    }
+}
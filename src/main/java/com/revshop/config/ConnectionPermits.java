@@ -0,0 +1,103 @@
+package com.revshop.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Admission gate in front of the connection pool: one permit per pooled connection.
+//
+// With a virtual thread per session or request, thousands of threads can ask Hikari
+// for a connection at the same moment. Hikari's waiters spin through its handoff queue
+// and time out in no particular order; here they queue FIFO on a fair semaphore and
+// only as many as there are connections go on to the pool. The permit is returned when
+// the connection is closed.
+//
+// This orders access to the pool; it does not protect the carrier threads. That relies on
+// Connector/J 9.x, which no longer blocks inside synchronized sections.
+public class ConnectionPermits {
+    private final ResizableSemaphore semaphore;
+    private int permits;
+
+    public ConnectionPermits(int permits) {
+        this.semaphore = new ResizableSemaphore(permits);
+        this.permits = permits;
+    }
+
+    // Wait up to timeoutMs for a permit; false on timeout
+    public boolean acquire(long timeoutMs) throws InterruptedException {
+        return semaphore.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void release() {
+        semaphore.release();
+    }
+
+    // Wrap a connection taken under a permit so that closing it releases the permit
+    // (once, however often close() is called)
+    public Connection bind(Connection conn) {
+        AtomicBoolean released = new AtomicBoolean();
+        InvocationHandler handler = (proxy, method, args) -> {
+            if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                try {
+                    conn.close();
+                } finally {
+                    if (released.compareAndSet(false, true)) {
+                        semaphore.release();
+                    }
+                }
+                return null;
+            }
+            return invoke(conn, method, args);
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, handler);
+    }
+
+    // Follow a pool resize; permits in use are not revoked, new ones are just not
+    // handed out until enough connections have been closed
+    public synchronized void resize(int newPermits) {
+        int delta = newPermits - permits;
+        if (delta > 0) {
+            semaphore.release(delta);
+        } else if (delta < 0) {
+            semaphore.reducePermits(-delta);
+        }
+        permits = newPermits;
+    }
+
+    public synchronized int getPermits() {
+        return permits;
+    }
+
+    // Threads queued for a permit (an estimate)
+    public int getWaitingThreads() {
+        return semaphore.getQueueLength();
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Fair semaphore whose permit count can shrink while permits are held
+    private static final class ResizableSemaphore extends Semaphore {
+        private static final long serialVersionUID = 1L;
+
+        ResizableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
@@ -1,127 +1,261 @@
 package com.revshop.config;
 
+import com.revshop.metrics.PoolMetrics;
+import com.revshop.metrics.PoolMetricsReporter;
+import com.revshop.util.VirtualThreads;
 import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariConfigMXBean;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.pool.HikariPool;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.Properties;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public class DatabaseConfig {
     private static final Logger logger = LogManager.getLogger(DatabaseConfig.class);
-    private static DatabaseConfig instance;
-    private static HikariDataSource dataSource;
-    private String url;
-    private String username;
-    private String password;
+    private static final String POOL_NAME = "revshop-pool";
+    private static volatile DatabaseConfig instance;
+    private static volatile HikariDataSource dataSource;
+    private volatile AppConfig config;
+    // Null when pool.permits.enabled=false
+    private final ConnectionPermits permits;
 
     private DatabaseConfig() {
-        loadProperties();
+        config = AppConfig.get();
+        logger.info("Database configuration loaded");
+        permits = config.getBoolean("pool.permits.enabled", true)
+                ? new ConnectionPermits(config.getPoolSettings().getMaximumPoolSize()) : null;
+        if (permits != null) {
+            PoolMetrics.getInstance().attachPermitQueue(permits::getWaitingThreads);
+        }
         initializeConnectionPool();
+        runMigrations();
+        startConfigReloader();
+        startPoolMetrics();
     }
 
-    public static synchronized DatabaseConfig getInstance() {
-        if (instance == null) {
-            instance = new DatabaseConfig();
+    // Lazily created on first use; double-checked so that later calls take no lock. A
+    // failed start (database unreachable, migration error) leaves instance unset and the
+    // next call tries again.
+    public static DatabaseConfig getInstance() {
+        DatabaseConfig result = instance;
+        if (result == null) {
+            synchronized (DatabaseConfig.class) {
+                result = instance;
+                if (result == null) {
+                    result = new DatabaseConfig();
+                    instance = result;
+                }
+            }
         }
-        return instance;
+        return result;
     }
 
-    private void loadProperties() {
-        Properties props = new Properties();
-        try (InputStream input = getClass().getClassLoader()
-                .getResourceAsStream("database.properties")) {
+    private synchronized void initializeConnectionPool() {
+        if (dataSource != null && !dataSource.isClosed()) {
+            return;
+        }
+        try {
+            HikariConfig hikariConfig = new HikariConfig();
+            hikariConfig.setJdbcUrl(config.getDbUrl());
+            hikariConfig.setUsername(config.getDbUsername());
+            hikariConfig.setPassword(config.getDbPassword());
+
+            // Connection pool settings from properties
+            AppConfig.PoolSettings pool = config.getPoolSettings();
+            hikariConfig.setMinimumIdle(pool.getMinimumIdle());
+            hikariConfig.setMaximumPoolSize(pool.getMaximumPoolSize());
+            hikariConfig.setConnectionTimeout(pool.getConnectionTimeout());
+            hikariConfig.setIdleTimeout(pool.getIdleTimeout());
+            hikariConfig.setMaxLifetime(pool.getMaxLifetime());
 
-            if (input == null) {
-                logger.error("Unable to find database.properties");
-                throw new RuntimeException("database.properties not found");
+            // MySQL specific optimizations; every pool.dataSource.* property is passed to the driver
+            Map<String, String> driverProperties = new LinkedHashMap<>();
+            driverProperties.put("cachePrepStmts", "true");
+            driverProperties.put("prepStmtCacheSize", "250");
+            driverProperties.put("prepStmtCacheSqlLimit", "2048");
+            driverProperties.put("useServerPrepStmts", "true");
+            driverProperties.put("useLocalSessionState", "true");
+            driverProperties.put("rewriteBatchedStatements", "true");
+            driverProperties.put("cacheResultSetMetadata", "true");
+            driverProperties.put("cacheServerConfiguration", "true");
+            driverProperties.put("elideSetAutoCommits", "true");
+            driverProperties.put("maintainTimeStats", "false");
+            // Statements with a positive fetch size (BaseDAO streaming) read through a server-side cursor
+            driverProperties.put("useCursorFetch", "true");
+            driverProperties.putAll(config.getWithPrefix("pool.dataSource."));
+            for (Map.Entry<String, String> entry : driverProperties.entrySet()) {
+                hikariConfig.addDataSourceProperty(entry.getKey(), entry.getValue());
             }
 
-            props.load(input);
-            url = props.getProperty("db.url");
-            username = props.getProperty("db.username");
-            password = props.getProperty("db.password");
+            // Telemetry: acquire/usage histograms via Hikari's metrics hook, Hikari's own MBeans
+            hikariConfig.setPoolName(POOL_NAME);
+            hikariConfig.setMetricsTrackerFactory(PoolMetrics.getInstance());
+            hikariConfig.setRegisterMbeans(config.getBoolean("metrics.jmx.enabled", true));
 
-            logger.info("Database configuration loaded");
+            dataSource = new HikariDataSource(hikariConfig);
+            PoolMetrics.getInstance().attach(dataSource.getHikariPoolMXBean());
+            logger.info("Database connection pool initialized successfully. Pool size: {}, Active connections: {}",
+                    hikariConfig.getMaximumPoolSize(), dataSource.getHikariPoolMXBean().getActiveConnections());
 
-        } catch (IOException e) {
-            logger.error("Error loading database properties", e);
-            throw new RuntimeException("Failed to load database properties", e);
+        } catch (Exception e) {
+            logger.error("Error initializing database connection pool", e);
+            throw new RuntimeException("Failed to initialize database connection pool", e);
         }
     }
 
-    private void initializeConnectionPool() {
+    // Bring the schema up to date before any DAO runs (disable with db.migrate=false)
+    private void runMigrations() {
+        if (!config.isMigrateOnStartup()) {
+            logger.info("Schema migrations disabled");
+            return;
+        }
         try {
-            HikariConfig config = new HikariConfig();
-            config.setJdbcUrl(url);
-            config.setUsername(username);
-            config.setPassword(password);
-
-            // Connection pool settings from properties
-            config.setMinimumIdle(Integer.parseInt(getProperty("pool.minimumIdle", "5")));
-            config.setMaximumPoolSize(Integer.parseInt(getProperty("pool.maximumPoolSize", "20")));
-            config.setConnectionTimeout(Long.parseLong(getProperty("pool.connectionTimeout", "30000")));
-            config.setIdleTimeout(Long.parseLong(getProperty("pool.idleTimeout", "600000")));
-            config.setMaxLifetime(Long.parseLong(getProperty("pool.maxLifetime", "1800000")));
-
-            // MySQL specific optimizations
-            config.addDataSourceProperty("cachePrepStmts", getProperty("pool.dataSource.cachePrepStmts", "true"));
-            config.addDataSourceProperty("prepStmtCacheSize", getProperty("pool.dataSource.prepStmtCacheSize", "250"));
-            config.addDataSourceProperty("prepStmtCacheSqlLimit", getProperty("pool.dataSource.prepStmtCacheSqlLimit", "2048"));
-            config.addDataSourceProperty("useServerPrepStmts", getProperty("pool.dataSource.useServerPrepStmts", "true"));
-            config.addDataSourceProperty("useLocalSessionState", getProperty("pool.dataSource.useLocalSessionState", "true"));
-            config.addDataSourceProperty("rewriteBatchedStatements", getProperty("pool.dataSource.rewriteBatchedStatements", "true"));
-            config.addDataSourceProperty("cacheResultSetMetadata", getProperty("pool.dataSource.cacheResultSetMetadata", "true"));
-            config.addDataSourceProperty("cacheServerConfiguration", getProperty("pool.dataSource.cacheServerConfiguration", "true"));
-            config.addDataSourceProperty("elideSetAutoCommits", getProperty("pool.dataSource.elideSetAutoCommits", "true"));
-            config.addDataSourceProperty("maintainTimeStats", getProperty("pool.dataSource.maintainTimeStats", "false"));
-
-            dataSource = new HikariDataSource(config);
-            logger.info("Database connection pool initialized successfully. Pool size: {}, Active connections: {}",
-                    config.getMaximumPoolSize(), dataSource.getHikariPoolMXBean().getActiveConnections());
+            new MigrationRunner(dataSource).migrate();
+        } catch (SQLException e) {
+            logger.error("Error applying schema migrations", e);
+            throw new RuntimeException("Failed to apply schema migrations", e);
+        }
+    }
 
-        } catch (Exception e) {
-            logger.error("Error initializing database connection pool", e);
-            throw new RuntimeException("Failed to initialize database connection pool", e);
+    // Publish pool metrics over JMX and start the periodic log/CSV reporter
+    private void startPoolMetrics() {
+        PoolMetrics metrics = PoolMetrics.getInstance();
+        if (config.getBoolean("metrics.jmx.enabled", true)) {
+            metrics.registerMBean();
         }
+        new PoolMetricsReporter(metrics,
+                config.getInt("metrics.pool.intervalSeconds", 10),
+                config.getInt("metrics.pool.logEverySamples", 6),
+                config.getInt("metrics.pool.awaitingAlertSamples", 3),
+                config.getString("metrics.pool.csvFile", "")).start();
     }
 
-    private String getProperty(String key, String defaultValue) {
-        Properties props = new Properties();
-        try (InputStream input = getClass().getClassLoader()
-                .getResourceAsStream("database.properties")) {
-            if (input != null) {
-                props.load(input);
-                return props.getProperty(key, defaultValue);
+    // Periodically re-read configuration and apply pool changes (config.reloadIntervalSeconds)
+    private void startConfigReloader() {
+        int interval = config.getReloadIntervalSeconds();
+        if (interval <= 0) {
+            return;
+        }
+        ScheduledExecutorService executor = VirtualThreads.newScheduledExecutor("revshop-config-reloader");
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                reloadPoolSettings();
+            } catch (RuntimeException e) {
+                logger.warn("Error reloading configuration", e);
             }
-        } catch (IOException e) {
-            logger.warn("Error reading property {}, using default: {}", key, defaultValue, e);
+        }, interval, interval, TimeUnit.SECONDS);
+    }
+
+    // Re-read configuration and resize the running pool if its settings changed.
+    // Returns true if any pool setting was applied. Synchronized so that a manual call
+    // and the reloader thread never apply settings over each other.
+    public synchronized boolean reloadPoolSettings() {
+        AppConfig reloaded = AppConfig.reload();
+        AppConfig.PoolSettings previous = config.getPoolSettings();
+        AppConfig.PoolSettings updated = reloaded.getPoolSettings();
+        config = reloaded;
+
+        HikariDataSource ds = dataSource;
+        if (updated.equals(previous) || ds == null || ds.isClosed()) {
+            return false;
+        }
+
+        HikariConfigMXBean pool = ds.getHikariConfigMXBean();
+        // Grow the maximum first so minimumIdle never exceeds it in between
+        if (updated.getMaximumPoolSize() >= pool.getMaximumPoolSize()) {
+            pool.setMaximumPoolSize(updated.getMaximumPoolSize());
+            pool.setMinimumIdle(updated.getMinimumIdle());
+        } else {
+            pool.setMinimumIdle(updated.getMinimumIdle());
+            pool.setMaximumPoolSize(updated.getMaximumPoolSize());
         }
-        return defaultValue;
+        pool.setConnectionTimeout(updated.getConnectionTimeout());
+        pool.setIdleTimeout(updated.getIdleTimeout());
+        pool.setMaxLifetime(updated.getMaxLifetime());
+        if (permits != null) {
+            permits.resize(updated.getMaximumPoolSize());
+        }
+
+        logger.info("Connection pool settings reloaded: {} (was: {})", updated, previous);
+        return true;
+    }
+
+    public AppConfig getConfig() {
+        return config;
     }
 
+    // Connection from the pool within one pool.connectionTimeout. Callers first wait their
+    // turn for a permit (see ConnectionPermits), then borrow from Hikari with whatever
+    // is left of the timeout.
     public Connection getConnection() {
+        long timeoutMs = config.getPoolSettings().getConnectionTimeout();
+        if (permits == null) {
+            return borrowConnection(timeoutMs);
+        }
+
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.acquire(timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a database connection", e);
+        }
+        long waitedNanos = System.nanoTime() - start;
+        PoolMetrics.getInstance().recordPermitWait(waitedNanos);
+        if (!acquired) {
+            PoolMetrics.getInstance().recordPermitTimeout();
+            logger.error("Timed out waiting for a connection permit ({} threads waiting)",
+                    permits.getWaitingThreads());
+            throw new RuntimeException("Failed to get database connection: timed out waiting for a permit");
+        }
+
+        try {
+            long remainingMs = Math.max(0, timeoutMs - TimeUnit.NANOSECONDS.toMillis(waitedNanos));
+            return permits.bind(borrowConnection(remainingMs));
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // Borrow from Hikari, waiting at most timeoutMs
+    private Connection borrowConnection(long timeoutMs) {
         try {
-            if (dataSource == null || dataSource.isClosed()) {
+            HikariDataSource ds = dataSource;
+            if (ds == null || ds.isClosed()) {
                 logger.warn("Connection pool is closed, reinitializing...");
                 initializeConnectionPool();
+                ds = dataSource;
+            }
+            // The data source always waits its full connectionTimeout; the pool itself
+            // takes a per-call timeout
+            HikariPoolMXBean pool = ds.getHikariPoolMXBean();
+            if (pool instanceof HikariPool) {
+                return ((HikariPool) pool).getConnection(timeoutMs);
             }
-            return dataSource.getConnection();
+            return ds.getConnection();
         } catch (SQLException e) {
             logger.error("Error getting database connection from pool", e);
             throw new RuntimeException("Failed to get database connection", e);
         }
     }
 
+    // Threads queued for a connection permit; 0 when permits are disabled
+    public int getPermitWaiters() {
+        return permits != null ? permits.getWaitingThreads() : 0;
+    }
+
     public void closeConnectionPool() {
-        if (dataSource != null && !dataSource.isClosed()) {
-            dataSource.close();
-            logger.info("Database connection pool closed");
-        }
+        shutdown();
     }
 
     // ADDED: For backward compatibility with existing code
@@ -129,10 +263,12 @@ public class DatabaseConfig {
         closeConnectionPool();
     }
 
+    // Close the pool; the next getConnection() opens a new one
     public static void shutdown() {
-        if (instance != null) {
-            instance.closeConnectionPool();
-            instance = null;
+        HikariDataSource ds = dataSource;
+        if (ds != null && !ds.isClosed()) {
+            ds.close();
+            logger.info("Database connection pool closed");
         }
     }
 
@@ -0,0 +1,225 @@
+package com.revshop.config;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+// Applies versioned SQL migrations from db/migration on the classpath.
+//
+// Applied versions are recorded in schema_migrations. Each migration runs once, in
+// version order. A migration that has shipped must never be edited; add a new file
+// to MIGRATIONS instead (a changed checksum is logged as a warning).
+//
+// On MySQL the run holds a named lock, so nodes starting together apply each
+// migration once: the others wait, then find it in the history.
+public class MigrationRunner {
+    private static final Logger logger = LogManager.getLogger(MigrationRunner.class);
+
+    private static final String MIGRATION_PATH = "db/migration/";
+
+    // In version order; file names are V<version>__<description>.sql
+    private static final String[] MIGRATIONS = {
+            "V1__index_pack.sql",
+            "V2__notification_outbox.sql",
+            "V3__product_rating_stats.sql",
+            "V4__review_feed_index.sql",
+            "V5__rating_average_index.sql"
+    };
+
+    // MySQL "Duplicate key name": the index already exists (e.g. created by hand)
+    private static final int ER_DUP_KEYNAME = 1061;
+
+    // SQLSTATE for "Duplicate column name" (MySQL and H2): the column already exists,
+    // e.g. created by a schema script that cannot use the migration's MySQL syntax
+    private static final String DUPLICATE_COLUMN_STATE = "42S21";
+
+    // Named lock (GET_LOCK) shared by every node migrating the same database
+    private static final String LOCK_NAME = "revshop_migrations";
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
+
+    private static final String CREATE_HISTORY_SQL = "CREATE TABLE IF NOT EXISTS schema_migrations (" +
+            "version INT PRIMARY KEY, " +
+            "description VARCHAR(200) NOT NULL, " +
+            "checksum BIGINT NOT NULL, " +
+            "applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)";
+
+    private final DataSource dataSource;
+
+    public MigrationRunner(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    // Apply all pending migrations; returns the number applied
+    public int migrate() throws SQLException {
+        int applied = 0;
+
+        try (Connection conn = dataSource.getConnection()) {
+            boolean locked = acquireLock(conn);
+            try {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute(CREATE_HISTORY_SQL);
+                }
+                // Loaded under the lock: another node may have just applied migrations
+                Map<Integer, Long> history = loadHistory(conn);
+
+                for (String fileName : MIGRATIONS) {
+                    int version = parseVersion(fileName);
+                    String script = readScript(fileName);
+                    long checksum = checksum(script);
+
+                    Long appliedChecksum = history.get(version);
+                    if (appliedChecksum != null) {
+                        if (appliedChecksum != checksum) {
+                            logger.warn("Migration {} has changed since it was applied", fileName);
+                        }
+                        continue;
+                    }
+
+                    logger.info("Applying migration {}", fileName);
+                    long start = System.currentTimeMillis();
+                    for (String sql : splitStatements(script)) {
+                        execute(conn, sql);
+                    }
+                    recordMigration(conn, version, parseDescription(fileName), checksum);
+                    logger.info("Applied migration {} in {} ms", fileName, System.currentTimeMillis() - start);
+                    applied++;
+                }
+            } finally {
+                if (locked) {
+                    releaseLock(conn);
+                }
+            }
+        }
+
+        if (applied == 0) {
+            logger.info("Database schema is up to date");
+        }
+        return applied;
+    }
+
+    // Take the named lock on MySQL; returns false where named locks are not available (H2)
+    private boolean acquireLock(Connection conn) throws SQLException {
+        if (!"MySQL".equalsIgnoreCase(conn.getMetaData().getDatabaseProductName())) {
+            return false;
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            pstmt.setString(1, LOCK_NAME);
+            pstmt.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Timed out after " + LOCK_TIMEOUT_SECONDS +
+                            " s waiting for migration lock " + LOCK_NAME);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void releaseLock(Connection conn) {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            pstmt.setString(1, LOCK_NAME);
+            pstmt.executeQuery().close();
+        } catch (SQLException e) {
+            // MySQL drops the lock when this session ends
+            logger.warn("Error releasing migration lock: {}", e.getMessage());
+        }
+    }
+
+    private Map<Integer, Long> loadHistory(Connection conn) throws SQLException {
+        Map<Integer, Long> history = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_migrations")) {
+            while (rs.next()) {
+                history.put(rs.getInt("version"), rs.getLong("checksum"));
+            }
+        }
+        return history;
+    }
+
+    private void execute(Connection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        } catch (SQLException e) {
+            if (e.getErrorCode() == ER_DUP_KEYNAME) {
+                logger.info("Index already exists, skipping: {}", sql);
+                return;
+            }
+            if (DUPLICATE_COLUMN_STATE.equals(e.getSQLState())) {
+                logger.info("Column already exists, skipping: {}", sql);
+                return;
+            }
+            throw e;
+        }
+    }
+
+    private void recordMigration(Connection conn, int version, String description, long checksum)
+            throws SQLException {
+        String sql = "INSERT INTO schema_migrations (version, description, checksum) VALUES (?, ?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, version);
+            pstmt.setString(2, description);
+            pstmt.setLong(3, checksum);
+            pstmt.executeUpdate();
+        }
+    }
+
+    private String readScript(String fileName) throws SQLException {
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream(MIGRATION_PATH + fileName)) {
+            if (input == null) {
+                throw new SQLException("Migration not found on classpath: " + MIGRATION_PATH + fileName);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new SQLException("Error reading migration " + fileName, e);
+        }
+    }
+
+    // Split a script into statements on ';', dropping "--" comment lines
+    private static List<String> splitStatements(String script) {
+        StringBuilder body = new StringBuilder();
+        for (String line : script.split("\\R")) {
+            if (!line.trim().startsWith("--")) {
+                body.append(line).append('\n');
+            }
+        }
+
+        List<String> statements = new ArrayList<>();
+        for (String sql : body.toString().split(";")) {
+            if (!sql.trim().isEmpty()) {
+                statements.add(sql.trim());
+            }
+        }
+        return statements;
+    }
+
+    private static int parseVersion(String fileName) {
+        return Integer.parseInt(fileName.substring(1, fileName.indexOf("__")));
+    }
+
+    private static String parseDescription(String fileName) {
+        return fileName.substring(fileName.indexOf("__") + 2, fileName.lastIndexOf('.')).replace('_', ' ');
+    }
+
+    private static long checksum(String script) {
+        CRC32 crc = new CRC32();
+        crc.update(script.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+}
@@ -1,17 +1,140 @@
 package com.revshop.dao;
 
 import com.revshop.config.DatabaseConfig;
+import com.revshop.metrics.QueryMetrics;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.sql.*;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class BaseDAO {
     protected static final Logger logger = LogManager.getLogger(BaseDAO.class);
 
-    // Get connection from connection pool
+    // Rows per round trip when streaming. The pool enables useCursorFetch, so a positive
+    // fetch size makes MySQL keep the result in a server-side cursor instead of sending
+    // (and the driver buffering) the whole result set at once.
+    protected static final int STREAM_FETCH_SIZE = 1000;
+
+    // Binds parameters onto a prepared statement
+    @FunctionalInterface
+    public interface StatementBinder {
+        void bind(PreparedStatement pstmt) throws SQLException;
+    }
+
+    // Called once per row while streaming; the ResultSet must not be kept
+    @FunctionalInterface
+    public interface RowHandler {
+        void handle(ResultSet rs) throws SQLException;
+    }
+
+    // Maps the current row to an object
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    // Get connection from connection pool, instrumented for per-query latency
     protected Connection getConnection() throws SQLException {
-        return DatabaseConfig.getInstance().getConnection();
+        long start = System.nanoTime();
+        Connection conn = DatabaseConfig.getInstance().getConnection();
+        return QueryMetrics.getInstance().instrument(conn, System.nanoTime() - start);
+    }
+
+    // Stream a query row by row to the handler in constant memory.
+    // Returns the number of rows handled, or -1 if the query failed.
+    protected long query(String sql, StatementBinder binder, RowHandler handler) {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        long rows = 0;
+
+        try {
+            conn = getConnection();
+            pstmt = prepareStreaming(conn, sql);
+            if (binder != null) {
+                binder.bind(pstmt);
+            }
+            rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                handler.handle(rs);
+                rows++;
+            }
+            return rows;
+        } catch (SQLException e) {
+            logger.error("Error streaming query after {} rows: {}", rows, sql, e);
+        } finally {
+            closeResources(rs, pstmt, conn);
+        }
+        return -1;
+    }
+
+    // Stream a query as mapped objects. The connection is held until the stream is
+    // closed, so callers must use try-with-resources. A database error while reading
+    // releases the connection at once and is rethrown as IllegalStateException.
+    protected <T> Stream<T> stream(String sql, StatementBinder binder, RowMapper<T> mapper) {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = getConnection();
+            pstmt = prepareStreaming(conn, sql);
+            if (binder != null) {
+                binder.bind(pstmt);
+            }
+            rs = pstmt.executeQuery();
+        } catch (SQLException e) {
+            closeResources(rs, pstmt, conn);
+            logger.error("Error opening streaming query: {}", sql, e);
+            throw new IllegalStateException("Failed to open streaming query", e);
+        }
+
+        final Connection streamConn = conn;
+        final PreparedStatement streamStmt = pstmt;
+        final ResultSet streamRs = rs;
+        // Closed on a read error or by close(), whichever comes first
+        final AtomicBoolean closed = new AtomicBoolean();
+        final Runnable release = () -> {
+            if (closed.compareAndSet(false, true)) {
+                closeResources(streamRs, streamStmt, streamConn);
+            }
+        };
+
+        Spliterator<T> rows = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!streamRs.next()) {
+                        return false;
+                    }
+                    action.accept(mapper.map(streamRs));
+                    return true;
+                } catch (SQLException e) {
+                    logger.error("Error reading streaming query: {}", sql, e);
+                    release.run();
+                    throw new IllegalStateException("Failed to read streaming query", e);
+                }
+            }
+        };
+
+        return StreamSupport.stream(rows, false)
+                .onClose(release);
+    }
+
+    // Forward-only, read-only statement that fetches STREAM_FETCH_SIZE rows at a time
+    private PreparedStatement prepareStreaming(Connection conn, String sql) throws SQLException {
+        PreparedStatement pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY);
+        pstmt.setFetchSize(STREAM_FETCH_SIZE);
+        return pstmt;
     }
 
     // Close resources with Connection
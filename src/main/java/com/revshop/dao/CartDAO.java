@@ -7,46 +7,115 @@ import org.apache.logging.log4j.Logger;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 
 public class CartDAO extends BaseDAO {
     private static final Logger logger = LogManager.getLogger(CartDAO.class);
 
-    // Add item to cart
+    // Insert the line or add to it in one statement, but only while the line stays within
+    // the product's stock. The current line is read FOR UPDATE, so concurrent adds of the
+    // same product queue on it and never lose an increment. Affected rows: 1 for a new
+    // line, 2 for an added-to line, 0 if the product is gone or stock would be exceeded.
+    private static final String ADD_SQL =
+            "INSERT INTO cart (buyer_id, product_id, quantity) " +
+            "SELECT ?, p.product_id, ? FROM products p " +
+            "WHERE p.product_id = ? AND p.is_active = TRUE AND p.stock_quantity >= ? + " +
+            "COALESCE((SELECT c.quantity FROM cart c WHERE c.buyer_id = ? AND c.product_id = ? FOR UPDATE), 0) " +
+            "ON DUPLICATE KEY UPDATE quantity = cart.quantity + VALUES(quantity)";
+
+    // MySQL reports a deadlock victim with this SQL state
+    private static final String DEADLOCK_SQL_STATE = "40001";
+
+    // Add item to cart; false if the product is unavailable or the cart line would
+    // exceed its stock
     public boolean addToCart(CartItem cartItem) {
         Connection conn = null;
         PreparedStatement pstmt = null;
 
-        // Check if item already exists
-        CartItem existing = getCartItem(cartItem.getBuyerId(), cartItem.getProductId());
-
-        if (existing != null) {
-            // Update quantity
-            return updateCartItemQuantity(cartItem.getBuyerId(), cartItem.getProductId(),
-                    existing.getQuantity() + cartItem.getQuantity());
-        } else {
-            // Insert new item
-            String sql = "INSERT INTO cart (buyer_id, product_id, quantity) VALUES (?, ?, ?)";
+        try {
+            conn = getConnection();
+            pstmt = conn.prepareStatement(ADD_SQL);
+            setAddParameters(pstmt, cartItem);
 
+            int affectedRows;
             try {
-                conn = getConnection();
-                pstmt = conn.prepareStatement(sql);
-                pstmt.setInt(1, cartItem.getBuyerId());
-                pstmt.setInt(2, cartItem.getProductId());
-                pstmt.setInt(3, cartItem.getQuantity());
-
-                int affectedRows = pstmt.executeUpdate();
-                return affectedRows > 0;
+                affectedRows = pstmt.executeUpdate();
             } catch (SQLException e) {
-                logger.error("Error adding to cart: buyer={}, product={}",
-                        cartItem.getBuyerId(), cartItem.getProductId(), e);
-            } finally {
-                closeResources(pstmt, conn);
+                if (!DEADLOCK_SQL_STATE.equals(e.getSQLState())) {
+                    throw e;
+                }
+                // Two first adds of the same product can deadlock on the gap where the line
+                // goes; the survivor has inserted it, so the retry adds to that line
+                logger.debug("Retrying add to cart after deadlock: buyer={}, product={}",
+                        cartItem.getBuyerId(), cartItem.getProductId());
+                affectedRows = pstmt.executeUpdate();
             }
+            return affectedRows > 0;
+        } catch (SQLException e) {
+            logger.error("Error adding to cart: buyer={}, product={}",
+                    cartItem.getBuyerId(), cartItem.getProductId(), e);
+        } finally {
+            closeResources(pstmt, conn);
         }
         return false;
     }
 
+    // Add several items in one transaction and one batch, with the same stock check as
+    // addToCart. Items are applied in product ID order so two batches sharing products
+    // cannot deadlock. Returns the items that were not added (empty if all were); on
+    // error nothing is added and all items are returned.
+    public List<CartItem> addAllToCart(List<CartItem> cartItems) {
+        List<CartItem> sorted = new ArrayList<>(cartItems);
+        sorted.sort(Comparator.comparingInt(CartItem::getProductId));
+        if (sorted.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+
+        try {
+            conn = getConnection();
+            conn.setAutoCommit(false);
+            pstmt = conn.prepareStatement(ADD_SQL);
+            for (CartItem item : sorted) {
+                setAddParameters(pstmt, item);
+                pstmt.addBatch();
+            }
+
+            int[] results = pstmt.executeBatch();
+            conn.commit();
+
+            List<CartItem> rejected = new ArrayList<>();
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] == 0) {
+                    rejected.add(sorted.get(i));
+                }
+            }
+            return rejected;
+        } catch (SQLException e) {
+            rollbackTransaction(conn);
+            logger.error("Error adding {} items to cart: buyer={}", sorted.size(),
+                    sorted.get(0).getBuyerId(), e);
+        } finally {
+            closeResources(pstmt, null);
+            setAutoCommit(conn, true);
+            closeResources(null, conn);
+        }
+        return sorted;
+    }
+
+    private void setAddParameters(PreparedStatement pstmt, CartItem item) throws SQLException {
+        pstmt.setInt(1, item.getBuyerId());
+        pstmt.setInt(2, item.getQuantity());
+        pstmt.setInt(3, item.getProductId());
+        pstmt.setInt(4, item.getQuantity());
+        pstmt.setInt(5, item.getBuyerId());
+        pstmt.setInt(6, item.getProductId());
+    }
+
     // Get cart item
     public CartItem getCartItem(int buyerId, int productId) {
         Connection conn = null;
@@ -179,15 +248,15 @@ public class CartDAO extends BaseDAO {
         return false;
     }
 
-    // Get cart total
-    public double getCartTotal(int buyerId) {
+    // Get the buyer's cart lines without products (including lines of inactive products);
+    // null on error, so callers can tell a failed read from an empty cart
+    public List<CartItem> getCartLines(int buyerId) {
+        List<CartItem> cartItems = new ArrayList<>();
         Connection conn = null;
         PreparedStatement pstmt = null;
         ResultSet rs = null;
 
-        String sql = "SELECT SUM(p.price * c.quantity) as total FROM cart c " +
-                "JOIN products p ON c.product_id = p.product_id " +
-                "WHERE c.buyer_id = ? AND p.is_active = TRUE";
+        String sql = "SELECT * FROM cart WHERE buyer_id = ?";
 
         try {
             conn = getConnection();
@@ -195,19 +264,92 @@ public class CartDAO extends BaseDAO {
             pstmt.setInt(1, buyerId);
             rs = pstmt.executeQuery();
 
-            if (rs.next()) {
-                return rs.getDouble("total");
+            while (rs.next()) {
+                cartItems.add(extractCartItemFromResultSet(rs));
             }
+            return cartItems;
         } catch (SQLException e) {
-            logger.error("Error getting cart total for buyer: {}", buyerId, e);
+            logger.error("Error getting cart lines for buyer: {}", buyerId, e);
         } finally {
             closeResources(rs, pstmt, conn);
         }
-        return 0.0;
+        return null;
+    }
+
+    // Write a batch of cart changes in one transaction: empty the carts of clearedBuyerIds,
+    // then set each line to its quantity (0 deletes the line). Setting absolute quantities
+    // makes a batch safe to apply again, e.g. when a journal is replayed after a crash.
+    public boolean applyCartChanges(Collection<Integer> clearedBuyerIds, List<CartItem> lines) {
+        Connection conn = null;
+        PreparedStatement clear = null;
+        PreparedStatement delete = null;
+        PreparedStatement upsert = null;
+
+        String clearSql = "DELETE FROM cart WHERE buyer_id = ?";
+        String deleteSql = "DELETE FROM cart WHERE buyer_id = ? AND product_id = ?";
+        String upsertSql = "INSERT INTO cart (buyer_id, product_id, quantity) VALUES (?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE quantity = VALUES(quantity)";
+
+        // Same lock order in every batch
+        List<CartItem> sorted = new ArrayList<>(lines);
+        sorted.sort(Comparator.comparingInt(CartItem::getBuyerId).thenComparingInt(CartItem::getProductId));
+
+        try {
+            conn = getConnection();
+            conn.setAutoCommit(false);
+
+            if (!clearedBuyerIds.isEmpty()) {
+                clear = conn.prepareStatement(clearSql);
+                for (int buyerId : clearedBuyerIds) {
+                    clear.setInt(1, buyerId);
+                    clear.addBatch();
+                }
+                clear.executeBatch();
+            }
+
+            delete = conn.prepareStatement(deleteSql);
+            upsert = conn.prepareStatement(upsertSql);
+            boolean deletes = false;
+            boolean upserts = false;
+            for (CartItem line : sorted) {
+                if (line.getQuantity() <= 0) {
+                    delete.setInt(1, line.getBuyerId());
+                    delete.setInt(2, line.getProductId());
+                    delete.addBatch();
+                    deletes = true;
+                } else {
+                    upsert.setInt(1, line.getBuyerId());
+                    upsert.setInt(2, line.getProductId());
+                    upsert.setInt(3, line.getQuantity());
+                    upsert.addBatch();
+                    upserts = true;
+                }
+            }
+            if (deletes) {
+                delete.executeBatch();
+            }
+            if (upserts) {
+                upsert.executeBatch();
+            }
+
+            conn.commit();
+            return true;
+        } catch (SQLException e) {
+            rollbackTransaction(conn);
+            logger.error("Error writing {} cart lines and {} cleared carts", lines.size(),
+                    clearedBuyerIds.size(), e);
+        } finally {
+            closeResources(clear, null);
+            closeResources(delete, null);
+            closeResources(upsert, null);
+            setAutoCommit(conn, true);
+            closeResources(null, conn);
+        }
+        return false;
     }
 
     // Helper method to extract cart item from ResultSet
-    private CartItem extractCartItemFromResultSet(ResultSet rs) throws SQLException {
+    CartItem extractCartItemFromResultSet(ResultSet rs) throws SQLException {
         CartItem cartItem = new CartItem();
         cartItem.setCartId(rs.getInt("cart_id"));
         cartItem.setBuyerId(rs.getInt("buyer_id"));
@@ -218,7 +360,7 @@ public class CartDAO extends BaseDAO {
     }
 
     // Helper method to extract product from ResultSet
-    private Product extractProductFromResultSet(ResultSet rs) throws SQLException {
+    Product extractProductFromResultSet(ResultSet rs) throws SQLException {
         Product product = new Product();
         product.setProductId(rs.getInt("product_id"));
         product.setSellerId(rs.getInt("seller_id"));
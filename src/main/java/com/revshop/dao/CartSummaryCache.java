@@ -0,0 +1,204 @@
+package com.revshop.dao;
+
+import com.revshop.config.AppConfig;
+import com.revshop.model.CartSummary;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.function.UnaryOperator;
+
+// Per-buyer cart summaries (item count, subtotal, savings), so the dashboards and the
+// cart badge do not load and add up the cart on every render.
+//
+// A summary is built from the cart on first use and then kept up to date by the writers
+// in the same way as UnreadCountCache: each cart change is bracketed by
+// beginUpdate/endUpdate, and endUpdate applies the change to the cached summary. A load
+// only installs its result if no write for that buyer (or one sharing its stripe) was
+// running or started while it ran. Price changes and deactivation drop the summaries of
+// carts holding the product.
+//
+// Only writes made through this process reach the cache, so a summary is reloaded once
+// it is ttlSeconds old: behind a load balancer, a cart or price change made on another
+// node shows here within that time. When the cache is full, the next miss evicts expired
+// summaries and those not read since the previous eviction (at most once a second).
+public class CartSummaryCache {
+    private static final int DEFAULT_MAX_BUYERS = 10000;
+    private static final int DEFAULT_TTL_SECONDS = 60;
+    private static final long EVICT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final CartSummaryCache instance = new CartSummaryCache(
+            AppConfig.get().getInt("cart.summaryCache.maxBuyers", DEFAULT_MAX_BUYERS),
+            AppConfig.get().getInt("cart.summaryCache.ttlSeconds", DEFAULT_TTL_SECONDS) * 1000L,
+            AppConfig.get().getBoolean("cart.summaryCache.enabled", true));
+
+    private final int maxBuyers;
+    private final long ttlNanos;
+    private final boolean enabled;
+    private final ConcurrentHashMap<Integer, Entry> summaries = new ConcurrentHashMap<>();
+    private final WriteStripes writes = new WriteStripes();
+    // Bumped by invalidateProduct, so a load that read the old price is not installed
+    private final AtomicLong productChanges = new AtomicLong();
+    private final AtomicLong lastEviction = new AtomicLong(System.nanoTime() - EVICT_INTERVAL_NANOS);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public CartSummaryCache(int maxBuyers, long ttlMillis, boolean enabled) {
+        this.maxBuyers = maxBuyers;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.enabled = enabled;
+    }
+
+    public static CartSummaryCache getInstance() {
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Cached summary for buyer, or the loader's result on a miss (null from the loader
+    // means the cart could not be read: reported as empty and not cached)
+    public CartSummary get(int buyerId, IntFunction<CartSummary> loader) {
+        if (!enabled) {
+            CartSummary loaded = loader.apply(buyerId);
+            return loaded != null ? loaded : CartSummary.EMPTY;
+        }
+        Entry cached = summaries.get(buyerId);
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                cached.used = true;
+                hits.incrementAndGet();
+                return cached.summary;
+            }
+            summaries.remove(buyerId, cached);
+        }
+        misses.incrementAndGet();
+        if (summaries.size() >= maxBuyers) {
+            maybeEvict();
+        }
+
+        long snapshot = writes.snapshot(buyerId);
+        long productChangesBefore = productChanges.get();
+        CartSummary loaded = loader.apply(buyerId);
+        if (loaded == null) {
+            return CartSummary.EMPTY;
+        }
+        if (snapshot >= 0 && summaries.size() < maxBuyers) {
+            summaries.compute(buyerId, (id, current) -> {
+                if (current != null) {
+                    return current;
+                }
+                return writes.isUnchanged(id, snapshot) && productChanges.get() == productChangesBefore
+                        ? new Entry(loaded, System.nanoTime()) : null;
+            });
+        }
+        return loaded;
+    }
+
+    // Call before changing a buyer's cart, then endUpdate with the returned token once the
+    // change is committed or has failed
+    public long beginUpdate(int buyerId) {
+        writes.begin(buyerId);
+        return productChanges.get();
+    }
+
+    // Apply the committed change to the cached summary (null if nothing changed). If a
+    // product changed meanwhile, the change may carry its old price: the summary is
+    // dropped instead.
+    public void endUpdate(int buyerId, long token, UnaryOperator<CartSummary> change) {
+        if (change != null) {
+            summaries.computeIfPresent(buyerId, (id, entry) -> productChanges.get() == token
+                    ? entry.withSummary(change.apply(entry.summary)) : null);
+        }
+        writes.end(buyerId);
+    }
+
+    // The buyer's cart changed in a way that cannot be applied line by line
+    public void endUpdateAndInvalidate(int buyerId) {
+        summaries.remove(buyerId);
+        writes.end(buyerId);
+    }
+
+    // The product's price changed or it was deactivated: forget the summaries that hold
+    // it. Scans the cached buyers, which is bounded by maxBuyers and only happens on
+    // seller edits.
+    public void invalidateProduct(int productId) {
+        if (!enabled) {
+            return;
+        }
+        productChanges.incrementAndGet();
+        for (Integer buyerId : summaries.keySet()) {
+            summaries.computeIfPresent(buyerId, (id, entry) -> entry.summary.contains(productId) ? null : entry);
+        }
+    }
+
+    // Drop expired summaries and those not read since the previous call. Returns the
+    // number dropped.
+    public int evictIdle() {
+        int evicted = 0;
+        for (Map.Entry<Integer, Entry> e : summaries.entrySet()) {
+            Entry entry = e.getValue();
+            if (entry.used && !entry.isExpired()) {
+                entry.used = false;
+            } else if (summaries.remove(e.getKey(), entry)) {
+                evicted++;
+            }
+        }
+        evictions.addAndGet(evicted);
+        return evicted;
+    }
+
+    // Forget one buyer's summary (the next read builds it again)
+    public void invalidate(int buyerId) {
+        summaries.remove(buyerId);
+    }
+
+    public void clear() {
+        summaries.clear();
+    }
+
+    // Statistics
+    public long getHitCount() { return hits.get(); }
+    public long getMissCount() { return misses.get(); }
+    public long getEvictionCount() { return evictions.get(); }
+
+    public int getBuyerCount() {
+        return summaries.size();
+    }
+
+    // Evict from a full cache, at most once per EVICT_INTERVAL_NANOS and one thread at a time
+    private void maybeEvict() {
+        long last = lastEviction.get();
+        long now = System.nanoTime();
+        if (now - last >= EVICT_INTERVAL_NANOS && lastEviction.compareAndSet(last, now)) {
+            evictIdle();
+        }
+    }
+
+    // A summary only changes inside ConcurrentHashMap compute calls for its key, by
+    // replacing the entry
+    private final class Entry {
+        final CartSummary summary;
+        final long loadedAt;
+        volatile boolean used = true;
+
+        Entry(CartSummary summary, long loadedAt) {
+            this.summary = summary;
+            this.loadedAt = loadedAt;
+        }
+
+        // Same age as this entry: applying changes does not make a summary fresh
+        Entry withSummary(CartSummary changed) {
+            return new Entry(changed, loadedAt);
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - loadedAt >= ttlNanos;
+        }
+    }
+}
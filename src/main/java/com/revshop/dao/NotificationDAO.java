@@ -1,16 +1,23 @@
 package com.revshop.dao;
 
 import com.revshop.model.Notification;
+import com.revshop.model.Page;
+import com.revshop.util.PagingUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class NotificationDAO extends BaseDAO {
     private static final Logger logger = LogManager.getLogger(NotificationDAO.class);
 
+    private final UnreadCountCache unreadCounts = UnreadCountCache.getInstance();
+
     // Create notification
     public boolean createNotification(Notification notification) {
         Connection conn = null;
@@ -20,6 +27,8 @@ public class NotificationDAO extends BaseDAO {
         String sql = "INSERT INTO notifications (user_id, type, message, is_read) " +
                 "VALUES (?, ?, ?, ?)";
 
+        boolean created = false;
+        unreadCounts.beginUpdate(notification.getUserId());
         try {
             conn = getConnection();
             pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
@@ -30,8 +39,9 @@ public class NotificationDAO extends BaseDAO {
             pstmt.setBoolean(4, notification.isRead());
 
             int affectedRows = pstmt.executeUpdate();
+            created = affectedRows > 0;
 
-            if (affectedRows > 0) {
+            if (created) {
                 rs = pstmt.getGeneratedKeys();
                 if (rs.next()) {
                     notification.setNotificationId(rs.getInt(1));
@@ -43,6 +53,7 @@ public class NotificationDAO extends BaseDAO {
             logger.error("Error creating notification for user: {}", notification.getUserId(), e);
         } finally {
             closeResources(rs, pstmt, conn);
+            unreadCounts.endUpdate(notification.getUserId(), created && !notification.isRead() ? 1 : 0);
         }
         return false;
     }
@@ -98,6 +109,46 @@ public class NotificationDAO extends BaseDAO {
         return notifications;
     }
 
+    // Get one page of a user's notifications, newest first, strictly before the given
+    // (created_at, notification_id) position. Pass a null beforeCreatedAt for the first page.
+    public Page<Notification> getNotificationsPage(int userId, Timestamp beforeCreatedAt,
+                                                   int beforeNotificationId, int limit) {
+        List<Notification> notifications = new ArrayList<>();
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        limit = PagingUtil.clampPageSize(limit);
+        String sql = "SELECT * FROM notifications WHERE user_id = ?" +
+                (beforeCreatedAt != null ?
+                        " AND (created_at < ? OR (created_at = ? AND notification_id < ?))" : "") +
+                " ORDER BY created_at DESC, notification_id DESC LIMIT ?";
+
+        try {
+            conn = getConnection();
+            pstmt = conn.prepareStatement(sql);
+            int index = 1;
+            pstmt.setInt(index++, userId);
+            if (beforeCreatedAt != null) {
+                pstmt.setTimestamp(index++, beforeCreatedAt);
+                pstmt.setTimestamp(index++, beforeCreatedAt);
+                pstmt.setInt(index++, beforeNotificationId);
+            }
+            pstmt.setInt(index, limit + 1);
+            rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                notifications.add(extractNotificationFromResultSet(rs));
+            }
+            return Page.of(notifications, limit);
+        } catch (SQLException e) {
+            logger.error("Error getting notifications page for user: {}", userId, e);
+        } finally {
+            closeResources(rs, pstmt, conn);
+        }
+        return Page.empty();
+    }
+
     // Get unread notifications by user ID
     public List<Notification> getUnreadNotificationsByUserId(int userId) {
         List<Notification> notifications = new ArrayList<>();
@@ -127,25 +178,56 @@ public class NotificationDAO extends BaseDAO {
     // Mark notification as read
     public boolean markAsRead(int notificationId) {
         Connection conn = null;
-        PreparedStatement pstmt = null;
-
-        String sql = "UPDATE notifications SET is_read = TRUE WHERE notification_id = ?";
 
         try {
             conn = getConnection();
-            pstmt = conn.prepareStatement(sql);
-            pstmt.setInt(1, notificationId);
+            int userId = findOwner(conn, notificationId);
+            return userId > 0 && markAsRead(conn, userId, notificationId);
+        } catch (SQLException e) {
+            logger.error("Error marking notification as read: {}", notificationId, e);
+        } finally {
+            closeResources(null, conn);
+        }
+        return false;
+    }
 
-            int affectedRows = pstmt.executeUpdate();
-            return affectedRows > 0;
+    // Mark one of the user's notifications as read; false if the user has no such notification
+    public boolean markAsRead(int userId, int notificationId) {
+        Connection conn = null;
+
+        try {
+            conn = getConnection();
+            return markAsRead(conn, userId, notificationId);
         } catch (SQLException e) {
             logger.error("Error marking notification as read: {}", notificationId, e);
         } finally {
-            closeResources(pstmt, conn);
+            closeResources(null, conn);
         }
         return false;
     }
 
+    // Only an unread row is updated, so the row count says whether the unread count drops
+    private boolean markAsRead(Connection conn, int userId, int notificationId) throws SQLException {
+        PreparedStatement pstmt = null;
+
+        String sql = "UPDATE notifications SET is_read = TRUE " +
+                "WHERE notification_id = ? AND user_id = ? AND is_read = FALSE";
+
+        int marked = 0;
+        unreadCounts.beginUpdate(userId);
+        try {
+            pstmt = conn.prepareStatement(sql);
+            pstmt.setInt(1, notificationId);
+            pstmt.setInt(2, userId);
+            marked = pstmt.executeUpdate();
+        } finally {
+            closeResources(pstmt, null);
+            unreadCounts.endUpdate(userId, -marked);
+        }
+        // Already read counts as success
+        return marked > 0 || findOwner(conn, notificationId) == userId;
+    }
+
     // Mark all notifications as read for user
     public boolean markAllAsRead(int userId) {
         Connection conn = null;
@@ -153,17 +235,20 @@ public class NotificationDAO extends BaseDAO {
 
         String sql = "UPDATE notifications SET is_read = TRUE WHERE user_id = ? AND is_read = FALSE";
 
+        int affectedRows = 0;
+        unreadCounts.beginUpdate(userId);
         try {
             conn = getConnection();
             pstmt = conn.prepareStatement(sql);
             pstmt.setInt(1, userId);
 
-            int affectedRows = pstmt.executeUpdate();
+            affectedRows = pstmt.executeUpdate();
             return affectedRows > 0;
         } catch (SQLException e) {
             logger.error("Error marking all notifications as read for user: {}", userId, e);
         } finally {
             closeResources(pstmt, conn);
+            unreadCounts.endUpdate(userId, -affectedRows);
         }
         return false;
     }
@@ -173,25 +258,54 @@ public class NotificationDAO extends BaseDAO {
         Connection conn = null;
         PreparedStatement pstmt = null;
 
+        // Try the unread row first so the row counts say whether the unread count drops
+        String unreadSql = "DELETE FROM notifications WHERE notification_id = ? AND is_read = FALSE";
         String sql = "DELETE FROM notifications WHERE notification_id = ?";
 
+        int userId = -1;
+        int unreadDeleted = 0;
         try {
             conn = getConnection();
-            pstmt = conn.prepareStatement(sql);
+            userId = findOwner(conn, notificationId);
+            if (userId <= 0) {
+                return false;
+            }
+            unreadCounts.beginUpdate(userId);
+
+            pstmt = conn.prepareStatement(unreadSql);
             pstmt.setInt(1, notificationId);
+            unreadDeleted = pstmt.executeUpdate();
+            if (unreadDeleted > 0) {
+                return true;
+            }
+            closeResources(pstmt, null);
 
-            int affectedRows = pstmt.executeUpdate();
-            return affectedRows > 0;
+            pstmt = conn.prepareStatement(sql);
+            pstmt.setInt(1, notificationId);
+            return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
             logger.error("Error deleting notification: {}", notificationId, e);
         } finally {
             closeResources(pstmt, conn);
+            if (userId > 0) {
+                unreadCounts.endUpdate(userId, -unreadDeleted);
+            }
         }
         return false;
     }
 
-    // Get notification count for user
+    // Get unread notification count for user (cached, see UnreadCountCache)
     public int getUnreadNotificationCount(int userId) {
+        return unreadCounts.get(userId, this::countUnread);
+    }
+
+    // Recount the cached unread counts against the table; returns the number corrected
+    public int reconcileUnreadCounts() {
+        return unreadCounts.reconcile(this::countUnread);
+    }
+
+    // Count unread notifications in the table; -1 on error
+    private int countUnread(int userId) {
         Connection conn = null;
         PreparedStatement pstmt = null;
         ResultSet rs = null;
@@ -212,7 +326,43 @@ public class NotificationDAO extends BaseDAO {
         } finally {
             closeResources(rs, pstmt, conn);
         }
-        return 0;
+        return -1;
+    }
+
+    // Count unread notifications for several users in one query; users without any are
+    // left out. Null on error.
+    private Map<Integer, Integer> countUnread(Collection<Integer> userIds) {
+        Map<Integer, Integer> counts = new HashMap<>();
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        StringBuilder sql = new StringBuilder("SELECT user_id, COUNT(*) as count FROM notifications " +
+                "WHERE is_read = FALSE AND user_id IN (");
+        for (int i = 0; i < userIds.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(") GROUP BY user_id");
+
+        try {
+            conn = getConnection();
+            pstmt = conn.prepareStatement(sql.toString());
+            int index = 1;
+            for (int userId : userIds) {
+                pstmt.setInt(index++, userId);
+            }
+            rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                counts.put(rs.getInt("user_id"), rs.getInt("count"));
+            }
+            return counts;
+        } catch (SQLException e) {
+            logger.error("Error counting unread notifications for {} users", userIds.size(), e);
+        } finally {
+            closeResources(rs, pstmt, conn);
+        }
+        return null;
     }
 
     // Create order notification
@@ -223,6 +373,8 @@ public class NotificationDAO extends BaseDAO {
         String sql = "INSERT INTO notifications (user_id, type, message, is_read) " +
                 "VALUES (?, 'ORDER', ?, FALSE)";
 
+        int affectedRows = 0;
+        unreadCounts.beginUpdate(userId);
         try {
             conn = getConnection();
             pstmt = conn.prepareStatement(sql);
@@ -230,16 +382,32 @@ public class NotificationDAO extends BaseDAO {
             pstmt.setInt(1, userId);
             pstmt.setString(2, "Order #" + orderId + " placed successfully!");
 
-            int affectedRows = pstmt.executeUpdate();
+            affectedRows = pstmt.executeUpdate();
             return affectedRows > 0;
         } catch (SQLException e) {
             logger.error("Error creating order notification for user: {}, order: {}", userId, orderId, e);
         } finally {
             closeResources(pstmt, conn);
+            unreadCounts.endUpdate(userId, affectedRows);
         }
         return false;
     }
 
+    // Owner of a notification, or -1 if there is none
+    private int findOwner(Connection conn, int notificationId) throws SQLException {
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        try {
+            pstmt = conn.prepareStatement("SELECT user_id FROM notifications WHERE notification_id = ?");
+            pstmt.setInt(1, notificationId);
+            rs = pstmt.executeQuery();
+            return rs.next() ? rs.getInt("user_id") : -1;
+        } finally {
+            closeResources(rs, pstmt, null);
+        }
+    }
+
     // Helper method to extract notification from ResultSet
     private Notification extractNotificationFromResultSet(ResultSet rs) throws SQLException {
         Notification notification = new Notification();
@@ -0,0 +1,148 @@
+package com.revshop.dao;
+
+import com.revshop.model.Notification;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Notifications waiting for delivery. Producers add rows on the connection of their
+// own transaction, so a notification exists exactly when the change it reports was
+// committed; NotificationDispatcher drains the table into notifications.
+public class NotificationOutboxDAO extends BaseDAO {
+    private static final Logger logger = LogManager.getLogger(NotificationOutboxDAO.class);
+
+    private final UnreadCountCache unreadCounts = UnreadCountCache.getInstance();
+
+    private static final String INSERT_SQL =
+            "INSERT INTO notification_outbox (user_id, message, type) VALUES (?, ?, ?)";
+
+    // Add to the outbox inside the caller's transaction
+    public void enqueue(Connection conn, Notification notification) throws SQLException {
+        PreparedStatement pstmt = null;
+
+        try {
+            pstmt = conn.prepareStatement(INSERT_SQL);
+            pstmt.setInt(1, notification.getUserId());
+            pstmt.setString(2, notification.getMessage());
+            pstmt.setString(3, notification.getType());
+            pstmt.executeUpdate();
+        } finally {
+            closeResources(pstmt, null);
+        }
+    }
+
+    // Add to the outbox on its own (for changes that are not part of a transaction)
+    public boolean enqueue(Notification notification) {
+        Connection conn = null;
+
+        try {
+            conn = getConnection();
+            enqueue(conn, notification);
+            return true;
+        } catch (SQLException e) {
+            logger.error("Error queueing notification for user: {}", notification.getUserId(), e);
+        } finally {
+            closeResources(null, conn);
+        }
+        return false;
+    }
+
+    // Move up to limit of the oldest outbox rows into notifications in one transaction:
+    // lock them, batch-insert the notifications, delete the rows. If anything fails the
+    // rows stay and are picked up again by the next run. Returns the number delivered,
+    // or -1 on error.
+    public int deliverBatch(int limit) {
+        Connection conn = null;
+        PreparedStatement select = null;
+        PreparedStatement insert = null;
+        PreparedStatement delete = null;
+        ResultSet rs = null;
+
+        // FOR UPDATE keeps dispatchers on other nodes from delivering the same rows
+        String selectSql = "SELECT outbox_id, user_id, message, type, created_at FROM notification_outbox " +
+                "ORDER BY outbox_id LIMIT ? FOR UPDATE";
+        String insertSql = "INSERT INTO notifications (user_id, message, type, created_at) VALUES (?, ?, ?, ?)";
+        String deleteSql = "DELETE FROM notification_outbox WHERE outbox_id = ?";
+
+        // Delivered rows per user, for the unread counts
+        Map<Integer, Integer> perUser = new HashMap<>();
+        boolean committed = false;
+        try {
+            conn = getConnection();
+            conn.setAutoCommit(false);
+
+            select = conn.prepareStatement(selectSql);
+            select.setInt(1, limit);
+            rs = select.executeQuery();
+
+            insert = conn.prepareStatement(insertSql);
+            delete = conn.prepareStatement(deleteSql);
+            List<Long> ids = new ArrayList<>();
+            while (rs.next()) {
+                int userId = rs.getInt("user_id");
+                if (perUser.merge(userId, 1, Integer::sum) == 1) {
+                    unreadCounts.beginUpdate(userId);
+                }
+                ids.add(rs.getLong("outbox_id"));
+                insert.setInt(1, userId);
+                insert.setString(2, rs.getString("message"));
+                insert.setString(3, rs.getString("type"));
+                insert.setTimestamp(4, rs.getTimestamp("created_at"));
+                insert.addBatch();
+            }
+            if (ids.isEmpty()) {
+                conn.commit();
+                return 0;
+            }
+
+            for (long id : ids) {
+                delete.setLong(1, id);
+                delete.addBatch();
+            }
+            insert.executeBatch();
+            delete.executeBatch();
+            conn.commit();
+            committed = true;
+            return ids.size();
+        } catch (SQLException e) {
+            rollbackTransaction(conn);
+            logger.error("Error delivering notifications from the outbox", e);
+        } finally {
+            closeResources(rs, select, null);
+            closeResources(insert, null);
+            closeResources(delete, null);
+            setAutoCommit(conn, true);
+            closeResources(null, conn);
+            for (Map.Entry<Integer, Integer> delivered : perUser.entrySet()) {
+                unreadCounts.endUpdate(delivered.getKey(), committed ? delivered.getValue() : 0);
+            }
+        }
+        return -1;
+    }
+
+    // Rows not yet delivered
+    public int getPendingCount() {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = getConnection();
+            pstmt = conn.prepareStatement("SELECT COUNT(*) FROM notification_outbox");
+            rs = pstmt.executeQuery();
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            logger.error("Error counting pending notifications", e);
+        } finally {
+            closeResources(rs, pstmt, conn);
+        }
+        return 0;
+    }
+}
@@ -1,29 +1,125 @@
 package com.revshop.dao;
 
+import com.revshop.model.CheckoutResult;
+import com.revshop.model.Notification;
 import com.revshop.model.Order;
 import com.revshop.model.OrderItem;
+import com.revshop.model.Page;
 import com.revshop.model.Order.OrderStatus;
 import com.revshop.model.Order.PaymentStatus;
 import com.revshop.model.Product;
+import com.revshop.util.PagingUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.math.BigDecimal;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 public class OrderDAO extends BaseDAO {
     private static final Logger logger = LogManager.getLogger(OrderDAO.class);
+
+    // Max order IDs bound into a single IN (...) when loading order items
+    private static final int ORDER_ITEM_BATCH_SIZE = 500;
+
+    private static final String ORDER_ITEMS_SQL = "SELECT oi.*, p.* FROM order_items oi " +
+            "JOIN products p ON oi.product_id = p.product_id " +
+            "WHERE oi.order_id IN (%s) ORDER BY oi.order_id, oi.order_item_id";
+
+    // Seek predicate for pages ordered by (order_date DESC, order_id DESC)
+    private static final String BEFORE_CURSOR = "(order_date < ? OR (order_date = ? AND order_id < ?))";
+
     private ProductDAO productDAO;
+    private final NotificationOutboxDAO outboxDAO;
 
     public OrderDAO() {
         this.productDAO = new ProductDAO();
+        this.outboxDAO = new NotificationOutboxDAO();
     }
 
     // Create order
     public boolean createOrder(Order order) {
         Connection conn = null;
+
+        try {
+            conn = getConnection();
+            conn.setAutoCommit(false);
+
+            if (insertOrder(conn, order)) {
+                conn.commit();
+                logger.info("Order created with ID: {}", order.getOrderId());
+                return true;
+            }
+            conn.rollback();
+        } catch (SQLException e) {
+            rollbackTransaction(conn);
+            logger.error("Error creating order", e);
+        } finally {
+            setAutoCommit(conn, true);
+            closeResources(null, conn);
+        }
+        return false;
+    }
+
+    public CheckoutResult placeOrder(Order order) {
+        return placeOrder(order, null);
+    }
+
+    // Place order atomically: reserve stock, insert order and items, and clear the
+    // buyer's cart in one transaction. Stock is only decremented where
+    // stock_quantity >= requested quantity, so concurrent checkouts cannot oversell.
+    // The notification (built once the order has its ID) goes to the outbox in the
+    // same transaction.
+    public CheckoutResult placeOrder(Order order, Function<Order, Notification> notification) {
+        Connection conn = null;
+
+        try {
+            conn = getConnection();
+            conn.setAutoCommit(false);
+
+            List<CheckoutResult.OutOfStockItem> outOfStock = reserveStock(conn, order.getOrderItems());
+            if (!outOfStock.isEmpty()) {
+                conn.rollback();
+                fillAvailableStock(conn, outOfStock);
+                logger.warn("Checkout rejected for buyer {}: {} item(s) out of stock",
+                        order.getBuyerId(), outOfStock.size());
+                return CheckoutResult.outOfStock(outOfStock);
+            }
+
+            if (!insertOrder(conn, order)) {
+                conn.rollback();
+                return CheckoutResult.failed();
+            }
+
+            clearCart(conn, order.getBuyerId());
+            if (notification != null) {
+                outboxDAO.enqueue(conn, notification.apply(order));
+            }
+            conn.commit();
+
+            for (OrderItem item : order.getOrderItems()) {
+                ProductCatalogCache.getInstance().invalidateProduct(item.getProductId());
+            }
+            logger.info("Order placed with ID: {} for buyer: {}", order.getOrderId(), order.getBuyerId());
+            return CheckoutResult.success(order);
+        } catch (SQLException e) {
+            rollbackTransaction(conn);
+            logger.error("Error placing order for buyer: {}", order.getBuyerId(), e);
+        } finally {
+            setAutoCommit(conn, true);
+            closeResources(null, conn);
+        }
+        return CheckoutResult.failed();
+    }
+
+    // Insert order row and its items on the given connection
+    private boolean insertOrder(Connection conn, Order order) throws SQLException {
         PreparedStatement pstmt = null;
         ResultSet rs = null;
 
@@ -32,9 +128,6 @@ public class OrderDAO extends BaseDAO {
                 "VALUES (?, ?, ?, ?, ?, ?, ?)";
 
         try {
-            conn = getConnection();
-            conn.setAutoCommit(false);
-
             pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
             pstmt.setInt(1, order.getBuyerId());
             pstmt.setBigDecimal(2, order.getTotalAmount());
@@ -53,22 +146,85 @@ public class OrderDAO extends BaseDAO {
                     order.setOrderId(orderId);
 
                     // Create order items
-                    if (createOrderItems(conn, orderId, order.getOrderItems())) {
-                        conn.commit();
-                        logger.info("Order created with ID: {}", orderId);
-                        return true;
-                    }
+                    return createOrderItems(conn, orderId, order.getOrderItems());
                 }
             }
-            conn.rollback();
+            return false;
+        } finally {
+            closeResources(rs, pstmt, null);
+        }
+    }
+
+    // Decrement stock for every item with a guarded batch update. Items are locked in
+    // product ID order so two checkouts sharing products cannot deadlock.
+    // Returns the items whose guard failed (empty if all were reserved).
+    private List<CheckoutResult.OutOfStockItem> reserveStock(Connection conn, List<OrderItem> orderItems)
+            throws SQLException {
+        List<OrderItem> sorted = new ArrayList<>(orderItems);
+        sorted.sort(Comparator.comparingInt(OrderItem::getProductId));
+
+        List<CheckoutResult.OutOfStockItem> outOfStock = new ArrayList<>();
+        PreparedStatement pstmt = null;
+        String sql = "UPDATE products SET stock_quantity = stock_quantity - ? " +
+                "WHERE product_id = ? AND is_active = TRUE AND stock_quantity >= ?";
+
+        try {
+            pstmt = conn.prepareStatement(sql);
+            for (OrderItem item : sorted) {
+                pstmt.setInt(1, item.getQuantity());
+                pstmt.setInt(2, item.getProductId());
+                pstmt.setInt(3, item.getQuantity());
+                pstmt.addBatch();
+            }
+
+            int[] results = pstmt.executeBatch();
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] == 0) {
+                    OrderItem item = sorted.get(i);
+                    outOfStock.add(new CheckoutResult.OutOfStockItem(item.getProductId(), item.getQuantity(), 0));
+                }
+            }
+        } finally {
+            closeResources(pstmt, null);
+        }
+        return outOfStock;
+    }
+
+    // Look up current stock for rejected items so the buyer can see what is left
+    private void fillAvailableStock(Connection conn, List<CheckoutResult.OutOfStockItem> items) {
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        String sql = "SELECT stock_quantity FROM products WHERE product_id = ? AND is_active = TRUE";
+
+        try {
+            pstmt = conn.prepareStatement(sql);
+            for (CheckoutResult.OutOfStockItem item : items) {
+                pstmt.setInt(1, item.getProductId());
+                rs = pstmt.executeQuery();
+                if (rs.next()) {
+                    item.setAvailableQuantity(rs.getInt("stock_quantity"));
+                }
+                rs.close();
+            }
         } catch (SQLException e) {
-            rollbackTransaction(conn);
-            logger.error("Error creating order", e);
+            logger.warn("Error reading available stock for out-of-stock items", e);
         } finally {
-            setAutoCommit(conn, true);
-            closeResources(rs, pstmt, conn);
+            closeResources(rs, pstmt, null);
+        }
+    }
+
+    // Clear the buyer's cart inside the checkout transaction
+    private void clearCart(Connection conn, int buyerId) throws SQLException {
+        PreparedStatement pstmt = null;
+        String sql = "DELETE FROM cart WHERE buyer_id = ?";
+
+        try {
+            pstmt = conn.prepareStatement(sql);
+            pstmt.setInt(1, buyerId);
+            pstmt.executeUpdate();
+        } finally {
+            closeResources(pstmt, null);
         }
-        return false;
     }
 
     // Create order items
@@ -89,7 +245,8 @@ public class OrderDAO extends BaseDAO {
 
             int[] results = pstmt.executeBatch();
             for (int result : results) {
-                if (result <= 0) {
+                // Rewritten (multi-row) batch inserts report SUCCESS_NO_INFO per row
+                if (result <= 0 && result != Statement.SUCCESS_NO_INFO) {
                     return false;
                 }
             }
@@ -121,7 +278,9 @@ public class OrderDAO extends BaseDAO {
 
             if (rs.next()) {
                 Order order = extractOrderFromResultSet(rs);
-                order.setOrderItems(getOrderItems(orderId));
+                List<Order> orders = new ArrayList<>();
+                orders.add(order);
+                loadOrderItems(conn, orders);
                 return order;
             }
         } catch (SQLException e) {
@@ -148,10 +307,11 @@ public class OrderDAO extends BaseDAO {
             rs = pstmt.executeQuery();
 
             while (rs.next()) {
-                Order order = extractOrderFromResultSet(rs);
-                order.setOrderItems(getOrderItems(order.getOrderId()));
-                orders.add(order);
+                orders.add(extractOrderFromResultSet(rs));
             }
+
+            // Load all items for these orders on the same connection
+            loadOrderItems(conn, orders);
         } catch (SQLException e) {
             logger.error("Error getting orders for buyer: {}", buyerId, e);
         } finally {
@@ -160,6 +320,13 @@ public class OrderDAO extends BaseDAO {
         return orders;
     }
 
+    // Get one page of a buyer's orders, newest first, strictly before the given
+    // (order_date, order_id) position. Pass a null beforeDate for the first page.
+    public Page<Order> getOrdersByBuyerPage(int buyerId, Timestamp beforeDate, int beforeOrderId, int limit) {
+        return getOrdersPage("WHERE buyer_id = ?" + (beforeDate != null ? " AND " + BEFORE_CURSOR : ""),
+                buyerId, beforeDate, beforeOrderId, limit, true);
+    }
+
     // Get orders by seller
     public List<Order> getOrdersBySeller(int sellerId) {
         List<Order> orders = new ArrayList<>();
@@ -179,10 +346,11 @@ public class OrderDAO extends BaseDAO {
             rs = pstmt.executeQuery();
 
             while (rs.next()) {
-                Order order = extractOrderFromResultSet(rs);
-                order.setOrderItems(getOrderItems(order.getOrderId()));
-                orders.add(order);
+                orders.add(extractOrderFromResultSet(rs));
             }
+
+            // Load all items for these orders on the same connection
+            loadOrderItems(conn, orders);
         } catch (SQLException e) {
             logger.error("Error getting orders for seller: {}", sellerId, e);
         } finally {
@@ -210,30 +378,7 @@ public class OrderDAO extends BaseDAO {
             rs = pstmt.executeQuery();
 
             while (rs.next()) {
-                OrderItem item = new OrderItem();
-                item.setOrderItemId(rs.getInt("order_item_id"));
-                item.setOrderId(rs.getInt("order_id"));
-                item.setProductId(rs.getInt("product_id"));
-                item.setQuantity(rs.getInt("quantity"));
-                item.setPrice(rs.getBigDecimal("price"));
-
-                // Extract product
-                Product product = new Product();
-                product.setProductId(rs.getInt("product_id"));
-                product.setSellerId(rs.getInt("seller_id"));
-                product.setName(rs.getString("name"));
-                product.setDescription(rs.getString("description"));
-                product.setCategory(rs.getString("category"));
-                product.setPrice(rs.getBigDecimal("price"));
-                product.setMrp(rs.getBigDecimal("mrp"));
-                product.setDiscountPrice(rs.getBigDecimal("discount_price"));
-                product.setStockQuantity(rs.getInt("stock_quantity"));
-                product.setThresholdQuantity(rs.getInt("threshold_quantity"));
-                product.setCreatedAt(rs.getTimestamp("created_at"));
-                product.setActive(rs.getBoolean("is_active"));
-
-                item.setProduct(product);
-                orderItems.add(item);
+                orderItems.add(extractOrderItemFromResultSet(rs));
             }
         } catch (SQLException e) {
             logger.error("Error getting order items for seller {} in order {}", sellerId, orderId, e);
@@ -245,8 +390,16 @@ public class OrderDAO extends BaseDAO {
 
     // Update order status for specific seller's items
     public boolean updateOrderStatusForSeller(int orderId, int sellerId, OrderStatus newStatus) {
+        return updateOrderStatusForSeller(orderId, sellerId, newStatus, null);
+    }
+
+    // Update order status for specific seller's items; the notification, if any, goes
+    // to the outbox in the same transaction as the status change
+    public boolean updateOrderStatusForSeller(int orderId, int sellerId, OrderStatus newStatus,
+                                              Notification notification) {
         Connection conn = null;
         PreparedStatement pstmt = null;
+        ResultSet rs = null;
 
         // First check if this seller has items in the order
         String checkSql = "SELECT COUNT(*) FROM order_items oi " +
@@ -263,82 +416,107 @@ public class OrderDAO extends BaseDAO {
             pstmt.setInt(1, orderId);
             pstmt.setInt(2, sellerId);
 
-            ResultSet rs = pstmt.executeQuery();
+            rs = pstmt.executeQuery();
             if (rs.next() && rs.getInt(1) == 0) {
                 logger.warn("Seller {} has no items in order {}", sellerId, orderId);
                 return false;
             }
-
+            rs.close();
             pstmt.close();
 
+            conn.setAutoCommit(false);
+
             // Update the order status
             pstmt = conn.prepareStatement(updateSql);
             pstmt.setString(1, newStatus.toString());
             pstmt.setInt(2, orderId);
 
             int affectedRows = pstmt.executeUpdate();
+            if (affectedRows == 0) {
+                conn.rollback();
+                return false;
+            }
 
-            if (affectedRows > 0) {
-                logger.info("Order {} status updated to {} by seller {}", orderId, newStatus, sellerId);
-                return true;
+            if (notification != null) {
+                outboxDAO.enqueue(conn, notification);
             }
+            conn.commit();
+            logger.info("Order {} status updated to {} by seller {}", orderId, newStatus, sellerId);
+            return true;
         } catch (SQLException e) {
+            rollbackTransaction(conn);
             logger.error("Error updating order status for seller {} in order {}", sellerId, orderId, e);
         } finally {
-            closeResources(pstmt, conn);
+            setAutoCommit(conn, true);
+            closeResources(rs, pstmt, conn);
         }
         return false;
     }
 
     // Get order items
     public List<OrderItem> getOrderItems(int orderId) {
-        List<OrderItem> orderItems = new ArrayList<>();
         Connection conn = null;
-        PreparedStatement pstmt = null;
-        ResultSet rs = null;
-
-        String sql = "SELECT oi.*, p.* FROM order_items oi " +
-                "JOIN products p ON oi.product_id = p.product_id " +
-                "WHERE oi.order_id = ?";
+        Order order = new Order();
+        order.setOrderId(orderId);
+        List<Order> orders = new ArrayList<>();
+        orders.add(order);
 
         try {
             conn = getConnection();
-            pstmt = conn.prepareStatement(sql);
-            pstmt.setInt(1, orderId);
-            rs = pstmt.executeQuery();
-
-            while (rs.next()) {
-                OrderItem item = new OrderItem();
-                item.setOrderItemId(rs.getInt("order_item_id"));
-                item.setOrderId(rs.getInt("order_id"));
-                item.setProductId(rs.getInt("product_id"));
-                item.setQuantity(rs.getInt("quantity"));
-                item.setPrice(rs.getBigDecimal("price"));
-
-                // Extract product
-                Product product = new Product();
-                product.setProductId(rs.getInt("product_id"));
-                product.setSellerId(rs.getInt("seller_id"));
-                product.setName(rs.getString("name"));
-                product.setDescription(rs.getString("description"));
-                product.setCategory(rs.getString("category"));
-                product.setPrice(rs.getBigDecimal("price"));
-                product.setMrp(rs.getBigDecimal("mrp"));
-                product.setDiscountPrice(rs.getBigDecimal("discount_price"));
-                product.setStockQuantity(rs.getInt("stock_quantity"));
-                product.setThresholdQuantity(rs.getInt("threshold_quantity"));
-                product.setCreatedAt(rs.getTimestamp("created_at"));
-                product.setActive(rs.getBoolean("is_active"));
-
-                item.setProduct(product);
-                orderItems.add(item);
-            }
+            loadOrderItems(conn, orders);
         } catch (SQLException e) {
             logger.error("Error getting order items for order: {}", orderId, e);
         } finally {
-            closeResources(rs, pstmt, conn);
+            closeResources(null, conn);
+        }
+        return order.getOrderItems() != null ? order.getOrderItems() : new ArrayList<>();
+    }
+
+    // Load items (with products) for a list of orders using batched IN (...) queries.
+    // Runs on the caller's connection so the order graph costs one round trip per
+    // ORDER_ITEM_BATCH_SIZE orders instead of one per order.
+    private void loadOrderItems(Connection conn, List<Order> orders) throws SQLException {
+        Map<Integer, Order> ordersById = new LinkedHashMap<>();
+        for (Order order : orders) {
+            order.setOrderItems(new ArrayList<>());
+            ordersById.put(order.getOrderId(), order);
+        }
+
+        List<Integer> orderIds = new ArrayList<>(ordersById.keySet());
+        for (int from = 0; from < orderIds.size(); from += ORDER_ITEM_BATCH_SIZE) {
+            List<Integer> chunk = orderIds.subList(from, Math.min(from + ORDER_ITEM_BATCH_SIZE, orderIds.size()));
+            String sql = String.format(ORDER_ITEMS_SQL, placeholders(chunk.size()));
+
+            PreparedStatement pstmt = null;
+            ResultSet rs = null;
+            try {
+                pstmt = conn.prepareStatement(sql);
+                for (int i = 0; i < chunk.size(); i++) {
+                    pstmt.setInt(i + 1, chunk.get(i));
+                }
+                rs = pstmt.executeQuery();
+
+                while (rs.next()) {
+                    OrderItem item = extractOrderItemFromResultSet(rs);
+                    Order order = ordersById.get(item.getOrderId());
+                    if (order != null) {
+                        order.getOrderItems().add(item);
+                    }
+                }
+            } finally {
+                closeResources(rs, pstmt, null);
+            }
         }
-        return orderItems;
+    }
+
+    // Build "?, ?, ?" for an IN clause
+    private static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder(count * 3);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append('?');
+        }
+        return sb.toString();
     }
 
     // Update order status
@@ -413,6 +591,62 @@ public class OrderDAO extends BaseDAO {
         return orders;
     }
 
+    // Stream all orders (without items), newest first, in constant memory; close the stream when done
+    public Stream<Order> streamAllOrders() {
+        return stream("SELECT * FROM orders ORDER BY order_date DESC, order_id DESC", null,
+                this::extractOrderFromResultSet);
+    }
+
+    // Get one page of all orders, newest first, strictly before the given
+    // (order_date, order_id) position. Pass a null beforeDate for the first page.
+    public Page<Order> getAllOrdersPage(Timestamp beforeDate, int beforeOrderId, int limit) {
+        return getOrdersPage(beforeDate != null ? "WHERE " + BEFORE_CURSOR : "",
+                null, beforeDate, beforeOrderId, limit, false);
+    }
+
+    // Run a keyset page query over orders; buyerId is bound first when not null
+    private Page<Order> getOrdersPage(String whereClause, Integer buyerId, Timestamp beforeDate,
+                                      int beforeOrderId, int limit, boolean withItems) {
+        List<Order> orders = new ArrayList<>();
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        limit = PagingUtil.clampPageSize(limit);
+        String sql = "SELECT * FROM orders " + whereClause + " ORDER BY order_date DESC, order_id DESC LIMIT ?";
+
+        try {
+            conn = getConnection();
+            pstmt = conn.prepareStatement(sql);
+            int index = 1;
+            if (buyerId != null) {
+                pstmt.setInt(index++, buyerId);
+            }
+            if (beforeDate != null) {
+                pstmt.setTimestamp(index++, beforeDate);
+                pstmt.setTimestamp(index++, beforeDate);
+                pstmt.setInt(index++, beforeOrderId);
+            }
+            pstmt.setInt(index, limit + 1);
+            rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                orders.add(extractOrderFromResultSet(rs));
+            }
+
+            Page<Order> page = Page.of(orders, limit);
+            if (withItems) {
+                loadOrderItems(conn, page.getItems());
+            }
+            return page;
+        } catch (SQLException e) {
+            logger.error("Error getting orders page: {}", sql, e);
+        } finally {
+            closeResources(rs, pstmt, conn);
+        }
+        return Page.empty();
+    }
+
     // Check if seller has items in order
     public boolean sellerHasItemsInOrder(int orderId, int sellerId) {
         Connection conn = null;
@@ -471,7 +705,7 @@ public class OrderDAO extends BaseDAO {
     }
 
     // Helper method to extract order from ResultSet
-    private Order extractOrderFromResultSet(ResultSet rs) throws SQLException {
+    Order extractOrderFromResultSet(ResultSet rs) throws SQLException {
         Order order = new Order();
         order.setOrderId(rs.getInt("order_id"));
         order.setBuyerId(rs.getInt("buyer_id"));
@@ -484,4 +718,32 @@ public class OrderDAO extends BaseDAO {
         order.setPaymentStatus(PaymentStatus.valueOf(rs.getString("payment_status")));
         return order;
     }
+
+    // Helper method to extract order item (and its product) from an order_items/products join
+    OrderItem extractOrderItemFromResultSet(ResultSet rs) throws SQLException {
+        OrderItem item = new OrderItem();
+        item.setOrderItemId(rs.getInt("order_item_id"));
+        item.setOrderId(rs.getInt("order_id"));
+        item.setProductId(rs.getInt("product_id"));
+        item.setQuantity(rs.getInt("quantity"));
+        item.setPrice(rs.getBigDecimal("price"));
+
+        // Extract product
+        Product product = new Product();
+        product.setProductId(rs.getInt("product_id"));
+        product.setSellerId(rs.getInt("seller_id"));
+        product.setName(rs.getString("name"));
+        product.setDescription(rs.getString("description"));
+        product.setCategory(rs.getString("category"));
+        product.setPrice(rs.getBigDecimal("price"));
+        product.setMrp(rs.getBigDecimal("mrp"));
+        product.setDiscountPrice(rs.getBigDecimal("discount_price"));
+        product.setStockQuantity(rs.getInt("stock_quantity"));
+        product.setThresholdQuantity(rs.getInt("threshold_quantity"));
+        product.setCreatedAt(rs.getTimestamp("created_at"));
+        product.setActive(rs.getBoolean("is_active"));
+
+        item.setProduct(product);
+        return item;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,222 @@
+package com.revshop.dao;
+
+import com.revshop.config.AppConfig;
+import com.revshop.model.Product;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Shared in-process cache of active products, used by ProductDAO.
+//
+// Products are held in a bounded LRU map keyed by product ID. Listings (all products,
+// by seller, by category) are cached as lists of product IDs and resolved against that
+// map, so a stock change only has to drop one product while listings stay valid.
+//
+// Every write bumps a version counter. Loaders capture the version before going to the
+// database and the result is only installed if no write happened in between, so a slow
+// read can never put stale rows back after an invalidation.
+public class ProductCatalogCache {
+    private static final Logger logger = LogManager.getLogger(ProductCatalogCache.class);
+
+    public static final String ALL_PRODUCTS_VIEW = "all";
+
+    private static final int DEFAULT_MAX_PRODUCTS = 10000;
+    private static final int DEFAULT_MAX_VIEWS = 1000;
+
+    private static final ProductCatalogCache instance = new ProductCatalogCache(
+            AppConfig.get().getInt("catalog.cache.maxSize", DEFAULT_MAX_PRODUCTS),
+            DEFAULT_MAX_VIEWS,
+            AppConfig.get().getBoolean("catalog.cache.enabled", true));
+
+    private final int maxProducts;
+    private final int maxViews;
+    private final boolean enabled;
+
+    // Both maps are access-ordered (LRU) and guarded by "this"
+    private final LinkedHashMap<Integer, Product> products;
+    private final LinkedHashMap<String, List<Integer>> views;
+    private long version;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ProductCatalogCache(int maxProducts, int maxViews, boolean enabled) {
+        this.maxProducts = maxProducts;
+        this.maxViews = maxViews;
+        this.enabled = enabled;
+        this.products = new LinkedHashMap<Integer, Product>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Product> eldest) {
+                if (size() > ProductCatalogCache.this.maxProducts) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.views = new LinkedHashMap<String, List<Integer>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<Integer>> eldest) {
+                if (size() > ProductCatalogCache.this.maxViews) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static ProductCatalogCache getInstance() {
+        return instance;
+    }
+
+    public static String sellerView(int sellerId) {
+        return "seller:" + sellerId;
+    }
+
+    public static String categoryView(String category) {
+        return "category:" + category;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Version to capture before loading from the database
+    public synchronized long currentVersion() {
+        return version;
+    }
+
+    // Get a copy of a cached product, or null on miss
+    public Product getProduct(int productId) {
+        if (!enabled) {
+            return null;
+        }
+        Product product;
+        synchronized (this) {
+            product = products.get(productId);
+        }
+        if (product == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return new Product(product);
+    }
+
+    // Get the product IDs of a cached listing, or null on miss
+    public List<Integer> getView(String viewKey) {
+        if (!enabled) {
+            return null;
+        }
+        List<Integer> productIds;
+        synchronized (this) {
+            productIds = views.get(viewKey);
+        }
+        if (productIds == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return productIds;
+    }
+
+    // Copy cached products for a listing into "found"; returns the IDs that are not cached
+    public synchronized List<Integer> getProducts(List<Integer> productIds, Map<Integer, Product> found) {
+        List<Integer> missing = new ArrayList<>();
+        for (Integer productId : productIds) {
+            Product product = products.get(productId);
+            if (product != null) {
+                found.put(productId, new Product(product));
+            } else {
+                missing.add(productId);
+            }
+        }
+        return missing;
+    }
+
+    // Cache a product loaded at the given version
+    public synchronized void putProduct(Product product, long loadedAtVersion) {
+        if (enabled && loadedAtVersion == version) {
+            products.put(product.getProductId(), new Product(product));
+        }
+    }
+
+    // Cache a listing (and its products) loaded at the given version
+    public synchronized void putView(String viewKey, List<Product> viewProducts, long loadedAtVersion) {
+        if (!enabled || loadedAtVersion != version) {
+            return;
+        }
+        List<Integer> productIds = new ArrayList<>(viewProducts.size());
+        for (Product product : viewProducts) {
+            productIds.add(product.getProductId());
+            products.put(product.getProductId(), new Product(product));
+        }
+        views.put(viewKey, Collections.unmodifiableList(productIds));
+    }
+
+    // Drop one product after a change that cannot move it between listings (e.g. stock)
+    public synchronized void invalidateProduct(int productId) {
+        version++;
+        products.remove(productId);
+        invalidations.incrementAndGet();
+    }
+
+    // Drop one product and every listing after a change to name, category, seller or status
+    public synchronized void invalidateProductAndViews(int productId) {
+        invalidateProduct(productId);
+        views.clear();
+    }
+
+    // Drop every listing (e.g. after a product is created)
+    public synchronized void invalidateViews() {
+        version++;
+        views.clear();
+        invalidations.incrementAndGet();
+    }
+
+    public synchronized void clear() {
+        version++;
+        products.clear();
+        views.clear();
+        invalidations.incrementAndGet();
+    }
+
+    // Statistics
+    public long getHitCount() { return hits.get(); }
+    public long getMissCount() { return misses.get(); }
+    public long getEvictionCount() { return evictions.get(); }
+    public long getInvalidationCount() { return invalidations.get(); }
+
+    public synchronized int getProductCount() {
+        return products.size();
+    }
+
+    public synchronized int getViewCount() {
+        return views.size();
+    }
+
+    public double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total;
+    }
+
+    public String getStatsSummary() {
+        return String.format("Product cache: %d/%d products, %d views | hits=%d misses=%d (%.1f%%) " +
+                        "evictions=%d invalidations=%d",
+                getProductCount(), maxProducts, getViewCount(), getHitCount(), getMissCount(),
+                getHitRate() * 100, getEvictionCount(), getInvalidationCount());
+    }
+
+    public void logStats() {
+        logger.info(getStatsSummary());
+    }
+}
@@ -1,17 +1,37 @@
 package com.revshop.dao;
 
+import com.revshop.model.Page;
 import com.revshop.model.Product;
+import com.revshop.model.RatedProduct;
+import com.revshop.util.PagingUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.math.BigDecimal;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 public class ProductDAO extends BaseDAO {
     private static final Logger logger = LogManager.getLogger(ProductDAO.class);
 
+    // Max product IDs bound into a single IN (...) when refilling the cache
+    private static final int PRODUCT_BATCH_SIZE = 500;
+
+    // Max ranked results returned by a search
+    private static final int SEARCH_RESULT_LIMIT = 500;
+
+    // Min time between background attempts to build the search index after the startup
+    // build failed
+    private static final long SEARCH_INDEX_RETRY_MS = 30_000;
+
+    private final ProductCatalogCache catalogCache = ProductCatalogCache.getInstance();
+    private final ProductSearchIndex searchIndex = ProductSearchIndex.getInstance();
+    private final CartSummaryCache cartSummaryCache = CartSummaryCache.getInstance();
+
     // Create product
     public boolean createProduct(Product product) {
         Connection conn = null;
@@ -42,6 +62,8 @@ public class ProductDAO extends BaseDAO {
                 rs = pstmt.getGeneratedKeys();
                 if (rs.next()) {
                     product.setProductId(rs.getInt(1));
+                    catalogCache.invalidateViews();
+                    searchIndex.index(product);
                     logger.info("Product created with ID: {}", product.getProductId());
                     return true;
                 }
@@ -56,6 +78,11 @@ public class ProductDAO extends BaseDAO {
 
     // Get product by ID
     public Product getProductById(int productId) {
+        Product cached = catalogCache.getProduct(productId);
+        if (cached != null) {
+            return cached;
+        }
+
         Connection conn = null;
         PreparedStatement pstmt = null;
         ResultSet rs = null;
@@ -63,13 +90,16 @@ public class ProductDAO extends BaseDAO {
         String sql = "SELECT * FROM products WHERE product_id = ? AND is_active = TRUE";
 
         try {
+            long version = catalogCache.currentVersion();
             conn = getConnection();
             pstmt = conn.prepareStatement(sql);
             pstmt.setInt(1, productId);
             rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return extractProductFromResultSet(rs);
+                Product product = extractProductFromResultSet(rs);
+                catalogCache.putProduct(product, version);
+                return product;
             }
         } catch (SQLException e) {
             logger.error("Error getting product by ID: {}", productId, e);
@@ -81,90 +111,188 @@ public class ProductDAO extends BaseDAO {
 
     // Get all products - CHANGED TO SORT BY PRODUCT ID
     public List<Product> getAllProducts() {
-        List<Product> products = new ArrayList<>();
-        Connection conn = null;
-        PreparedStatement pstmt = null;
-        ResultSet rs = null;
-
         String sql = "SELECT * FROM products WHERE is_active = TRUE ORDER BY product_id ASC";
+        List<Product> products = getCachedProducts(ProductCatalogCache.ALL_PRODUCTS_VIEW, sql, null);
+        if (products == null) {
+            logger.error("Error getting all products");
+            return new ArrayList<>();
+        }
+        return products;
+    }
 
-        try {
-            conn = getConnection();
-            pstmt = conn.prepareStatement(sql);
-            rs = pstmt.executeQuery();
+    // Stream all active products in constant memory, bypassing the cache; close the stream when done
+    public Stream<Product> streamAllProducts() {
+        return stream("SELECT * FROM products WHERE is_active = TRUE ORDER BY product_id", null,
+                this::extractProductFromResultSet);
+    }
 
-            while (rs.next()) {
-                products.add(extractProductFromResultSet(rs));
-            }
-        } catch (SQLException e) {
-            logger.error("Error getting all products", e);
-        } finally {
-            closeResources(rs, pstmt, conn);
+    // Get one page of active products with product_id > afterProductId (0 for the first page)
+    public Page<Product> getProductsPage(int afterProductId, int limit) {
+        limit = PagingUtil.clampPageSize(limit);
+        List<Product> rows = queryProducts("SELECT * FROM products WHERE is_active = TRUE AND product_id > ? " +
+                "ORDER BY product_id ASC LIMIT ?", afterProductId, limit + 1);
+        if (rows == null) {
+            return Page.empty();
         }
-        return products;
+        return Page.of(rows, limit);
     }
 
     // Get products by seller
     public List<Product> getProductsBySeller(int sellerId) {
-        List<Product> products = new ArrayList<>();
-        Connection conn = null;
-        PreparedStatement pstmt = null;
-        ResultSet rs = null;
-
         String sql = "SELECT * FROM products WHERE seller_id = ? AND is_active = TRUE ORDER BY product_id ASC";
+        List<Product> products = getCachedProducts(ProductCatalogCache.sellerView(sellerId), sql, sellerId);
+        if (products == null) {
+            logger.error("Error getting products for seller: {}", sellerId);
+            return new ArrayList<>();
+        }
+        return products;
+    }
 
-        try {
-            conn = getConnection();
-            pstmt = conn.prepareStatement(sql);
-            pstmt.setInt(1, sellerId);
-            rs = pstmt.executeQuery();
+    // Get products by category
+    public List<Product> getProductsByCategory(String category) {
+        String sql = "SELECT * FROM products WHERE category = ? AND is_active = TRUE ORDER BY product_id ASC";
+        List<Product> products = getCachedProducts(ProductCatalogCache.categoryView(category), sql, category);
+        if (products == null) {
+            logger.error("Error getting products by category: {}", category);
+            return new ArrayList<>();
+        }
+        return products;
+    }
 
-            while (rs.next()) {
-                products.add(extractProductFromResultSet(rs));
+    // Serve a listing from the catalog cache, loading it (or just the products that were
+    // evicted or invalidated since) from the database on a miss. Returns null on database error.
+    private List<Product> getCachedProducts(String viewKey, String sql, Object param) {
+        List<Integer> productIds = catalogCache.getView(viewKey);
+        if (productIds != null) {
+            List<Product> products = resolveProducts(productIds);
+            if (products != null) {
+                return products;
             }
-        } catch (SQLException e) {
-            logger.error("Error getting products for seller: {}", sellerId, e);
-        } finally {
-            closeResources(rs, pstmt, conn);
+        }
+
+        long version = catalogCache.currentVersion();
+        List<Product> products = param == null ? queryProducts(sql) : queryProducts(sql, param);
+        if (products != null) {
+            catalogCache.putView(viewKey, products, version);
         }
         return products;
     }
 
-    // Get products by category
-    public List<Product> getProductsByCategory(String category) {
+    // Resolve cached listing IDs to products, refilling any missing ones with one IN (...)
+    // query per batch. Returns null if a product has left the listing in the meantime.
+    private List<Product> resolveProducts(List<Integer> productIds) {
+        return resolveProducts(productIds, false);
+    }
+
+    // As above; with dropMissing, products that are gone or inactive are left out instead
+    // of failing the whole list. Returns null on database error.
+    private List<Product> resolveProducts(List<Integer> productIds, boolean dropMissing) {
+        Map<Integer, Product> found = new HashMap<>();
+        List<Integer> missing = catalogCache.getProducts(productIds, found);
+
+        if (!missing.isEmpty()) {
+            long version = catalogCache.currentVersion();
+            for (int from = 0; from < missing.size(); from += PRODUCT_BATCH_SIZE) {
+                List<Integer> chunk = missing.subList(from, Math.min(from + PRODUCT_BATCH_SIZE, missing.size()));
+                List<Product> loaded = queryProducts("SELECT * FROM products WHERE product_id IN (" +
+                        placeholders(chunk.size()) + ") AND is_active = TRUE", chunk.toArray());
+                if (loaded == null || (!dropMissing && loaded.size() != chunk.size())) {
+                    return null;
+                }
+                for (Product product : loaded) {
+                    catalogCache.putProduct(product, version);
+                    found.put(product.getProductId(), product);
+                }
+            }
+        }
+
+        List<Product> products = new ArrayList<>(productIds.size());
+        for (Integer productId : productIds) {
+            Product product = found.get(productId);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+
+    // Run a product query with the given parameters; returns null on database error
+    private List<Product> queryProducts(String sql, Object... params) {
         List<Product> products = new ArrayList<>();
         Connection conn = null;
         PreparedStatement pstmt = null;
         ResultSet rs = null;
 
-        String sql = "SELECT * FROM products WHERE category = ? AND is_active = TRUE ORDER BY product_id ASC";
-
         try {
             conn = getConnection();
             pstmt = conn.prepareStatement(sql);
-            pstmt.setString(1, category);
+            if (params != null) {
+                for (int i = 0; i < params.length; i++) {
+                    pstmt.setObject(i + 1, params[i]);
+                }
+            }
             rs = pstmt.executeQuery();
 
             while (rs.next()) {
                 products.add(extractProductFromResultSet(rs));
             }
+            return products;
         } catch (SQLException e) {
-            logger.error("Error getting products by category: {}", category, e);
+            logger.error("Error querying products: {}", sql, e);
         } finally {
             closeResources(rs, pstmt, conn);
         }
-        return products;
+        return null;
     }
 
-    // Search products
+    // Build "?, ?, ?" for an IN clause
+    private static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder(count * 3);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append('?');
+        }
+        return sb.toString();
+    }
+
+    // Search products, best match first, using the in-memory search index. Hits for
+    // products deactivated since they were indexed are dropped. Until the index is built
+    // (at startup, or in the background if that failed) a bounded LIKE scan answers.
     public List<Product> searchProducts(String keyword) {
+        if (!searchIndex.isBuilt()) {
+            searchIndex.rebuildInBackground(this::loadSearchIndex, SEARCH_INDEX_RETRY_MS);
+            return searchProductsByScan(keyword);
+        }
+        List<Product> products = resolveProducts(searchIndex.search(keyword, SEARCH_RESULT_LIMIT), true);
+        if (products == null) {
+            logger.error("Error loading search results for keyword: {}", keyword);
+            return new ArrayList<>();
+        }
+        return products;
+    }
+
+    // Load all active products into the search index, streaming rows from the database.
+    // Products created, updated or deleted while it loads are applied after the swap.
+    public boolean buildSearchIndex() {
+        return searchIndex.rebuild(this::loadSearchIndex);
+    }
+
+    // Stream the searchable columns of all active products into fresh
+    private boolean loadSearchIndex(ProductSearchIndex fresh) {
+        return query("SELECT product_id, name, description, category FROM products WHERE is_active = TRUE",
+                null, rs -> fresh.index(rs.getInt("product_id"), rs.getString("name"),
+                        rs.getString("description"), rs.getString("category"))) >= 0;
+    }
+
+    // Search products with a LIKE scan, first SEARCH_RESULT_LIMIT matches by ID
+    private List<Product> searchProductsByScan(String keyword) {
         List<Product> products = new ArrayList<>();
         Connection conn = null;
         PreparedStatement pstmt = null;
         ResultSet rs = null;
 
         String sql = "SELECT * FROM products WHERE (name LIKE ? OR description LIKE ? OR category LIKE ?) " +
-                "AND is_active = TRUE ORDER BY product_id ASC";
+                "AND is_active = TRUE ORDER BY product_id ASC LIMIT ?";
 
         try {
             conn = getConnection();
@@ -173,6 +301,7 @@ public class ProductDAO extends BaseDAO {
             pstmt.setString(1, searchTerm);
             pstmt.setString(2, searchTerm);
             pstmt.setString(3, searchTerm);
+            pstmt.setInt(4, SEARCH_RESULT_LIMIT);
             rs = pstmt.executeQuery();
 
             while (rs.next()) {
@@ -210,6 +339,11 @@ public class ProductDAO extends BaseDAO {
             pstmt.setInt(9, product.getProductId());
 
             int affectedRows = pstmt.executeUpdate();
+            catalogCache.invalidateProductAndViews(product.getProductId());
+            cartSummaryCache.invalidateProduct(product.getProductId());
+            if (affectedRows > 0) {
+                searchIndex.index(product);
+            }
             return affectedRows > 0;
         } catch (SQLException e) {
             logger.error("Error updating product: {}", product.getProductId(), e);
@@ -233,6 +367,7 @@ public class ProductDAO extends BaseDAO {
             pstmt.setInt(2, productId);
 
             int affectedRows = pstmt.executeUpdate();
+            catalogCache.invalidateProduct(productId);
             return affectedRows > 0;
         } catch (SQLException e) {
             logger.error("Error updating stock for product: {}", productId, e);
@@ -255,6 +390,9 @@ public class ProductDAO extends BaseDAO {
             pstmt.setInt(1, productId);
 
             int affectedRows = pstmt.executeUpdate();
+            catalogCache.invalidateProductAndViews(productId);
+            cartSummaryCache.invalidateProduct(productId);
+            searchIndex.remove(productId);
             return affectedRows > 0;
         } catch (SQLException e) {
             logger.error("Error deleting product: {}", productId, e);
@@ -316,8 +454,53 @@ public class ProductDAO extends BaseDAO {
         return categories;
     }
 
+    // One page of the best rated active products, highest average first (ties: more
+    // reviews first), strictly after the given product. Pass null for the first page.
+    // Reads the per-product stats kept by ReviewDAO in idx_rating_stats_avg order, so no
+    // reviews are aggregated and nothing is sorted.
+    public Page<RatedProduct> getTopRatedProductsPage(RatedProduct after, int limit) {
+        List<RatedProduct> products = new ArrayList<>();
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        limit = PagingUtil.clampPageSize(limit);
+        String sql = "SELECT p.*, s.* FROM product_rating_stats s " +
+                "JOIN products p ON s.product_id = p.product_id " +
+                "WHERE s.rating_count > 0 AND p.is_active = TRUE " +
+                (after != null ? "AND (s.rating_avg < ? OR (s.rating_avg = ? AND (s.rating_count < ? " +
+                        "OR (s.rating_count = ? AND s.product_id > ?)))) " : "") +
+                "ORDER BY s.rating_avg DESC, s.rating_count DESC, s.product_id ASC LIMIT ?";
+
+        try {
+            conn = getConnection();
+            pstmt = conn.prepareStatement(sql);
+            int index = 1;
+            if (after != null) {
+                pstmt.setBigDecimal(index++, after.getRatingAverage());
+                pstmt.setBigDecimal(index++, after.getRatingAverage());
+                pstmt.setInt(index++, after.getRatingStats().getCount());
+                pstmt.setInt(index++, after.getRatingStats().getCount());
+                pstmt.setInt(index++, after.getProduct().getProductId());
+            }
+            pstmt.setInt(index, limit + 1);
+            rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                products.add(new RatedProduct(extractProductFromResultSet(rs),
+                        ReviewDAO.extractRatingStatsFromResultSet(rs), rs.getBigDecimal("rating_avg")));
+            }
+            return Page.of(products, limit);
+        } catch (SQLException e) {
+            logger.error("Error getting top rated products", e);
+        } finally {
+            closeResources(rs, pstmt, conn);
+        }
+        return Page.empty();
+    }
+
     // Helper method to extract product from ResultSet
-    private Product extractProductFromResultSet(ResultSet rs) throws SQLException {
+    Product extractProductFromResultSet(ResultSet rs) throws SQLException {
         Product product = new Product();
         product.setProductId(rs.getInt("product_id"));
         product.setSellerId(rs.getInt("seller_id"));
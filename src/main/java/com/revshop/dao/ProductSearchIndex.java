@@ -0,0 +1,447 @@
+package com.revshop.dao;
+
+import com.revshop.model.Product;
+import com.revshop.util.VirtualThreads;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+// In-memory inverted index over product name, category and description, used by
+// ProductDAO.searchProducts instead of LIKE '%keyword%' scans.
+//
+// Every query word must match (as a whole word or as a prefix of one) somewhere in the
+// product. Results are ranked with BM25 over field-weighted term frequencies, so a hit in
+// the name counts more than a hit in the description.
+//
+// rebuild() loads a fresh copy while this one keeps serving searches. Products indexed or
+// removed meanwhile are recorded and replayed on the fresh copy once it is swapped in, so
+// a change the loader read too early to see is not lost. rebuildInBackground() does the
+// same off the caller's thread, at most once per retry interval, for callers that find
+// the index unbuilt and must not wait for it.
+public class ProductSearchIndex {
+    private static final Logger logger = LogManager.getLogger(ProductSearchIndex.class);
+
+    private static final ProductSearchIndex instance = new ProductSearchIndex();
+
+    private static final ExecutorService backgroundRebuilds = VirtualThreads.newPerTaskExecutor("revshop-search-index");
+
+    // BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Field weights
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float CATEGORY_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    // Prefix matches score slightly below whole-word matches
+    private static final double PREFIX_MATCH_FACTOR = 0.8;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // One rebuild at a time, whichever ProductDAO starts it
+    private final Object rebuildLock = new Object();
+    // Guards the three fields below
+    private final Object backgroundLock = new Object();
+    private boolean backgroundRebuildRunning;
+    private long lastBackgroundRebuildNanos;
+    private boolean backgroundRebuildRequested;
+    private TreeMap<String, PostingList> postings = new TreeMap<>();
+    private Map<Integer, IndexedProduct> products = new HashMap<>();
+    private double totalLength;
+    private volatile boolean built;
+    // Product ID -> {name, description, category}, or null if removed, while a rebuild
+    // is loading; null otherwise
+    private Map<Integer, String[]> changesDuringRebuild;
+
+    public static ProductSearchIndex getInstance() {
+        return instance;
+    }
+
+    public boolean isBuilt() {
+        return built;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return products.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Add or replace a product
+    public void index(Product product) {
+        index(product.getProductId(), product.getName(), product.getDescription(), product.getCategory());
+    }
+
+    // Add or replace a product from its searchable columns
+    public void index(int productId, String name, String description, String category) {
+        Map<String, Float> termFrequencies = termFrequencies(name, description, category);
+
+        lock.writeLock().lock();
+        try {
+            indexLocked(productId, termFrequencies);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(productId, new String[] {name, description, category});
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int productId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(productId);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(productId, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Rebuild from scratch: loader fills a fresh index and returns whether it succeeded.
+    // Searches keep using the current contents until the swap. Returns false, keeping the
+    // current contents, if the loader fails.
+    public boolean rebuild(Predicate<ProductSearchIndex> loader) {
+        synchronized (rebuildLock) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = new LinkedHashMap<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            ProductSearchIndex fresh = new ProductSearchIndex();
+            boolean loaded = false;
+            try {
+                loaded = loader.test(fresh);
+            } finally {
+                if (!loaded) {
+                    lock.writeLock().lock();
+                    try {
+                        changesDuringRebuild = null;
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                }
+            }
+            if (loaded) {
+                replaceWith(fresh);
+            }
+            return loaded;
+        }
+    }
+
+    // Start rebuild(loader) on a background thread, unless one is already running or the
+    // last one started less than retryIntervalMs ago. Returns whether it started one.
+    public boolean rebuildInBackground(Predicate<ProductSearchIndex> loader, long retryIntervalMs) {
+        long now = System.nanoTime();
+        synchronized (backgroundLock) {
+            if (backgroundRebuildRunning || (backgroundRebuildRequested &&
+                    now - lastBackgroundRebuildNanos < TimeUnit.MILLISECONDS.toNanos(retryIntervalMs))) {
+                return false;
+            }
+            backgroundRebuildRunning = true;
+            backgroundRebuildRequested = true;
+            lastBackgroundRebuildNanos = now;
+        }
+
+        backgroundRebuilds.execute(() -> {
+            try {
+                if (!rebuild(loader)) {
+                    logger.warn("Background search index build failed; retrying in {} ms at the earliest",
+                            retryIntervalMs);
+                }
+            } catch (RuntimeException e) {
+                logger.error("Background search index build failed", e);
+            } finally {
+                synchronized (backgroundLock) {
+                    backgroundRebuildRunning = false;
+                }
+            }
+        });
+        return true;
+    }
+
+    // Swap in the contents of a freshly built index, then replay the products indexed or
+    // removed here since rebuild() started loading it
+    public void replaceWith(ProductSearchIndex fresh) {
+        int replayed = 0;
+        lock.writeLock().lock();
+        try {
+            this.postings = fresh.postings;
+            this.products = fresh.products;
+            this.totalLength = fresh.totalLength;
+            if (changesDuringRebuild != null) {
+                for (Map.Entry<Integer, String[]> change : changesDuringRebuild.entrySet()) {
+                    String[] columns = change.getValue();
+                    if (columns != null) {
+                        indexLocked(change.getKey(), termFrequencies(columns[0], columns[1], columns[2]));
+                    } else {
+                        removeLocked(change.getKey());
+                    }
+                }
+                replayed = changesDuringRebuild.size();
+                changesDuringRebuild = null;
+            }
+            this.built = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Product search index built: {} products, {} terms, {} changes replayed",
+                products.size(), postings.size(), replayed);
+    }
+
+    // Return IDs of matching products, best match first
+    public List<Integer> search(String query, int limit) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (products.isEmpty()) {
+                return new ArrayList<>();
+            }
+            double avgLength = totalLength / products.size();
+
+            // Expand each query word to the indexed terms it matches
+            List<List<TermMatch>> expansions = new ArrayList<>();
+            for (String queryTerm : new LinkedHashSet<>(queryTerms)) {
+                List<TermMatch> matches = expand(queryTerm);
+                if (matches.isEmpty()) {
+                    return new ArrayList<>();
+                }
+                expansions.add(matches);
+            }
+
+            // Start from the most selective word, then require every other word to match
+            expansions.sort(Comparator.comparingLong(ProductSearchIndex::postingCount));
+
+            Map<Integer, Double> scores = new HashMap<>();
+            for (TermMatch match : expansions.get(0)) {
+                PostingList list = match.postings;
+                for (int i = 0; i < list.size; i++) {
+                    double score = match.weight * bm25(list.frequencies[i], list.productIds[i], avgLength);
+                    scores.merge(list.productIds[i], score, Double::sum);
+                }
+            }
+
+            for (int w = 1; w < expansions.size() && !scores.isEmpty(); w++) {
+                List<TermMatch> matches = expansions.get(w);
+                Iterator<Map.Entry<Integer, Double>> it = scores.entrySet().iterator();
+                while (it.hasNext()) {
+                    Map.Entry<Integer, Double> entry = it.next();
+                    double wordScore = 0;
+                    boolean matched = false;
+                    for (TermMatch match : matches) {
+                        float frequency = match.postings.frequencyOf(entry.getKey());
+                        if (frequency > 0) {
+                            matched = true;
+                            wordScore += match.weight * bm25(frequency, entry.getKey(), avgLength);
+                        }
+                    }
+                    if (matched) {
+                        entry.setValue(entry.getValue() + wordScore);
+                    } else {
+                        it.remove();
+                    }
+                }
+            }
+
+            return topResults(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Split text into lower-case words
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String term : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private void addTerms(Map<String, Float> termFrequencies, String text, float weight) {
+        for (String term : tokenize(text)) {
+            termFrequencies.merge(term, weight, Float::sum);
+        }
+    }
+
+    // Field-weighted term frequencies of a product's searchable columns
+    private Map<String, Float> termFrequencies(String name, String description, String category) {
+        Map<String, Float> termFrequencies = new HashMap<>();
+        addTerms(termFrequencies, name, NAME_WEIGHT);
+        addTerms(termFrequencies, category, CATEGORY_WEIGHT);
+        addTerms(termFrequencies, description, DESCRIPTION_WEIGHT);
+        return termFrequencies;
+    }
+
+    private void indexLocked(int productId, Map<String, Float> termFrequencies) {
+        removeLocked(productId);
+        // Weighted length: every occurrence of every term counts its field weight
+        float length = 0;
+        for (Map.Entry<String, Float> entry : termFrequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), k -> new PostingList()).add(productId, entry.getValue());
+            length += entry.getValue();
+        }
+        products.put(productId, new IndexedProduct(termFrequencies.keySet().toArray(new String[0]), length));
+        totalLength += length;
+    }
+
+    private void removeLocked(int productId) {
+        IndexedProduct existing = products.remove(productId);
+        if (existing == null) {
+            return;
+        }
+        for (String term : existing.terms) {
+            PostingList list = postings.get(term);
+            if (list != null) {
+                list.remove(productId);
+                if (list.size == 0) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= existing.length;
+    }
+
+    private List<TermMatch> expand(String queryTerm) {
+        List<TermMatch> matches = new ArrayList<>();
+        PostingList exact = postings.get(queryTerm);
+        if (exact != null) {
+            matches.add(new TermMatch(exact, idf(exact.size)));
+        }
+        if (queryTerm.length() >= MIN_PREFIX_LENGTH) {
+            SortedMap<String, PostingList> prefixed = postings.subMap(queryTerm, false,
+                    queryTerm + Character.MAX_VALUE, false);
+            for (PostingList list : prefixed.values()) {
+                if (matches.size() >= MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                matches.add(new TermMatch(list, idf(list.size) * PREFIX_MATCH_FACTOR));
+            }
+        }
+        return matches;
+    }
+
+    private double idf(int documentFrequency) {
+        int n = products.size();
+        return Math.log(1 + (n - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private double bm25(float frequency, int productId, double avgLength) {
+        IndexedProduct product = products.get(productId);
+        double length = product != null ? product.length : avgLength;
+        return frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / avgLength));
+    }
+
+    private static long postingCount(List<TermMatch> matches) {
+        long count = 0;
+        for (TermMatch match : matches) {
+            count += match.postings.size;
+        }
+        return count;
+    }
+
+    private static List<Integer> topResults(Map<Integer, Double> scores, int limit) {
+        // Min-heap of the best "limit" results; ties go to the lower product ID
+        Comparator<Map.Entry<Integer, Double>> ranking = Map.Entry.<Integer, Double>comparingByValue()
+                .thenComparing(Map.Entry.<Integer, Double>comparingByKey().reversed());
+        PriorityQueue<Map.Entry<Integer, Double>> heap = new PriorityQueue<>(limit + 1, ranking);
+        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+            heap.offer(entry);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+
+        List<Integer> results = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            results.add(heap.poll().getKey());
+        }
+        Collections.reverse(results);
+        return results;
+    }
+
+    // Indexed term with its score weight for the current query
+    private static class TermMatch {
+        final PostingList postings;
+        final double weight;
+
+        TermMatch(PostingList postings, double weight) {
+            this.postings = postings;
+            this.weight = weight;
+        }
+    }
+
+    // Terms and weighted length of an indexed product, kept for removal and BM25
+    private static class IndexedProduct {
+        final String[] terms;
+        final float length;
+
+        IndexedProduct(String[] terms, float length) {
+            this.terms = terms;
+            this.length = length;
+        }
+    }
+
+    // Product IDs (sorted) and weighted term frequencies for one term
+    private static class PostingList {
+        int[] productIds = new int[2];
+        float[] frequencies = new float[2];
+        int size;
+
+        void add(int productId, float frequency) {
+            int index = Arrays.binarySearch(productIds, 0, size, productId);
+            if (index >= 0) {
+                frequencies[index] = frequency;
+                return;
+            }
+            index = -index - 1;
+            if (size == productIds.length) {
+                productIds = Arrays.copyOf(productIds, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            System.arraycopy(productIds, index, productIds, index + 1, size - index);
+            System.arraycopy(frequencies, index, frequencies, index + 1, size - index);
+            productIds[index] = productId;
+            frequencies[index] = frequency;
+            size++;
+        }
+
+        void remove(int productId) {
+            int index = Arrays.binarySearch(productIds, 0, size, productId);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(productIds, index + 1, productIds, index, size - index - 1);
+            System.arraycopy(frequencies, index + 1, frequencies, index, size - index - 1);
+            size--;
+        }
+
+        float frequencyOf(int productId) {
+            int index = Arrays.binarySearch(productIds, 0, size, productId);
+            return index >= 0 ? frequencies[index] : 0f;
+        }
+    }
+}
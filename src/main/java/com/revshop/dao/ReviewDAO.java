@@ -1,6 +1,9 @@
 package com.revshop.dao;
 
+import com.revshop.model.Page;
+import com.revshop.model.RatingStats;
 import com.revshop.model.Review;
+import com.revshop.util.PagingUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -11,7 +14,10 @@ import java.util.List;
 public class ReviewDAO extends BaseDAO {
     private static final Logger logger = LogManager.getLogger(ReviewDAO.class);
 
-    // Create review
+    // Characters of each comment returned by getReviewsPage
+    public static final int COMMENT_PREVIEW_LENGTH = 200;
+
+    // Create review, counting it in the product's rating stats in the same transaction
     public boolean createReview(Review review) {
         Connection conn = null;
         PreparedStatement pstmt = null;
@@ -22,6 +28,7 @@ public class ReviewDAO extends BaseDAO {
 
         try {
             conn = getConnection();
+            conn.setAutoCommit(false);
             pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
 
             pstmt.setInt(1, review.getProductId());
@@ -36,37 +43,68 @@ public class ReviewDAO extends BaseDAO {
                 rs = pstmt.getGeneratedKeys();
                 if (rs.next()) {
                     review.setReviewId(rs.getInt(1));
+                    updateRatingStats(conn, review.getProductId(), 0, review.getRating());
+                    conn.commit();
                     logger.info("Review created with ID: {}", review.getReviewId());
                     return true;
                 }
             }
+            conn.rollback();
         } catch (SQLException e) {
+            rollbackTransaction(conn);
             logger.error("Error creating review", e);
         } finally {
-            closeResources(rs, pstmt, conn);
+            closeResources(rs, pstmt, null);
+            setAutoCommit(conn, true);
+            closeResources(null, conn);
         }
         return false;
     }
 
-    // Get reviews by product
-    public List<Review> getReviewsByProduct(int productId) {
+    // One page of a product's reviews with buyer names, comments cut to
+    // COMMENT_PREVIEW_LENGTH characters (getReviewComment has the full text). after is
+    // the last review of the previous page, null for the first page. Every order is
+    // served by an index, so a page reads only its own rows:
+    //   NEWEST   review_date DESC, review_id DESC   idx_reviews_product_date
+    //   HIGHEST  rating DESC, review_id DESC        idx_reviews_product_rating
+    //   LOWEST   rating ASC, review_id ASC          idx_reviews_product_rating
+    public Page<Review> getReviewsPage(int productId, Review.SortOrder sort, Review after, int limit) {
         List<Review> reviews = new ArrayList<>();
         Connection conn = null;
         PreparedStatement pstmt = null;
         ResultSet rs = null;
 
-        String sql = "SELECT r.*, u.first_name, u.last_name FROM reviews r " +
+        limit = PagingUtil.clampPageSize(limit);
+        String sql = "SELECT r.review_id, r.product_id, r.buyer_id, r.order_id, r.rating, r.review_date, " +
+                "LEFT(r.comment, " + COMMENT_PREVIEW_LENGTH + ") AS comment, " +
+                "CHAR_LENGTH(r.comment) > " + COMMENT_PREVIEW_LENGTH + " AS comment_truncated, " +
+                "u.first_name, u.last_name FROM reviews r " +
                 "JOIN users u ON r.buyer_id = u.user_id " +
-                "WHERE r.product_id = ? ORDER BY r.review_date DESC";
+                "WHERE r.product_id = ?" +
+                (after != null ? afterCondition(sort) : "") +
+                " ORDER BY " + orderBy(sort) + " LIMIT ?";
 
         try {
             conn = getConnection();
             pstmt = conn.prepareStatement(sql);
-            pstmt.setInt(1, productId);
+            int index = 1;
+            pstmt.setInt(index++, productId);
+            if (after != null) {
+                if (sort == Review.SortOrder.NEWEST) {
+                    pstmt.setTimestamp(index++, after.getReviewDate());
+                    pstmt.setTimestamp(index++, after.getReviewDate());
+                } else {
+                    pstmt.setInt(index++, after.getRating());
+                    pstmt.setInt(index++, after.getRating());
+                }
+                pstmt.setInt(index++, after.getReviewId());
+            }
+            pstmt.setInt(index, limit + 1);
             rs = pstmt.executeQuery();
 
             while (rs.next()) {
                 Review review = extractReviewFromResultSet(rs);
+                review.setCommentTruncated(rs.getBoolean("comment_truncated"));
 
                 // Set buyer info
                 com.revshop.model.User buyer = new com.revshop.model.User();
@@ -76,12 +114,41 @@ public class ReviewDAO extends BaseDAO {
 
                 reviews.add(review);
             }
+            return Page.of(reviews, limit);
         } catch (SQLException e) {
-            logger.error("Error getting reviews for product: {}", productId, e);
+            logger.error("Error getting reviews page for product: {}", productId, e);
         } finally {
             closeResources(rs, pstmt, conn);
         }
-        return reviews;
+        return Page.empty();
+    }
+
+    // Full comment of a review of the product ("" if it has none); null if there is no
+    // such review or on error
+    public String getReviewComment(int productId, int reviewId) {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        String sql = "SELECT comment FROM reviews WHERE review_id = ? AND product_id = ?";
+
+        try {
+            conn = getConnection();
+            pstmt = conn.prepareStatement(sql);
+            pstmt.setInt(1, reviewId);
+            pstmt.setInt(2, productId);
+            rs = pstmt.executeQuery();
+
+            if (rs.next()) {
+                String comment = rs.getString("comment");
+                return comment != null ? comment : "";
+            }
+        } catch (SQLException e) {
+            logger.error("Error getting comment of review: {}", reviewId, e);
+        } finally {
+            closeResources(rs, pstmt, conn);
+        }
+        return null;
     }
 
     // Get reviews by buyer
@@ -112,13 +179,14 @@ public class ReviewDAO extends BaseDAO {
         return reviews;
     }
 
-    // Get average rating for product
-    public double getAverageRating(int productId) {
+    // Rating stats for product, one primary key lookup (no reviews yet, or on error:
+    // empty stats)
+    public RatingStats getRatingStats(int productId) {
         Connection conn = null;
         PreparedStatement pstmt = null;
         ResultSet rs = null;
 
-        String sql = "SELECT AVG(rating) as avg_rating FROM reviews WHERE product_id = ?";
+        String sql = "SELECT * FROM product_rating_stats WHERE product_id = ?";
 
         try {
             conn = getConnection();
@@ -127,14 +195,14 @@ public class ReviewDAO extends BaseDAO {
             rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return rs.getDouble("avg_rating");
+                return extractRatingStatsFromResultSet(rs);
             }
         } catch (SQLException e) {
-            logger.error("Error getting average rating for product: {}", productId, e);
+            logger.error("Error getting rating stats for product: {}", productId, e);
         } finally {
             closeResources(rs, pstmt, conn);
         }
-        return 0.0;
+        return RatingStats.none(productId);
     }
 
     // Check if buyer has reviewed product
@@ -165,7 +233,8 @@ public class ReviewDAO extends BaseDAO {
         return false;
     }
 
-    // Update review
+    // Update review; a changed rating moves it to its new star in the product's rating
+    // stats in the same transaction
     public boolean updateReview(Review review) {
         Connection conn = null;
         PreparedStatement pstmt = null;
@@ -174,23 +243,36 @@ public class ReviewDAO extends BaseDAO {
 
         try {
             conn = getConnection();
-            pstmt = conn.prepareStatement(sql);
+            conn.setAutoCommit(false);
+            int[] current = lockRating(conn, review.getReviewId());
+            if (current == null) {
+                conn.rollback();
+                return false;
+            }
 
+            pstmt = conn.prepareStatement(sql);
             pstmt.setInt(1, review.getRating());
             pstmt.setString(2, review.getComment());
             pstmt.setInt(3, review.getReviewId());
+            pstmt.executeUpdate();
 
-            int affectedRows = pstmt.executeUpdate();
-            return affectedRows > 0;
+            if (current[1] != review.getRating()) {
+                updateRatingStats(conn, current[0], current[1], review.getRating());
+            }
+            conn.commit();
+            return true;
         } catch (SQLException e) {
+            rollbackTransaction(conn);
             logger.error("Error updating review: {}", review.getReviewId(), e);
         } finally {
-            closeResources(pstmt, conn);
+            closeResources(pstmt, null);
+            setAutoCommit(conn, true);
+            closeResources(null, conn);
         }
         return false;
     }
 
-    // Delete review
+    // Delete review and take it out of the product's rating stats in the same transaction
     public boolean deleteReview(int reviewId) {
         Connection conn = null;
         PreparedStatement pstmt = null;
@@ -199,19 +281,99 @@ public class ReviewDAO extends BaseDAO {
 
         try {
             conn = getConnection();
+            conn.setAutoCommit(false);
+            int[] current = lockRating(conn, reviewId);
+            if (current == null) {
+                conn.rollback();
+                return false;
+            }
+
             pstmt = conn.prepareStatement(sql);
             pstmt.setInt(1, reviewId);
+            pstmt.executeUpdate();
 
-            int affectedRows = pstmt.executeUpdate();
-            return affectedRows > 0;
+            updateRatingStats(conn, current[0], current[1], 0);
+            conn.commit();
+            return true;
         } catch (SQLException e) {
+            rollbackTransaction(conn);
             logger.error("Error deleting review: {}", reviewId, e);
         } finally {
-            closeResources(pstmt, conn);
+            closeResources(pstmt, null);
+            setAutoCommit(conn, true);
+            closeResources(null, conn);
         }
         return false;
     }
 
+    // Product ID and rating of a review, locked until the transaction ends; null if the
+    // review does not exist
+    private int[] lockRating(Connection conn, int reviewId) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT product_id, rating FROM reviews WHERE review_id = ? FOR UPDATE")) {
+            pstmt.setInt(1, reviewId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? new int[] {rs.getInt("product_id"), rs.getInt("rating")} : null;
+            }
+        }
+    }
+
+    // Move one review from oldRating to newRating in the product's stats (0 = none, so
+    // 0 -> r counts a new review and r -> 0 removes one). The upsert creates the row on
+    // the product's first review.
+    private void updateRatingStats(Connection conn, int productId, int oldRating, int newRating)
+            throws SQLException {
+        String sql = "INSERT INTO product_rating_stats (product_id, rating_count, rating_sum, " +
+                "stars_1, stars_2, stars_3, stars_4, stars_5) VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE rating_count = rating_count + VALUES(rating_count), " +
+                "rating_sum = rating_sum + VALUES(rating_sum), " +
+                "stars_1 = stars_1 + VALUES(stars_1), stars_2 = stars_2 + VALUES(stars_2), " +
+                "stars_3 = stars_3 + VALUES(stars_3), stars_4 = stars_4 + VALUES(stars_4), " +
+                "stars_5 = stars_5 + VALUES(stars_5)";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, productId);
+            pstmt.setInt(2, (newRating > 0 ? 1 : 0) - (oldRating > 0 ? 1 : 0));
+            pstmt.setInt(3, newRating - oldRating);
+            for (int star = 1; star <= 5; star++) {
+                pstmt.setInt(3 + star, (newRating == star ? 1 : 0) - (oldRating == star ? 1 : 0));
+            }
+            pstmt.executeUpdate();
+        }
+    }
+
+    // Keyset condition for the rows after the previous page's last review in sort order
+    private static String afterCondition(Review.SortOrder sort) {
+        switch (sort) {
+            case HIGHEST:
+                return " AND (r.rating < ? OR (r.rating = ? AND r.review_id < ?))";
+            case LOWEST:
+                return " AND (r.rating > ? OR (r.rating = ? AND r.review_id > ?))";
+            default:
+                return " AND (r.review_date < ? OR (r.review_date = ? AND r.review_id < ?))";
+        }
+    }
+
+    private static String orderBy(Review.SortOrder sort) {
+        switch (sort) {
+            case HIGHEST:
+                return "r.rating DESC, r.review_id DESC";
+            case LOWEST:
+                return "r.rating ASC, r.review_id ASC";
+            default:
+                return "r.review_date DESC, r.review_id DESC";
+        }
+    }
+
+    // Helper method to extract rating stats from ResultSet (product_rating_stats columns)
+    static RatingStats extractRatingStatsFromResultSet(ResultSet rs) throws SQLException {
+        int[] stars = new int[5];
+        for (int star = 1; star <= 5; star++) {
+            stars[star - 1] = rs.getInt("stars_" + star);
+        }
+        return new RatingStats(rs.getInt("product_id"), rs.getInt("rating_count"), rs.getInt("rating_sum"), stars);
+    }
+
     // Helper method to extract review from ResultSet
     private Review extractReviewFromResultSet(ResultSet rs) throws SQLException {
         Review review = new Review();
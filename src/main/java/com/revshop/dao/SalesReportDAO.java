@@ -0,0 +1,124 @@
+package com.revshop.dao;
+
+import com.revshop.model.SalesReport;
+import com.revshop.model.SalesReport.CategorySales;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SalesReportDAO extends BaseDAO {
+    private static final Logger logger = LogManager.getLogger(SalesReportDAO.class);
+
+    // An order line counts towards revenue only once it is delivered and paid
+    private static final String COMPLETED = "(o.status = 'DELIVERED' AND o.payment_status = 'COMPLETED')";
+
+    private static final String SUMMARY_SQL = "SELECT COUNT(DISTINCT o.order_id) AS total_orders, " +
+            "COUNT(DISTINCT CASE WHEN " + COMPLETED + " THEN o.order_id END) AS completed_orders, " +
+            "COUNT(DISTINCT CASE WHEN o.status = 'PENDING' THEN o.order_id END) AS pending_orders, " +
+            "COALESCE(SUM(CASE WHEN " + COMPLETED + " THEN oi.quantity ELSE 0 END), 0) AS units_sold, " +
+            "COALESCE(SUM(CASE WHEN " + COMPLETED + " THEN oi.quantity * oi.price ELSE 0 END), 0) AS revenue " +
+            "FROM orders o " +
+            "JOIN order_items oi ON o.order_id = oi.order_id " +
+            "JOIN products p ON oi.product_id = p.product_id " +
+            "WHERE p.seller_id = ?";
+
+    private static final String CATEGORY_SQL = "SELECT p.category, " +
+            "COUNT(DISTINCT o.order_id) AS completed_orders, " +
+            "SUM(oi.quantity) AS units_sold, " +
+            "SUM(oi.quantity * oi.price) AS revenue " +
+            "FROM orders o " +
+            "JOIN order_items oi ON o.order_id = oi.order_id " +
+            "JOIN products p ON oi.product_id = p.product_id " +
+            "WHERE p.seller_id = ? AND " + COMPLETED;
+
+    // Get all-time sales report for seller
+    public SalesReport getSalesReport(int sellerId) {
+        return getSalesReport(sellerId, null, null, false);
+    }
+
+    // Get sales report for seller, optionally limited to [fromDate, toDate) and broken down by category
+    public SalesReport getSalesReport(int sellerId, Timestamp fromDate, Timestamp toDate,
+                                      boolean includeCategories) {
+        SalesReport report = new SalesReport(sellerId, fromDate, toDate);
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        String sql = SUMMARY_SQL + dateRangeClause(fromDate, toDate);
+
+        try {
+            conn = getConnection();
+            pstmt = conn.prepareStatement(sql);
+            bindSellerAndDateRange(pstmt, sellerId, fromDate, toDate);
+            rs = pstmt.executeQuery();
+
+            if (rs.next()) {
+                report.setTotalOrders(rs.getInt("total_orders"));
+                report.setCompletedOrders(rs.getInt("completed_orders"));
+                report.setPendingOrders(rs.getInt("pending_orders"));
+                report.setUnitsSold(rs.getInt("units_sold"));
+                report.setRevenue(nonNull(rs.getBigDecimal("revenue")));
+            }
+
+            if (includeCategories && report.getCompletedOrders() > 0) {
+                report.setCategoryBreakdown(getCategoryBreakdown(conn, sellerId, fromDate, toDate));
+            }
+        } catch (SQLException e) {
+            logger.error("Error building sales report for seller: {}", sellerId, e);
+        } finally {
+            closeResources(rs, pstmt, conn);
+        }
+        return report;
+    }
+
+    // Per-category completed sales, highest revenue first
+    private List<CategorySales> getCategoryBreakdown(Connection conn, int sellerId,
+                                                     Timestamp fromDate, Timestamp toDate) throws SQLException {
+        List<CategorySales> breakdown = new ArrayList<>();
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        String sql = CATEGORY_SQL + dateRangeClause(fromDate, toDate) +
+                " GROUP BY p.category ORDER BY revenue DESC";
+
+        try {
+            pstmt = conn.prepareStatement(sql);
+            bindSellerAndDateRange(pstmt, sellerId, fromDate, toDate);
+            rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                breakdown.add(new CategorySales(
+                        rs.getString("category"),
+                        rs.getInt("completed_orders"),
+                        rs.getInt("units_sold"),
+                        nonNull(rs.getBigDecimal("revenue"))));
+            }
+        } finally {
+            closeResources(rs, pstmt, null);
+        }
+        return breakdown;
+    }
+
+    private String dateRangeClause(Timestamp fromDate, Timestamp toDate) {
+        StringBuilder clause = new StringBuilder();
+        if (fromDate != null) clause.append(" AND o.order_date >= ?");
+        if (toDate != null) clause.append(" AND o.order_date < ?");
+        return clause.toString();
+    }
+
+    private void bindSellerAndDateRange(PreparedStatement pstmt, int sellerId,
+                                        Timestamp fromDate, Timestamp toDate) throws SQLException {
+        int index = 1;
+        pstmt.setInt(index++, sellerId);
+        if (fromDate != null) pstmt.setTimestamp(index++, fromDate);
+        if (toDate != null) pstmt.setTimestamp(index, toDate);
+    }
+
+    private BigDecimal nonNull(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,187 @@
+package com.revshop.dao;
+
+import com.revshop.config.AppConfig;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+
+// Per-user unread notification counts, used by NotificationDAO so the dashboards can show
+// them without a COUNT query on every render.
+//
+// A count is loaded from the table on first use and then kept up to date by the writers:
+// each change to a user's notifications is bracketed by beginUpdate/endUpdate, and
+// endUpdate applies the change in unread rows to the cached count. A load only installs
+// its result if no write for that user (or one sharing its stripe) was running or started
+// while it ran, so a count can never include a change twice or miss one.
+//
+// reconcile() re-counts the cached users against the table, fixing drift from writes made
+// outside this process, and drops users whose count was not read since the last run.
+public class UnreadCountCache {
+    private static final Logger logger = LogManager.getLogger(UnreadCountCache.class);
+
+    private static final int DEFAULT_MAX_USERS = 10000;
+    private static final int RECONCILE_CHUNK = 500;
+
+    private static final UnreadCountCache instance = new UnreadCountCache(
+            AppConfig.get().getInt("notifications.unreadCache.maxUsers", DEFAULT_MAX_USERS),
+            AppConfig.get().getBoolean("notifications.unreadCache.enabled", true));
+
+    private final int maxUsers;
+    private final boolean enabled;
+    private final ConcurrentHashMap<Integer, Entry> counts = new ConcurrentHashMap<>();
+
+    private final WriteStripes writes = new WriteStripes();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong corrections = new AtomicLong();
+
+    public UnreadCountCache(int maxUsers, boolean enabled) {
+        this.maxUsers = maxUsers;
+        this.enabled = enabled;
+    }
+
+    public static UnreadCountCache getInstance() {
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Cached count for user, or the loader's result on a miss. The loader returns the
+    // count from the table, or -1 on error (reported as 0 and not cached).
+    public int get(int userId, IntUnaryOperator loader) {
+        if (!enabled) {
+            return Math.max(0, loader.applyAsInt(userId));
+        }
+        Entry entry = counts.get(userId);
+        if (entry != null) {
+            entry.used = true;
+            hits.incrementAndGet();
+            return entry.count;
+        }
+        misses.incrementAndGet();
+
+        long snapshot = writes.snapshot(userId);
+        int count = loader.applyAsInt(userId);
+        if (count < 0) {
+            return 0;
+        }
+        if (snapshot >= 0 && counts.size() < maxUsers) {
+            counts.compute(userId, (id, current) -> {
+                if (current != null) {
+                    return current;
+                }
+                return writes.isUnchanged(id, snapshot) ? new Entry(count) : null;
+            });
+        }
+        return count;
+    }
+
+    // Call before changing a user's notifications, then endUpdate once the change is
+    // committed or has failed
+    public void beginUpdate(int userId) {
+        writes.begin(userId);
+    }
+
+    // Apply the committed change in unread rows (0 if the write failed or changed none)
+    public void endUpdate(int userId, int unreadDelta) {
+        if (unreadDelta != 0) {
+            counts.computeIfPresent(userId, (id, entry) -> {
+                entry.count = Math.max(0, entry.count + unreadDelta);
+                return entry;
+            });
+        }
+        writes.end(userId);
+    }
+
+    // Re-count the cached users with counter (user ID -> unread count for a batch of users,
+    // users without unread rows may be left out; null on error). Users not read since the
+    // last run are dropped instead. Returns the number of counts that were corrected.
+    public int reconcile(Function<Collection<Integer>, Map<Integer, Integer>> counter) {
+        if (!enabled) {
+            return 0;
+        }
+        List<Integer> active = new ArrayList<>();
+        for (Map.Entry<Integer, Entry> e : counts.entrySet()) {
+            if (e.getValue().used) {
+                e.getValue().used = false;
+                active.add(e.getKey());
+            } else {
+                counts.remove(e.getKey(), e.getValue());
+            }
+        }
+
+        int corrected = 0;
+        for (int from = 0; from < active.size(); from += RECONCILE_CHUNK) {
+            List<Integer> chunk = active.subList(from, Math.min(active.size(), from + RECONCILE_CHUNK));
+            long[] snapshots = new long[chunk.size()];
+            for (int i = 0; i < chunk.size(); i++) {
+                snapshots[i] = writes.snapshot(chunk.get(i));
+            }
+            Map<Integer, Integer> actual = counter.apply(chunk);
+            if (actual == null) {
+                break;
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                if (snapshots[i] >= 0 && correct(chunk.get(i), actual.getOrDefault(chunk.get(i), 0), snapshots[i])) {
+                    corrected++;
+                }
+            }
+        }
+        if (corrected > 0) {
+            corrections.addAndGet(corrected);
+            logger.info("Unread counts reconciled: {} of {} users corrected", corrected, active.size());
+        }
+        return corrected;
+    }
+
+    // Forget one user's count (the next read loads it again)
+    public void invalidate(int userId) {
+        counts.remove(userId);
+    }
+
+    public void clear() {
+        counts.clear();
+    }
+
+    // Statistics
+    public long getHitCount() { return hits.get(); }
+    public long getMissCount() { return misses.get(); }
+    public long getCorrectionCount() { return corrections.get(); }
+
+    public int getUserCount() {
+        return counts.size();
+    }
+
+    private boolean correct(int userId, int actual, long snapshot) {
+        boolean[] changed = new boolean[1];
+        counts.computeIfPresent(userId, (id, entry) -> {
+            if (writes.isUnchanged(id, snapshot) && entry.count != actual) {
+                entry.count = actual;
+                changed[0] = true;
+            }
+            return entry;
+        });
+        return changed[0];
+    }
+
+    // count only changes inside ConcurrentHashMap compute calls for its key
+    private static final class Entry {
+        volatile int count;
+        volatile boolean used = true;
+
+        Entry(int count) {
+            this.count = count;
+        }
+    }
+}
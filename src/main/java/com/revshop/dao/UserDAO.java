@@ -8,6 +8,7 @@ import org.apache.logging.log4j.Logger;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class UserDAO extends BaseDAO {
     private static final Logger logger = LogManager.getLogger(UserDAO.class);
@@ -242,6 +243,12 @@ public class UserDAO extends BaseDAO {
         return users;
     }
 
+    // Stream all active users in constant memory; close the stream when done
+    public Stream<User> streamAllUsers() {
+        return stream("SELECT * FROM users WHERE is_active = TRUE ORDER BY user_id", null,
+                this::extractUserFromResultSet);
+    }
+
     // DELETE USER METHOD
     public boolean deleteUser(int userId) {
         Connection conn = null;
@@ -285,7 +292,7 @@ public class UserDAO extends BaseDAO {
     }
 
     // Helper method to extract user from ResultSet
-    private User extractUserFromResultSet(ResultSet rs) throws SQLException {
+    User extractUserFromResultSet(ResultSet rs) throws SQLException {
         User user = new User();
         user.setUserId(rs.getInt("user_id"));
         user.setEmail(rs.getString("email"));
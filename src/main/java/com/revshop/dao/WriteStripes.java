@@ -0,0 +1,44 @@
+package com.revshop.dao;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Tracks writes per key stripe so a cache can tell whether a value it loaded may have
+// missed a concurrent write. Writers call begin/end around the change; a loader takes a
+// snapshot before reading and only installs its value if isUnchanged() still holds.
+final class WriteStripes {
+    private static final int STRIPES = 64;
+
+    // Per stripe: writes started so far, and writes not yet ended
+    private final AtomicLongArray started = new AtomicLongArray(STRIPES);
+    private final AtomicIntegerArray running = new AtomicIntegerArray(STRIPES);
+
+    void begin(int key) {
+        int stripe = stripe(key);
+        // Mark the write as running before counting it as started; see snapshot()
+        running.incrementAndGet(stripe);
+        started.incrementAndGet(stripe);
+    }
+
+    void end(int key) {
+        running.decrementAndGet(stripe(key));
+    }
+
+    // Writes started on the key's stripe, or -1 if one is still running. Read "started"
+    // before "running": a write counted in the first read is then also seen running in
+    // the second, unless it has already ended (and committed before the load begins).
+    long snapshot(int key) {
+        int stripe = stripe(key);
+        long startedBefore = started.get(stripe);
+        return running.get(stripe) == 0 ? startedBefore : -1;
+    }
+
+    // No write on the key's stripe started since the snapshot was taken
+    boolean isUnchanged(int key, long snapshot) {
+        return snapshot >= 0 && started.get(stripe(key)) == snapshot;
+    }
+
+    private static int stripe(int key) {
+        return key & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,357 @@
+package com.revshop.http;
+
+import com.revshop.model.Product;
+import com.revshop.model.RatedProduct;
+import com.revshop.model.RatingStats;
+import com.revshop.model.Review;
+import com.revshop.model.ServiceResult;
+import com.revshop.service.SessionContext;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Base for the JSON endpoints: parses the request, resolves the bearer token into a
+// SessionContext, calls route() and writes the result. Handlers are shared by all
+// request threads, so subclasses keep no per-request state in fields.
+abstract class ApiHandler implements HttpHandler {
+    private static final Logger logger = LogManager.getLogger(ApiHandler.class);
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    private final TokenService tokenService;
+
+    ApiHandler(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    protected abstract Response route(Request request);
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        Response response;
+        try {
+            response = route(new Request(exchange, tokenService));
+        } catch (ApiException e) {
+            response = Response.error(e.getStatus(), e.getMessage());
+        } catch (IllegalArgumentException e) {
+            // Malformed JSON, numbers or enum values in the request
+            response = Response.error(400, e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Error handling {} {}", exchange.getRequestMethod(), exchange.getRequestURI(), e);
+            response = Response.error(500, "Internal server error");
+        }
+
+        try {
+            byte[] body = Json.write(response.body).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(response.status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // Map a failed service call to 400 with its message, or return its value
+    static <T> T orFail(ServiceResult<T> result) {
+        if (!result.isSuccess()) {
+            throw ApiException.badRequest(result.getMessage());
+        }
+        return result.getValue();
+    }
+
+    static ApiException methodNotAllowed(Request request) {
+        return new ApiException(405, request.getMethod() + " not allowed on " + request.getPath());
+    }
+
+    // Keyset cursor "<epochMillis>_<id>" for (timestamp, id) ordered listings
+    static String cursor(Timestamp timestamp, int id) {
+        return timestamp.getTime() + "_" + id;
+    }
+
+    static Timestamp cursorTime(String cursor) {
+        return cursor == null ? null : new Timestamp(parseCursor(cursor)[0]);
+    }
+
+    static int cursorId(String cursor) {
+        return cursor == null ? 0 : (int) parseCursor(cursor)[1];
+    }
+
+    // The two numbers of a "<n>_<id>" cursor; 400 for anything else
+    private static long[] parseCursor(String cursor) {
+        int split = cursor.indexOf('_');
+        try {
+            long id = Long.parseLong(cursor.substring(split + 1));
+            if (split > 0 && id >= 0 && id <= Integer.MAX_VALUE) {
+                return new long[] {Long.parseLong(cursor.substring(0, split)), id};
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw ApiException.badRequest("Invalid cursor: " + cursor);
+    }
+
+    // A JSON number field as an int; 400 if it is not a whole number in int range
+    static int intValue(Object value, String name) {
+        if (!(value instanceof BigDecimal)) {
+            throw ApiException.badRequest("Field must be a number: " + name);
+        }
+        try {
+            return ((BigDecimal) value).intValueExact();
+        } catch (ArithmeticException e) {
+            throw ApiException.badRequest("Field must be a whole number: " + name);
+        }
+    }
+
+    // Review feed cursor: "<epochMillis>_<id>" newest first, "<rating>_<id>" by rating
+    static String reviewCursor(Review.SortOrder sort, Review review) {
+        if (sort == Review.SortOrder.NEWEST) {
+            return cursor(review.getReviewDate(), review.getReviewId());
+        }
+        return review.getRating() + "_" + review.getReviewId();
+    }
+
+    // The review a feed cursor points at, with just the fields its order compares; null
+    // for no cursor
+    static Review cursorReview(Review.SortOrder sort, String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        Review review = new Review();
+        review.setReviewId(cursorId(cursor));
+        if (sort == Review.SortOrder.NEWEST) {
+            review.setReviewDate(cursorTime(cursor));
+        } else {
+            review.setRating((int) parseCursor(cursor)[0]);
+        }
+        return review;
+    }
+
+    // Top rated cursor: "<average>_<count>_<productId>", the listing's sort key
+    static String ratedProductCursor(RatedProduct rated) {
+        return rated.getRatingAverage().toPlainString() + "_" + rated.getRatingStats().getCount() + "_"
+                + rated.getProduct().getProductId();
+    }
+
+    // The rated product a top rated cursor points at, with just the fields its order
+    // compares; null for no cursor, 400 for a malformed one
+    static RatedProduct cursorRatedProduct(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        int split = cursor.indexOf('_');
+        try {
+            BigDecimal average = new BigDecimal(split > 0 ? cursor.substring(0, split) : "");
+            long[] countAndId = parseCursor(cursor.substring(split + 1));
+            if (average.signum() >= 0 && countAndId[0] >= 0 && countAndId[0] <= Integer.MAX_VALUE) {
+                Product product = new Product();
+                product.setProductId((int) countAndId[1]);
+                RatingStats stats = new RatingStats(product.getProductId(), (int) countAndId[0], 0, new int[5]);
+                return new RatedProduct(product, stats, average);
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw ApiException.badRequest("Invalid cursor: " + cursor);
+    }
+
+    static final class Response {
+        final int status;
+        final Object body;
+
+        private Response(int status, Object body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        static Response ok(Object body) {
+            return new Response(200, body);
+        }
+
+        static Response status(int status, Object body) {
+            return new Response(status, body);
+        }
+
+        static Response error(int status, String message) {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("error", message);
+            return new Response(status, body);
+        }
+    }
+
+    // One parsed request: method, path segments below the handler's context, query
+    // parameters, JSON body and the caller's session
+    static final class Request {
+        private final HttpExchange exchange;
+        private final TokenService tokenService;
+        private final List<String> segments;
+        private final Map<String, String> query;
+        private Map<String, Object> body;
+
+        Request(HttpExchange exchange, TokenService tokenService) {
+            this.exchange = exchange;
+            this.tokenService = tokenService;
+            this.segments = splitPath(exchange.getRequestURI().getPath(), exchange.getHttpContext().getPath());
+            this.query = parseQuery(exchange.getRequestURI().getRawQuery());
+        }
+
+        String getMethod() { return exchange.getRequestMethod(); }
+        String getPath() { return exchange.getRequestURI().getPath(); }
+
+        // Path segments after the context path, e.g. /api/cart/12 -> ["12"]
+        List<String> segments() { return segments; }
+
+        boolean is(String method, int segmentCount) {
+            return method.equalsIgnoreCase(getMethod()) && segments.size() == segmentCount;
+        }
+
+        int segmentInt(int index) {
+            try {
+                return Integer.parseInt(segments.get(index));
+            } catch (NumberFormatException e) {
+                throw ApiException.notFound("Not found: " + getPath());
+            }
+        }
+
+        String query(String name) {
+            return query.get(name);
+        }
+
+        int queryInt(String name, int defaultValue) {
+            String value = query.get(name);
+            return value == null || value.isEmpty() ? defaultValue : Integer.parseInt(value);
+        }
+
+        String bodyString(String name) {
+            Object value = body().get(name);
+            return value == null ? null : value.toString();
+        }
+
+        int bodyInt(String name, Integer defaultValue) {
+            Object value = body().get(name);
+            if (value == null) {
+                if (defaultValue == null) {
+                    throw ApiException.badRequest("Missing field: " + name);
+                }
+                return defaultValue;
+            }
+            return intValue(value, name);
+        }
+
+        // JSON array field, e.g. "items": [{...}, {...}]
+        List<Object> bodyList(String name) {
+            Object value = body().get(name);
+            if (!(value instanceof List)) {
+                throw ApiException.badRequest("Field must be an array: " + name);
+            }
+            @SuppressWarnings("unchecked")
+            List<Object> list = (List<Object>) value;
+            return list;
+        }
+
+        // Session from the bearer token; anonymous if there is none
+        SessionContext session() {
+            String header = exchange.getRequestHeaders().getFirst("Authorization");
+            if (header == null || !header.startsWith("Bearer ")) {
+                return new SessionContext();
+            }
+            SessionContext session = tokenService.verify(header.substring("Bearer ".length()).trim());
+            if (session == null) {
+                throw new ApiException(401, "Invalid or expired token");
+            }
+            return session;
+        }
+
+        SessionContext requireBuyer() {
+            SessionContext session = session();
+            if (!session.isLoggedIn()) {
+                throw new ApiException(401, "Login required");
+            }
+            if (!session.isBuyer()) {
+                throw new ApiException(403, "Buyer account required");
+            }
+            return session;
+        }
+
+        SessionContext requireUser() {
+            SessionContext session = session();
+            if (!session.isLoggedIn()) {
+                throw new ApiException(401, "Login required");
+            }
+            return session;
+        }
+
+        private Map<String, Object> body() {
+            if (body == null) {
+                body = Json.parseObject(readBody());
+            }
+            return body;
+        }
+
+        private String readBody() {
+            try (InputStream in = exchange.getRequestBody()) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                    if (out.size() > MAX_BODY_BYTES) {
+                        throw new ApiException(413, "Request body too large");
+                    }
+                }
+                return out.toString(StandardCharsets.UTF_8.name());
+            } catch (IOException e) {
+                throw ApiException.badRequest("Could not read request body");
+            }
+        }
+
+        private static List<String> splitPath(String path, String contextPath) {
+            String rest = path.length() > contextPath.length() ? path.substring(contextPath.length()) : "";
+            List<String> segments = new ArrayList<>();
+            for (String segment : rest.split("/")) {
+                if (!segment.isEmpty()) {
+                    segments.add(segment);
+                }
+            }
+            return segments;
+        }
+
+        private static Map<String, String> parseQuery(String rawQuery) {
+            if (rawQuery == null || rawQuery.isEmpty()) {
+                return Collections.emptyMap();
+            }
+            Map<String, String> params = new HashMap<>();
+            for (String pair : rawQuery.split("&")) {
+                int eq = pair.indexOf('=');
+                String name = eq < 0 ? pair : pair.substring(0, eq);
+                String value = eq < 0 ? "" : pair.substring(eq + 1);
+                params.put(decode(name), decode(value));
+            }
+            return params;
+        }
+
+        private static String decode(String value) {
+            try {
+                return URLDecoder.decode(value, StandardCharsets.UTF_8.name());
+            } catch (java.io.UnsupportedEncodingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
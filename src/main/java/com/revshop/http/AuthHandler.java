@@ -0,0 +1,42 @@
+package com.revshop.http;
+
+import com.revshop.model.ServiceResult;
+import com.revshop.model.User;
+import com.revshop.service.AuthService;
+import com.revshop.service.SessionContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// POST /api/login {"email", "password"} -> bearer token for the other endpoints
+class AuthHandler extends ApiHandler {
+    private final AuthService authService;
+    private final TokenService tokenService;
+
+    AuthHandler(TokenService tokenService, AuthService authService) {
+        super(tokenService);
+        this.tokenService = tokenService;
+        this.authService = authService;
+    }
+
+    @Override
+    protected Response route(Request request) {
+        if (!request.is("POST", 0)) {
+            throw methodNotAllowed(request);
+        }
+
+        ServiceResult<User> login = authService.login(new SessionContext(),
+                request.bodyString("email"), request.bodyString("password"));
+        if (!login.isSuccess()) {
+            throw new ApiException(401, login.getMessage());
+        }
+
+        User user = login.getValue();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("token", tokenService.issue(user));
+        body.put("userId", user.getUserId());
+        body.put("userType", user.getUserType());
+        body.put("firstName", user.getFirstName());
+        return Response.ok(body);
+    }
+}
@@ -0,0 +1,64 @@
+package com.revshop.http;
+
+import com.revshop.service.BuyerService;
+import com.revshop.service.SessionContext;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// The buyer's cart; every call returns the cart as it is afterwards:
+//   GET    /api/cart
+//   GET    /api/cart/summary       item count, total and savings only
+//   POST   /api/cart               {"productId", "quantity"}
+//   POST   /api/cart/items         {"items": [{"productId", "quantity"}, ...]}
+//   PUT    /api/cart/<productId>   {"quantity"}   (0 removes the line)
+//   DELETE /api/cart/<productId>
+class CartHandler extends ApiHandler {
+    private final BuyerService buyerService;
+
+    CartHandler(TokenService tokenService, BuyerService buyerService) {
+        super(tokenService);
+        this.buyerService = buyerService;
+    }
+
+    @Override
+    protected Response route(Request request) {
+        SessionContext session = request.requireBuyer();
+
+        if (request.is("GET", 0)) {
+            // fall through to the cart below
+        } else if (request.is("GET", 1) && "summary".equals(request.segments().get(0))) {
+            return Response.ok(Views.cartSummary(buyerService.getCartSummary(session)));
+        } else if (request.is("POST", 0)) {
+            orFail(buyerService.addToCart(session, request.bodyInt("productId", null),
+                    request.bodyInt("quantity", 1)));
+        } else if (request.is("POST", 1) && "items".equals(request.segments().get(0))) {
+            orFail(buyerService.addAllToCart(session, quantities(request.bodyList("items"))));
+        } else if (request.is("PUT", 1)) {
+            orFail(buyerService.updateCartQuantity(session, request.segmentInt(0),
+                    request.bodyInt("quantity", null)));
+        } else if (request.is("DELETE", 1)) {
+            if (!buyerService.removeFromCart(session, request.segmentInt(0))) {
+                throw ApiException.notFound("Item not found in cart!");
+            }
+        } else {
+            throw methodNotAllowed(request);
+        }
+        return Response.ok(Views.cart(buyerService.getCart(session)));
+    }
+
+    // [{"productId": 1, "quantity": 2}, ...] -> product ID -> quantity (repeats add up)
+    private static Map<Integer, Integer> quantities(List<Object> items) {
+        Map<Integer, Integer> quantities = new LinkedHashMap<>();
+        for (Object item : items) {
+            if (!(item instanceof Map)) {
+                throw ApiException.badRequest("Each item must be an object");
+            }
+            Map<?, ?> fields = (Map<?, ?>) item;
+            int quantity = fields.get("quantity") == null ? 1 : intValue(fields.get("quantity"), "quantity");
+            quantities.merge(intValue(fields.get("productId"), "productId"), quantity, Integer::sum);
+        }
+        return quantities;
+    }
+}
@@ -0,0 +1,42 @@
+package com.revshop.http;
+
+import com.revshop.model.Notification;
+import com.revshop.model.Page;
+import com.revshop.service.NotificationService;
+import com.revshop.service.SessionContext;
+
+import java.util.Collections;
+
+// Notifications of the logged-in user:
+//   GET  /api/notifications?before=<cursor>   newest first
+//   POST /api/notifications/<id>/read
+class NotificationHandler extends ApiHandler {
+    private final NotificationService notificationService;
+
+    NotificationHandler(TokenService tokenService, NotificationService notificationService) {
+        super(tokenService);
+        this.notificationService = notificationService;
+    }
+
+    @Override
+    protected Response route(Request request) {
+        SessionContext session = request.requireUser();
+
+        if (request.is("GET", 0)) {
+            String before = request.query("before");
+            Page<Notification> page = notificationService.getNotificationsPage(session.getUserId(),
+                    cursorTime(before), cursorId(before));
+            return Response.ok(Views.page(page, Views::notification,
+                    n -> cursor(n.getCreatedAt(), n.getNotificationId())));
+        }
+
+        if (request.is("POST", 2) && "read".equals(request.segments().get(1))) {
+            if (!notificationService.markAsRead(session.getUserId(), request.segmentInt(0))) {
+                throw ApiException.notFound("Notification not found!");
+            }
+            return Response.ok(Collections.singletonMap("read", true));
+        }
+
+        throw methodNotAllowed(request);
+    }
+}
@@ -0,0 +1,57 @@
+package com.revshop.http;
+
+import com.revshop.model.CheckoutRequest;
+import com.revshop.model.CheckoutResult;
+import com.revshop.model.Order;
+import com.revshop.model.Page;
+import com.revshop.service.BuyerService;
+import com.revshop.service.SessionContext;
+
+// Orders of the logged-in buyer:
+//   GET  /api/orders?before=<cursor>   order history, newest first
+//   POST /api/orders                   checkout {"paymentMethod", "shippingAddress"?, "billingAddress"?}
+//
+// Checkout answers 201 with the order, or 400 (empty cart, bad input), 402 (payment
+// declined) or 409 (not enough stock, with the lines that are short).
+class OrderHandler extends ApiHandler {
+    private final BuyerService buyerService;
+
+    OrderHandler(TokenService tokenService, BuyerService buyerService) {
+        super(tokenService);
+        this.buyerService = buyerService;
+    }
+
+    @Override
+    protected Response route(Request request) {
+        SessionContext session = request.requireBuyer();
+
+        if (request.is("GET", 0)) {
+            String before = request.query("before");
+            Page<Order> page = buyerService.getOrderHistory(session, cursorTime(before), cursorId(before));
+            return Response.ok(Views.page(page, Views::order, o -> cursor(o.getOrderDate(), o.getOrderId())));
+        }
+
+        if (request.is("POST", 0)) {
+            CheckoutResult result = buyerService.checkout(session, new CheckoutRequest(
+                    request.bodyString("shippingAddress"),
+                    request.bodyString("billingAddress"),
+                    request.bodyString("paymentMethod")));
+            return Response.status(statusOf(result), Views.checkout(result));
+        }
+
+        throw methodNotAllowed(request);
+    }
+
+    private static int statusOf(CheckoutResult result) {
+        switch (result.getStatus()) {
+            case SUCCESS:
+                return 201;
+            case OUT_OF_STOCK:
+                return 409;
+            case PAYMENT_FAILED:
+                return 402;
+            default:
+                return 400;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.revshop.http;
+
+import com.revshop.model.Page;
+import com.revshop.model.Product;
+import com.revshop.model.ProductDetails;
+import com.revshop.model.RatedProduct;
+import com.revshop.model.Review;
+import com.revshop.service.BuyerService;
+
+import java.util.Collections;
+import java.util.List;
+
+// Catalog, open to anonymous callers:
+//   GET /api/products?after=<productId>      one page of products
+//   GET /api/products?category=<name>        products in a category
+//   GET /api/products?sort=rating&after=<cursor>   best rated products, highest average first
+//   GET /api/products/search?q=<keyword>
+//   GET /api/products/categories
+//   GET /api/products/<id>                   details, first page of reviews and rating
+//   GET /api/products/<id>/reviews?sort=newest|highest|lowest&after=<cursor>
+//   GET /api/products/<id>/reviews/<reviewId>     full text of a truncated comment
+class ProductHandler extends ApiHandler {
+    private final BuyerService buyerService;
+
+    ProductHandler(TokenService tokenService, BuyerService buyerService) {
+        super(tokenService);
+        this.buyerService = buyerService;
+    }
+
+    @Override
+    protected Response route(Request request) {
+        if (!"GET".equalsIgnoreCase(request.getMethod())) {
+            throw methodNotAllowed(request);
+        }
+
+        if (request.segments().isEmpty()) {
+            String category = request.query("category");
+            if (category != null) {
+                return Response.ok(Views.list(buyerService.getProductsByCategory(category), Views::product));
+            }
+            if ("rating".equals(request.query("sort"))) {
+                Page<RatedProduct> page =
+                        buyerService.getTopRatedProducts(cursorRatedProduct(request.query("after")));
+                return Response.ok(Views.page(page, Views::ratedProduct, ApiHandler::ratedProductCursor));
+            }
+            Page<Product> page = buyerService.browseProducts(request.queryInt("after", 0));
+            return Response.ok(Views.page(page, Views::product, p -> String.valueOf(p.getProductId())));
+        }
+
+        if (request.segments().size() == 1) {
+            String segment = request.segments().get(0);
+            if ("search".equals(segment)) {
+                List<Product> results = orFail(buyerService.searchProducts(request.query("q")));
+                return Response.ok(Views.list(results, Views::product));
+            }
+            if ("categories".equals(segment)) {
+                return Response.ok(buyerService.getCategories());
+            }
+
+            ProductDetails details = buyerService.getProductDetails(request.session(), request.segmentInt(0));
+            if (details == null) {
+                throw ApiException.notFound("Product not found!");
+            }
+            return Response.ok(Views.productDetails(details));
+        }
+
+        if (request.segments().size() >= 2 && "reviews".equals(request.segments().get(1))) {
+            return routeReviews(request, request.segmentInt(0));
+        }
+
+        throw ApiException.notFound("Not found: " + request.getPath());
+    }
+
+    private Response routeReviews(Request request, int productId) {
+        if (request.segments().size() == 2) {
+            String sort = request.query("sort");
+            Review.SortOrder order = sort == null ? Review.SortOrder.NEWEST
+                    : Review.SortOrder.valueOf(sort.toUpperCase());
+            Page<Review> page = buyerService.getReviews(productId, order,
+                    cursorReview(order, request.query("after")));
+            return Response.ok(Views.page(page, Views::review, r -> reviewCursor(order, r)));
+        }
+
+        if (request.segments().size() == 3) {
+            String comment = buyerService.getReviewComment(productId, request.segmentInt(2));
+            if (comment == null) {
+                throw ApiException.notFound("Review not found!");
+            }
+            return Response.ok(Collections.singletonMap("comment", comment));
+        }
+
+        throw ApiException.notFound("Not found: " + request.getPath());
+    }
+}
@@ -0,0 +1,116 @@
+package com.revshop.http;
+
+import com.revshop.cart.CartStores;
+import com.revshop.config.AppConfig;
+import com.revshop.config.LoggerConfig;
+import com.revshop.dao.ProductDAO;
+import com.revshop.service.AuthService;
+import com.revshop.service.BuyerService;
+import com.revshop.service.NotificationDispatcher;
+import com.revshop.service.NotificationService;
+import com.revshop.util.DatabaseUtil;
+import com.revshop.util.VirtualThreads;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// JSON API over the JDK's built-in HTTP server. Every request runs on its own virtual
+// thread, which blocks on JDBC like the console does; the connection permits, not the
+// thread count, bound how much work reaches the database.
+//
+//   mvn exec:java -Dexec.mainClass="com.revshop.http.RevShopServer"
+//
+// The handlers share one instance of each service and keep no session state: callers
+// log in once and send "Authorization: Bearer <token>". Set http.tokenSecret to the
+// same value on every node so any of them can serve any request.
+public class RevShopServer {
+    private static final Logger logger = LogManager.getLogger(RevShopServer.class);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public RevShopServer(int port, TokenService tokenService, AuthService authService,
+                         BuyerService buyerService, NotificationService notificationService) throws IOException {
+        AppConfig config = AppConfig.get();
+        this.server = HttpServer.create(new InetSocketAddress(port), config.getInt("http.backlog", 0));
+        this.executor = VirtualThreads.newPerTaskExecutor("revshop-http");
+        server.setExecutor(executor);
+
+        server.createContext("/api/login", new AuthHandler(tokenService, authService));
+        server.createContext("/api/products", new ProductHandler(tokenService, buyerService));
+        server.createContext("/api/cart", new CartHandler(tokenService, buyerService));
+        server.createContext("/api/orders", new OrderHandler(tokenService, buyerService));
+        server.createContext("/api/notifications", new NotificationHandler(tokenService, notificationService));
+        server.createContext("/health", new ApiHandler(tokenService) {
+            @Override
+            protected Response route(Request request) {
+                return Response.ok(Collections.singletonMap("status", "UP"));
+            }
+        });
+    }
+
+    public void start() {
+        server.start();
+        logger.info("HTTP API listening on port {}", server.getAddress().getPort());
+    }
+
+    // Stop accepting requests, give in-flight ones a few seconds, then release the threads
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(delaySeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("HTTP API stopped");
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // Shared secret from http.tokenSecret; without one, a random secret that only this
+    // process knows (tokens then stop working after a restart)
+    static TokenService tokenService(AppConfig config) {
+        long ttlSeconds = config.getLong("http.tokenTtlMinutes", 60) * 60;
+        String secret = config.getString("http.tokenSecret", "");
+        if (secret.isEmpty()) {
+            logger.warn("http.tokenSecret is not set; using a random secret for this process only");
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            return new TokenService(random, ttlSeconds);
+        }
+        return new TokenService(secret.getBytes(StandardCharsets.UTF_8), ttlSeconds);
+    }
+
+    public static void main(String[] args) throws IOException {
+        LoggerConfig.initialize();
+        if (!DatabaseUtil.testConnection()) {
+            logger.error("Failed to connect to database; check database.properties");
+            return;
+        }
+        new ProductDAO().buildSearchIndex();
+        NotificationDispatcher.getInstance().start();
+        CartStores.getDefault().start();
+
+        AppConfig config = AppConfig.get();
+        RevShopServer server = new RevShopServer(config.getInt("http.port", 8080), tokenService(config),
+                new AuthService(), new BuyerService(), new NotificationService());
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(config.getInt("http.shutdownDelaySeconds", 5));
+            CartStores.getDefault().stop();
+            NotificationDispatcher.getInstance().stop();
+            DatabaseUtil.closeConnection();
+        }, "revshop-http-shutdown"));
+        server.start();
+    }
+}
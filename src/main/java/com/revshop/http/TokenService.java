@@ -0,0 +1,80 @@
+package com.revshop.http;
+
+import com.revshop.model.User;
+import com.revshop.service.SessionContext;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+// Signed bearer tokens: "<payload>.<HMAC-SHA256>" where the payload carries the user ID,
+// user type and expiry. Any server with the same secret can verify a token without a
+// shared session store, so requests can go to any node behind the load balancer.
+public class TokenService {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final byte[] secret;
+    private final long ttlSeconds;
+
+    public TokenService(byte[] secret, long ttlSeconds) {
+        if (secret.length < 16) {
+            throw new IllegalArgumentException("Token secret must be at least 16 bytes");
+        }
+        this.secret = secret.clone();
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    public String issue(User user) {
+        long expiresAt = System.currentTimeMillis() / 1000 + ttlSeconds;
+        String payload = user.getUserId() + ":" + user.getUserType() + ":" + expiresAt;
+        String encoded = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return encoded + "." + ENCODER.encodeToString(sign(encoded));
+    }
+
+    // Session for a valid, unexpired token; null otherwise. The user only has its
+    // ID and type set; services load anything else they need.
+    public SessionContext verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        String encoded = token.substring(0, dot);
+        try {
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, sign(encoded))) {
+                return null;
+            }
+
+            String[] parts = new String(DECODER.decode(encoded), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 3 || Long.parseLong(parts[2]) < System.currentTimeMillis() / 1000) {
+                return null;
+            }
+
+            User user = new User();
+            user.setUserId(Integer.parseInt(parts[0]));
+            user.setUserType(User.UserType.valueOf(parts[1]));
+            return new SessionContext(user);
+        } catch (IllegalArgumentException e) {
+            // Bad base64, number or user type
+            return null;
+        }
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret, ALGORITHM));
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+}
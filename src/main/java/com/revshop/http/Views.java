@@ -0,0 +1,173 @@
+package com.revshop.http;
+
+import com.revshop.model.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// JSON shapes for the model objects the API returns. Kept here rather than on the
+// models so the wire format can change without touching the DAO layer.
+final class Views {
+
+    private Views() {}
+
+    static Map<String, Object> product(Product product) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("productId", product.getProductId());
+        view.put("sellerId", product.getSellerId());
+        view.put("name", product.getName());
+        view.put("description", product.getDescription());
+        view.put("category", product.getCategory());
+        view.put("price", product.getPrice());
+        view.put("mrp", product.getMrp());
+        view.put("discountPrice", product.getDiscountPrice());
+        view.put("finalPrice", product.getFinalPrice());
+        view.put("stockQuantity", product.getStockQuantity());
+        view.put("lowStock", product.isLowStock());
+        return view;
+    }
+
+    static Map<String, Object> productDetails(ProductDetails details) {
+        Map<String, Object> view = product(details.getProduct());
+        view.putAll(rating(details.getRatingStats()));
+        view.put("favorite", details.isFavorite());
+        // First page newest first; "next" continues at /api/products/<id>/reviews?after=
+        view.put("reviews", page(details.getReviewPage(), Views::review,
+                r -> ApiHandler.reviewCursor(Review.SortOrder.NEWEST, r)));
+        return view;
+    }
+
+    static Map<String, Object> ratedProduct(RatedProduct rated) {
+        Map<String, Object> view = product(rated.getProduct());
+        view.putAll(rating(rated.getRatingStats()));
+        return view;
+    }
+
+    // Average, count and star histogram ("1" to "5" -> number of reviews)
+    static Map<String, Object> rating(RatingStats stats) {
+        Map<String, Object> histogram = new LinkedHashMap<>();
+        for (int star = 1; star <= 5; star++) {
+            histogram.put(String.valueOf(star), stats.getStarCount(star));
+        }
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("averageRating", stats.getAverage());
+        view.put("ratingCount", stats.getCount());
+        view.put("ratingHistogram", histogram);
+        return view;
+    }
+
+    static Map<String, Object> review(Review review) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("reviewId", review.getReviewId());
+        view.put("buyerId", review.getBuyerId());
+        view.put("rating", review.getRating());
+        view.put("comment", review.getComment());
+        view.put("commentTruncated", review.isCommentTruncated());
+        view.put("reviewDate", review.getReviewDate());
+        return view;
+    }
+
+    static Map<String, Object> cart(List<CartItem> items) {
+        List<Object> lines = new ArrayList<>();
+        for (CartItem item : items) {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("productId", item.getProductId());
+            line.put("quantity", item.getQuantity());
+            if (item.getProduct() != null) {
+                line.put("name", item.getProduct().getName());
+                line.put("unitPrice", item.getProduct().getFinalPrice());
+                line.put("lineTotal", item.getTotalPrice());
+            }
+            lines.add(line);
+        }
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("items", lines);
+        view.putAll(cartSummary(CartSummary.of(items)));
+        return view;
+    }
+
+    static Map<String, Object> cartSummary(CartSummary summary) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("itemCount", summary.getItemCount());
+        view.put("total", summary.getSubtotal());
+        view.put("savings", summary.getSavings());
+        return view;
+    }
+
+    static Map<String, Object> order(Order order) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("orderId", order.getOrderId());
+        view.put("orderDate", order.getOrderDate());
+        view.put("status", order.getStatus());
+        view.put("totalAmount", order.getTotalAmount());
+        view.put("shippingAddress", order.getShippingAddress());
+        view.put("billingAddress", order.getBillingAddress());
+        view.put("paymentMethod", order.getPaymentMethod());
+        view.put("paymentStatus", order.getPaymentStatus());
+        if (order.getOrderItems() != null) {
+            view.put("items", list(order.getOrderItems(), Views::orderItem));
+        }
+        return view;
+    }
+
+    static Map<String, Object> orderItem(OrderItem item) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("productId", item.getProductId());
+        if (item.getProduct() != null) {
+            view.put("name", item.getProduct().getName());
+        }
+        view.put("quantity", item.getQuantity());
+        view.put("price", item.getPrice());
+        return view;
+    }
+
+    static Map<String, Object> checkout(CheckoutResult result) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("status", result.getStatus());
+        if (result.getOrder() != null) {
+            view.put("order", order(result.getOrder()));
+        }
+        if (!result.getOutOfStockItems().isEmpty()) {
+            List<Object> items = new ArrayList<>();
+            for (CheckoutResult.OutOfStockItem item : result.getOutOfStockItems()) {
+                Map<String, Object> line = new LinkedHashMap<>();
+                line.put("productId", item.getProductId());
+                line.put("requested", item.getRequestedQuantity());
+                line.put("available", item.getAvailableQuantity());
+                items.add(line);
+            }
+            view.put("outOfStock", items);
+        }
+        return view;
+    }
+
+    static Map<String, Object> notification(Notification notification) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("notificationId", notification.getNotificationId());
+        view.put("type", notification.getType());
+        view.put("message", notification.getMessage());
+        view.put("read", notification.isRead());
+        view.put("createdAt", notification.getCreatedAt());
+        return view;
+    }
+
+    // A keyset page: the items plus the cursor for the next page, if any
+    static <T> Map<String, Object> page(Page<T> page, Function<T, Object> view, Function<T, String> cursor) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("items", list(page.getItems(), view));
+        body.put("hasMore", page.hasMore());
+        body.put("next", page.hasMore() ? cursor.apply(page.getLast()) : null);
+        return body;
+    }
+
+    static <T> List<Object> list(List<T> items, Function<T, ?> view) {
+        List<Object> views = new ArrayList<>(items.size());
+        for (T item : items) {
+            views.add(view.apply(item));
+        }
+        return views;
+    }
+}
@@ -0,0 +1,123 @@
+package com.revshop.load;
+
+import com.revshop.model.CheckoutRequest;
+import com.revshop.model.CheckoutResult;
+import com.revshop.model.Order;
+import com.revshop.model.OrderItem;
+import com.revshop.model.Page;
+import com.revshop.model.Product;
+import com.revshop.model.ProductDetails;
+import com.revshop.service.BuyerService;
+import com.revshop.util.DataGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Buyer journey: browse -> search -> view product -> add to cart -> checkout, with
+// order history now and then and a review of a delivered order. Calls the same
+// BuyerService methods the buyer menu does for each screen.
+class BuyerSession extends SimulatedSession {
+    private final BuyerService buyerService;
+
+    BuyerSession(LoadDriver driver, int buyerId, long seed) {
+        super(driver, buyerId, seed);
+        this.buyerService = driver.getBuyerService();
+    }
+
+    @Override
+    protected void login() {
+        step("buyer.login", () -> loginAs(userId));
+    }
+
+    @Override
+    protected void journey() {
+        step("buyer.browse", () -> {
+            Page<Product> page = buyerService.browseProducts(0);
+            if (page.hasMore() && chance(0.5)) {
+                page = buyerService.browseProducts(page.getLast().getProductId());
+            }
+            return !page.isEmpty();
+        });
+
+        if (chance(options.searchRate)) {
+            String[] nouns = DataGenerator.NOUNS;
+            step("buyer.search", () ->
+                    buyerService.searchProducts(nouns[random.nextInt(nouns.length)].toLowerCase()).isSuccess());
+        }
+
+        int productId = driver.pickProduct(random);
+        ProductDetails[] viewed = new ProductDetails[1];
+        step("buyer.viewProduct", () -> {
+            viewed[0] = buyerService.getProductDetails(session, productId);
+            return viewed[0] != null;
+        });
+
+        Product product = viewed[0] != null ? viewed[0].getProduct() : null;
+        if (product != null && product.isActive() && product.getStockQuantity() > 0
+                && chance(options.addToCartRate)) {
+            step("buyer.addToCart", () -> buyerService.addToCart(session, productId, 1).isSuccess());
+            if (chance(options.checkoutRate)) {
+                checkout();
+            }
+        }
+
+        boolean wantsReview = chance(options.reviewRate);
+        if (wantsReview || chance(options.historyRate)) {
+            List<Order> recentOrders = new ArrayList<>();
+            step("buyer.orderHistory", () -> {
+                recentOrders.addAll(buyerService.getOrderHistory(session, null, 0).getItems());
+                return true;
+            });
+            if (wantsReview) {
+                review(recentOrders);
+            }
+        }
+    }
+
+    private void checkout() {
+        step("buyer.checkout", () -> {
+            CheckoutResult result = buyerService.checkout(session,
+                    new CheckoutRequest("Load test address", null, "Credit Card"));
+            switch (result.getStatus()) {
+                case SUCCESS:
+                case EMPTY_CART:
+                    return true;
+                case OUT_OF_STOCK:
+                    // A real buyer would drop the unavailable items and try again later
+                    for (CheckoutResult.OutOfStockItem item : result.getOutOfStockItems()) {
+                        buyerService.removeFromCart(session, item.getProductId());
+                    }
+                    driver.checkoutRejected();
+                    return true;
+                case PAYMENT_FAILED:
+                    driver.paymentDeclined();
+                    return true;
+                default:
+                    return false;
+            }
+        });
+    }
+
+    // Review an item from a recent delivered order, if there is one
+    private void review(List<Order> recentOrders) {
+        List<Order> delivered = new ArrayList<>();
+        for (Order order : recentOrders) {
+            if (order.getStatus() == Order.OrderStatus.DELIVERED
+                    && order.getOrderItems() != null && !order.getOrderItems().isEmpty()) {
+                delivered.add(order);
+            }
+        }
+        if (delivered.isEmpty()) {
+            return;
+        }
+
+        Order order = delivered.get(random.nextInt(delivered.size()));
+        OrderItem item = order.getOrderItems().get(random.nextInt(order.getOrderItems().size()));
+        int rating = 1 + random.nextInt(5);
+        step("buyer.review", () -> {
+            // Rejections such as "already reviewed" are expected, not errors
+            buyerService.addReview(session, order.getOrderId(), item.getProductId(), rating, "Load test review");
+            return true;
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package com.revshop.load;
+
+import com.revshop.metrics.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency and error count for one step of a simulated session (e.g. buyer.checkout)
+public class FlowStats {
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+
+    public FlowStats(String name) {
+        this.name = name;
+    }
+
+    public void record(long elapsedNanos, boolean success) {
+        latency.record(elapsedNanos);
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    public String getName() { return name; }
+    public LatencyHistogram getLatency() { return latency; }
+    public long getCount() { return latency.getCount(); }
+    public long getErrors() { return errors.sum(); }
+
+    public double getErrorRate() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) getErrors() / count;
+    }
+}
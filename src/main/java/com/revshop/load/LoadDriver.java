@@ -0,0 +1,322 @@
+package com.revshop.load;
+
+import com.revshop.cart.CartStores;
+import com.revshop.config.DatabaseConfig;
+import com.revshop.metrics.LatencyHistogram;
+import com.revshop.metrics.QueryMetrics;
+import com.revshop.service.BuyerService;
+import com.revshop.service.NotificationDispatcher;
+import com.revshop.service.SellerService;
+import com.revshop.util.DataGenerator;
+import com.revshop.util.DatabaseUtil;
+import com.revshop.util.VirtualThreads;
+import com.revshop.util.ZipfDistribution;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+// Headless load driver: runs many simulated buyer and seller sessions against the
+// configured database and reports throughput, error rate and latency per flow.
+//
+// Each session gets its own virtual thread, so thousands of sessions cost little more
+// than the connection pool they share. Sessions start spread over rampUpSeconds and pause for an exponentially
+// distributed think time (mean thinkTimeMs) after every step.
+//
+//   mvn exec:java -Dexec.mainClass="com.revshop.load.LoadDriver" \
+//       -Dexec.args="--sessions=2000 --durationSeconds=120 --buyerShare=0.9"
+//
+// With --generate=true a fresh dataset is loaded first; DataGenerator options such as
+// --buyers=10000 --products=50000 are passed through.
+//
+// All sessions share one BuyerService and one SellerService, exactly as concurrent
+// console or HTTP sessions would; each session only owns its SessionContext. Checkout
+// includes the simulated payment delay (payment.simulator.delayMs).
+public class LoadDriver {
+    private static final Logger logger = LogManager.getLogger(LoadDriver.class);
+
+    private final Options options;
+    private final int[] buyerIds;
+    private final int[] sellerIds;
+    private final ToIntFunction<Random> productPicker;
+    private final BuyerService buyerService = new BuyerService();
+    private final SellerService sellerService = new SellerService();
+
+    private final Map<String, FlowStats> stats = new ConcurrentSkipListMap<>();
+    private final LongAdder journeys = new LongAdder();
+    private final LongAdder checkoutsRejected = new LongAdder();
+    private final LongAdder paymentsDeclined = new LongAdder();
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private volatile boolean running;
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    public LoadDriver(Options options, int[] buyerIds, int[] sellerIds, ToIntFunction<Random> productPicker) {
+        if (buyerIds.length == 0 && sellerIds.length == 0) {
+            throw new IllegalArgumentException("No buyers or sellers to simulate");
+        }
+        this.options = options;
+        this.buyerIds = buyerIds;
+        this.sellerIds = sellerIds;
+        this.productPicker = productPicker;
+    }
+
+    // Run all sessions for durationSeconds and wait for them to finish their current step
+    public void run() throws InterruptedException {
+        running = true;
+        startNanos = System.nanoTime();
+        long deadline = startNanos + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+        Random random = new Random(options.seed);
+
+        ScheduledExecutorService reporter = VirtualThreads.newScheduledExecutor("revshop-load-reporter");
+        if (options.reportIntervalSeconds > 0) {
+            reporter.scheduleAtFixedRate(this::logProgress, options.reportIntervalSeconds,
+                    options.reportIntervalSeconds, TimeUnit.SECONDS);
+        }
+
+        ExecutorService sessions = VirtualThreads.newPerTaskExecutor("revshop-load-session");
+        logger.info("Starting {} sessions ({}% buyers) for {}s", options.sessions,
+                Math.round(options.buyerShare * 100), options.durationSeconds);
+        try {
+            long rampUpNanos = TimeUnit.SECONDS.toNanos(options.rampUpSeconds);
+            for (int i = 0; i < options.sessions && running; i++) {
+                long startAt = startNanos + rampUpNanos * i / options.sessions;
+                sleepUntil(Math.min(startAt, deadline));
+                if (System.nanoTime() >= deadline) {
+                    break;
+                }
+                SimulatedSession session = newSession(random, options.seed * 31 + i);
+                sessions.execute(() -> {
+                    activeSessions.incrementAndGet();
+                    try {
+                        session.run();
+                    } finally {
+                        activeSessions.decrementAndGet();
+                    }
+                });
+            }
+            sleepUntil(deadline);
+        } finally {
+            running = false;
+            endNanos = System.nanoTime();
+            sessions.shutdown();
+            if (!sessions.awaitTermination(Math.max(30, options.thinkTimeMs * 10 / 1000 + 30), TimeUnit.SECONDS)) {
+                logger.warn("Sessions still running after shutdown, interrupting");
+                sessions.shutdownNow();
+            }
+            reporter.shutdownNow();
+        }
+    }
+
+    private SimulatedSession newSession(Random random, long seed) {
+        boolean buyer = sellerIds.length == 0 || (buyerIds.length > 0 && random.nextDouble() < options.buyerShare);
+        if (buyer) {
+            return new BuyerSession(this, buyerIds[random.nextInt(buyerIds.length)], seed);
+        }
+        return new SellerSession(this, sellerIds[random.nextInt(sellerIds.length)], seed);
+    }
+
+    private void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining = nanoTime - System.nanoTime();
+        while (remaining > 0 && running) {
+            TimeUnit.NANOSECONDS.sleep(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(200)));
+            remaining = nanoTime - System.nanoTime();
+        }
+    }
+
+    // Session callbacks
+    Options getOptions() { return options; }
+    boolean isRunning() { return running; }
+    void stop() { running = false; }
+    void journeyCompleted() { journeys.increment(); }
+    void checkoutRejected() { checkoutsRejected.increment(); }
+    void paymentDeclined() { paymentsDeclined.increment(); }
+    BuyerService getBuyerService() { return buyerService; }
+    SellerService getSellerService() { return sellerService; }
+
+    int pickProduct(Random random) {
+        return productPicker.applyAsInt(random);
+    }
+
+    void record(String flow, long elapsedNanos, boolean success) {
+        stats.computeIfAbsent(flow, FlowStats::new).record(elapsedNanos, success);
+    }
+
+    void stepFailed(String flow, RuntimeException e) {
+        logger.debug("Step {} failed", flow, e);
+    }
+
+    public List<FlowStats> getStats() {
+        return new ArrayList<>(stats.values());
+    }
+
+    private double elapsedSeconds() {
+        long end = running ? System.nanoTime() : endNanos;
+        return Math.max(1e-9, (end - startNanos) / 1e9);
+    }
+
+    private void logProgress() {
+        long steps = 0;
+        long errors = 0;
+        for (FlowStats flow : stats.values()) {
+            steps += flow.getCount();
+            errors += flow.getErrors();
+        }
+        logger.info("Load: {} active sessions, {} journeys, {} steps ({} steps/s), {} errors",
+                activeSessions.get(), journeys.sum(), steps, String.format("%.1f", steps / elapsedSeconds()), errors);
+    }
+
+    // Per-flow table: count, throughput, error rate and latency percentiles
+    public String getReport() {
+        double seconds = elapsedSeconds();
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-20s %9s %9s %7s %9s %9s %9s %9s%n",
+                "flow", "count", "ops/s", "err %", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (FlowStats flow : stats.values()) {
+            LatencyHistogram latency = flow.getLatency();
+            report.append(String.format("%-20s %9d %9.1f %7.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    flow.getName(), flow.getCount(), flow.getCount() / seconds, flow.getErrorRate() * 100,
+                    latency.getPercentileMillis(50), latency.getPercentileMillis(95),
+                    latency.getPercentileMillis(99), latency.getMaxNanos() / 1_000_000.0));
+        }
+        report.append(String.format("%d journeys in %.1fs (%.1f/s), %d checkouts rejected for stock, "
+                        + "%d payments declined%n",
+                journeys.sum(), seconds, journeys.sum() / seconds, checkoutsRejected.sum(), paymentsDeclined.sum()));
+        return report.toString();
+    }
+
+    // Load run settings; every field can be set with --name=value
+    public static class Options {
+        int sessions = 200;
+        int durationSeconds = 60;
+        int rampUpSeconds = 10;
+        double buyerShare = 0.9;
+        long thinkTimeMs = 500;
+        double searchRate = 0.5;
+        double addToCartRate = 0.5;
+        double checkoutRate = 0.3;
+        double reviewRate = 0.3;
+        double historyRate = 0.2;
+        double restockRate = 0.5;
+        double statusUpdateRate = 0.7;
+        double productSkew = 1.0;
+        int reportIntervalSeconds = 10;
+        long seed = 1;
+        boolean generate;
+
+        // Parses driver options; anything else is returned for DataGenerator.Scale
+        public static Options fromArgs(String[] args, List<String> unknown) {
+            Options options = new Options();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+                }
+                String name = arg.substring(2, arg.indexOf('='));
+                String value = arg.substring(arg.indexOf('=') + 1);
+                switch (name) {
+                    case "sessions": options.sessions = Integer.parseInt(value); break;
+                    case "durationSeconds": options.durationSeconds = Integer.parseInt(value); break;
+                    case "rampUpSeconds": options.rampUpSeconds = Integer.parseInt(value); break;
+                    case "buyerShare": options.buyerShare = Double.parseDouble(value); break;
+                    case "thinkTimeMs": options.thinkTimeMs = Long.parseLong(value); break;
+                    case "searchRate": options.searchRate = Double.parseDouble(value); break;
+                    case "addToCartRate": options.addToCartRate = Double.parseDouble(value); break;
+                    case "checkoutRate": options.checkoutRate = Double.parseDouble(value); break;
+                    case "reviewRate": options.reviewRate = Double.parseDouble(value); break;
+                    case "historyRate": options.historyRate = Double.parseDouble(value); break;
+                    case "restockRate": options.restockRate = Double.parseDouble(value); break;
+                    case "statusUpdateRate": options.statusUpdateRate = Double.parseDouble(value); break;
+                    case "productSkew": options.productSkew = Double.parseDouble(value); break;
+                    case "reportIntervalSeconds": options.reportIntervalSeconds = Integer.parseInt(value); break;
+                    case "seed": options.seed = Long.parseLong(value); break;
+                    case "generate": options.generate = Boolean.parseBoolean(value); break;
+                    default: unknown.add(arg);
+                }
+            }
+            return options;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> generatorArgs = new ArrayList<>();
+        Options options = Options.fromArgs(args, generatorArgs);
+
+        try {
+            LoadDriver driver;
+            if (options.generate) {
+                DataGenerator.Dataset dataset;
+                try (Connection conn = DatabaseConfig.getInstance().getConnection()) {
+                    dataset = new DataGenerator(DataGenerator.Scale.fromArgs(generatorArgs.toArray(new String[0])))
+                            .generate(conn);
+                }
+                driver = new LoadDriver(options, dataset.getBuyerIds(), dataset.getSellerIds(),
+                        dataset::sampleProductId);
+            } else {
+                if (!generatorArgs.isEmpty()) {
+                    throw new IllegalArgumentException("Unknown options (data generation is off): " + generatorArgs);
+                }
+                int[] productIds = loadIds("SELECT product_id FROM products WHERE is_active = TRUE");
+                if (productIds.length == 0) {
+                    throw new IllegalStateException("No active products; run with --generate=true");
+                }
+                // Shuffle before ranking so the hot products are not simply the oldest ones
+                Random random = new Random(options.seed);
+                for (int i = productIds.length - 1; i > 0; i--) {
+                    int j = random.nextInt(i + 1);
+                    int swap = productIds[i];
+                    productIds[i] = productIds[j];
+                    productIds[j] = swap;
+                }
+                ZipfDistribution popularity = new ZipfDistribution(productIds.length, options.productSkew);
+                driver = new LoadDriver(options,
+                        loadIds("SELECT user_id FROM users WHERE user_type = 'BUYER' AND is_active = TRUE"),
+                        loadIds("SELECT seller_id FROM sellers"),
+                        r -> productIds[popularity.sample(r)]);
+            }
+
+            NotificationDispatcher.getInstance().start();
+            CartStores.getDefault().start();
+            driver.run();
+            System.out.println();
+            System.out.print(driver.getReport());
+            System.out.println();
+            System.out.println(DatabaseUtil.getConnectionPoolStatus());
+            QueryMetrics.getInstance().logReport(20);
+        } finally {
+            CartStores.getDefault().stop();
+            NotificationDispatcher.getInstance().stop();
+            DatabaseConfig.shutdown();
+        }
+    }
+
+    private static int[] loadIds(String sql) throws SQLException {
+        int[] ids = new int[1024];
+        int count = 0;
+        try (Connection conn = DatabaseConfig.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, ids.length * 2);
+                }
+                ids[count++] = rs.getInt(1);
+            }
+        }
+        return Arrays.copyOf(ids, count);
+    }
+}
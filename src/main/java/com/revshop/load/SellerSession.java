@@ -0,0 +1,81 @@
+package com.revshop.load;
+
+import com.revshop.dao.ProductDAO;
+import com.revshop.model.Order;
+import com.revshop.model.Product;
+import com.revshop.service.SellerService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Seller journey: low stock alerts -> restock -> view orders -> move an open order to its
+// next status (SellerService notifies the buyer). Restocking has no service method yet,
+// so it goes straight to the DAO.
+class SellerSession extends SimulatedSession {
+    private static final int RESTOCK_QUANTITY = 50;
+    private static final int MAX_RESTOCKS = 3;
+
+    private static final ProductDAO productDAO = new ProductDAO();
+
+    private final SellerService sellerService;
+
+    SellerSession(LoadDriver driver, int sellerId, long seed) {
+        super(driver, sellerId, seed);
+        this.sellerService = driver.getSellerService();
+    }
+
+    @Override
+    protected void login() {
+        step("seller.login", () -> loginAs(userId));
+    }
+
+    @Override
+    protected void journey() {
+        List<Product> lowStock = new ArrayList<>();
+        step("seller.lowStock", () -> {
+            lowStock.addAll(sellerService.getLowStockProducts(session));
+            return true;
+        });
+
+        if (!lowStock.isEmpty() && chance(options.restockRate)) {
+            step("seller.restock", () -> {
+                boolean updated = true;
+                for (int i = 0; i < Math.min(MAX_RESTOCKS, lowStock.size()); i++) {
+                    updated &= productDAO.updateStockQuantity(lowStock.get(i).getProductId(), RESTOCK_QUANTITY);
+                }
+                return updated;
+            });
+        }
+
+        List<Order> openOrders = new ArrayList<>();
+        step("seller.viewOrders", () -> {
+            for (Order order : sellerService.getOrders(session)) {
+                if (nextStatus(order.getStatus()) != null) {
+                    openOrders.add(order);
+                }
+            }
+            return true;
+        });
+
+        if (!openOrders.isEmpty() && chance(options.statusUpdateRate)) {
+            Order order = openOrders.get(random.nextInt(openOrders.size()));
+            Order.OrderStatus next = nextStatus(order.getStatus());
+            step("seller.updateStatus", () ->
+                    sellerService.updateOrderStatus(session, order.getOrderId(), next, false).isSuccess());
+        }
+    }
+
+    // PENDING -> PROCESSING -> SHIPPED -> DELIVERED; null when the order is closed
+    private static Order.OrderStatus nextStatus(Order.OrderStatus status) {
+        switch (status) {
+            case PENDING:
+                return Order.OrderStatus.PROCESSING;
+            case PROCESSING:
+                return Order.OrderStatus.SHIPPED;
+            case SHIPPED:
+                return Order.OrderStatus.DELIVERED;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.revshop.load;
+
+import com.revshop.dao.UserDAO;
+import com.revshop.model.User;
+import com.revshop.service.SessionContext;
+
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+
+// One simulated user: logs in once, then repeats journeys with think time between
+// steps until the driver stops. Each step is timed into the driver's per-flow stats.
+// The session's SessionContext is what it passes to the shared services.
+abstract class SimulatedSession implements Runnable {
+    private static final UserDAO userDAO = new UserDAO();
+
+    protected final LoadDriver driver;
+    protected final LoadDriver.Options options;
+    protected final Random random;
+    protected final int userId;
+    protected final SessionContext session = new SessionContext();
+
+    SimulatedSession(LoadDriver driver, int userId, long seed) {
+        this.driver = driver;
+        this.options = driver.getOptions();
+        this.userId = userId;
+        this.random = new Random(seed);
+    }
+
+    protected abstract void login();
+
+    // Log in by ID, skipping the password check: generated users all share one
+    // password but existing databases may not
+    protected boolean loginAs(int userId) {
+        User user = userDAO.getUserById(userId);
+        if (user == null || !userDAO.updateLastLogin(userId)) {
+            return false;
+        }
+        session.setUser(user);
+        return true;
+    }
+
+    protected abstract void journey();
+
+    @Override
+    public void run() {
+        login();
+        if (!session.isLoggedIn()) {
+            return;
+        }
+        while (driver.isRunning()) {
+            journey();
+            driver.journeyCompleted();
+        }
+    }
+
+    // Run and time one step; exceptions count as errors
+    protected boolean step(String flow, BooleanSupplier action) {
+        if (!driver.isRunning()) {
+            return false;
+        }
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            success = action.getAsBoolean();
+        } catch (RuntimeException e) {
+            driver.stepFailed(flow, e);
+        } finally {
+            driver.record(flow, System.nanoTime() - start, success);
+        }
+        think();
+        return success;
+    }
+
+    protected boolean chance(double probability) {
+        return random.nextDouble() < probability;
+    }
+
+    // Exponentially distributed pause, capped at ten times the mean
+    protected void think() {
+        if (options.thinkTimeMs <= 0 || !driver.isRunning()) {
+            return;
+        }
+        double pause = -options.thinkTimeMs * Math.log(1 - random.nextDouble());
+        try {
+            Thread.sleep((long) Math.min(pause, options.thinkTimeMs * 10.0));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            driver.stop();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.revshop.menu;
+
+import com.revshop.model.Buyer;
+import com.revshop.model.Seller;
+import com.revshop.model.ServiceResult;
+import com.revshop.model.User;
+import com.revshop.service.AuthService;
+import com.revshop.service.SessionContext;
+
+import java.util.Scanner;
+
+import static com.revshop.util.ConsoleColors.*;
+
+// Console prompts for registration, login and account settings; validation
+// and persistence happen in AuthService
+class AccountMenu {
+    private final Scanner scanner;
+    private final SessionContext session;
+    private final AuthService authService;
+
+    AccountMenu(Scanner scanner, SessionContext session, AuthService authService) {
+        this.scanner = scanner;
+        this.session = session;
+        this.authService = authService;
+    }
+
+    // Register buyer
+    boolean registerBuyer() {
+        System.out.println(header("Buyer Registration"));
+
+        String firstName = prompt("First Name: ");
+        String lastName = prompt("Last Name: ");
+        String email = prompt("Email: ");
+        System.out.print(inputPrompt("Password (min 8 chars with letters and numbers): "));
+        String password = scanner.nextLine();
+        System.out.print(inputPrompt("Confirm Password: "));
+        String confirmPassword = scanner.nextLine();
+        String phone = prompt("Phone: ");
+        String address = prompt("Address: ");
+        String securityQuestion = prompt("Security Question (e.g., What is your pet's name?): ");
+        String securityAnswer = prompt("Answer: ");
+
+        Buyer buyer = new Buyer(email, password, firstName, lastName, phone, address);
+        buyer.setSecurityQuestion(securityQuestion);
+        buyer.setSecurityAnswer(securityAnswer);
+
+        return report(authService.registerBuyer(buyer, confirmPassword));
+    }
+
+    // Register seller
+    boolean registerSeller() {
+        System.out.println(header("Seller Registration"));
+
+        String firstName = prompt("First Name: ");
+        String lastName = prompt("Last Name: ");
+        String email = prompt("Email: ");
+        System.out.print(inputPrompt("Password (min 8 chars with letters and numbers): "));
+        String password = scanner.nextLine();
+        System.out.print(inputPrompt("Confirm Password: "));
+        String confirmPassword = scanner.nextLine();
+        String phone = prompt("Phone: ");
+        String address = prompt("Address: ");
+        String businessName = prompt("Business Name: ");
+        String businessAddress = prompt("Business Address: ");
+        String taxId = prompt("Tax ID: ");
+        String businessPhone = prompt("Business Phone: ");
+        String securityQuestion = prompt("Security Question (e.g., What is your pet's name?): ");
+        String securityAnswer = prompt("Answer: ");
+
+        Seller seller = new Seller(email, password, firstName, lastName, phone, address,
+                businessName, businessAddress, taxId, businessPhone);
+        seller.setSecurityQuestion(securityQuestion);
+        seller.setSecurityAnswer(securityAnswer);
+
+        return report(authService.registerSeller(seller, confirmPassword));
+    }
+
+    // Login
+    boolean login() {
+        System.out.println(header("Login"));
+
+        String email = prompt("Email: ");
+        System.out.print(inputPrompt("Password: "));
+        String password = scanner.nextLine();
+
+        ServiceResult<User> result = authService.login(session, email, password);
+        if (result.isSuccess()) {
+            System.out.println(success("Welcome, " + result.getValue().getFirstName() + "!"));
+        }
+        return report(result);
+    }
+
+    // Forgot password
+    boolean forgotPassword() {
+        System.out.println(header("Forgot Password"));
+
+        String email = prompt("Enter your email: ");
+        String question = authService.getSecurityQuestion(email);
+        if (question == null) {
+            System.out.println(error("Email not found!"));
+            return false;
+        }
+
+        System.out.println(info("Security Question: " + question));
+        String answer = prompt("Answer: ");
+        System.out.print(inputPrompt("New Password: "));
+        String newPassword = scanner.nextLine();
+
+        return report(authService.resetPassword(email, answer, newPassword));
+    }
+
+    // Get password hint
+    void showPasswordHint() {
+        System.out.println(header("Password Hint"));
+
+        String hint = authService.getPasswordHint(prompt("Enter your email: "));
+        if (hint != null) {
+            System.out.println(info("Password Hint: " + hint));
+        } else {
+            System.out.println(error("No password hint found for this email."));
+        }
+    }
+
+    // Change password
+    boolean changePassword() {
+        System.out.println(header("Change Password"));
+
+        System.out.print(inputPrompt("Current Password: "));
+        String currentPassword = scanner.nextLine();
+        System.out.print(inputPrompt("New Password: "));
+        String newPassword = scanner.nextLine();
+        System.out.print(inputPrompt("Confirm New Password: "));
+        String confirmPassword = scanner.nextLine();
+
+        return report(authService.changePassword(session, currentPassword, newPassword, confirmPassword));
+    }
+
+    // Update profile; blank keeps the current value
+    boolean updateProfile() {
+        User user = session.getUser();
+        System.out.println(header("Update Profile"));
+
+        String firstName = prompt("First Name (" + user.getFirstName() + "): ");
+        String lastName = prompt("Last Name (" + user.getLastName() + "): ");
+        String phone = prompt("Phone (" + user.getPhone() + "): ");
+        String address = prompt("Address (" + user.getAddress() + "): ");
+
+        return report(authService.updateProfile(session, firstName, lastName, phone, address));
+    }
+
+    void logout() {
+        authService.logout(session);
+    }
+
+    private String prompt(String label) {
+        System.out.print(inputPrompt(label));
+        return scanner.nextLine().trim();
+    }
+
+    private static boolean report(ServiceResult<?> result) {
+        if (!result.isSuccess()) {
+            System.out.println(error(result.getMessage()));
+        }
+        return result.isSuccess();
+    }
+}
@@ -1,7 +1,779 @@
 package com.revshop.menu;
 
-// This class is now integrated into MainMenu
-// Keeping it as a placeholder for future extensions
+import com.revshop.model.*;
+import com.revshop.service.BuyerService;
+import com.revshop.service.NotificationService;
+import com.revshop.service.SessionContext;
+import com.revshop.util.PagingUtil;
+import com.revshop.util.PaymentSimulator;
+
+import java.util.List;
+import java.util.Scanner;
+import java.util.Set;
+
+import static com.revshop.util.ConsoleColors.*;
+
+// Console adapter for the buyer dashboard: reads input, calls BuyerService and
+// prints the results. Holds no business rules of its own.
 public class BuyerMenu {
-    // Integrated into MainMenu.showBuyerMenu()
-}
\ No newline at end of file
+    private final Scanner scanner;
+    private final SessionContext session;
+    private final BuyerService buyerService;
+    private final NotificationService notificationService;
+    private final AccountMenu accountMenu;
+
+    BuyerMenu(Scanner scanner, SessionContext session, BuyerService buyerService,
+              NotificationService notificationService, AccountMenu accountMenu) {
+        this.scanner = scanner;
+        this.session = session;
+        this.buyerService = buyerService;
+        this.notificationService = notificationService;
+        this.accountMenu = accountMenu;
+    }
+
+    // Show the dashboard and handle one choice
+    void show() {
+        System.out.println(header("Buyer Dashboard"));
+        System.out.println(subheader("Welcome, " + session.getUser().getFirstName() + "! 👤"));
+        System.out.println();
+
+        System.out.println(subheader("📦 Products"));
+        System.out.println(option("1", "Browse Products"));
+        System.out.println(option("2", "View Product Details"));
+        System.out.println(option("3", "Browse by Category"));
+        System.out.println(option("4", "Search Products"));
+        System.out.println(option("5", "Top Rated Products"));
+
+        System.out.println();
+        System.out.println(subheader("🛒 Shopping Cart"));
+        System.out.println(option("6", cartMenuLabel()));
+        System.out.println(option("7", "Add to Cart"));
+        System.out.println(option("8", "Update Cart Quantity"));
+        System.out.println(option("9", "Remove from Cart"));
+        System.out.println(option("10", "Checkout"));
+
+        System.out.println();
+        System.out.println(subheader("📋 Orders & Reviews"));
+        System.out.println(option("11", "View Order History"));
+        System.out.println(option("12", "Add Review"));
+
+        System.out.println();
+        System.out.println(subheader("❤️  Favorites"));
+        System.out.println(option("13", "Manage Favorites"));
+
+        System.out.println();
+        System.out.println(subheader("🔔 Notifications"));
+        System.out.println(option("14", NotificationView.menuLabel(notificationService, session)));
+        System.out.println(option("15", "Mark Notification as Read"));
+
+        System.out.println();
+        System.out.println(subheader("👤 Account"));
+        System.out.println(option("16", "Update Profile"));
+        System.out.println(option("17", "Change Password"));
+        System.out.println(option("18", "Logout"));
+
+        System.out.print(inputPrompt("Enter your choice: "));
+
+        try {
+            int choice = Integer.parseInt(scanner.nextLine());
+
+            switch (choice) {
+                case 1:
+                    System.out.println(info("Browsing products..."));
+                    browseProducts(false);
+                    break;
+                case 2:
+                    System.out.println(info("Viewing product details..."));
+                    viewProductDetails();
+                    break;
+                case 3:
+                    System.out.println(info("Browsing by category..."));
+                    browseByCategory();
+                    break;
+                case 4:
+                    System.out.println(search("Searching products..."));
+                    searchProducts();
+                    break;
+                case 5:
+                    System.out.println(info("Loading top rated products..."));
+                    viewTopRatedProducts();
+                    break;
+                case 6:
+                    System.out.println(info("Viewing cart..."));
+                    viewCart();
+                    break;
+                case 7:
+                    System.out.println(info("Adding to cart..."));
+                    addToCart();
+                    break;
+                case 8:
+                    System.out.println(info("Updating cart quantity..."));
+                    updateCartQuantity();
+                    break;
+                case 9:
+                    System.out.println(info("Removing from cart..."));
+                    removeFromCart();
+                    break;
+                case 10:
+                    System.out.println(info("Processing checkout..."));
+                    checkout();
+                    break;
+                case 11:
+                    System.out.println(info("Loading order history..."));
+                    viewOrderHistory();
+                    break;
+                case 12:
+                    System.out.println(info("Adding review..."));
+                    addReview();
+                    break;
+                case 13:
+                    System.out.println(info("Managing favorites..."));
+                    showFavoritesMenu();
+                    break;
+                case 14:
+                    System.out.println(info("Loading notifications..."));
+                    NotificationView.show(scanner, notificationService, session);
+                    break;
+                case 15:
+                    System.out.println(info("Marking notification as read..."));
+                    NotificationView.markAsRead(scanner, notificationService, session);
+                    break;
+                case 16:
+                    System.out.println(info("Updating profile..."));
+                    if (accountMenu.updateProfile()) {
+                        System.out.println(success("Profile updated successfully!"));
+                    }
+                    break;
+                case 17:
+                    System.out.println(info("Changing password..."));
+                    if (accountMenu.changePassword()) {
+                        System.out.println(success("Password changed successfully!"));
+                    }
+                    break;
+                case 18:
+                    accountMenu.logout();
+                    System.out.println(success("Logged out successfully!"));
+                    break;
+                default:
+                    System.out.println(error("Invalid choice! Please try again."));
+            }
+        } catch (NumberFormatException e) {
+            System.out.println(error("Invalid input! Please enter a number."));
+        }
+        System.out.println();
+    }
+
+    private void showFavoritesMenu() {
+        while (true) {
+            System.out.println(CYAN_BOLD_BRIGHT + "\n╔═══════════════════════════════════════════════╗" + RESET);
+            System.out.println(CYAN_BOLD_BRIGHT + "║" + RESET + PURPLE_BOLD_BRIGHT + "            FAVORITES MANAGEMENT               " + RESET + CYAN_BOLD_BRIGHT + "║" + RESET);
+            System.out.println(CYAN_BOLD_BRIGHT + "╚═══════════════════════════════════════════════╝" + RESET);
+            System.out.println();
+            System.out.println(option("1", "View My Favorites"));
+            System.out.println(option("2", "Add Product to Favorites"));
+            System.out.println(option("3", "Remove Product from Favorites"));
+            System.out.println(option("4", "Toggle Favorite (Quick Add/Remove)"));
+            System.out.println(option("5", "Browse Products with Favorite Status"));
+            System.out.println(option("6", "Back to Buyer Menu"));
+            System.out.print(YELLOW_BOLD + "\nChoose an option: " + RESET);
+
+            try {
+                int choice = Integer.parseInt(scanner.nextLine());
+
+                switch (choice) {
+                    case 1:
+                        System.out.println(info("Loading your favorites..."));
+                        viewFavorites();
+                        break;
+                    case 2:
+                        System.out.println(info("Adding to favorites..."));
+                        addToFavorites();
+                        break;
+                    case 3:
+                        System.out.println(info("Removing from favorites..."));
+                        removeFromFavorites();
+                        break;
+                    case 4:
+                        System.out.println(info("Toggling favorite status..."));
+                        toggleFavorite();
+                        break;
+                    case 5:
+                        System.out.println(info("Browsing products with favorite status..."));
+                        browseProducts(true);
+                        break;
+                    case 6:
+                        System.out.println(info("Returning to buyer menu..."));
+                        return;
+                    default:
+                        System.out.println(error("Invalid choice! Please try again."));
+                }
+            } catch (NumberFormatException e) {
+                System.out.println(error("Please enter a valid number!"));
+            }
+            System.out.println();
+        }
+    }
+
+    // Browse all products, one page at a time, optionally marking favorites
+    private void browseProducts(boolean withFavorites) {
+        System.out.println(header(withFavorites ? "Browse Products with Favorite Status" : "Browse Products"));
+        Page<Product> page = buyerService.browseProducts(0);
+
+        if (page.isEmpty()) {
+            System.out.println(info("No products available."));
+            return;
+        }
+
+        Set<Integer> favoriteIds = withFavorites ? buyerService.getFavoriteProductIds(session) : null;
+
+        while (true) {
+            for (Product product : page.getItems()) {
+                String favoriteStatus = "";
+                if (withFavorites) {
+                    favoriteStatus = favoriteIds.contains(product.getProductId()) ? "❤️  " : "   ";
+                }
+                System.out.println(favoriteStatus + productInfo(product.toString()));
+                if (product.getDiscountPrice() != null) {
+                    System.out.printf(price("   (Original: $%.2f, Save: $%.2f)%n"),
+                            product.getMrp().doubleValue(),
+                            product.getMrp().subtract(product.getDiscountPrice()).doubleValue());
+                }
+                if (product.isLowStock()) {
+                    System.out.println(warning("   ⚠️  Low stock! Only " + product.getStockQuantity() + " left."));
+                }
+                if (withFavorites) {
+                    System.out.println();
+                }
+            }
+
+            if (!page.hasMore() || !PagingUtil.promptNextPage(scanner)) {
+                return;
+            }
+            page = buyerService.browseProducts(page.getLast().getProductId());
+        }
+    }
+
+    // View product details
+    private void viewProductDetails() {
+        Integer productId = readInt("Enter Product ID to view details: ", "Invalid product ID!");
+        if (productId == null) {
+            return;
+        }
+
+        ProductDetails details = buyerService.getProductDetails(session, productId);
+        if (details == null) {
+            System.out.println(error("Product not found!"));
+            return;
+        }
+
+        Product product = details.getProduct();
+        System.out.println(header("Product Details"));
+        System.out.println(info("ID: " + product.getProductId()));
+        System.out.println(info("Name: " + product.getName()));
+        System.out.println(info("Description: " + product.getDescription()));
+        System.out.println(info("Category: " + product.getCategory()));
+        System.out.printf(price("Price: $%.2f%n"), product.getPrice().doubleValue());
+        System.out.printf(price("MRP: $%.2f%n"), product.getMrp().doubleValue());
+        if (product.getDiscountPrice() != null) {
+            System.out.printf(price("Discounted Price: $%.2f%n"), product.getDiscountPrice().doubleValue());
+            double discountPercent = (1 - product.getDiscountPrice().doubleValue() / product.getMrp().doubleValue()) * 100;
+            System.out.printf(price("You Save: $%.2f (%.0f%%)%n"),
+                    product.getMrp().subtract(product.getDiscountPrice()).doubleValue(),
+                    discountPercent);
+        }
+        System.out.println(info("Stock: " + product.getStockQuantity()));
+        System.out.println(info("❤️  In Favorites: " + (details.isFavorite() ? "Yes" : "No")));
+
+        if (product.isLowStock()) {
+            System.out.println(warning("⚠️  Low stock alert! Only " + product.getStockQuantity() + " items left."));
+        }
+
+        System.out.println();
+        printRating(details.getRatingStats());
+        System.out.println(subheader("Reviews:"));
+        ReviewView.show(scanner, details.getReviewPage(),
+                (sort, after) -> buyerService.getReviews(productId, sort, after),
+                reviewId -> buyerService.getReviewComment(productId, reviewId));
+    }
+
+    // Average, review count and how many reviews gave each star
+    private void printRating(RatingStats stats) {
+        System.out.printf(highlight("Average Rating: %.1f/5.0 ⭐ (%d reviews)%n"), stats.getAverage(), stats.getCount());
+        if (stats.getCount() == 0) {
+            return;
+        }
+        for (int star = 5; star >= 1; star--) {
+            int count = stats.getStarCount(star);
+            int bar = (int) Math.round(20.0 * count / stats.getCount());
+            System.out.printf("   %d★ %-20s %d%n", star, "█".repeat(bar), count);
+        }
+    }
+
+    // Best rated products, highest average first, one page at a time
+    private void viewTopRatedProducts() {
+        Page<RatedProduct> page = buyerService.getTopRatedProducts(null);
+        if (page.isEmpty()) {
+            System.out.println(info("No rated products yet."));
+            return;
+        }
+
+        System.out.println(header("Top Rated Products ⭐"));
+        while (true) {
+            for (RatedProduct rated : page.getItems()) {
+                System.out.println(productInfo(rated.getProduct().toString()));
+                System.out.println(highlight("   Rating: " + rated.getRatingStats()));
+            }
+
+            if (!page.hasMore() || !PagingUtil.promptNextPage(scanner)) {
+                return;
+            }
+            page = buyerService.getTopRatedProducts(page.getLast());
+        }
+    }
+
+    // Browse by category
+    private void browseByCategory() {
+        List<String> categories = buyerService.getCategories();
+
+        if (categories.isEmpty()) {
+            System.out.println(info("No categories available."));
+            return;
+        }
+
+        System.out.println(header("Categories"));
+        for (int i = 0; i < categories.size(); i++) {
+            System.out.println(option(String.valueOf(i + 1), categories.get(i)));
+        }
+
+        Integer choice = readInt("Select category number: ", "Invalid input!");
+        if (choice == null) {
+            return;
+        }
+        if (choice < 1 || choice > categories.size()) {
+            System.out.println(error("Invalid choice!"));
+            return;
+        }
+
+        String category = categories.get(choice - 1);
+        List<Product> products = buyerService.getProductsByCategory(category);
+
+        System.out.println(header(category));
+        if (products.isEmpty()) {
+            System.out.println(info("No products in this category."));
+        } else {
+            printProducts(products, "⭐ ");
+        }
+    }
+
+    // Search products
+    private void searchProducts() {
+        System.out.print(inputPrompt("Enter search keyword: "));
+        String keyword = scanner.nextLine().trim();
+
+        ServiceResult<List<Product>> result = buyerService.searchProducts(keyword);
+        if (!result.isSuccess()) {
+            System.out.println(error(result.getMessage()));
+            return;
+        }
+
+        List<Product> products = result.getValue();
+        System.out.println(search("Search Results for '" + keyword + "'"));
+        if (products.isEmpty()) {
+            System.out.println(info("No products found."));
+        } else {
+            System.out.println(success("Found " + products.size() + " product(s):"));
+            printProducts(products, "❤️  ");
+        }
+    }
+
+    // Print products, prefixing the buyer's favorites with the given marker
+    private void printProducts(List<Product> products, String favoriteMarker) {
+        Set<Integer> favoriteIds = buyerService.getFavoriteProductIds(session);
+        for (Product product : products) {
+            String favoriteStar = favoriteIds.contains(product.getProductId()) ? favoriteMarker : "";
+            System.out.println(favoriteStar + productInfo(product.toString()));
+        }
+    }
+
+    // Add to cart
+    private void addToCart() {
+        Integer productId = readInt("Enter Product ID to add to cart: ", "Invalid input!");
+        if (productId == null) {
+            return;
+        }
+
+        System.out.print(inputPrompt("Quantity (default 1): "));
+        try {
+            String quantityStr = scanner.nextLine().trim();
+            int quantity = quantityStr.isEmpty() ? 1 : Integer.parseInt(quantityStr);
+
+            ServiceResult<CartItem> result = buyerService.addToCart(session, productId, quantity);
+            if (result.isSuccess()) {
+                System.out.println(success("Added to cart!"));
+            } else {
+                System.out.println(error(result.getMessage()));
+            }
+        } catch (NumberFormatException e) {
+            System.out.println(error("Invalid input!"));
+        }
+    }
+
+    // View cart
+    private void viewCart() {
+        System.out.println(header("Shopping Cart 🛒"));
+        List<CartItem> cartItems = buyerService.getCart(session);
+
+        if (cartItems.isEmpty()) {
+            System.out.println(info("Your cart is empty."));
+            return;
+        }
+
+        Set<Integer> favoriteIds = buyerService.getFavoriteProductIds(session);
+        for (int i = 0; i < cartItems.size(); i++) {
+            CartItem item = cartItems.get(i);
+            String favoriteStar = favoriteIds.contains(item.getProductId()) ? "❤️  " : "";
+            System.out.println(option(String.valueOf(i + 1), favoriteStar + item.toString()));
+        }
+
+        printCartTotal(CartSummary.of(cartItems));
+    }
+
+    // Menu label with the cart's size and total, e.g. "View Cart (3 items, $42.50)"
+    private String cartMenuLabel() {
+        CartSummary summary = buyerService.getCartSummary(session);
+        return summary.isEmpty() ? "View Cart" : "View Cart (" + summary + ")";
+    }
+
+    private void printCartTotal(CartSummary summary) {
+        System.out.println("------------------------");
+        System.out.printf(price("Total: $%.2f%n"), summary.getSubtotal());
+        if (summary.getSavings().signum() > 0) {
+            System.out.printf(price("You Save: $%.2f%n"), summary.getSavings());
+        }
+    }
+
+    // Update cart item quantity
+    private void updateCartQuantity() {
+        try {
+            System.out.print(inputPrompt("Enter cart item number to update: "));
+            int itemNumber = Integer.parseInt(scanner.nextLine());
+            List<CartItem> cartItems = buyerService.getCart(session);
+
+            if (itemNumber < 1 || itemNumber > cartItems.size()) {
+                System.out.println(error("Invalid item number!"));
+                return;
+            }
+
+            CartItem item = cartItems.get(itemNumber - 1);
+
+            System.out.print(inputPrompt("Enter new quantity (0 to remove): "));
+            int newQuantity = Integer.parseInt(scanner.nextLine());
+
+            ServiceResult<Void> result = buyerService.updateCartQuantity(session, item.getProductId(), newQuantity);
+            if (result.isSuccess()) {
+                System.out.println(success("Cart updated!"));
+            } else {
+                System.out.println(error(result.getMessage()));
+            }
+        } catch (NumberFormatException e) {
+            System.out.println(error("Invalid input!"));
+        }
+    }
+
+    // Remove from cart
+    private void removeFromCart() {
+        Integer productId = readInt("Enter Product ID to remove from cart: ", "Invalid product ID!");
+        if (productId == null) {
+            return;
+        }
+
+        if (buyerService.removeFromCart(session, productId)) {
+            System.out.println(success("Removed from cart!"));
+        } else {
+            System.out.println(error("Item not found in cart!"));
+        }
+    }
+
+    // Checkout
+    private void checkout() {
+        List<CartItem> cartItems = buyerService.getCart(session);
+
+        if (cartItems.isEmpty()) {
+            System.out.println(error("Your cart is empty!"));
+            return;
+        }
+
+        System.out.println(header("Checkout 💳"));
+
+        // Display cart items
+        for (CartItem item : cartItems) {
+            System.out.println(productInfo(item.toString()));
+        }
+        CartSummary summary = CartSummary.of(cartItems);
+        printCartTotal(summary);
+
+        // Get shipping and billing address
+        System.out.println();
+        System.out.println(info("Current Address: " + session.getUser().getAddress()));
+        System.out.print(inputPrompt("Enter Shipping Address (press enter to use current): "));
+        String shippingAddress = scanner.nextLine().trim();
+        System.out.print(inputPrompt("Enter Billing Address (press enter to use shipping address): "));
+        String billingAddress = scanner.nextLine().trim();
+
+        // Select payment method
+        String[] paymentMethods = PaymentSimulator.getAvailablePaymentMethods();
+        System.out.println();
+        System.out.println(subheader("Select Payment Method:"));
+        for (int i = 0; i < paymentMethods.length; i++) {
+            System.out.println(option(String.valueOf(i + 1), paymentMethods[i]));
+        }
+
+        Integer choice = readInt("Enter choice: ", "Invalid input!");
+        if (choice == null) {
+            return;
+        }
+        if (choice < 1 || choice > paymentMethods.length) {
+            System.out.println(error("Invalid choice!"));
+            return;
+        }
+        String paymentMethod = paymentMethods[choice - 1];
+
+        System.out.println();
+        System.out.println(header("Payment Processing"));
+        System.out.printf(price("Amount: $%.2f%n"), summary.getSubtotal());
+        System.out.println(info("Payment Method: " + paymentMethod));
+        System.out.println(info("Processing payment..."));
+
+        CheckoutResult result = buyerService.checkout(session,
+                new CheckoutRequest(shippingAddress, billingAddress, paymentMethod));
+
+        switch (result.getStatus()) {
+            case SUCCESS:
+                Order order = result.getOrder();
+                System.out.println(success("Payment processed successfully! ✅"));
+                System.out.println();
+                System.out.println(success("Order placed successfully! 🎉"));
+                System.out.println(info("Order ID: " + order.getOrderId()));
+                System.out.println(info("Total: $" + order.getTotalAmount()));
+                System.out.println(info("Shipping to: " + order.getShippingAddress()));
+                break;
+            case OUT_OF_STOCK:
+                System.out.println(error("Some items in your cart are out of stock!"));
+                printOutOfStockItems(result.getOutOfStockItems(), cartItems);
+                break;
+            case PAYMENT_FAILED:
+                System.out.println(error("Payment failed. Please try again. ❌"));
+                System.out.println(error("Checkout cancelled due to payment failure!"));
+                break;
+            case EMPTY_CART:
+                System.out.println(error("Your cart is empty!"));
+                break;
+            default:
+                System.out.println(error("Failed to place order!"));
+        }
+    }
+
+    // Print out-of-stock lines using product names from the cart
+    private void printOutOfStockItems(List<CheckoutResult.OutOfStockItem> items, List<CartItem> cartItems) {
+        for (CheckoutResult.OutOfStockItem item : items) {
+            String name = "Product ID " + item.getProductId();
+            for (CartItem cartItem : cartItems) {
+                if (cartItem.getProductId() == item.getProductId()) {
+                    name = cartItem.getProduct().getName();
+                    break;
+                }
+            }
+            System.out.println(warning("   " + name + ": requested " + item.getRequestedQuantity() +
+                    ", only " + item.getAvailableQuantity() + " available"));
+        }
+    }
+
+    // View order history, newest first, one page at a time
+    private void viewOrderHistory() {
+        System.out.println(header("Order History 📋"));
+        Page<Order> page = buyerService.getOrderHistory(session, null, 0);
+
+        if (page.isEmpty()) {
+            System.out.println(info("No orders found."));
+            return;
+        }
+
+        Set<Integer> favoriteIds = buyerService.getFavoriteProductIds(session);
+        while (true) {
+            for (Order order : page.getItems()) {
+                System.out.println();
+                System.out.println(orderStatus(order.toString()));
+                System.out.println(info("Shipping: " + order.getShippingAddress()));
+                System.out.println(info("Payment: " + order.getPaymentMethod() + " - " +
+                        order.getPaymentStatus()));
+
+                // Show order items
+                if (order.getOrderItems() != null && !order.getOrderItems().isEmpty()) {
+                    System.out.println(subheader("Items:"));
+                    for (OrderItem item : order.getOrderItems()) {
+                        String favoriteStar = favoriteIds.contains(item.getProductId()) ? "❤️  " : "";
+                        System.out.println("   " + favoriteStar + item);
+                    }
+                }
+            }
+
+            if (!page.hasMore() || !PagingUtil.promptNextPage(scanner)) {
+                return;
+            }
+            Order last = page.getLast();
+            page = buyerService.getOrderHistory(session, last.getOrderDate(), last.getOrderId());
+        }
+    }
+
+    // Add review
+    private void addReview() {
+        System.out.println(header("Add Review ⭐"));
+
+        try {
+            System.out.print(inputPrompt("Enter Order ID: "));
+            int orderId = Integer.parseInt(scanner.nextLine());
+
+            ServiceResult<Order> order = buyerService.getReviewableOrder(session, orderId);
+            if (!order.isSuccess()) {
+                System.out.println(error(order.getMessage()));
+                return;
+            }
+
+            // Show order items
+            System.out.println(subheader("Order Items:"));
+            List<OrderItem> items = order.getValue().getOrderItems();
+            Set<Integer> favoriteIds = buyerService.getFavoriteProductIds(session);
+            for (int i = 0; i < items.size(); i++) {
+                OrderItem item = items.get(i);
+                String favoriteStar = favoriteIds.contains(item.getProductId()) ? "❤️  " : "";
+                System.out.println(option(String.valueOf(i + 1), favoriteStar + item.getProduct().getName()));
+            }
+
+            System.out.print(inputPrompt("Select item number to review: "));
+            int itemChoice = Integer.parseInt(scanner.nextLine());
+
+            if (itemChoice < 1 || itemChoice > items.size()) {
+                System.out.println(error("Invalid choice!"));
+                return;
+            }
+
+            System.out.print(inputPrompt("Rating (1-5): "));
+            int rating = Integer.parseInt(scanner.nextLine());
+
+            System.out.print(inputPrompt("Comment: "));
+            String comment = scanner.nextLine().trim();
+
+            ServiceResult<Review> result = buyerService.addReview(session, orderId,
+                    items.get(itemChoice - 1).getProductId(), rating, comment);
+            if (result.isSuccess()) {
+                System.out.println(success("Review added successfully!"));
+            } else {
+                System.out.println(error(result.getMessage()));
+            }
+        } catch (NumberFormatException e) {
+            System.out.println(error("Invalid input!"));
+        }
+    }
+
+    // ================== FAVORITES SCREENS ==================
+
+    // View favorites
+    private void viewFavorites() {
+        System.out.println(header("My Favorites ❤️"));
+        List<Product> favorites = buyerService.getFavorites(session);
+
+        System.out.println(info("Total Favorites: " + favorites.size()));
+
+        if (favorites.isEmpty()) {
+            System.out.println(info("Your favorites list is empty."));
+            return;
+        }
+
+        System.out.println(success("You have " + favorites.size() + " favorite product(s):"));
+        System.out.println();
+
+        for (int i = 0; i < favorites.size(); i++) {
+            Product product = favorites.get(i);
+            System.out.println(option(String.valueOf(i + 1), product.getName()));
+            System.out.println("   " + info(product.getDescription()));
+            System.out.printf("   " + price("Price: $%.2f"), product.getFinalPrice().doubleValue());
+            if (product.getDiscountPrice() != null) {
+                System.out.printf(price(" (Save: $%.2f)"),
+                        product.getMrp().subtract(product.getDiscountPrice()).doubleValue());
+            }
+            System.out.println();
+            System.out.println("   " + info("Stock: " + product.getStockQuantity()));
+            System.out.println("   " + info("Category: " + product.getCategory()));
+
+            if (product.isLowStock()) {
+                System.out.println("   " + warning("⚠️  Low stock! Only " + product.getStockQuantity() + " left."));
+            }
+
+            System.out.println();
+        }
+    }
+
+    // Add product to favorites
+    private void addToFavorites() {
+        System.out.println(header("Add to Favorites ❤️"));
+        Integer productId = readInt("Enter Product ID to add to favorites: ", "Invalid Product ID!");
+        if (productId == null) {
+            return;
+        }
+
+        ServiceResult<Product> result = buyerService.addToFavorites(session, productId);
+        if (result.isSuccess()) {
+            System.out.println(success("✓ Added to favorites!"));
+        } else {
+            System.out.println(error(result.getMessage()));
+        }
+    }
+
+    // Remove product from favorites
+    private void removeFromFavorites() {
+        System.out.println(header("Remove from Favorites"));
+
+        // First show current favorites
+        viewFavorites();
+
+        Integer productId = readInt("\nEnter Product ID to remove from favorites: ", "Invalid Product ID!");
+        if (productId == null) {
+            return;
+        }
+
+        if (buyerService.removeFromFavorites(session, productId)) {
+            System.out.println(success("✓ Removed from favorites!"));
+        } else {
+            System.out.println(error("Product not found in your favorites!"));
+        }
+    }
+
+    // Toggle favorite status
+    private void toggleFavorite() {
+        System.out.println(header("Quick Favorite Toggle"));
+        Integer productId = readInt("Enter Product ID: ", "Invalid Product ID!");
+        if (productId == null) {
+            return;
+        }
+
+        ServiceResult<Boolean> result = buyerService.toggleFavorite(session, productId);
+        if (!result.isSuccess()) {
+            System.out.println(error(result.getMessage()));
+        } else if (result.getValue()) {
+            System.out.println(success("✓ Added to favorites!"));
+        } else {
+            System.out.println(success("✓ Removed from favorites!"));
+        }
+    }
+
+    // Prompt for a number; prints the error and returns null if it is not one
+    private Integer readInt(String label, String invalidMessage) {
+        System.out.print(inputPrompt(label));
+        try {
+            return Integer.parseInt(scanner.nextLine().trim());
+        } catch (NumberFormatException e) {
+            System.out.println(error(invalidMessage));
+            return null;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.revshop.menu;
+
+import com.revshop.model.DiagnosticsReport;
+import com.revshop.service.DiagnosticsService;
+
+import java.util.Scanner;
+
+import static com.revshop.util.ConsoleColors.*;
+
+// Performance diagnostics screen of the seller dashboard
+final class DiagnosticsView {
+
+    private DiagnosticsView() {}
+
+    // Show query, pool and cache statistics, then offer to reset the query statistics
+    static void show(Scanner scanner, DiagnosticsService diagnosticsService) {
+        System.out.println(header("Performance Diagnostics"));
+        DiagnosticsReport report = diagnosticsService.getReport();
+
+        System.out.println(subheader("Top queries by total time"));
+        if (!report.isQueryMetricsEnabled()) {
+            System.out.println(info("Query metrics are disabled (metrics.query.enabled=false)."));
+        } else if (report.getRecordedQueries() == 0) {
+            System.out.println(info("No queries recorded yet."));
+        } else {
+            System.out.print(report.getTopQueries());
+        }
+
+        System.out.println();
+        System.out.println(subheader("Connection pool"));
+        System.out.println(info(report.getConnectionPoolStatus()));
+        System.out.println(subheader("Product cache"));
+        System.out.println(info(report.getProductCacheStats()));
+
+        System.out.println();
+        System.out.print(inputPrompt("Reset query statistics? (y/N): "));
+        if (scanner.nextLine().trim().equalsIgnoreCase("y")) {
+            diagnosticsService.resetQueryStats();
+            System.out.println(success("Query statistics reset."));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.revshop.menu;
+
+import com.revshop.model.Notification;
+import com.revshop.model.Page;
+import com.revshop.service.NotificationService;
+import com.revshop.service.SessionContext;
+import com.revshop.util.PagingUtil;
+
+import java.util.Scanner;
+
+import static com.revshop.util.ConsoleColors.*;
+
+// Notification screens shared by the buyer and seller dashboards
+final class NotificationView {
+
+    private NotificationView() {}
+
+    // Menu label with the unread count, e.g. "View Notifications (3 new)"
+    static String menuLabel(NotificationService notificationService, SessionContext session) {
+        int unread = notificationService.getUnreadCount(session.getUserId());
+        return unread > 0 ? "View Notifications (" + unread + " new)" : "View Notifications";
+    }
+
+    // Show notifications, newest first, one page at a time
+    static void show(Scanner scanner, NotificationService notificationService, SessionContext session) {
+        System.out.println(header("Notifications 🔔"));
+        Page<Notification> page = notificationService.getNotificationsPage(session.getUserId(), null, 0);
+
+        if (page.isEmpty()) {
+            System.out.println(info("No notifications."));
+            return;
+        }
+
+        while (true) {
+            for (Notification n : page.getItems()) {
+                String status = n.isRead() ? notification("[READ]") : success("[NEW]");
+                System.out.printf("%s ID: %d | Type: %s | %s%n", status, n.getNotificationId(), n.getType(),
+                        n.getMessage());
+                System.out.println(info("   Time: " + n.getCreatedAt()));
+            }
+
+            if (!page.hasMore() || !PagingUtil.promptNextPage(scanner)) {
+                return;
+            }
+            Notification last = page.getLast();
+            page = notificationService.getNotificationsPage(session.getUserId(), last.getCreatedAt(),
+                    last.getNotificationId());
+        }
+    }
+
+    // Mark notification as read
+    static void markAsRead(Scanner scanner, NotificationService notificationService, SessionContext session) {
+        System.out.print(inputPrompt("Enter Notification ID to mark as read: "));
+        try {
+            int notificationId = Integer.parseInt(scanner.nextLine());
+            if (notificationService.markAsRead(session.getUserId(), notificationId)) {
+                System.out.println(success("Notification marked as read!"));
+            } else {
+                System.out.println(error("Notification not found!"));
+            }
+        } catch (NumberFormatException e) {
+            System.out.println(error("Invalid input!"));
+        }
+    }
+}
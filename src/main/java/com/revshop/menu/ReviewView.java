@@ -0,0 +1,79 @@
+package com.revshop.menu;
+
+import com.revshop.model.Page;
+import com.revshop.model.Review;
+
+import java.util.Scanner;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+
+import static com.revshop.util.ConsoleColors.*;
+
+// Review feed shared by the product details (buyer) and review monitoring (seller)
+// screens
+final class ReviewView {
+
+    private ReviewView() {}
+
+    // Show reviews one page at a time, starting with first (newest first). pages loads
+    // the page after a review in the given order (null for the first page) and comments
+    // the full text of a truncated comment.
+    static void show(Scanner scanner, Page<Review> first,
+                     BiFunction<Review.SortOrder, Review, Page<Review>> pages,
+                     IntFunction<String> comments) {
+        Page<Review> page = first;
+        Review.SortOrder sort = Review.SortOrder.NEWEST;
+
+        if (page.isEmpty()) {
+            System.out.println(info("   No reviews yet."));
+            return;
+        }
+
+        while (true) {
+            for (Review review : page.getItems()) {
+                System.out.println("   #" + review.getReviewId() + " " + review);
+            }
+
+            while (true) {
+                System.out.print(inputPrompt((page.hasMore() ? "Press Enter for more, " : "") +
+                        "'n'/'h'/'l' for newest/highest/lowest first, a review ID to read it in full, " +
+                        "or 'q' to stop: "));
+                String input = scanner.nextLine().trim().toLowerCase();
+
+                Review.SortOrder newSort = sortFor(input);
+                if (newSort != null) {
+                    sort = newSort;
+                    page = pages.apply(sort, null);
+                    break;
+                }
+                if (input.isEmpty() && page.hasMore()) {
+                    page = pages.apply(sort, page.getLast());
+                    break;
+                }
+                if (!input.matches("\\d+")) {
+                    return;
+                }
+
+                String comment = comments.apply(Integer.parseInt(input));
+                if (comment == null) {
+                    System.out.println(error("Review not found!"));
+                } else {
+                    System.out.println("   " + comment);
+                }
+            }
+        }
+    }
+
+    private static Review.SortOrder sortFor(String input) {
+        switch (input) {
+            case "n":
+                return Review.SortOrder.NEWEST;
+            case "h":
+                return Review.SortOrder.HIGHEST;
+            case "l":
+                return Review.SortOrder.LOWEST;
+            default:
+                return null;
+        }
+    }
+}
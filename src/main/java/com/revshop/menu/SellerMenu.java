@@ -1,7 +1,573 @@
 package com.revshop.menu;
 
-// This class is now integrated into MainMenu
-// Keeping it as a placeholder for future extensions
+import com.revshop.model.*;
+import com.revshop.service.DiagnosticsService;
+import com.revshop.service.NotificationService;
+import com.revshop.service.SellerService;
+import com.revshop.service.SessionContext;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Scanner;
+
+import static com.revshop.util.ConsoleColors.*;
+
+// Console adapter for the seller dashboard: reads input, calls SellerService and
+// prints the results. Holds no business rules of its own.
 public class SellerMenu {
-    // Integrated into MainMenu.showSellerMenu()
-}
\ No newline at end of file
+    private final Scanner scanner;
+    private final SessionContext session;
+    private final SellerService sellerService;
+    private final NotificationService notificationService;
+    private final DiagnosticsService diagnosticsService;
+    private final AccountMenu accountMenu;
+
+    SellerMenu(Scanner scanner, SessionContext session, SellerService sellerService,
+               NotificationService notificationService, DiagnosticsService diagnosticsService,
+               AccountMenu accountMenu) {
+        this.scanner = scanner;
+        this.session = session;
+        this.sellerService = sellerService;
+        this.notificationService = notificationService;
+        this.diagnosticsService = diagnosticsService;
+        this.accountMenu = accountMenu;
+    }
+
+    // Show the dashboard and handle one choice
+    void show() {
+        System.out.println(header("Seller Dashboard"));
+        System.out.println(subheader("Welcome, " + session.getUser().getFirstName() + "! 🏪"));
+        System.out.println();
+
+        System.out.println(subheader("📦 Product Management"));
+        System.out.println(option("1", "Add Product"));
+        System.out.println(option("2", "View Products"));
+        System.out.println(option("3", "Update Product"));
+        System.out.println(option("4", "Delete Product"));
+
+        System.out.println();
+        System.out.println(subheader("📋 Order Management"));
+        System.out.println(option("5", "View Orders"));
+        System.out.println(option("6", "Update Order Status"));
+
+        System.out.println();
+        System.out.println(subheader("📊 Inventory & Analytics"));
+        System.out.println(option("7", "View Low Stock Alerts"));
+        System.out.println(option("8", "View Product Reviews"));
+        System.out.println(option("9", "View Sales Report"));
+        System.out.println(option("10", "Performance Diagnostics"));
+
+        System.out.println();
+        System.out.println(subheader("🔔 Notifications"));
+        System.out.println(option("11", NotificationView.menuLabel(notificationService, session)));
+        System.out.println(option("12", "Mark Notification as Read"));
+
+        System.out.println();
+        System.out.println(subheader("👤 Account"));
+        System.out.println(option("13", "Update Profile"));
+        System.out.println(option("14", "Change Password"));
+        System.out.println(option("15", "Logout"));
+
+        System.out.print(inputPrompt("Enter your choice: "));
+
+        try {
+            int choice = Integer.parseInt(scanner.nextLine());
+
+            switch (choice) {
+                case 1:
+                    System.out.println(info("Adding new product..."));
+                    addProduct();
+                    break;
+                case 2:
+                    System.out.println(info("Loading products..."));
+                    viewProducts();
+                    break;
+                case 3:
+                    System.out.println(info("Updating product..."));
+                    updateProduct();
+                    break;
+                case 4:
+                    System.out.println(info("Deleting product..."));
+                    deleteProduct();
+                    break;
+                case 5:
+                    System.out.println(info("Loading orders..."));
+                    viewOrders();
+                    break;
+                case 6:
+                    System.out.println(info("Updating order status..."));
+                    updateOrderStatus();
+                    break;
+                case 7:
+                    System.out.println(warning("Checking low stock alerts..."));
+                    viewLowStockAlerts();
+                    break;
+                case 8:
+                    System.out.println(info("Loading product reviews..."));
+                    viewProductReviews();
+                    break;
+                case 9:
+                    System.out.println(info("Generating sales report..."));
+                    viewSalesReport();
+                    break;
+                case 10:
+                    DiagnosticsView.show(scanner, diagnosticsService);
+                    break;
+                case 11:
+                    System.out.println(info("Loading notifications..."));
+                    NotificationView.show(scanner, notificationService, session);
+                    break;
+                case 12:
+                    System.out.println(info("Marking notification as read..."));
+                    NotificationView.markAsRead(scanner, notificationService, session);
+                    break;
+                case 13:
+                    System.out.println(info("Updating profile..."));
+                    updateProfile();
+                    break;
+                case 14:
+                    System.out.println(info("Changing password..."));
+                    if (accountMenu.changePassword()) {
+                        System.out.println(success("Password changed successfully!"));
+                    }
+                    break;
+                case 15:
+                    accountMenu.logout();
+                    System.out.println(success("Logged out successfully!"));
+                    break;
+                default:
+                    System.out.println(error("Invalid choice! Please try again."));
+            }
+        } catch (NumberFormatException e) {
+            System.out.println(error("Invalid input! Please enter a number."));
+        }
+        System.out.println();
+    }
+
+    // Add product
+    private void addProduct() {
+        System.out.println(header("Add New Product"));
+
+        System.out.print(inputPrompt("Product Name: "));
+        String name = scanner.nextLine().trim();
+
+        System.out.print(inputPrompt("Description: "));
+        String description = scanner.nextLine().trim();
+
+        System.out.print(inputPrompt("Category: "));
+        String category = scanner.nextLine().trim();
+
+        System.out.print(inputPrompt("Price: "));
+        try {
+            BigDecimal price = new BigDecimal(scanner.nextLine().trim());
+
+            System.out.print(inputPrompt("MRP: "));
+            BigDecimal mrp = new BigDecimal(scanner.nextLine().trim());
+
+            System.out.print(inputPrompt("Discount Price (optional, press enter to skip): "));
+            String discountStr = scanner.nextLine().trim();
+            BigDecimal discountPrice = discountStr.isEmpty() ? null : new BigDecimal(discountStr);
+
+            System.out.print(inputPrompt("Initial Stock Quantity: "));
+            int stockQuantity = Integer.parseInt(scanner.nextLine().trim());
+
+            System.out.print(inputPrompt("Stock Threshold (default 5): "));
+            String thresholdStr = scanner.nextLine().trim();
+            int thresholdQuantity = thresholdStr.isEmpty() ? 5 : Integer.parseInt(thresholdStr);
+
+            Product product = new Product(session.getUserId(), name, description, category, price, mrp, stockQuantity);
+            product.setDiscountPrice(discountPrice);
+            product.setThresholdQuantity(thresholdQuantity);
+
+            ServiceResult<Product> result = sellerService.addProduct(session, product);
+            if (result.isSuccess()) {
+                System.out.println(success("Product added successfully!"));
+            } else {
+                System.out.println(error(result.getMessage()));
+            }
+        } catch (NumberFormatException e) {
+            System.out.println(error("Invalid number format!"));
+        }
+    }
+
+    // View products
+    private void viewProducts() {
+        System.out.println(header("My Products 📦"));
+        List<Product> products = sellerService.getProducts(session);
+
+        if (products.isEmpty()) {
+            System.out.println(info("No products found."));
+            return;
+        }
+
+        for (Product product : products) {
+            System.out.println(productInfo(product.toString()));
+            if (product.isLowStock()) {
+                System.out.println(warning("   ⚠️  LOW STOCK! Only " + product.getStockQuantity() + " left."));
+            }
+        }
+    }
+
+    // Update product
+    private void updateProduct() {
+        System.out.print(inputPrompt("Enter Product ID to update: "));
+        try {
+            int productId = Integer.parseInt(scanner.nextLine());
+            Product product = sellerService.getOwnProduct(session, productId);
+
+            if (product == null) {
+                System.out.println(error("Product not found or you don't have permission!"));
+                return;
+            }
+
+            System.out.println(header("Update Product"));
+            System.out.println(info("Leave blank to keep current value."));
+
+            System.out.print(inputPrompt("Name (" + product.getName() + "): "));
+            String name = scanner.nextLine().trim();
+            if (!name.isEmpty()) product.setName(name);
+
+            System.out.print(inputPrompt("Description (" + product.getDescription() + "): "));
+            String description = scanner.nextLine().trim();
+            if (!description.isEmpty()) product.setDescription(description);
+
+            System.out.print(inputPrompt("Category (" + product.getCategory() + "): "));
+            String category = scanner.nextLine().trim();
+            if (!category.isEmpty()) product.setCategory(category);
+
+            System.out.print(inputPrompt("Price ($" + product.getPrice() + "): "));
+            String priceStr = scanner.nextLine().trim();
+            if (!priceStr.isEmpty()) product.setPrice(new BigDecimal(priceStr));
+
+            System.out.print(inputPrompt("MRP ($" + product.getMrp() + "): "));
+            String mrpStr = scanner.nextLine().trim();
+            if (!mrpStr.isEmpty()) product.setMrp(new BigDecimal(mrpStr));
+
+            System.out.print(inputPrompt("Discount Price ($" +
+                    (product.getDiscountPrice() != null ? product.getDiscountPrice() : "none") +
+                    "): "));
+            String discountStr = scanner.nextLine().trim();
+            if (discountStr.equalsIgnoreCase("none") || discountStr.isEmpty()) {
+                product.setDiscountPrice(null);
+            } else {
+                product.setDiscountPrice(new BigDecimal(discountStr));
+            }
+
+            System.out.print(inputPrompt("Stock Quantity (" + product.getStockQuantity() + "): "));
+            String stockStr = scanner.nextLine().trim();
+            if (!stockStr.isEmpty()) product.setStockQuantity(Integer.parseInt(stockStr));
+
+            System.out.print(inputPrompt("Threshold Quantity (" + product.getThresholdQuantity() + "): "));
+            String thresholdStr = scanner.nextLine().trim();
+            if (!thresholdStr.isEmpty()) product.setThresholdQuantity(Integer.parseInt(thresholdStr));
+
+            ServiceResult<Product> result = sellerService.updateProduct(session, product);
+            if (result.isSuccess()) {
+                System.out.println(success("Product updated successfully!"));
+            } else {
+                System.out.println(error(result.getMessage()));
+            }
+        } catch (NumberFormatException e) {
+            System.out.println(error("Invalid number format!"));
+        }
+    }
+
+    // Delete product
+    private void deleteProduct() {
+        System.out.print(inputPrompt("Enter Product ID to delete: "));
+        try {
+            int productId = Integer.parseInt(scanner.nextLine());
+            Product product = sellerService.getOwnProduct(session, productId);
+
+            if (product == null) {
+                System.out.println(error("Product not found or you don't have permission!"));
+                return;
+            }
+
+            System.out.print(inputPrompt("Are you sure you want to delete '" + product.getName() + "'? (yes/no): "));
+            String confirmation = scanner.nextLine().trim();
+
+            if (!confirmation.equalsIgnoreCase("yes")) {
+                System.out.println(info("Deletion cancelled."));
+                return;
+            }
+
+            ServiceResult<Void> result = sellerService.deleteProduct(session, productId);
+            if (result.isSuccess()) {
+                System.out.println(success("Product deleted successfully!"));
+            } else {
+                System.out.println(error(result.getMessage()));
+            }
+        } catch (NumberFormatException e) {
+            System.out.println(error("Invalid product ID!"));
+        }
+    }
+
+    // View orders
+    private void viewOrders() {
+        System.out.println(header("Orders 📋"));
+        List<Order> orders = sellerService.getOrders(session);
+
+        if (orders.isEmpty()) {
+            System.out.println(info("No orders found."));
+            return;
+        }
+
+        for (Order order : orders) {
+            System.out.println();
+            System.out.println(orderStatus(order.toString()));
+            System.out.println(info("Buyer ID: " + order.getBuyerId()));
+            System.out.println(info("Shipping: " + order.getShippingAddress()));
+
+            // Get order items specifically for this seller
+            List<OrderItem> sellerItems = sellerService.getOrderItems(session, order.getOrderId());
+
+            if (sellerItems.isEmpty()) {
+                System.out.println(info("Items from you: None"));
+            } else {
+                System.out.println(subheader("Items from you:"));
+                for (OrderItem item : sellerItems) {
+                    System.out.println("   " + item);
+                }
+            }
+        }
+    }
+
+    // Update order status
+    private void updateOrderStatus() {
+        System.out.println(header("Update Order Status"));
+
+        try {
+            System.out.print(inputPrompt("Enter Order ID to update status: "));
+            int orderId = Integer.parseInt(scanner.nextLine());
+
+            List<OrderItem> sellerItems = sellerService.getOrderItems(session, orderId);
+            if (sellerItems.isEmpty()) {
+                System.out.println(error("You don't have any items in this order!"));
+                return;
+            }
+
+            // Show order items from this seller
+            System.out.println(subheader("Your items in this order:"));
+            for (OrderItem item : sellerItems) {
+                System.out.println("   " + item.getProduct().getName() + " x" + item.getQuantity() + " - $" + item.getTotalPrice());
+            }
+
+            // Show available statuses
+            System.out.println();
+            System.out.println(subheader("Select new status:"));
+            Order.OrderStatus[] statuses = Order.OrderStatus.values();
+            for (int i = 0; i < statuses.length; i++) {
+                if (statuses[i] != Order.OrderStatus.PENDING) { // Don't allow changing back to PENDING
+                    System.out.println(option(String.valueOf(i), statuses[i].toString()));
+                }
+            }
+
+            System.out.print(inputPrompt("Enter status number: "));
+            int statusChoice = Integer.parseInt(scanner.nextLine());
+
+            if (statusChoice < 0 || statusChoice >= statuses.length || statuses[statusChoice] == Order.OrderStatus.PENDING) {
+                System.out.println(error("Invalid choice!"));
+                return;
+            }
+
+            Order.OrderStatus newStatus = statuses[statusChoice];
+            boolean restoreStock = false;
+
+            // Special handling for CANCELLED status
+            if (newStatus == Order.OrderStatus.CANCELLED) {
+                System.out.print(inputPrompt("Are you sure you want to cancel this order? (yes/no): "));
+                String confirmation = scanner.nextLine().trim();
+                if (!confirmation.equalsIgnoreCase("yes")) {
+                    System.out.println(info("Order cancellation cancelled."));
+                    return;
+                }
+
+                System.out.print(inputPrompt("Restore stock quantities? (yes/no): "));
+                restoreStock = scanner.nextLine().trim().equalsIgnoreCase("yes");
+            }
+
+            ServiceResult<Order> result = sellerService.updateOrderStatus(session, orderId, newStatus, restoreStock);
+            if (result.isSuccess()) {
+                if (restoreStock) {
+                    System.out.println(success("Stock quantities restored!"));
+                }
+                System.out.println(success("Order status updated to " + newStatus + "!"));
+            } else {
+                System.out.println(error(result.getMessage()));
+            }
+        } catch (NumberFormatException e) {
+            System.out.println(error("Invalid input! Please enter a valid number."));
+        }
+    }
+
+    // View low stock alerts
+    private void viewLowStockAlerts() {
+        System.out.println(header("Low Stock Alerts 🚨"));
+        List<Product> lowStockProducts = sellerService.getLowStockProducts(session);
+
+        if (lowStockProducts.isEmpty()) {
+            System.out.println(info("No low stock alerts. 🎉"));
+            return;
+        }
+
+        System.out.println(warning("You have " + lowStockProducts.size() + " product(s) with low stock:"));
+        for (Product product : lowStockProducts) {
+            System.out.println(productInfo(product.toString()));
+            System.out.println(alert("   ALERT: Only " + product.getStockQuantity() +
+                    " left (threshold: " + product.getThresholdQuantity() + ")"));
+        }
+    }
+
+    // View product reviews
+    private void viewProductReviews() {
+        System.out.print(inputPrompt("Enter Product ID to view reviews: "));
+        try {
+            int productId = Integer.parseInt(scanner.nextLine());
+            ProductDetails details = sellerService.getProductReviews(session, productId);
+
+            if (details == null) {
+                System.out.println(error("Product not found or you don't have permission!"));
+                return;
+            }
+
+            System.out.println();
+            System.out.println(header("Reviews for " + details.getProduct().getName()));
+            System.out.println(highlight("Average Rating: " + details.getRatingStats() + " ⭐"));
+
+            ReviewView.show(scanner, details.getReviewPage(),
+                    (sort, after) -> sellerService.getProductReviews(session, productId, sort, after),
+                    reviewId -> sellerService.getReviewComment(session, productId, reviewId));
+        } catch (NumberFormatException e) {
+            System.out.println(error("Invalid product ID!"));
+        }
+    }
+
+    // Update seller profile
+    private void updateProfile() {
+        Seller seller = sellerService.getProfile(session);
+
+        if (seller == null) {
+            System.out.println(error("Seller not found!"));
+            return;
+        }
+
+        System.out.println(header("Update Seller Profile"));
+        System.out.println(info("Leave blank to keep current value."));
+
+        System.out.print(inputPrompt("Business Name (" + seller.getBusinessName() + "): "));
+        String businessName = scanner.nextLine().trim();
+        if (!businessName.isEmpty()) seller.setBusinessName(businessName);
+
+        System.out.print(inputPrompt("Business Address (" + seller.getBusinessAddress() + "): "));
+        String businessAddress = scanner.nextLine().trim();
+        if (!businessAddress.isEmpty()) seller.setBusinessAddress(businessAddress);
+
+        System.out.print(inputPrompt("Tax ID (" + seller.getTaxId() + "): "));
+        String taxId = scanner.nextLine().trim();
+        if (!taxId.isEmpty()) seller.setTaxId(taxId);
+
+        System.out.print(inputPrompt("Business Phone (" + seller.getBusinessPhone() + "): "));
+        String businessPhone = scanner.nextLine().trim();
+        if (!businessPhone.isEmpty()) seller.setBusinessPhone(businessPhone);
+
+        ServiceResult<Seller> result = sellerService.updateProfile(session, seller);
+        if (result.isSuccess()) {
+            System.out.println(success("Profile updated successfully!"));
+        } else {
+            System.out.println(error(result.getMessage()));
+        }
+    }
+
+    // View sales report
+    private void viewSalesReport() {
+        System.out.println(header("Sales Report 📊"));
+
+        // Optional date range (end date inclusive)
+        Timestamp fromDate;
+        Timestamp toDate;
+        try {
+            System.out.print(inputPrompt("From date (yyyy-MM-dd, press enter for all time): "));
+            String fromStr = scanner.nextLine().trim();
+            fromDate = fromStr.isEmpty() ? null : Timestamp.valueOf(LocalDate.parse(fromStr).atStartOfDay());
+
+            System.out.print(inputPrompt("To date (yyyy-MM-dd, press enter for no end date): "));
+            String toStr = scanner.nextLine().trim();
+            toDate = toStr.isEmpty() ? null : Timestamp.valueOf(LocalDate.parse(toStr).plusDays(1).atStartOfDay());
+        } catch (DateTimeParseException e) {
+            System.out.println(error("Invalid date format!"));
+            return;
+        }
+
+        SalesReport report = sellerService.getSalesReport(session, fromDate, toDate);
+
+        if (!report.hasSales()) {
+            System.out.println(info("No sales yet."));
+            return;
+        }
+
+        System.out.println(info("Order Summary:"));
+        System.out.println(info("  Completed Orders: " + report.getCompletedOrders()));
+        System.out.println(info("  Pending Orders: " + report.getPendingOrders()));
+        System.out.println(info("  Total Items Sold: " + report.getUnitsSold()));
+        System.out.printf(price("  Total Sales Revenue: $%.2f%n"), report.getRevenue());
+
+        if (report.getCompletedOrders() > 0) {
+            System.out.printf(price("  Average Order Value: $%.2f%n"), report.getAverageOrderValue());
+        }
+
+        if (!report.getCategoryBreakdown().isEmpty()) {
+            System.out.println();
+            System.out.println(subheader("Sales by Category:"));
+            for (SalesReport.CategorySales categorySales : report.getCategoryBreakdown()) {
+                System.out.println("   " + categorySales);
+            }
+        }
+
+        // Show inventory status
+        System.out.println();
+        System.out.println(header("Inventory Status 📦"));
+        List<Product> products = sellerService.getProducts(session);
+
+        if (products.isEmpty()) {
+            System.out.println(info("No products in inventory."));
+            return;
+        }
+
+        int lowStockCount = 0;
+        int outOfStockCount = 0;
+
+        for (Product product : products) {
+            String stockStatus;
+            String statusColor;
+
+            if (product.getStockQuantity() == 0) {
+                stockStatus = "OUT OF STOCK";
+                statusColor = RED_BRIGHT;
+                outOfStockCount++;
+            } else if (product.isLowStock()) {
+                stockStatus = "LOW STOCK";
+                statusColor = YELLOW_BRIGHT;
+                lowStockCount++;
+            } else {
+                stockStatus = "IN STOCK";
+                statusColor = GREEN_BRIGHT;
+            }
+
+            System.out.printf("%-20s: %3d units (%s)%n",
+                    product.getName(), product.getStockQuantity(),
+                    statusColor + stockStatus + RESET);
+        }
+
+        System.out.println();
+        if (lowStockCount > 0) {
+            System.out.println(warning("⚠️  You have " + lowStockCount + " product(s) with low stock."));
+        }
+        if (outOfStockCount > 0) {
+            System.out.println(error("❌ You have " + outOfStockCount + " product(s) out of stock."));
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.revshop.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.atomic.LongAccumulator;
+
+// Lock-free latency histogram with log-scaled buckets from 1 microsecond to ~10 minutes.
+//
+// Bucket bounds grow by about 10% each, so reported percentiles are the upper bound of
+// the bucket they fall in and are within 10% of the true value. Recording is a binary
+// search plus one atomic increment, cheap enough for every statement and every
+// connection checkout.
+public class LatencyHistogram {
+
+    private static final double GROWTH = 1.1;
+    private static final long MIN_NANOS = 1_000;
+    private static final long MAX_NANOS = TimeUnit.MINUTES.toNanos(10);
+    private static final long[] UPPER_BOUNDS = buildBounds();
+
+    private final AtomicLongArray counts = new AtomicLongArray(UPPER_BOUNDS.length + 1);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    private static long[] buildBounds() {
+        int size = (int) Math.ceil(Math.log((double) MAX_NANOS / MIN_NANOS) / Math.log(GROWTH)) + 1;
+        long[] bounds = new long[size];
+        double bound = MIN_NANOS;
+        for (int i = 0; i < size; i++) {
+            bounds[i] = (long) Math.ceil(bound);
+            bound *= GROWTH;
+        }
+        return bounds;
+    }
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        counts.incrementAndGet(bucketFor(nanos));
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    public void recordMillis(long millis) {
+        record(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    private static int bucketFor(long nanos) {
+        int low = 0;
+        int high = UPPER_BOUNDS.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (UPPER_BOUNDS[mid] < nanos) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low; // == UPPER_BOUNDS.length for values above the largest bound
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public long getMeanNanos() {
+        long n = count.sum();
+        return n == 0 ? 0 : totalNanos.sum() / n;
+    }
+
+    // Value at the given percentile (0-100), in nanoseconds; 0 when empty
+    public long getPercentileNanos(double percentile) {
+        long total = 0;
+        long[] snapshot = new long[counts.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(percentile / 100.0 * total);
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= Math.max(rank, 1)) {
+                long bound = i < UPPER_BOUNDS.length ? UPPER_BOUNDS[i] : maxNanos.get();
+                return Math.min(bound, maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    public double getPercentileMillis(double percentile) {
+        return getPercentileNanos(percentile) / 1_000_000.0;
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+}
@@ -0,0 +1,191 @@
+package com.revshop.metrics;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+// Connection pool telemetry. Hikari reports every checkout (acquire wait), return
+// (usage time) and timeout through the MetricsTrackerFactory hook; pool gauges are
+// sampled from HikariPoolMXBean. Exposed through JMX and PoolMetricsReporter.
+//
+// With ConnectionPermits in front of the pool, callers queue for a permit before they
+// reach Hikari, so Hikari alone sees almost no waiters. DatabaseConfig reports the
+// permit queue (attachPermitQueue) and each permit wait and timeout; the awaiting gauge
+// counts both queues.
+public class PoolMetrics implements MetricsTrackerFactory, PoolMetricsMXBean {
+    private static final Logger logger = LogManager.getLogger(PoolMetrics.class);
+
+    public static final String OBJECT_NAME = "com.revshop:type=PoolMetrics";
+
+    private static final PoolMetrics instance = new PoolMetrics();
+
+    private final LatencyHistogram acquireTime = new LatencyHistogram();
+    private final LatencyHistogram usageTime = new LatencyHistogram();
+    private final LatencyHistogram creationTime = new LatencyHistogram();
+    private final LatencyHistogram permitWaitTime = new LatencyHistogram();
+    private final LongAdder timeouts = new LongAdder();
+    private final AtomicInteger peakAwaiting = new AtomicInteger();
+
+    private volatile HikariPoolMXBean pool;
+    private volatile IntSupplier permitQueue;
+
+    public static PoolMetrics getInstance() {
+        return instance;
+    }
+
+    // Pool to sample gauges from; called whenever the pool is (re)created
+    public void attach(HikariPoolMXBean pool) {
+        this.pool = pool;
+    }
+
+    // Threads queued for a connection permit; called when permits are enabled
+    public void attachPermitQueue(IntSupplier waitingThreads) {
+        this.permitQueue = waitingThreads;
+    }
+
+    // Time a caller waited for a connection permit, whether or not it got one
+    public void recordPermitWait(long elapsedNanos) {
+        permitWaitTime.record(elapsedNanos);
+    }
+
+    // A caller gave up waiting for a connection permit
+    public void recordPermitTimeout() {
+        timeouts.increment();
+    }
+
+    // Register the MXBean once per JVM
+    public synchronized void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+                logger.info("Pool metrics registered in JMX as {}", OBJECT_NAME);
+            }
+        } catch (Exception e) {
+            logger.warn("Could not register pool metrics MXBean", e);
+        }
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                creationTime.recordMillis(connectionCreatedMillis);
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquireTime.record(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usageTime.recordMillis(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    // Current gauges in one read
+    public PoolSnapshot sample() {
+        HikariPoolMXBean current = pool;
+        IntSupplier permits = permitQueue;
+        int awaitingPermit = permits != null ? permits.getAsInt() : 0;
+        PoolSnapshot snapshot = current == null ? new PoolSnapshot(0, 0, 0, 0, awaitingPermit)
+                : new PoolSnapshot(current.getActiveConnections(), current.getIdleConnections(),
+                        current.getTotalConnections(), current.getThreadsAwaitingConnection(), awaitingPermit);
+        peakAwaiting.accumulateAndGet(snapshot.getThreadsAwaiting(), Math::max);
+        return snapshot;
+    }
+
+    public LatencyHistogram getAcquireTime() { return acquireTime; }
+    public LatencyHistogram getUsageTime() { return usageTime; }
+    public LatencyHistogram getCreationTime() { return creationTime; }
+    public LatencyHistogram getPermitWaitTime() { return permitWaitTime; }
+
+    // Gauges
+    @Override public int getActiveConnections() { return sample().getActive(); }
+    @Override public int getIdleConnections() { return sample().getIdle(); }
+    @Override public int getTotalConnections() { return sample().getTotal(); }
+    @Override public int getThreadsAwaitingConnection() { return sample().getThreadsAwaiting(); }
+    @Override public int getThreadsAwaitingPermit() { return sample().getThreadsAwaitingPermit(); }
+
+    // Histograms
+    @Override public long getConnectionsAcquired() { return acquireTime.getCount(); }
+    @Override public double getAcquireP50Millis() { return acquireTime.getPercentileMillis(50); }
+    @Override public double getAcquireP95Millis() { return acquireTime.getPercentileMillis(95); }
+    @Override public double getAcquireP99Millis() { return acquireTime.getPercentileMillis(99); }
+    @Override public double getAcquireMaxMillis() { return acquireTime.getMaxNanos() / 1_000_000.0; }
+    @Override public double getUsageP50Millis() { return usageTime.getPercentileMillis(50); }
+    @Override public double getUsageP95Millis() { return usageTime.getPercentileMillis(95); }
+    @Override public double getUsageP99Millis() { return usageTime.getPercentileMillis(99); }
+    @Override public double getPermitWaitP95Millis() { return permitWaitTime.getPercentileMillis(95); }
+    @Override public double getPermitWaitP99Millis() { return permitWaitTime.getPercentileMillis(99); }
+
+    @Override public long getConnectionTimeouts() { return timeouts.sum(); }
+    @Override public int getPeakThreadsAwaiting() { return peakAwaiting.get(); }
+
+    @Override
+    public String getSummary() {
+        PoolSnapshot snapshot = sample();
+        return String.format("Pool: active=%d idle=%d total=%d awaiting=%d (%d for a permit, peak %d) | " +
+                        "permit wait p95=%.2fms p99=%.2fms | " +
+                        "acquire p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms (n=%d) | " +
+                        "usage p50=%.1fms p95=%.1fms p99=%.1fms | timeouts=%d",
+                snapshot.getActive(), snapshot.getIdle(), snapshot.getTotal(), snapshot.getThreadsAwaiting(),
+                snapshot.getThreadsAwaitingPermit(), getPeakThreadsAwaiting(),
+                getPermitWaitP95Millis(), getPermitWaitP99Millis(),
+                getAcquireP50Millis(), getAcquireP95Millis(), getAcquireP99Millis(),
+                getAcquireMaxMillis(), getConnectionsAcquired(), getUsageP50Millis(), getUsageP95Millis(),
+                getUsageP99Millis(), getConnectionTimeouts());
+    }
+
+    @Override
+    public void resetHistograms() {
+        acquireTime.reset();
+        usageTime.reset();
+        creationTime.reset();
+        permitWaitTime.reset();
+        peakAwaiting.set(0);
+    }
+
+    // Point-in-time pool gauges. threadsAwaiting counts every caller waiting for a
+    // connection: queued for a permit or inside the pool.
+    public static class PoolSnapshot {
+        private final int active;
+        private final int idle;
+        private final int total;
+        private final int threadsAwaitingPool;
+        private final int threadsAwaitingPermit;
+
+        public PoolSnapshot(int active, int idle, int total, int threadsAwaitingPool, int threadsAwaitingPermit) {
+            this.active = active;
+            this.idle = idle;
+            this.total = total;
+            this.threadsAwaitingPool = threadsAwaitingPool;
+            this.threadsAwaitingPermit = threadsAwaitingPermit;
+        }
+
+        public int getActive() { return active; }
+        public int getIdle() { return idle; }
+        public int getTotal() { return total; }
+        public int getThreadsAwaiting() { return threadsAwaitingPool + threadsAwaitingPermit; }
+        public int getThreadsAwaitingPermit() { return threadsAwaitingPermit; }
+    }
+}
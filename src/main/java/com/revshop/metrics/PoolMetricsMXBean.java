@@ -0,0 +1,31 @@
+package com.revshop.metrics;
+
+// JMX view of connection pool telemetry, registered as com.revshop:type=PoolMetrics
+public interface PoolMetricsMXBean {
+    int getActiveConnections();
+    int getIdleConnections();
+    int getTotalConnections();
+    // Queued for a connection permit or inside the pool
+    int getThreadsAwaitingConnection();
+    int getThreadsAwaitingPermit();
+
+    long getConnectionsAcquired();
+    double getAcquireP50Millis();
+    double getAcquireP95Millis();
+    double getAcquireP99Millis();
+    double getAcquireMaxMillis();
+
+    double getUsageP50Millis();
+    double getUsageP95Millis();
+    double getUsageP99Millis();
+
+    double getPermitWaitP95Millis();
+    double getPermitWaitP99Millis();
+
+    long getConnectionTimeouts();
+    int getPeakThreadsAwaiting();
+
+    String getSummary();
+
+    void resetHistograms();
+}
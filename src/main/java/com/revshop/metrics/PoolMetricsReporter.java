@@ -0,0 +1,128 @@
+package com.revshop.metrics;
+
+import com.revshop.util.VirtualThreads;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Samples PoolMetrics on a fixed interval. Each sample is appended as a CSV row
+// (if a file is configured), and the summary is logged every reportEverySamples
+// samples. A warning is logged when threads have been waiting for a connection
+// for alertAfterSamples consecutive samples, and again when it clears. Waiting threads
+// include those queued for a connection permit.
+public class PoolMetricsReporter {
+    private static final Logger logger = LogManager.getLogger(PoolMetricsReporter.class);
+
+    private static final String CSV_HEADER = "timestamp,active,idle,total,awaiting,awaiting_permit," +
+            "permit_wait_p95_ms,acquired,acquire_p50_ms,acquire_p95_ms,acquire_p99_ms,usage_p95_ms,timeouts";
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final PoolMetrics metrics;
+    private final int intervalSeconds;
+    private final int reportEverySamples;
+    private final int alertAfterSamples;
+    private final File csvFile;
+
+    private ScheduledExecutorService executor;
+    private int samples;
+    private int consecutiveAwaiting;
+    private boolean alerting;
+
+    public PoolMetricsReporter(PoolMetrics metrics, int intervalSeconds, int reportEverySamples,
+                               int alertAfterSamples, String csvPath) {
+        this.metrics = metrics;
+        this.intervalSeconds = intervalSeconds;
+        this.reportEverySamples = Math.max(1, reportEverySamples);
+        this.alertAfterSamples = Math.max(1, alertAfterSamples);
+        this.csvFile = csvPath == null || csvPath.trim().isEmpty() ? null : new File(csvPath.trim());
+    }
+
+    public synchronized void start() {
+        if (executor != null || intervalSeconds <= 0) {
+            return;
+        }
+        executor = VirtualThreads.newScheduledExecutor("revshop-pool-metrics");
+        executor.scheduleAtFixedRate(() -> {
+            try {
+                sample();
+            } catch (RuntimeException e) {
+                logger.warn("Error sampling pool metrics", e);
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        logger.info("Pool metrics reporter started: every {}s{}", intervalSeconds,
+                csvFile != null ? ", CSV " + csvFile.getPath() : "");
+    }
+
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    // Take one sample: check the saturation alert, then log and/or append CSV
+    public synchronized void sample() {
+        PoolMetrics.PoolSnapshot snapshot = metrics.sample();
+        samples++;
+
+        if (snapshot.getThreadsAwaiting() > 0) {
+            consecutiveAwaiting++;
+            if (consecutiveAwaiting >= alertAfterSamples && !alerting) {
+                alerting = true;
+                logger.warn("Connection pool saturated: {} thread(s) waiting for a connection ({} for a permit) " +
+                                "for {}s (active={}, total={}). Consider raising pool.maximumPoolSize.",
+                        snapshot.getThreadsAwaiting(), snapshot.getThreadsAwaitingPermit(),
+                        consecutiveAwaiting * intervalSeconds, snapshot.getActive(), snapshot.getTotal());
+            }
+        } else {
+            if (alerting) {
+                logger.info("Connection pool saturation cleared after {}s", consecutiveAwaiting * intervalSeconds);
+            }
+            consecutiveAwaiting = 0;
+            alerting = false;
+        }
+
+        if (samples % reportEverySamples == 0) {
+            logger.info(metrics.getSummary());
+        }
+        if (csvFile != null) {
+            appendCsv(snapshot);
+        }
+    }
+
+    public synchronized boolean isAlerting() {
+        return alerting;
+    }
+
+    private void appendCsv(PoolMetrics.PoolSnapshot snapshot) {
+        boolean writeHeader = !csvFile.exists() || csvFile.length() == 0;
+        File parent = csvFile.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            logger.warn("Could not create directory for pool metrics CSV: {}", parent);
+            return;
+        }
+
+        try (PrintWriter out = new PrintWriter(new FileWriter(csvFile, true))) {
+            if (writeHeader) {
+                out.println(CSV_HEADER);
+            }
+            out.printf(Locale.ROOT, "%s,%d,%d,%d,%d,%d,%.3f,%d,%.3f,%.3f,%.3f,%.3f,%d%n",
+                    LocalDateTime.now().format(TIMESTAMP), snapshot.getActive(), snapshot.getIdle(),
+                    snapshot.getTotal(), snapshot.getThreadsAwaiting(), snapshot.getThreadsAwaitingPermit(),
+                    metrics.getPermitWaitP95Millis(), metrics.getConnectionsAcquired(),
+                    metrics.getAcquireP50Millis(), metrics.getAcquireP95Millis(), metrics.getAcquireP99Millis(),
+                    metrics.getUsageP95Millis(), metrics.getConnectionTimeouts());
+        } catch (IOException e) {
+            logger.warn("Error writing pool metrics CSV: {}", csvFile, e);
+        }
+    }
+}
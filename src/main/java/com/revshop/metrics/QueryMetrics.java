@@ -0,0 +1,329 @@
+package com.revshop.metrics;
+
+import com.revshop.config.AppConfig;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+// Per-statement latency instrumentation for the DAO layer.
+//
+// BaseDAO hands out connections wrapped by instrument(). Statements prepared on them
+// time every execute call and count the rows read from their result sets. Figures are
+// kept per SQL fingerprint (literals and IN lists collapsed), so queries that differ
+// only in parameters share one entry. The time spent waiting for the pooled connection
+// is charged to the first statement executed on it.
+//
+// Statements slower than metrics.query.slowThresholdMs are written to the slow query log.
+public class QueryMetrics {
+    private static final Logger logger = LogManager.getLogger(QueryMetrics.class);
+    private static final Logger slowQueryLog = LogManager.getLogger("com.revshop.metrics.SlowQueryLog");
+
+    private static final int MAX_FINGERPRINT_CACHE = 5000;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final QueryMetrics instance = new QueryMetrics(
+            AppConfig.get().getBoolean("metrics.query.enabled", true),
+            AppConfig.get().getLong("metrics.query.slowThresholdMs", 200));
+
+    private final boolean enabled;
+    private final long slowThresholdNanos;
+    private final Map<String, QueryStats> stats = new ConcurrentHashMap<>();
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+    private volatile StatementListener listener;
+
+    public QueryMetrics(boolean enabled, long slowThresholdMs) {
+        this.enabled = enabled;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+    }
+
+    public static QueryMetrics getInstance() {
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Wrap a pooled connection; connectionWaitNanos is how long getConnection() took
+    public Connection instrument(Connection conn, long connectionWaitNanos) {
+        if (!enabled || conn == null) {
+            return conn;
+        }
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(conn, connectionWaitNanos));
+    }
+
+    // Sees each statement executed on an instrumented connection, with its parameters
+    // (index -> value). Used by QueryPlanTest to EXPLAIN the SQL the DAOs really run.
+    public interface StatementListener {
+        void executed(String sql, Map<Integer, Object> parameters);
+    }
+
+    // Install a listener, or remove it with null. Only statements prepared while one is
+    // installed track their parameters and report to it; others pay nothing for it.
+    public void setStatementListener(StatementListener listener) {
+        this.listener = listener;
+    }
+
+    // Record one execution directly (used by the proxies and by tests)
+    public void record(String sql, long elapsedNanos, long connectionWaitNanos) {
+        QueryStats queryStats = statsFor(sql);
+        queryStats.latency.record(elapsedNanos);
+        queryStats.totalNanos.add(elapsedNanos);
+        if (connectionWaitNanos >= 0) {
+            queryStats.connectionWait.record(connectionWaitNanos);
+        }
+        if (elapsedNanos >= slowThresholdNanos) {
+            slowQueryLog.warn("Slow query ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos), flatten(sql));
+        }
+    }
+
+    public void recordRows(String sql, long rows) {
+        statsFor(sql).rows.add(rows);
+    }
+
+    private QueryStats statsFor(String sql) {
+        String fingerprint = fingerprint(sql);
+        return stats.computeIfAbsent(fingerprint, QueryStats::new);
+    }
+
+    // Normalize SQL so executions that differ only in literals share an entry
+    public String fingerprint(String sql) {
+        if (sql == null) {
+            return "<unknown>";
+        }
+        String cached = fingerprints.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("IN (...)");
+        normalized = flatten(normalized);
+        if (fingerprints.size() < MAX_FINGERPRINT_CACHE) {
+            fingerprints.put(sql, normalized);
+        }
+        return normalized;
+    }
+
+    private static String flatten(String sql) {
+        return WHITESPACE.matcher(sql).replaceAll(" ").trim();
+    }
+
+    // All fingerprints, most total time first
+    public List<QueryStats> getStats() {
+        List<QueryStats> all = new ArrayList<>(stats.values());
+        all.sort(Comparator.comparingLong(QueryStats::getTotalNanos).reversed());
+        return all;
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+
+    // Text report of the top fingerprints by total time
+    public String getReport(int limit) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-8s %9s %9s %9s %9s %10s %9s  %s%n",
+                "count", "p50 ms", "p95 ms", "p99 ms", "max ms", "rows/exec", "wait p95", "sql"));
+        int shown = 0;
+        for (QueryStats queryStats : getStats()) {
+            if (shown++ >= limit) {
+                break;
+            }
+            report.append(String.format("%-8d %9.2f %9.2f %9.2f %9.2f %10.1f %9.2f  %s%n",
+                    queryStats.getCount(), queryStats.getPercentileMillis(50), queryStats.getPercentileMillis(95),
+                    queryStats.getPercentileMillis(99), queryStats.getMaxMillis(), queryStats.getRowsPerExecution(),
+                    queryStats.getConnectionWait().getPercentileMillis(95), queryStats.getFingerprint()));
+        }
+        return report.toString();
+    }
+
+    public void logReport(int limit) {
+        if (!stats.isEmpty()) {
+            logger.info("Query statistics:\n{}", getReport(limit));
+        }
+    }
+
+    // Aggregated figures for one SQL fingerprint
+    public static class QueryStats {
+        private final String fingerprint;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LatencyHistogram connectionWait = new LatencyHistogram();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+
+        QueryStats(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        public String getFingerprint() { return fingerprint; }
+        public long getCount() { return latency.getCount(); }
+        public long getRows() { return rows.sum(); }
+        public LatencyHistogram getLatency() { return latency; }
+        public LatencyHistogram getConnectionWait() { return connectionWait; }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public double getPercentileMillis(double percentile) {
+            return latency.getPercentileMillis(percentile);
+        }
+
+        public double getMaxMillis() {
+            return latency.getMaxNanos() / 1_000_000.0;
+        }
+
+        public double getRowsPerExecution() {
+            long count = getCount();
+            return count == 0 ? 0 : (double) rows.sum() / count;
+        }
+    }
+
+    // Wraps statements created on the connection and charges the checkout wait once
+    private class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+        private long pendingWaitNanos;
+
+        ConnectionHandler(Connection target, long connectionWaitNanos) {
+            this.target = target;
+            this.pendingWaitNanos = connectionWaitNanos;
+        }
+
+        long takeConnectionWait() {
+            long wait = pendingWaitNanos;
+            pendingWaitNanos = -1;
+            return wait;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            String name = method.getName();
+            if (result instanceof PreparedStatement && (name.equals("prepareStatement") || name.equals("prepareCall"))) {
+                return wrapStatement((Statement) result, (String) args[0],
+                        name.equals("prepareCall") ? CallableStatement.class : PreparedStatement.class);
+            }
+            if (result instanceof Statement && name.equals("createStatement")) {
+                return wrapStatement((Statement) result, null, Statement.class);
+            }
+            return result;
+        }
+
+        private Object wrapStatement(Statement statement, String sql, Class<?> type) {
+            return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{type},
+                    new StatementHandler(statement, sql, this));
+        }
+    }
+
+    // Times execute calls and counts rows read from returned result sets
+    private class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        private final ConnectionHandler connection;
+        // Bound parameters; null unless a StatementListener was installed at prepare time
+        private final Map<Integer, Object> parameters;
+
+        StatementHandler(Statement target, String preparedSql, ConnectionHandler connection) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.connection = connection;
+            this.parameters = listener != null ? new TreeMap<>() : null;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                if (parameters != null) {
+                    trackParameter(name, args);
+                }
+                return invokeTarget(target, method, args);
+            }
+
+            String sql = preparedSql != null ? preparedSql :
+                    (args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null);
+            if (parameters != null && sql != null) {
+                StatementListener current = listener;
+                if (current != null) {
+                    current.executed(sql, new TreeMap<>(parameters));
+                }
+            }
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = invokeTarget(target, method, args);
+            } finally {
+                record(sql, System.nanoTime() - start, connection.takeConnectionWait());
+            }
+
+            if (result instanceof ResultSet) {
+                return wrapResultSet((ResultSet) result, sql);
+            }
+            if (result instanceof Integer) {
+                recordRows(sql, (Integer) result);
+            } else if (result instanceof Long) {
+                recordRows(sql, (Long) result);
+            } else if (result instanceof int[]) {
+                long affected = 0;
+                for (int count : (int[]) result) {
+                    affected += Math.max(count, 0);
+                }
+                recordRows(sql, affected);
+            }
+            return result;
+        }
+
+        // setXxx(index, value, ...) binds value; setNull binds null
+        private void trackParameter(String name, Object[] args) {
+            if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                parameters.put((Integer) args[0], name.equals("setNull") ? null : args[1]);
+            }
+        }
+
+        private ResultSet wrapResultSet(ResultSet rs, String sql) {
+            QueryStats queryStats = statsFor(sql);
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class}, (proxy, method, args) -> {
+                        Object result = invokeTarget(rs, method, args);
+                        if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                            queryStats.rows.increment();
+                        }
+                        return result;
+                    });
+        }
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.revshop.model;
 
+import java.math.BigDecimal;
 import java.sql.Timestamp;
 
 public class CartItem {
@@ -38,11 +39,11 @@ public class CartItem {
     public Product getProduct() { return product; }
     public void setProduct(Product product) { this.product = product; }
 
-    public double getTotalPrice() {
+    public BigDecimal getTotalPrice() {
         if (product != null) {
-            return product.getFinalPrice().doubleValue() * quantity;
+            return product.getFinalPrice().multiply(BigDecimal.valueOf(quantity));
         }
-        return 0;
+        return BigDecimal.ZERO;
     }
 
     @Override
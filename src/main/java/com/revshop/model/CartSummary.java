@@ -0,0 +1,124 @@
+package com.revshop.model;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Totals of a buyer's cart: number of items, subtotal at the prices checkout charges
+// (Product.getFinalPrice) and savings against MRP. Immutable; the with/without methods
+// return a copy adjusted for one line, so a cached summary can follow cart changes
+// without adding up the whole cart again.
+public final class CartSummary {
+    public static final CartSummary EMPTY = new CartSummary(Collections.emptyMap(), 0,
+            BigDecimal.ZERO, BigDecimal.ZERO);
+
+    private final Map<Integer, Line> lines;
+    private final int itemCount;
+    private final BigDecimal subtotal;
+    private final BigDecimal savings;
+
+    private CartSummary(Map<Integer, Line> lines, int itemCount, BigDecimal subtotal, BigDecimal savings) {
+        this.lines = lines;
+        this.itemCount = itemCount;
+        this.subtotal = subtotal;
+        this.savings = savings;
+    }
+
+    // Summary of cart items loaded with their products; items without one are left out
+    public static CartSummary of(List<CartItem> items) {
+        Map<Integer, Line> lines = new HashMap<>();
+        int itemCount = 0;
+        BigDecimal subtotal = BigDecimal.ZERO;
+        BigDecimal savings = BigDecimal.ZERO;
+        for (CartItem item : items) {
+            if (item.getProduct() == null || item.getQuantity() <= 0) {
+                continue;
+            }
+            Line line = new Line(item.getProduct(), item.getQuantity());
+            lines.put(item.getProductId(), line);
+            itemCount += line.quantity;
+            subtotal = subtotal.add(line.total());
+            savings = savings.add(line.savings());
+        }
+        return new CartSummary(lines, itemCount, subtotal, savings);
+    }
+
+    // This summary with the product's line set to quantity (0 removes it)
+    public CartSummary withQuantity(Product product, int quantity) {
+        Line old = lines.get(product.getProductId());
+        Line line = quantity > 0 ? new Line(product, quantity) : null;
+        return replace(product.getProductId(), old, line);
+    }
+
+    // This summary with quantity more of the product
+    public CartSummary withAdded(Product product, int quantity) {
+        Line old = lines.get(product.getProductId());
+        return withQuantity(product, (old != null ? old.quantity : 0) + quantity);
+    }
+
+    public CartSummary without(int productId) {
+        Line old = lines.get(productId);
+        return old == null ? this : replace(productId, old, null);
+    }
+
+    public boolean contains(int productId) {
+        return lines.containsKey(productId);
+    }
+
+    public int getItemCount() { return itemCount; }
+    public int getLineCount() { return lines.size(); }
+    public BigDecimal getSubtotal() { return subtotal; }
+    public BigDecimal getSavings() { return savings; }
+
+    public boolean isEmpty() {
+        return lines.isEmpty();
+    }
+
+    private CartSummary replace(int productId, Line old, Line line) {
+        Map<Integer, Line> copy = new HashMap<>(lines);
+        int count = itemCount;
+        BigDecimal total = subtotal;
+        BigDecimal saved = savings;
+        if (old != null) {
+            copy.remove(productId);
+            count -= old.quantity;
+            total = total.subtract(old.total());
+            saved = saved.subtract(old.savings());
+        }
+        if (line != null) {
+            copy.put(productId, line);
+            count += line.quantity;
+            total = total.add(line.total());
+            saved = saved.add(line.savings());
+        }
+        return new CartSummary(copy, count, total, saved);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d %s, $%.2f", itemCount, itemCount == 1 ? "item" : "items", subtotal);
+    }
+
+    private static final class Line {
+        final int quantity;
+        final BigDecimal unitPrice;
+        final BigDecimal unitSavings;
+
+        Line(Product product, int quantity) {
+            this.quantity = quantity;
+            this.unitPrice = product.getFinalPrice();
+            BigDecimal mrp = product.getMrp();
+            this.unitSavings = mrp != null && mrp.compareTo(unitPrice) > 0 ? mrp.subtract(unitPrice) : BigDecimal.ZERO;
+        }
+
+        BigDecimal total() {
+            return unitPrice.multiply(BigDecimal.valueOf(quantity));
+        }
+
+        BigDecimal savings() {
+            return unitSavings.multiply(BigDecimal.valueOf(quantity));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.revshop.model;
+
+// Everything checkout needs besides the cart itself. Blank addresses fall back to
+// the buyer's profile address (shipping) and the shipping address (billing).
+public class CheckoutRequest {
+    private String shippingAddress;
+    private String billingAddress;
+    private String paymentMethod;
+
+    public CheckoutRequest(String shippingAddress, String billingAddress, String paymentMethod) {
+        this.shippingAddress = shippingAddress;
+        this.billingAddress = billingAddress;
+        this.paymentMethod = paymentMethod;
+    }
+
+    // Getters
+    public String getShippingAddress() { return shippingAddress; }
+    public String getBillingAddress() { return billingAddress; }
+    public String getPaymentMethod() { return paymentMethod; }
+
+    @Override
+    public String toString() {
+        return "CheckoutRequest{paymentMethod=" + paymentMethod + ", shipping=" + shippingAddress + '}';
+    }
+}
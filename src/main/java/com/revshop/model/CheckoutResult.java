@@ -0,0 +1,83 @@
+package com.revshop.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CheckoutResult {
+    private Status status;
+    private Order order;
+    private List<OutOfStockItem> outOfStockItems = new ArrayList<>();
+
+    public enum Status {
+        SUCCESS, OUT_OF_STOCK, EMPTY_CART, PAYMENT_FAILED, FAILED
+    }
+
+    // A cart line that could not be fulfilled from current stock
+    public static class OutOfStockItem {
+        private int productId;
+        private int requestedQuantity;
+        private int availableQuantity;
+
+        public OutOfStockItem(int productId, int requestedQuantity, int availableQuantity) {
+            this.productId = productId;
+            this.requestedQuantity = requestedQuantity;
+            this.availableQuantity = availableQuantity;
+        }
+
+        public int getProductId() { return productId; }
+        public int getRequestedQuantity() { return requestedQuantity; }
+        public int getAvailableQuantity() { return availableQuantity; }
+
+        public void setAvailableQuantity(int availableQuantity) { this.availableQuantity = availableQuantity; }
+
+        @Override
+        public String toString() {
+            return String.format("Product ID: %d | Requested: %d | Available: %d",
+                    productId, requestedQuantity, availableQuantity);
+        }
+    }
+
+    // Constructors
+    private CheckoutResult(Status status, Order order) {
+        this.status = status;
+        this.order = order;
+    }
+
+    public static CheckoutResult success(Order order) {
+        return new CheckoutResult(Status.SUCCESS, order);
+    }
+
+    public static CheckoutResult outOfStock(List<OutOfStockItem> items) {
+        CheckoutResult result = new CheckoutResult(Status.OUT_OF_STOCK, null);
+        result.outOfStockItems = items;
+        return result;
+    }
+
+    public static CheckoutResult failed() {
+        return new CheckoutResult(Status.FAILED, null);
+    }
+
+    public static CheckoutResult emptyCart() {
+        return new CheckoutResult(Status.EMPTY_CART, null);
+    }
+
+    public static CheckoutResult paymentFailed() {
+        return new CheckoutResult(Status.PAYMENT_FAILED, null);
+    }
+
+    // Getters
+    public Status getStatus() { return status; }
+    public Order getOrder() { return order; }
+    public List<OutOfStockItem> getOutOfStockItems() { return outOfStockItems; }
+
+    public boolean isSuccess() {
+        return status == Status.SUCCESS;
+    }
+
+    @Override
+    public String toString() {
+        return "CheckoutResult{status=" + status +
+                (order != null ? ", orderId=" + order.getOrderId() : "") +
+                (outOfStockItems.isEmpty() ? "" : ", outOfStock=" + outOfStockItems) + '}';
+    }
+}
@@ -0,0 +1,26 @@
+package com.revshop.model;
+
+// Query, pool and cache statistics at one point in time, for the diagnostics screen
+public class DiagnosticsReport {
+    private final boolean queryMetricsEnabled;
+    private final int recordedQueries;
+    private final String topQueries;
+    private final String connectionPoolStatus;
+    private final String productCacheStats;
+
+    // topQueries is the QueryMetrics report table, empty when nothing was recorded
+    public DiagnosticsReport(boolean queryMetricsEnabled, int recordedQueries, String topQueries,
+                             String connectionPoolStatus, String productCacheStats) {
+        this.queryMetricsEnabled = queryMetricsEnabled;
+        this.recordedQueries = recordedQueries;
+        this.topQueries = topQueries;
+        this.connectionPoolStatus = connectionPoolStatus;
+        this.productCacheStats = productCacheStats;
+    }
+
+    public boolean isQueryMetricsEnabled() { return queryMetricsEnabled; }
+    public int getRecordedQueries() { return recordedQueries; }
+    public String getTopQueries() { return topQueries; }
+    public String getConnectionPoolStatus() { return connectionPoolStatus; }
+    public String getProductCacheStats() { return productCacheStats; }
+}
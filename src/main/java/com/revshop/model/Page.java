@@ -0,0 +1,37 @@
+package com.revshop.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// One page of a keyset-paginated listing. The next page is requested with the
+// sort key of the last item, so no OFFSET scan is ever needed.
+public class Page<T> {
+    private List<T> items;
+    private boolean hasMore;
+
+    public Page(List<T> items, boolean hasMore) {
+        this.items = items;
+        this.hasMore = hasMore;
+    }
+
+    // Build a page from a query that fetched up to limit + 1 rows
+    public static <T> Page<T> of(List<T> rows, int limit) {
+        if (rows.size() > limit) {
+            return new Page<>(new ArrayList<>(rows.subList(0, limit)), true);
+        }
+        return new Page<>(rows, false);
+    }
+
+    public static <T> Page<T> empty() {
+        return new Page<>(new ArrayList<>(), false);
+    }
+
+    // Getters
+    public List<T> getItems() { return items; }
+    public boolean hasMore() { return hasMore; }
+    public boolean isEmpty() { return items.isEmpty(); }
+
+    public T getLast() {
+        return items.isEmpty() ? null : items.get(items.size() - 1);
+    }
+}
@@ -32,6 +32,21 @@ public class Product {
         this.thresholdQuantity = 5;
     }
 
+    public Product(Product other) {
+        this.productId = other.productId;
+        this.sellerId = other.sellerId;
+        this.name = other.name;
+        this.description = other.description;
+        this.category = other.category;
+        this.price = other.price;
+        this.mrp = other.mrp;
+        this.discountPrice = other.discountPrice;
+        this.stockQuantity = other.stockQuantity;
+        this.thresholdQuantity = other.thresholdQuantity;
+        this.createdAt = other.createdAt;
+        this.isActive = other.isActive;
+    }
+
     // Getters and Setters
     public int getProductId() { return productId; }
     public void setProductId(int productId) { this.productId = productId; }
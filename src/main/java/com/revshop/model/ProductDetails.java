@@ -0,0 +1,27 @@
+package com.revshop.model;
+
+import java.util.List;
+
+// A product together with the first page of its reviews (newest first) and, for
+// buyers, whether it is a favorite
+public class ProductDetails {
+    private Product product;
+    private Page<Review> reviews;
+    private RatingStats ratingStats;
+    private boolean favorite;
+
+    public ProductDetails(Product product, Page<Review> reviews, RatingStats ratingStats, boolean favorite) {
+        this.product = product;
+        this.reviews = reviews;
+        this.ratingStats = ratingStats;
+        this.favorite = favorite;
+    }
+
+    // Getters
+    public Product getProduct() { return product; }
+    public Page<Review> getReviewPage() { return reviews; }
+    public List<Review> getReviews() { return reviews.getItems(); }
+    public RatingStats getRatingStats() { return ratingStats; }
+    public double getAverageRating() { return ratingStats.getAverage(); }
+    public boolean isFavorite() { return favorite; }
+}
@@ -0,0 +1,21 @@
+package com.revshop.model;
+
+import java.math.BigDecimal;
+
+// A product with its rating, for rating-sorted listings
+public class RatedProduct {
+    private final Product product;
+    private final RatingStats ratingStats;
+    private final BigDecimal ratingAverage;
+
+    // ratingAverage is the stored product_rating_stats.rating_avg the listing is sorted by
+    public RatedProduct(Product product, RatingStats ratingStats, BigDecimal ratingAverage) {
+        this.product = product;
+        this.ratingStats = ratingStats;
+        this.ratingAverage = ratingAverage;
+    }
+
+    public Product getProduct() { return product; }
+    public RatingStats getRatingStats() { return ratingStats; }
+    public BigDecimal getRatingAverage() { return ratingAverage; }
+}
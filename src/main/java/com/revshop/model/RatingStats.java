@@ -0,0 +1,42 @@
+package com.revshop.model;
+
+// Review count, rating sum and 1-5 star histogram of a product, as kept in
+// product_rating_stats by ReviewDAO
+public class RatingStats {
+    private final int productId;
+    private final int count;
+    private final int sum;
+    private final int[] stars;
+
+    // stars[0] is the number of 1-star reviews, stars[4] of 5-star reviews
+    public RatingStats(int productId, int count, int sum, int[] stars) {
+        this.productId = productId;
+        this.count = count;
+        this.sum = sum;
+        this.stars = stars.clone();
+    }
+
+    // A product nobody has reviewed yet
+    public static RatingStats none(int productId) {
+        return new RatingStats(productId, 0, 0, new int[5]);
+    }
+
+    public int getProductId() { return productId; }
+    public int getCount() { return count; }
+    public int getSum() { return sum; }
+
+    // Number of reviews with the given rating (1-5)
+    public int getStarCount(int rating) {
+        return stars[rating - 1];
+    }
+
+    // 0 if there are no reviews
+    public double getAverage() {
+        return count > 0 ? (double) sum / count : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.1f/5.0 (%d reviews)", getAverage(), count);
+    }
+}
@@ -11,6 +11,12 @@ public class Review {
     private String comment;
     private Timestamp reviewDate;
     private User buyer;
+    private boolean commentTruncated;
+
+    // Orders of a product's review feed
+    public enum SortOrder {
+        NEWEST, HIGHEST, LOWEST
+    }
 
     // Constructors
     public Review() {}
@@ -48,11 +54,15 @@ public class Review {
     public User getBuyer() { return buyer; }
     public void setBuyer(User buyer) { this.buyer = buyer; }
 
+    // True when comment holds only the start of the text (see ReviewDAO.getReviewsPage)
+    public boolean isCommentTruncated() { return commentTruncated; }
+    public void setCommentTruncated(boolean commentTruncated) { this.commentTruncated = commentTruncated; }
+
     @Override
     public String toString() {
         String buyerName = (buyer != null) ?
                 buyer.getFirstName() + " " + buyer.getLastName() : "Anonymous";
-        return String.format("Rating: %d/5 | By: %s | %s",
-                rating, buyerName, comment);
+        return String.format("Rating: %d/5 | By: %s | %s%s",
+                rating, buyerName, comment, commentTruncated ? "..." : "");
     }
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.revshop.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SalesReport {
+    private int sellerId;
+    private Timestamp fromDate;
+    private Timestamp toDate;
+    private int totalOrders;
+    private int completedOrders;
+    private int pendingOrders;
+    private int unitsSold;
+    private BigDecimal revenue = BigDecimal.ZERO;
+    private List<CategorySales> categoryBreakdown = new ArrayList<>();
+
+    // Sales figures for one product category
+    public static class CategorySales {
+        private String category;
+        private int completedOrders;
+        private int unitsSold;
+        private BigDecimal revenue = BigDecimal.ZERO;
+
+        public CategorySales() {}
+
+        public CategorySales(String category, int completedOrders, int unitsSold, BigDecimal revenue) {
+            this.category = category;
+            this.completedOrders = completedOrders;
+            this.unitsSold = unitsSold;
+            this.revenue = revenue;
+        }
+
+        public String getCategory() { return category; }
+        public void setCategory(String category) { this.category = category; }
+
+        public int getCompletedOrders() { return completedOrders; }
+        public void setCompletedOrders(int completedOrders) { this.completedOrders = completedOrders; }
+
+        public int getUnitsSold() { return unitsSold; }
+        public void setUnitsSold(int unitsSold) { this.unitsSold = unitsSold; }
+
+        public BigDecimal getRevenue() { return revenue; }
+        public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+
+        @Override
+        public String toString() {
+            return String.format("%-15s | Orders: %d | Units: %d | Revenue: $%.2f",
+                    category, completedOrders, unitsSold, revenue);
+        }
+    }
+
+    // Constructors
+    public SalesReport() {}
+
+    public SalesReport(int sellerId, Timestamp fromDate, Timestamp toDate) {
+        this.sellerId = sellerId;
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+    }
+
+    // Getters and Setters
+    public int getSellerId() { return sellerId; }
+    public void setSellerId(int sellerId) { this.sellerId = sellerId; }
+
+    public Timestamp getFromDate() { return fromDate; }
+    public void setFromDate(Timestamp fromDate) { this.fromDate = fromDate; }
+
+    public Timestamp getToDate() { return toDate; }
+    public void setToDate(Timestamp toDate) { this.toDate = toDate; }
+
+    public int getTotalOrders() { return totalOrders; }
+    public void setTotalOrders(int totalOrders) { this.totalOrders = totalOrders; }
+
+    public int getCompletedOrders() { return completedOrders; }
+    public void setCompletedOrders(int completedOrders) { this.completedOrders = completedOrders; }
+
+    public int getPendingOrders() { return pendingOrders; }
+    public void setPendingOrders(int pendingOrders) { this.pendingOrders = pendingOrders; }
+
+    public int getUnitsSold() { return unitsSold; }
+    public void setUnitsSold(int unitsSold) { this.unitsSold = unitsSold; }
+
+    public BigDecimal getRevenue() { return revenue; }
+    public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+
+    public List<CategorySales> getCategoryBreakdown() { return categoryBreakdown; }
+    public void setCategoryBreakdown(List<CategorySales> categoryBreakdown) { this.categoryBreakdown = categoryBreakdown; }
+
+    public boolean hasSales() {
+        return totalOrders > 0;
+    }
+
+    public BigDecimal getAverageOrderValue() {
+        if (completedOrders == 0) {
+            return BigDecimal.ZERO;
+        }
+        return revenue.divide(BigDecimal.valueOf(completedOrders), 2, RoundingMode.HALF_UP);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SalesReport{sellerId=%d, completed=%d, pending=%d, units=%d, revenue=%s}",
+                sellerId, completedOrders, pendingOrders, unitsSold, revenue);
+    }
+}
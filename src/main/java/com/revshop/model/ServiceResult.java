@@ -0,0 +1,39 @@
+package com.revshop.model;
+
+// Outcome of a service call: the value on success, or a user-facing message
+// explaining why the request was rejected. Services never print; callers decide
+// how to present the message (console, HTTP, load test counters).
+public class ServiceResult<T> {
+    private final boolean success;
+    private final T value;
+    private final String message;
+
+    private ServiceResult(boolean success, T value, String message) {
+        this.success = success;
+        this.value = value;
+        this.message = message;
+    }
+
+    public static <T> ServiceResult<T> ok(T value) {
+        return new ServiceResult<>(true, value, null);
+    }
+
+    public static <T> ServiceResult<T> ok() {
+        return new ServiceResult<>(true, null, null);
+    }
+
+    public static <T> ServiceResult<T> fail(String message) {
+        return new ServiceResult<>(false, null, message);
+    }
+
+    // Getters
+    public boolean isSuccess() { return success; }
+    public T getValue() { return value; }
+    public String getMessage() { return message; }
+
+    @Override
+    public String toString() {
+        return success ? "ServiceResult{ok" + (value != null ? ", " + value : "") + '}'
+                : "ServiceResult{failed, " + message + '}';
+    }
+}
@@ -0,0 +1,14 @@
+package com.revshop.payment;
+
+import java.util.concurrent.CompletableFuture;
+
+// Authorizes payments without blocking the caller. Implementations complete the future
+// with a PaymentResult; a declined or failed payment is a result, not an exception.
+public interface PaymentGateway {
+
+    CompletableFuture<PaymentResult> authorize(PaymentRequest request);
+
+    // Release an authorization that will not be captured, e.g. when the order could
+    // not be placed after all
+    CompletableFuture<Void> voidAuthorization(String transactionId);
+}
@@ -0,0 +1,22 @@
+package com.revshop.payment;
+
+import com.revshop.config.AppConfig;
+
+// The gateway checkout uses by default: the simulator behind timeout, retry and circuit
+// breaker. One instance per JVM so every service shares the circuit's view of the gateway.
+public final class PaymentGateways {
+
+    private PaymentGateways() {}
+
+    private static class Holder {
+        private static final PaymentGateway DEFAULT = create(AppConfig.get());
+    }
+
+    public static PaymentGateway getDefault() {
+        return Holder.DEFAULT;
+    }
+
+    public static PaymentGateway create(AppConfig config) {
+        return ResilientPaymentGateway.fromConfig(SimulatedPaymentGateway.fromConfig(config), config);
+    }
+}
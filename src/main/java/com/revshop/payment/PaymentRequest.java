@@ -0,0 +1,31 @@
+package com.revshop.payment;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// One payment attempt. The idempotency key stays the same across retries so a gateway
+// that already processed the first try does not charge twice.
+public final class PaymentRequest {
+    private final String idempotencyKey;
+    private final int buyerId;
+    private final BigDecimal amount;
+    private final String paymentMethod;
+
+    public PaymentRequest(int buyerId, BigDecimal amount, String paymentMethod) {
+        this.idempotencyKey = UUID.randomUUID().toString();
+        this.buyerId = buyerId;
+        this.amount = amount;
+        this.paymentMethod = paymentMethod;
+    }
+
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public int getBuyerId() { return buyerId; }
+    public BigDecimal getAmount() { return amount; }
+    public String getPaymentMethod() { return paymentMethod; }
+
+    @Override
+    public String toString() {
+        return "PaymentRequest{key=" + idempotencyKey + ", buyerId=" + buyerId +
+                ", amount=" + amount + ", method=" + paymentMethod + '}';
+    }
+}
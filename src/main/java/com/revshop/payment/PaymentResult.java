@@ -0,0 +1,51 @@
+package com.revshop.payment;
+
+// Outcome of an authorization. DECLINED is the gateway's final answer; ERROR covers
+// timeouts, outages and an open circuit, and is worth retrying.
+public final class PaymentResult {
+
+    public enum Status {
+        APPROVED, DECLINED, ERROR
+    }
+
+    private final Status status;
+    private final String transactionId;
+    private final String message;
+
+    private PaymentResult(Status status, String transactionId, String message) {
+        this.status = status;
+        this.transactionId = transactionId;
+        this.message = message;
+    }
+
+    public static PaymentResult approved(String transactionId) {
+        return new PaymentResult(Status.APPROVED, transactionId, null);
+    }
+
+    public static PaymentResult declined(String message) {
+        return new PaymentResult(Status.DECLINED, null, message);
+    }
+
+    public static PaymentResult error(String message) {
+        return new PaymentResult(Status.ERROR, null, message);
+    }
+
+    public Status getStatus() { return status; }
+    public String getTransactionId() { return transactionId; }
+    public String getMessage() { return message; }
+
+    public boolean isApproved() {
+        return status == Status.APPROVED;
+    }
+
+    public boolean isRetryable() {
+        return status == Status.ERROR;
+    }
+
+    @Override
+    public String toString() {
+        return "PaymentResult{" + status +
+                (transactionId != null ? ", txn=" + transactionId : "") +
+                (message != null ? ", " + message : "") + '}';
+    }
+}
@@ -0,0 +1,116 @@
+package com.revshop.payment;
+
+import com.revshop.config.AppConfig;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+// Wraps a gateway with a per-attempt timeout, bounded retries with exponential backoff
+// and a circuit breaker. Only errors and timeouts are retried, never declines; retries
+// reuse the request and therefore its idempotency key. The returned future always
+// completes normally.
+//
+// A timed-out attempt is abandoned, but the gateway may still approve it later. Nobody
+// would release that hold, so an approval that arrives after its attempt timed out is
+// voided here.
+public class ResilientPaymentGateway implements PaymentGateway {
+    private static final Logger logger = LogManager.getLogger(ResilientPaymentGateway.class);
+
+    private final PaymentGateway delegate;
+    private final long timeoutMs;
+    private final int maxRetries;
+    private final long retryBackoffMs;
+    private final CircuitBreaker circuitBreaker;
+
+    public ResilientPaymentGateway(PaymentGateway delegate, long timeoutMs, int maxRetries, long retryBackoffMs,
+                                   CircuitBreaker circuitBreaker) {
+        this.delegate = delegate;
+        this.timeoutMs = timeoutMs;
+        this.maxRetries = Math.max(0, maxRetries);
+        this.retryBackoffMs = Math.max(0, retryBackoffMs);
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    // Settings from payment.* around the given gateway
+    public static ResilientPaymentGateway fromConfig(PaymentGateway delegate, AppConfig config) {
+        return new ResilientPaymentGateway(delegate,
+                config.getLong("payment.timeoutMs", 3000),
+                config.getInt("payment.maxRetries", 2),
+                config.getLong("payment.retryBackoffMs", 200),
+                new CircuitBreaker("payment",
+                        config.getInt("payment.circuit.failureThreshold", 5),
+                        config.getLong("payment.circuit.openMs", 30000)));
+    }
+
+    @Override
+    public CompletableFuture<PaymentResult> authorize(PaymentRequest request) {
+        return attempt(request, 0);
+    }
+
+    @Override
+    public CompletableFuture<Void> voidAuthorization(String transactionId) {
+        return delegate.voidAuthorization(transactionId)
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    logger.warn("Could not void authorization {}", transactionId, e);
+                    return null;
+                });
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    private CompletableFuture<PaymentResult> attempt(PaymentRequest request, int attempt) {
+        if (!circuitBreaker.tryAcquire()) {
+            return CompletableFuture.completedFuture(PaymentResult.error("Payment service unavailable"));
+        }
+
+        CompletableFuture<PaymentResult> call;
+        try {
+            call = delegate.authorize(request);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+
+        // A dependent stage, so timing out does not complete the gateway's own future
+        PaymentResult timedOut = PaymentResult.error("Timed out after " + timeoutMs + " ms");
+        CompletableFuture<PaymentResult> bounded = call.thenApply(result -> result)
+                .completeOnTimeout(timedOut, timeoutMs, TimeUnit.MILLISECONDS);
+        call.thenAccept(late -> bounded.thenAccept(outcome -> {
+            if (outcome == timedOut && late.isApproved()) {
+                logger.warn("Payment for {} approved after its attempt timed out, voiding {}",
+                        request.getIdempotencyKey(), late.getTransactionId());
+                voidAuthorization(late.getTransactionId());
+            }
+        }));
+
+        return bounded
+                .exceptionally(e -> PaymentResult.error(describe(e)))
+                .thenCompose(result -> {
+                    if (result.isRetryable()) {
+                        circuitBreaker.onFailure();
+                    } else {
+                        circuitBreaker.onSuccess();
+                    }
+                    if (!result.isRetryable() || attempt >= maxRetries) {
+                        return CompletableFuture.completedFuture(result);
+                    }
+
+                    long backoffMs = retryBackoffMs << attempt;
+                    logger.warn("Payment attempt {} for {} failed ({}), retrying in {} ms",
+                            attempt + 1, request.getIdempotencyKey(), result.getMessage(), backoffMs);
+                    return CompletableFuture.runAsync(() -> { },
+                                    CompletableFuture.delayedExecutor(backoffMs, TimeUnit.MILLISECONDS))
+                            .thenCompose(ignored -> attempt(request, attempt + 1));
+                });
+    }
+
+    private static String describe(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause.getClass().getSimpleName() + (cause.getMessage() != null ? ": " + cause.getMessage() : "");
+    }
+}
@@ -0,0 +1,78 @@
+package com.revshop.payment;
+
+import com.revshop.config.AppConfig;
+import com.revshop.util.PaymentSimulator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Stand-in for a card processor. Each authorization completes after a log-normally
+// distributed delay (median medianMs; sigma 0 makes it fixed) and is declined or fails
+// with the configured probabilities. No thread waits during the delay: the future is
+// completed from CompletableFuture's shared delay scheduler.
+public class SimulatedPaymentGateway implements PaymentGateway {
+    private static final Logger logger = LogManager.getLogger(SimulatedPaymentGateway.class);
+
+    private final long medianMs;
+    private final double latencySigma;
+    private final double declineRate;
+    private final double errorRate;
+
+    public SimulatedPaymentGateway(long medianMs, double latencySigma, double declineRate, double errorRate) {
+        if (declineRate < 0 || errorRate < 0 || declineRate + errorRate > 1) {
+            throw new IllegalArgumentException("Decline and error rates must be between 0 and 1 in total");
+        }
+        this.medianMs = Math.max(0, medianMs);
+        this.latencySigma = Math.max(0, latencySigma);
+        this.declineRate = declineRate;
+        this.errorRate = errorRate;
+    }
+
+    // Settings from payment.simulator.* (delayMs is the median latency)
+    public static SimulatedPaymentGateway fromConfig(AppConfig config) {
+        return new SimulatedPaymentGateway(
+                config.getLong("payment.simulator.delayMs", 300),
+                Double.parseDouble(config.getString("payment.simulator.latencySigma", "0.5")),
+                Double.parseDouble(config.getString("payment.simulator.declineRate", "0.1")),
+                Double.parseDouble(config.getString("payment.simulator.errorRate", "0.02")));
+    }
+
+    @Override
+    public CompletableFuture<PaymentResult> authorize(PaymentRequest request) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double roll = random.nextDouble();
+        PaymentResult result;
+        if (roll < errorRate) {
+            result = PaymentResult.error("Gateway error");
+        } else if (roll < errorRate + declineRate) {
+            result = PaymentResult.declined("Card declined");
+        } else {
+            result = PaymentResult.approved(PaymentSimulator.generateTransactionId());
+        }
+
+        long latencyMs = latencyMs(random);
+        logger.debug("Payment of {} via {} {} after {} ms", request.getAmount(), request.getPaymentMethod(),
+                result.getStatus(), latencyMs);
+        if (latencyMs == 0) {
+            return CompletableFuture.completedFuture(result);
+        }
+        return CompletableFuture.supplyAsync(() -> result,
+                CompletableFuture.delayedExecutor(latencyMs, TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public CompletableFuture<Void> voidAuthorization(String transactionId) {
+        logger.info("Authorization {} voided", transactionId);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private long latencyMs(ThreadLocalRandom random) {
+        if (medianMs == 0 || latencySigma == 0) {
+            return medianMs;
+        }
+        return Math.round(medianMs * Math.exp(latencySigma * random.nextGaussian()));
+    }
+}
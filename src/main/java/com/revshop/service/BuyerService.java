@@ -1,696 +1,427 @@
 package com.revshop.service;
 
+import com.revshop.cart.CartStore;
+import com.revshop.cart.CartStores;
 import com.revshop.dao.*;
 import com.revshop.model.*;
-import com.revshop.util.PaymentSimulator;
+import com.revshop.payment.PaymentGateway;
+import com.revshop.payment.PaymentGateways;
+import com.revshop.payment.PaymentRequest;
+import com.revshop.payment.PaymentResult;
+import com.revshop.util.PagingUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.math.BigDecimal;
-import java.util.List;
-import java.util.Scanner;
+import java.sql.Timestamp;
 import java.util.ArrayList;
-
-import static com.revshop.util.ConsoleColors.*;
-
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.function.UnaryOperator;
+
+// Buyer operations. Stateless and thread-safe: the buyer comes from the caller's
+// SessionContext and every result is returned rather than printed, so a single
+// instance can serve the console, HTTP handlers and simulated sessions at once.
 public class BuyerService {
     private static final Logger logger = LogManager.getLogger(BuyerService.class);
-    private ProductDAO productDAO;
-    private CartDAO cartDAO;
-    private OrderDAO orderDAO;
-    private ReviewDAO reviewDAO;
-    private UserDAO userDAO;
-    private NotificationService notificationService;
-    private FavoriteDAO favoriteDAO;
-    private Scanner scanner;
-    private int currentBuyerId;
-
-    public BuyerService(Scanner scanner, int buyerId) {
+    private final ProductDAO productDAO;
+    private final CartStore cartStore;
+    private final CartSummaryCache cartSummaryCache;
+    private final OrderDAO orderDAO;
+    private final ReviewDAO reviewDAO;
+    private final UserDAO userDAO;
+    private final NotificationService notificationService;
+    private final FavoriteDAO favoriteDAO;
+    private final PaymentGateway paymentGateway;
+
+    public BuyerService() {
+        this(PaymentGateways.getDefault());
+    }
+
+    public BuyerService(PaymentGateway paymentGateway) {
+        this(paymentGateway, CartStores.getDefault());
+    }
+
+    public BuyerService(PaymentGateway paymentGateway, CartStore cartStore) {
+        this.paymentGateway = paymentGateway;
+        this.cartStore = cartStore;
+        this.cartSummaryCache = CartSummaryCache.getInstance();
         this.productDAO = new ProductDAO();
-        this.cartDAO = new CartDAO();
         this.orderDAO = new OrderDAO();
         this.reviewDAO = new ReviewDAO();
         this.userDAO = new UserDAO();
         this.notificationService = new NotificationService();
         this.favoriteDAO = new FavoriteDAO();
-        this.scanner = scanner;
-        this.currentBuyerId = buyerId;
     }
 
-    // Browse all products
-    public void browseProducts() {
-        System.out.println(header("Browse Products"));
-        List<Product> products = productDAO.getAllProducts();
+    // Browse all products, one page at a time (0 for the first page)
+    public Page<Product> browseProducts(int afterProductId) {
+        return productDAO.getProductsPage(afterProductId, PagingUtil.DEFAULT_PAGE_SIZE);
+    }
 
-        if (products.isEmpty()) {
-            System.out.println(info("No products available."));
-            return;
-        }
-
-        for (Product product : products) {
-            System.out.println(productInfo(product.toString()));
-            if (product.getDiscountPrice() != null) {
-                System.out.printf(price("   (Original: $%.2f, Save: $%.2f)%n"),
-                        product.getMrp().doubleValue(),
-                        product.getMrp().subtract(product.getDiscountPrice()).doubleValue());
-            }
-            if (product.isLowStock()) {
-                System.out.println(warning("   ⚠️  Low stock! Only " + product.getStockQuantity() + " left."));
-            }
+    // Product with the first page of reviews, rating and favorite status (false for
+    // anonymous sessions); null if not found
+    public ProductDetails getProductDetails(SessionContext session, int productId) {
+        Product product = productDAO.getProductById(productId);
+        if (product == null) {
+            return null;
         }
+        return new ProductDetails(product,
+                reviewDAO.getReviewsPage(productId, Review.SortOrder.NEWEST, null, PagingUtil.DEFAULT_PAGE_SIZE),
+                reviewDAO.getRatingStats(productId),
+                session.isLoggedIn() && favoriteDAO.isFavorite(session.getUserId(), productId));
     }
 
-    // View product details
-    public void viewProductDetails() {
-        System.out.print(inputPrompt("Enter Product ID to view details: "));
-        try {
-            int productId = Integer.parseInt(scanner.nextLine());
-            Product product = productDAO.getProductById(productId);
-
-            if (product == null) {
-                System.out.println(error("Product not found!"));
-                return;
-            }
+    // One page of a product's reviews; after is the last review of the previous page
+    // (null for the first page)
+    public Page<Review> getReviews(int productId, Review.SortOrder sort, Review after) {
+        return reviewDAO.getReviewsPage(productId, sort, after, PagingUtil.DEFAULT_PAGE_SIZE);
+    }
 
-            System.out.println(header("Product Details"));
-            System.out.println(info("ID: " + product.getProductId()));
-            System.out.println(info("Name: " + product.getName()));
-            System.out.println(info("Description: " + product.getDescription()));
-            System.out.println(info("Category: " + product.getCategory()));
-            System.out.printf(price("Price: $%.2f%n"), product.getPrice().doubleValue());
-            System.out.printf(price("MRP: $%.2f%n"), product.getMrp().doubleValue());
-            if (product.getDiscountPrice() != null) {
-                System.out.printf(price("Discounted Price: $%.2f%n"), product.getDiscountPrice().doubleValue());
-                double discountPercent = (1 - product.getDiscountPrice().doubleValue() / product.getMrp().doubleValue()) * 100;
-                System.out.printf(price("You Save: $%.2f (%.0f%%)%n"),
-                        product.getMrp().subtract(product.getDiscountPrice()).doubleValue(),
-                        discountPercent);
-            }
-            System.out.println(info("Stock: " + product.getStockQuantity()));
+    // Full text of a review whose comment was truncated in the feed; null if not found
+    public String getReviewComment(int productId, int reviewId) {
+        return reviewDAO.getReviewComment(productId, reviewId);
+    }
 
-            // Check if it's in favorites
-            boolean isFavorite = favoriteDAO.isFavorite(currentBuyerId, productId);
-            System.out.println(info("❤️  In Favorites: " + (isFavorite ? "Yes" : "No")));
+    // One page of the best rated products, highest average first, after the given one
+    // (null for the first page)
+    public Page<RatedProduct> getTopRatedProducts(RatedProduct after) {
+        return productDAO.getTopRatedProductsPage(after, PagingUtil.DEFAULT_PAGE_SIZE);
+    }
 
-            if (product.isLowStock()) {
-                System.out.println(warning("⚠️  Low stock alert! Only " + product.getStockQuantity() + " items left."));
-            }
+    public List<String> getCategories() {
+        return productDAO.getAllCategories();
+    }
 
-            // Show reviews
-            List<Review> reviews = reviewDAO.getReviewsByProduct(productId);
-            double avgRating = reviewDAO.getAverageRating(productId);
-
-            System.out.println();
-            System.out.printf(highlight("Average Rating: %.1f/5.0 ⭐%n"), avgRating);
-            System.out.println(subheader("Reviews:"));
-            if (reviews.isEmpty()) {
-                System.out.println(info("   No reviews yet."));
-            } else {
-                for (Review review : reviews) {
-                    System.out.println("   " + review);
-                }
-            }
+    public List<Product> getProductsByCategory(String category) {
+        return productDAO.getProductsByCategory(category);
+    }
 
-        } catch (NumberFormatException e) {
-            System.out.println(error("Invalid product ID!"));
+    // Search products
+    public ServiceResult<List<Product>> searchProducts(String keyword) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return ServiceResult.fail("Please enter a search term!");
         }
+        return ServiceResult.ok(productDAO.searchProducts(keyword.trim()));
     }
 
-    // Browse by category
-    public void browseByCategory() {
-        List<String> categories = productDAO.getAllCategories();
+    // ================== CART METHODS ==================
 
-        if (categories.isEmpty()) {
-            System.out.println(info("No categories available."));
-            return;
+    // Add to cart
+    public ServiceResult<CartItem> addToCart(SessionContext session, int productId, int quantity) {
+        Product product = productDAO.getProductById(productId);
+        if (product == null) {
+            return ServiceResult.fail("Product not found!");
         }
-
-        System.out.println(header("Categories"));
-        for (int i = 0; i < categories.size(); i++) {
-            System.out.println(option(String.valueOf(i + 1), categories.get(i)));
+        if (product.getStockQuantity() <= 0) {
+            return ServiceResult.fail("Product out of stock!");
         }
-
-        System.out.print(inputPrompt("Select category number: "));
-        try {
-            int choice = Integer.parseInt(scanner.nextLine());
-            if (choice < 1 || choice > categories.size()) {
-                System.out.println(error("Invalid choice!"));
-                return;
-            }
-
-            String category = categories.get(choice - 1);
-            List<Product> products = productDAO.getProductsByCategory(category);
-
-            System.out.println(header(category));
-            if (products.isEmpty()) {
-                System.out.println(info("No products in this category."));
-            } else {
-                for (Product product : products) {
-                    boolean isFavorite = favoriteDAO.isFavorite(currentBuyerId, product.getProductId());
-                    String favoriteStar = isFavorite ? "⭐ " : "";
-                    System.out.println(favoriteStar + productInfo(product.toString()));
-                }
-            }
-        } catch (NumberFormatException e) {
-            System.out.println(error("Invalid input!"));
+        if (quantity <= 0) {
+            return ServiceResult.fail("Quantity must be positive!");
         }
-    }
-
-    // Search products
-    public void searchProducts() {
-        System.out.print(inputPrompt("Enter search keyword: "));
-        String keyword = scanner.nextLine().trim();
-
-        if (keyword.isEmpty()) {
-            System.out.println(error("Please enter a search term!"));
-            return;
+        if (quantity > product.getStockQuantity()) {
+            return ServiceResult.fail("Only " + product.getStockQuantity() + " items available!");
         }
 
-        List<Product> products = productDAO.searchProducts(keyword);
+        CartItem cartItem = new CartItem(session.getUserId(), productId, quantity);
+        if (changeCart(session.getUserId(), () -> cartStore.add(cartItem),
+                summary -> summary.withAdded(product, quantity))) {
+            return ServiceResult.ok(cartItem);
+        }
 
-        System.out.println(search("Search Results for '" + keyword + "'"));
-        if (products.isEmpty()) {
-            System.out.println(info("No products found."));
-        } else {
-            System.out.println(success("Found " + products.size() + " product(s):"));
-            for (Product product : products) {
-                boolean isFavorite = favoriteDAO.isFavorite(currentBuyerId, product.getProductId());
-                String favoriteStar = isFavorite ? "❤️  " : "";
-                System.out.println(favoriteStar + productInfo(product.toString()));
-            }
+        // Rejected by the stock check: say how much is already in the cart
+        CartItem existing = cartStore.getItem(session.getUserId(), productId);
+        if (existing != null && existing.getQuantity() + quantity > product.getStockQuantity()) {
+            return ServiceResult.fail("You already have " + existing.getQuantity() + " in your cart; only "
+                    + product.getStockQuantity() + " items available!");
         }
+        return ServiceResult.fail("Failed to add to cart!");
     }
 
-    // Add to cart
-    public void addToCart() {
-        System.out.print(inputPrompt("Enter Product ID to add to cart: "));
-        try {
-            int productId = Integer.parseInt(scanner.nextLine());
-
-            Product product = productDAO.getProductById(productId);
-            if (product == null) {
-                System.out.println(error("Product not found!"));
-                return;
-            }
-
-            if (product.getStockQuantity() <= 0) {
-                System.out.println(error("Product out of stock!"));
-                return;
-            }
-
-            System.out.print(inputPrompt("Quantity (default 1): "));
-            String quantityStr = scanner.nextLine().trim();
-            int quantity = quantityStr.isEmpty() ? 1 : Integer.parseInt(quantityStr);
-
-            if (quantity <= 0) {
-                System.out.println(error("Quantity must be positive!"));
-                return;
-            }
-
-            if (quantity > product.getStockQuantity()) {
-                System.out.println(error("Only " + product.getStockQuantity() + " items available!"));
-                return;
-            }
-
-            CartItem cartItem = new CartItem(currentBuyerId, productId, quantity);
-            if (cartDAO.addToCart(cartItem)) {
-                System.out.println(success("Added to cart!"));
-            } else {
-                System.out.println(error("Failed to add to cart!"));
+    // Add several products at once (product ID -> quantity). Lines that fit in stock are
+    // added even if others do not; the failure message names the products left out.
+    public ServiceResult<Void> addAllToCart(SessionContext session, Map<Integer, Integer> quantities) {
+        List<CartItem> items = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> entry : quantities.entrySet()) {
+            if (entry.getValue() <= 0) {
+                return ServiceResult.fail("Quantity must be positive!");
             }
-        } catch (NumberFormatException e) {
-            System.out.println(error("Invalid input!"));
+            items.add(new CartItem(session.getUserId(), entry.getKey(), entry.getValue()));
         }
-    }
-
-    // View cart
-    public void viewCart() {
-        System.out.println(header("Shopping Cart 🛒"));
-        List<CartItem> cartItems = cartDAO.getCartItems(currentBuyerId);
 
-        if (cartItems.isEmpty()) {
-            System.out.println(info("Your cart is empty."));
-            return;
+        // The added products are not at hand, so the summary is built again on next use
+        List<CartItem> rejected;
+        cartSummaryCache.beginUpdate(session.getUserId());
+        try {
+            rejected = cartStore.addAll(items);
+        } finally {
+            cartSummaryCache.endUpdateAndInvalidate(session.getUserId());
         }
-
-        double total = 0;
-        for (int i = 0; i < cartItems.size(); i++) {
-            CartItem item = cartItems.get(i);
-            boolean isFavorite = favoriteDAO.isFavorite(currentBuyerId, item.getProductId());
-            String favoriteStar = isFavorite ? "❤️  " : "";
-            System.out.println(option(String.valueOf(i + 1), favoriteStar + item.toString()));
-            total += item.getTotalPrice();
+        if (rejected.isEmpty()) {
+            return ServiceResult.ok();
         }
-
-        System.out.println("------------------------");
-        System.out.printf(price("Total: $%.2f%n"), total);
+        StringBuilder productIds = new StringBuilder();
+        for (CartItem item : rejected) {
+            productIds.append(productIds.length() == 0 ? "" : ", ").append(item.getProductId());
+        }
+        return ServiceResult.fail("Not enough stock to add product(s): " + productIds);
     }
 
-    // Update cart item quantity
-    public void updateCartQuantity() {
-        System.out.print(inputPrompt("Enter cart item number to update: "));
-        try {
-            int itemNumber = Integer.parseInt(scanner.nextLine());
-            List<CartItem> cartItems = cartDAO.getCartItems(currentBuyerId);
-
-            if (itemNumber < 1 || itemNumber > cartItems.size()) {
-                System.out.println(error("Invalid item number!"));
-                return;
-            }
+    public List<CartItem> getCart(SessionContext session) {
+        return cartStore.getItems(session.getUserId());
+    }
 
-            CartItem item = cartItems.get(itemNumber - 1);
-            Product product = item.getProduct();
+    // Item count, subtotal and savings of the buyer's cart, kept up to date as the cart
+    // changes instead of being added up on every call
+    public CartSummary getCartSummary(SessionContext session) {
+        return cartSummaryCache.get(session.getUserId(), buyerId -> CartSummary.of(cartStore.getItems(buyerId)));
+    }
 
-            System.out.print(inputPrompt("Enter new quantity (0 to remove): "));
-            int newQuantity = Integer.parseInt(scanner.nextLine());
+    // Set a cart line's quantity; 0 removes it
+    public ServiceResult<Void> updateCartQuantity(SessionContext session, int productId, int quantity) {
+        if (quantity < 0) {
+            return ServiceResult.fail("Quantity cannot be negative!");
+        }
 
-            if (newQuantity < 0) {
-                System.out.println(error("Quantity cannot be negative!"));
-                return;
-            }
+        CartItem item = cartStore.getItem(session.getUserId(), productId);
+        if (item == null) {
+            return ServiceResult.fail("Item not found in cart!");
+        }
 
-            if (newQuantity > product.getStockQuantity()) {
-                System.out.println(error("Only " + product.getStockQuantity() + " items available!"));
-                return;
-            }
+        Product product = productDAO.getProductById(productId);
+        if (product != null && quantity > product.getStockQuantity()) {
+            return ServiceResult.fail("Only " + product.getStockQuantity() + " items available!");
+        }
 
-            if (cartDAO.updateCartItemQuantity(currentBuyerId, item.getProductId(), newQuantity)) {
-                System.out.println(success("Cart updated!"));
-            } else {
-                System.out.println(error("Failed to update cart!"));
-            }
-        } catch (NumberFormatException e) {
-            System.out.println(error("Invalid input!"));
+        // Without the product (deactivated meanwhile) the summary drops the line
+        if (changeCart(session.getUserId(), () -> cartStore.updateQuantity(session.getUserId(), productId, quantity),
+                summary -> product != null ? summary.withQuantity(product, quantity) : summary.without(productId))) {
+            return ServiceResult.ok();
         }
+        return ServiceResult.fail("Failed to update cart!");
     }
 
-    // Remove from cart
-    public void removeFromCart() {
-        System.out.print(inputPrompt("Enter Product ID to remove from cart: "));
-        try {
-            int productId = Integer.parseInt(scanner.nextLine());
-
-            if (cartDAO.removeFromCart(currentBuyerId, productId)) {
-                System.out.println(success("Removed from cart!"));
-            } else {
-                System.out.println(error("Item not found in cart!"));
-            }
-        } catch (NumberFormatException e) {
-            System.out.println(error("Invalid product ID!"));
-        }
+    public boolean removeFromCart(SessionContext session, int productId) {
+        return changeCart(session.getUserId(), () -> cartStore.remove(session.getUserId(), productId),
+                summary -> summary.without(productId));
     }
 
-    // Checkout
-    public void checkout() {
-        List<CartItem> cartItems = cartDAO.getCartItems(currentBuyerId);
+    // Checkout: validate the cart against stock, take payment, then place the order
+    // (reserve stock, save order, clear cart) in one transaction. Authorization runs
+    // asynchronously while the addresses are resolved and the order is assembled.
+    public CheckoutResult checkout(SessionContext session, CheckoutRequest request) {
+        int buyerId = session.getUserId();
+        List<CartItem> cartItems = cartStore.getItems(buyerId);
 
         if (cartItems.isEmpty()) {
-            System.out.println(error("Your cart is empty!"));
-            return;
+            return CheckoutResult.emptyCart();
         }
 
-        System.out.println(header("Checkout 💳"));
-
-        // Display cart items
-        double total = 0;
+        // Fail fast if the cart already asks for more than is in stock
+        List<CheckoutResult.OutOfStockItem> unavailable = new ArrayList<>();
         for (CartItem item : cartItems) {
-            System.out.println(productInfo(item.toString()));
-            total += item.getTotalPrice();
+            if (item.getQuantity() > item.getProduct().getStockQuantity()) {
+                unavailable.add(new CheckoutResult.OutOfStockItem(item.getProductId(),
+                        item.getQuantity(), item.getProduct().getStockQuantity()));
+            }
         }
-
-        System.out.println("------------------------");
-        System.out.printf(price("Total: $%.2f%n"), total);
-
-        // Get shipping address
-        User buyer = userDAO.getUserById(currentBuyerId);
-        System.out.println();
-        System.out.println(info("Current Address: " + buyer.getAddress()));
-        System.out.print(inputPrompt("Enter Shipping Address (press enter to use current): "));
-        String shippingAddress = scanner.nextLine().trim();
-        if (shippingAddress.isEmpty()) {
-            shippingAddress = buyer.getAddress();
+        if (!unavailable.isEmpty()) {
+            return CheckoutResult.outOfStock(unavailable);
         }
-
-        // Get billing address
-        System.out.print(inputPrompt("Enter Billing Address (press enter to use shipping address): "));
-        String billingAddress = scanner.nextLine().trim();
-        if (billingAddress.isEmpty()) {
-            billingAddress = shippingAddress;
+        if (isBlank(request.getPaymentMethod())) {
+            return CheckoutResult.failed();
         }
 
-        // Select payment method
-        String[] paymentMethods = PaymentSimulator.getAvailablePaymentMethods();
-        System.out.println();
-        System.out.println(subheader("Select Payment Method:"));
-        for (int i = 0; i < paymentMethods.length; i++) {
-            System.out.println(option(String.valueOf(i + 1), paymentMethods[i]));
+        // Convert cart items to order items
+        BigDecimal total = BigDecimal.ZERO;
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (CartItem cartItem : cartItems) {
+            BigDecimal price = cartItem.getProduct().getFinalPrice();
+            orderItems.add(new OrderItem(0, cartItem.getProductId(), cartItem.getQuantity(), price));
+            total = total.add(price.multiply(BigDecimal.valueOf(cartItem.getQuantity())));
         }
 
-        System.out.print(inputPrompt("Enter choice: "));
-        try {
-            int choice = Integer.parseInt(scanner.nextLine());
-            if (choice < 1 || choice > paymentMethods.length) {
-                System.out.println(error("Invalid choice!"));
-                return;
-            }
+        // Start authorization, then prepare the order while the gateway works
+        CompletableFuture<PaymentResult> authorization =
+                paymentGateway.authorize(new PaymentRequest(buyerId, total, request.getPaymentMethod()));
 
-            String paymentMethod = paymentMethods[choice - 1];
+        String shippingAddress = isBlank(request.getShippingAddress())
+                ? profileAddress(session) : request.getShippingAddress().trim();
+        String billingAddress = isBlank(request.getBillingAddress())
+                ? shippingAddress : request.getBillingAddress().trim();
 
-            // Process payment
-            System.out.println(info("Processing payment..."));
-            if (!PaymentSimulator.processPayment(total, paymentMethod)) {
-                System.out.println(error("Checkout cancelled due to payment failure!"));
-                return;
-            }
+        Order order = new Order(buyerId, total, shippingAddress, billingAddress);
+        order.setPaymentMethod(request.getPaymentMethod());
+        order.setPaymentStatus(Order.PaymentStatus.COMPLETED);
+        order.setOrderItems(orderItems);
 
-            // Create order
-            Order order = new Order(currentBuyerId, BigDecimal.valueOf(total),
-                    shippingAddress, billingAddress);
-            order.setPaymentMethod(paymentMethod);
-            order.setPaymentStatus(Order.PaymentStatus.COMPLETED);
-
-            // Convert cart items to order items
-            List<OrderItem> orderItems = new ArrayList<>();
-            for (CartItem cartItem : cartItems) {
-                OrderItem orderItem = new OrderItem(0, cartItem.getProductId(),
-                        cartItem.getQuantity(),
-                        cartItem.getProduct().getFinalPrice());
-                orderItems.add(orderItem);
-            }
-            order.setOrderItems(orderItems);
-
-            // Save order
-            System.out.println(info("Creating order..."));
-            if (orderDAO.createOrder(order)) {
-                // Clear cart
-                cartDAO.clearCart(currentBuyerId);
-
-                // Update stock
-                for (CartItem cartItem : cartItems) {
-                    productDAO.updateStockQuantity(cartItem.getProductId(), -cartItem.getQuantity());
-                }
-
-                // Send notification
-                notificationService.sendNotification(currentBuyerId,
-                        "Order #" + order.getOrderId() + " placed successfully!", "ORDER");
-
-                System.out.println();
-                System.out.println(success("Order placed successfully! 🎉"));
-                System.out.println(info("Order ID: " + order.getOrderId()));
-                System.out.println(info("Total: $" + total));
-                System.out.println(info("Shipping to: " + shippingAddress));
-
-                logger.info("Order placed: {} for buyer: {}", order.getOrderId(), currentBuyerId);
-            } else {
-                System.out.println(error("Failed to place order!"));
-            }
-        } catch (NumberFormatException e) {
-            System.out.println(error("Invalid input!"));
-        }
-    }
-
-    // View order history
-    public void viewOrderHistory() {
-        System.out.println(header("Order History 📋"));
-        List<Order> orders = orderDAO.getOrdersByBuyer(currentBuyerId);
-
-        if (orders.isEmpty()) {
-            System.out.println(info("No orders found."));
-            return;
-        }
-
-        for (Order order : orders) {
-            System.out.println();
-            System.out.println(orderStatus(order.toString()));
-            System.out.println(info("Shipping: " + order.getShippingAddress()));
-            System.out.println(info("Payment: " + order.getPaymentMethod() + " - " +
-                    order.getPaymentStatus()));
-
-            // Show order items
-            if (order.getOrderItems() != null && !order.getOrderItems().isEmpty()) {
-                System.out.println(subheader("Items:"));
-                for (OrderItem item : order.getOrderItems()) {
-                    boolean isFavorite = favoriteDAO.isFavorite(currentBuyerId, item.getProductId());
-                    String favoriteStar = isFavorite ? "❤️  " : "";
-                    System.out.println("   " + favoriteStar + item);
-                }
-            }
+        PaymentResult payment = authorization.join();
+        if (!payment.isApproved()) {
+            logger.info("Payment for buyer {} not approved: {}", buyerId, payment);
+            return CheckoutResult.paymentFailed();
         }
-    }
-
-    // Add review
-    public void addReview() {
-        System.out.println(header("Add Review ⭐"));
 
-        // Get order ID
-        System.out.print(inputPrompt("Enter Order ID: "));
+        CheckoutResult result = null;
+        long token = cartSummaryCache.beginUpdate(buyerId);
         try {
-            int orderId = Integer.parseInt(scanner.nextLine());
-            Order order = orderDAO.getOrderById(orderId);
-
-            if (order == null || order.getBuyerId() != currentBuyerId) {
-                System.out.println(error("Order not found!"));
-                return;
-            }
-
-            // Check if order is delivered
-            if (order.getStatus() != Order.OrderStatus.DELIVERED) {
-                System.out.println(error("You can only review delivered orders!"));
-                return;
-            }
-
-            // Show order items
-            System.out.println(subheader("Order Items:"));
-            List<OrderItem> items = order.getOrderItems();
-            for (int i = 0; i < items.size(); i++) {
-                OrderItem item = items.get(i);
-                boolean isFavorite = favoriteDAO.isFavorite(currentBuyerId, item.getProductId());
-                String favoriteStar = isFavorite ? "❤️  " : "";
-                System.out.println(option(String.valueOf(i + 1), favoriteStar + item.getProduct().getName()));
-            }
-
-            System.out.print(inputPrompt("Select item number to review: "));
-            int itemChoice = Integer.parseInt(scanner.nextLine());
-
-            if (itemChoice < 1 || itemChoice > items.size()) {
-                System.out.println(error("Invalid choice!"));
-                return;
-            }
-
-            OrderItem selectedItem = items.get(itemChoice - 1);
-            int productId = selectedItem.getProductId();
-
-            // Check if already reviewed
-            if (reviewDAO.hasReviewed(currentBuyerId, productId, orderId)) {
-                System.out.println(error("You have already reviewed this product!"));
-                return;
-            }
-
-            // Get rating
-            System.out.print(inputPrompt("Rating (1-5): "));
-            int rating = Integer.parseInt(scanner.nextLine());
-
-            if (rating < 1 || rating > 5) {
-                System.out.println(error("Rating must be between 1 and 5!"));
-                return;
-            }
-
-            System.out.print(inputPrompt("Comment: "));
-            String comment = scanner.nextLine().trim();
-
-            Review review = new Review(productId, currentBuyerId, orderId, rating, comment);
-            if (reviewDAO.createReview(review)) {
-                System.out.println(success("Review added successfully!"));
-            } else {
-                System.out.println(error("Failed to add review!"));
-            }
-        } catch (NumberFormatException e) {
-            System.out.println(error("Invalid input!"));
+            result = orderDAO.placeOrder(order, placed -> new Notification(buyerId, "ORDER",
+                    "Order #" + placed.getOrderId() + " placed successfully!"));
+        } catch (RuntimeException e) {
+            // placeOrder failed outright (no connection, pool error): no order, release the hold
+            paymentGateway.voidAuthorization(payment.getTransactionId());
+            throw e;
+        } finally {
+            cartSummaryCache.endUpdate(buyerId, token,
+                    result != null && result.isSuccess() ? summary -> CartSummary.EMPTY : null);
+        }
+        if (result.isSuccess()) {
+            cartStore.checkedOut(buyerId);
+            notificationService.dispatchPending();
+            logger.info("Order placed: {} for buyer: {} ({})", order.getOrderId(), buyerId,
+                    payment.getTransactionId());
+        } else {
+            // Stock ran out meanwhile or the insert failed: release the hold on the card
+            paymentGateway.voidAuthorization(payment.getTransactionId());
         }
+        return result;
     }
 
-    // View notifications
-    public void viewNotifications() {
-        System.out.println(header("Notifications 🔔"));
-        notificationService.getNotifications(currentBuyerId);
+    // ================== ORDERS AND REVIEWS ==================
+
+    // Order history, newest first; pass the last order's date and ID for the next page
+    public Page<Order> getOrderHistory(SessionContext session, Timestamp beforeDate, int beforeOrderId) {
+        return orderDAO.getOrdersByBuyerPage(session.getUserId(), beforeDate, beforeOrderId,
+                PagingUtil.DEFAULT_PAGE_SIZE);
     }
 
-    // Mark notification as read
-    public void markNotificationAsRead() {
-        System.out.print(inputPrompt("Enter Notification ID to mark as read: "));
-        try {
-            int notificationId = Integer.parseInt(scanner.nextLine());
-            if (notificationService.markAsRead(notificationId)) {
-                System.out.println(success("Notification marked as read!"));
-            } else {
-                System.out.println(error("Notification not found!"));
-            }
-        } catch (NumberFormatException e) {
-            System.out.println(error("Invalid input!"));
+    // An order of this buyer that can be reviewed (delivered)
+    public ServiceResult<Order> getReviewableOrder(SessionContext session, int orderId) {
+        Order order = orderDAO.getOrderById(orderId);
+        if (order == null || order.getBuyerId() != session.getUserId()) {
+            return ServiceResult.fail("Order not found!");
+        }
+        if (order.getStatus() != Order.OrderStatus.DELIVERED) {
+            return ServiceResult.fail("You can only review delivered orders!");
         }
+        return ServiceResult.ok(order);
     }
 
-    // ================== FAVORITES METHODS ==================
-
-    // View favorites
-    public void viewFavorites() {
-        System.out.println(header("My Favorites ❤️"));
-        List<Product> favorites = favoriteDAO.getFavoriteProducts(currentBuyerId);
+    // Add review for a product of a delivered order
+    public ServiceResult<Review> addReview(SessionContext session, int orderId, int productId,
+                                           int rating, String comment) {
+        ServiceResult<Order> order = getReviewableOrder(session, orderId);
+        if (!order.isSuccess()) {
+            return ServiceResult.fail(order.getMessage());
+        }
 
-        int favoriteCount = favoriteDAO.getFavoriteCount(currentBuyerId);
-        System.out.println(info("Total Favorites: " + favoriteCount));
+        boolean inOrder = false;
+        for (OrderItem item : order.getValue().getOrderItems()) {
+            inOrder |= item.getProductId() == productId;
+        }
+        if (!inOrder) {
+            return ServiceResult.fail("Product is not part of this order!");
+        }
 
-        if (favorites.isEmpty()) {
-            System.out.println(info("Your favorites list is empty."));
-            return;
+        int buyerId = session.getUserId();
+        if (reviewDAO.hasReviewed(buyerId, productId, orderId)) {
+            return ServiceResult.fail("You have already reviewed this product!");
+        }
+        if (rating < 1 || rating > 5) {
+            return ServiceResult.fail("Rating must be between 1 and 5!");
         }
 
-        System.out.println(success("You have " + favorites.size() + " favorite product(s):"));
-        System.out.println();
+        Review review = new Review(productId, buyerId, orderId, rating, comment);
+        if (reviewDAO.createReview(review)) {
+            return ServiceResult.ok(review);
+        }
+        return ServiceResult.fail("Failed to add review!");
+    }
 
-        for (int i = 0; i < favorites.size(); i++) {
-            Product product = favorites.get(i);
-            System.out.println(option(String.valueOf(i + 1), product.getName()));
-            System.out.println("   " + info(product.getDescription()));
-            System.out.printf("   " + price("Price: $%.2f"), product.getFinalPrice().doubleValue());
-            if (product.getDiscountPrice() != null) {
-                System.out.printf(price(" (Save: $%.2f)"),
-                        product.getMrp().subtract(product.getDiscountPrice()).doubleValue());
-            }
-            System.out.println();
-            System.out.println("   " + info("Stock: " + product.getStockQuantity()));
-            System.out.println("   " + info("Category: " + product.getCategory()));
+    // ================== FAVORITES METHODS ==================
 
-            if (product.isLowStock()) {
-                System.out.println("   " + warning("⚠️  Low stock! Only " + product.getStockQuantity() + " left."));
-            }
+    public List<Product> getFavorites(SessionContext session) {
+        return favoriteDAO.getFavoriteProducts(session.getUserId());
+    }
 
-            System.out.println();
+    // IDs of the buyer's favorites, for marking products in listings with one query
+    public Set<Integer> getFavoriteProductIds(SessionContext session) {
+        Set<Integer> productIds = new HashSet<>();
+        for (Product product : favoriteDAO.getFavoriteProducts(session.getUserId())) {
+            productIds.add(product.getProductId());
         }
+        return productIds;
     }
 
     // Add product to favorites
-    public void addToFavorites() {
-        System.out.println(header("Add to Favorites ❤️"));
-        System.out.print(inputPrompt("Enter Product ID to add to favorites: "));
-
-        try {
-            int productId = Integer.parseInt(scanner.nextLine());
-            Product product = productDAO.getProductById(productId);
-
-            if (product == null) {
-                System.out.println(error("Product not found!"));
-                return;
-            }
-
-            if (!product.isActive()) {
-                System.out.println(error("Product is not available!"));
-                return;
-            }
+    public ServiceResult<Product> addToFavorites(SessionContext session, int productId) {
+        int buyerId = session.getUserId();
+        Product product = productDAO.getProductById(productId);
 
-            if (favoriteDAO.isFavorite(currentBuyerId, productId)) {
-                System.out.println(warning("Product is already in your favorites!"));
-                return;
-            }
-
-            if (favoriteDAO.addToFavorites(currentBuyerId, productId)) {
-                System.out.println(success("✓ Added to favorites!"));
-
-                // Send notification
-                notificationService.sendNotification(currentBuyerId,
-                        "Added \"" + product.getName() + "\" to favorites!", "FAVORITE");
-            } else {
-                System.out.println(error("Failed to add to favorites!"));
-            }
+        if (product == null) {
+            return ServiceResult.fail("Product not found!");
+        }
+        if (!product.isActive()) {
+            return ServiceResult.fail("Product is not available!");
+        }
+        if (favoriteDAO.isFavorite(buyerId, productId)) {
+            return ServiceResult.fail("Product is already in your favorites!");
+        }
 
-        } catch (NumberFormatException e) {
-            System.out.println(error("Invalid Product ID!"));
+        if (favoriteDAO.addToFavorites(buyerId, productId)) {
+            notificationService.sendNotification(buyerId,
+                    "Added \"" + product.getName() + "\" to favorites!", "FAVORITE");
+            return ServiceResult.ok(product);
         }
+        return ServiceResult.fail("Failed to add to favorites!");
     }
 
-    // Remove product from favorites
-    public void removeFromFavorites() {
-        System.out.println(header("Remove from Favorites"));
-
-        // First show current favorites
-        viewFavorites();
-
-        System.out.print(inputPrompt("\nEnter Product ID to remove from favorites: "));
-
-        try {
-            int productId = Integer.parseInt(scanner.nextLine());
+    public boolean removeFromFavorites(SessionContext session, int productId) {
+        return favoriteDAO.removeFromFavorites(session.getUserId(), productId);
+    }
 
-            if (favoriteDAO.removeFromFavorites(currentBuyerId, productId)) {
-                System.out.println(success("✓ Removed from favorites!"));
-            } else {
-                System.out.println(error("Product not found in your favorites!"));
-            }
+    // Toggle favorite status; the value is true when the product is now a favorite
+    public ServiceResult<Boolean> toggleFavorite(SessionContext session, int productId) {
+        int buyerId = session.getUserId();
+        if (productDAO.getProductById(productId) == null) {
+            return ServiceResult.fail("Product not found!");
+        }
 
-        } catch (NumberFormatException e) {
-            System.out.println(error("Invalid Product ID!"));
+        if (favoriteDAO.isFavorite(buyerId, productId)) {
+            return favoriteDAO.removeFromFavorites(buyerId, productId)
+                    ? ServiceResult.ok(false) : ServiceResult.fail("Failed to remove from favorites!");
         }
+        return favoriteDAO.addToFavorites(buyerId, productId)
+                ? ServiceResult.ok(true) : ServiceResult.fail("Failed to add to favorites!");
     }
 
-    // Toggle favorite status
-    public void toggleFavorite() {
-        System.out.println(header("Quick Favorite Toggle"));
-        System.out.print(inputPrompt("Enter Product ID: "));
-
+    // Run a cart write between the summary cache's beginUpdate and endUpdate; change is
+    // applied to a cached summary if the write succeeded
+    private boolean changeCart(int buyerId, BooleanSupplier write, UnaryOperator<CartSummary> change) {
+        boolean changed = false;
+        long token = cartSummaryCache.beginUpdate(buyerId);
         try {
-            int productId = Integer.parseInt(scanner.nextLine());
-            Product product = productDAO.getProductById(productId);
-
-            if (product == null) {
-                System.out.println(error("Product not found!"));
-                return;
-            }
-
-            if (favoriteDAO.isFavorite(currentBuyerId, productId)) {
-                // Remove from favorites
-                if (favoriteDAO.removeFromFavorites(currentBuyerId, productId)) {
-                    System.out.println(success("✓ Removed from favorites!"));
-                }
-            } else {
-                // Add to favorites
-                if (favoriteDAO.addToFavorites(currentBuyerId, productId)) {
-                    System.out.println(success("✓ Added to favorites!"));
-                }
-            }
-
-        } catch (NumberFormatException e) {
-            System.out.println(error("Invalid Product ID!"));
+            changed = write.getAsBoolean();
+        } finally {
+            cartSummaryCache.endUpdate(buyerId, token, changed ? change : null);
         }
+        return changed;
     }
 
-    // Browse products with favorite status
-    public void browseProductsWithFavorites() {
-        System.out.println(header("Browse Products with Favorite Status"));
-        List<Product> products = productDAO.getAllProducts();
-
-        if (products.isEmpty()) {
-            System.out.println(info("No products available."));
-            return;
+    // Address on the buyer's profile; token-based sessions only carry the user ID
+    private String profileAddress(SessionContext session) {
+        String address = session.getUser().getAddress();
+        if (address == null) {
+            User buyer = userDAO.getUserById(session.getUserId());
+            address = buyer != null ? buyer.getAddress() : null;
         }
+        return address;
+    }
 
-        List<Integer> favoriteIds = favoriteDAO.getFavoriteProductIds(currentBuyerId);
-
-        for (Product product : products) {
-            boolean isFavorite = favoriteIds.contains(product.getProductId());
-            String favoriteStatus = isFavorite ? "❤️  " : "   ";
-
-            System.out.println(favoriteStatus + productInfo(product.toString()));
-
-            if (product.getDiscountPrice() != null) {
-                System.out.printf(price("   (Original: $%.2f, Save: $%.2f)%n"),
-                        product.getMrp().doubleValue(),
-                        product.getMrp().subtract(product.getDiscountPrice()).doubleValue());
-            }
-
-            if (product.isLowStock()) {
-                System.out.println(warning("   ⚠️  Low stock! Only " + product.getStockQuantity() + " left."));
-            }
-
-            System.out.println();
-        }
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
     }
-}
\ No newline at end of file
+}
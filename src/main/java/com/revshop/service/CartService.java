@@ -2,6 +2,7 @@ package com.revshop.service;
 
 import com.revshop.dao.CartDAO;
 import com.revshop.model.CartItem;
+import com.revshop.model.CartSummary;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -35,7 +36,7 @@ public class CartService {
         return cartDAO.clearCart(buyerId);
     }
 
-    public double getCartTotal(int buyerId) {
-        return cartDAO.getCartTotal(buyerId);
+    public CartSummary getCartSummary(int buyerId) {
+        return CartSummary.of(cartDAO.getCartItems(buyerId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.revshop.service;
+
+import com.revshop.dao.ProductCatalogCache;
+import com.revshop.metrics.QueryMetrics;
+import com.revshop.model.DiagnosticsReport;
+import com.revshop.util.DatabaseUtil;
+
+public class DiagnosticsService {
+    private static final int TOP_QUERIES = 20;
+
+    // Current query, pool and cache statistics
+    public DiagnosticsReport getReport() {
+        QueryMetrics queryMetrics = QueryMetrics.getInstance();
+        int recordedQueries = queryMetrics.getStats().size();
+        return new DiagnosticsReport(queryMetrics.isEnabled(), recordedQueries,
+                recordedQueries > 0 ? queryMetrics.getReport(TOP_QUERIES) : "",
+                DatabaseUtil.getConnectionPoolStatus(),
+                ProductCatalogCache.getInstance().getStatsSummary());
+    }
+
+    // Start the per-query statistics over
+    public void resetQueryStats() {
+        QueryMetrics.getInstance().reset();
+    }
+}
@@ -0,0 +1,135 @@
+package com.revshop.service;
+
+import com.revshop.config.AppConfig;
+import com.revshop.config.DatabaseConfig;
+import com.revshop.dao.NotificationDAO;
+import com.revshop.dao.NotificationOutboxDAO;
+import com.revshop.util.VirtualThreads;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+// Background delivery of the notification outbox. Runs on one thread, polls every
+// notifications.dispatch.intervalMs and is woken early after a producer commits; any
+// number of wake-ups while a run is pending collapse into one run.
+//
+// Delivery is at least once: rows leave the outbox only in the transaction that
+// inserts them into notifications, and a failed batch is retried on the next run (or
+// after a restart). Backpressure: each run moves batchSize rows at a time, uses a single
+// connection, and stops early while request threads are queueing for connections, so
+// a backlog is worked off without starving checkout of the pool.
+//
+// The same thread reconciles the cached unread counts against the table every
+// notifications.unreadCache.reconcileMs.
+public class NotificationDispatcher {
+    private static final Logger logger = LogManager.getLogger(NotificationDispatcher.class);
+
+    private final NotificationOutboxDAO outboxDAO = new NotificationOutboxDAO();
+    private final NotificationDAO notificationDAO = new NotificationDAO();
+    private final int batchSize;
+    private final long intervalMs;
+    private final long reconcileMs;
+    private final boolean enabled;
+    private final AtomicBoolean wakePending = new AtomicBoolean();
+    private final LongAdder delivered = new LongAdder();
+    private volatile ScheduledExecutorService executor;
+
+    private NotificationDispatcher() {
+        AppConfig config = AppConfig.get();
+        this.batchSize = Math.max(1, config.getInt("notifications.dispatch.batchSize", 200));
+        this.intervalMs = Math.max(10, config.getLong("notifications.dispatch.intervalMs", 500));
+        this.reconcileMs = config.getLong("notifications.unreadCache.reconcileMs", 300000);
+        this.enabled = config.getBoolean("notifications.dispatch.enabled", true);
+    }
+
+    private static class Holder {
+        private static final NotificationDispatcher INSTANCE = new NotificationDispatcher();
+    }
+
+    public static NotificationDispatcher getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    // Start polling; does nothing if already running or disabled
+    public synchronized void start() {
+        if (executor != null || !enabled) {
+            return;
+        }
+        executor = VirtualThreads.newScheduledExecutor("revshop-notification-dispatcher");
+        executor.scheduleWithFixedDelay(() -> drain(false), intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        if (reconcileMs > 0) {
+            executor.scheduleWithFixedDelay(this::reconcileUnreadCounts, reconcileMs, reconcileMs,
+                    TimeUnit.MILLISECONDS);
+        }
+        logger.info("Notification dispatcher started: batches of {} every {} ms", batchSize, intervalMs);
+    }
+
+    // Stop polling and deliver what is left, if the database is still reachable
+    public synchronized void stop() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+        drain(true);
+        logger.info("Notification dispatcher stopped; {} notifications delivered", delivered.sum());
+    }
+
+    // Ask for a run soon, e.g. after committing a transaction that wrote to the outbox
+    public void wakeUp() {
+        ScheduledExecutorService current = executor;
+        if (current != null && wakePending.compareAndSet(false, true)) {
+            try {
+                current.execute(() -> {
+                    wakePending.set(false);
+                    drain(false);
+                });
+            } catch (RuntimeException e) {
+                // Shutting down; stop() delivers the rest
+                wakePending.set(false);
+            }
+        }
+    }
+
+    // Move batches until the outbox is empty or a batch fails. Unless finishing up,
+    // also stop once request threads are waiting for connections.
+    private void drain(boolean finishing) {
+        try {
+            int moved;
+            do {
+                moved = outboxDAO.deliverBatch(batchSize);
+                if (moved > 0) {
+                    delivered.add(moved);
+                }
+            } while (moved == batchSize
+                    && (finishing || DatabaseConfig.getInstance().getPermitWaiters() == 0));
+        } catch (RuntimeException e) {
+            logger.warn("Error dispatching notifications", e);
+        }
+    }
+
+    private void reconcileUnreadCounts() {
+        try {
+            notificationDAO.reconcileUnreadCounts();
+        } catch (RuntimeException e) {
+            logger.warn("Error reconciling unread notification counts", e);
+        }
+    }
+
+    public long getDeliveredCount() {
+        return delivered.sum();
+    }
+
+    public int getPendingCount() {
+        return outboxDAO.getPendingCount();
+    }
+}
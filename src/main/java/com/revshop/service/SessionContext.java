@@ -0,0 +1,45 @@
+package com.revshop.service;
+
+import com.revshop.model.User;
+
+// Per-session state: who is logged in. Services are shared and stateless, so
+// each console, HTTP or simulated session owns one of these and passes it in.
+public class SessionContext {
+    private volatile User user;
+
+    public SessionContext() {}
+
+    public SessionContext(User user) {
+        this.user = user;
+    }
+
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+
+    public void clear() {
+        user = null;
+    }
+
+    public boolean isLoggedIn() {
+        return user != null;
+    }
+
+    public boolean isBuyer() {
+        User current = user;
+        return current != null && current.getUserType() == User.UserType.BUYER;
+    }
+
+    public boolean isSeller() {
+        User current = user;
+        return current != null && current.getUserType() == User.UserType.SELLER;
+    }
+
+    // User ID of the logged-in user; services call this for every user-scoped request
+    public int getUserId() {
+        User current = user;
+        if (current == null) {
+            throw new IllegalStateException("No user is logged in for this session");
+        }
+        return current.getUserId();
+    }
+}
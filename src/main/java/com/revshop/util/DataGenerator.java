@@ -0,0 +1,665 @@
+package com.revshop.util;
+
+import com.revshop.config.DatabaseConfig;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Bulk-loads a synthetic RevShop dataset for benchmarks and load tests.
+//
+// Product popularity is Zipfian: carts, orders, favorites and reviews pick products by
+// popularity rank, and ranks are shuffled over product IDs so hot rows are spread through
+// the table. Sellers are heavy-tailed the same way (a few sellers own most of the catalog).
+// Rows are written with JDBC batches; on MySQL the pool's rewriteBatchedStatements turns
+// each batch into multi-row INSERTs. Any connection with the RevShop schema works,
+// including the embedded H2 database used by revshop-benchmarks.
+//
+// Every generated user has the password DEFAULT_PASSWORD. The same seed always produces
+// the same data; e-mail addresses carry a per-run tag so runs can be stacked.
+//
+// Against the configured database (db.url):
+//   mvn exec:java -Dexec.mainClass="com.revshop.util.DataGenerator" -Dexec.args="--buyers=10000 --products=50000"
+public class DataGenerator {
+    private static final Logger logger = LogManager.getLogger(DataGenerator.class);
+
+    public static final String DEFAULT_PASSWORD = "Password@123";
+
+    public static final String[] CATEGORIES = {"Electronics", "Accessories", "Books", "Home", "Kitchen",
+            "Sports", "Toys", "Clothing", "Beauty", "Garden"};
+    public static final String[] ADJECTIVES = {"Wireless", "Smart", "Portable", "Organic", "Classic", "Compact",
+            "Premium", "Ergonomic", "Waterproof", "Vintage", "Digital", "Handmade"};
+    public static final String[] NOUNS = {"Headphones", "Watch", "Backpack", "Cable", "Lamp", "Kettle", "Novel",
+            "Blender", "Sneakers", "Jacket", "Speaker", "Notebook", "Camera", "Bottle", "Charger"};
+
+    private static final String[] REVIEW_COMMENTS = {"Terrible, returned it.", "Not as described.",
+            "It's okay for the price.", "Good quality, fast delivery.", "Excellent, would buy again!"};
+    private static final String[] NOTIFICATION_TYPES = {"ORDER", "ORDER", "STOCK", "REVIEW", "PROMOTION"};
+    // Ratings 1..5, skewed positive like most storefronts
+    private static final double[] RATING_WEIGHTS = {0.05, 0.07, 0.13, 0.30, 0.45};
+
+    private final Scale scale;
+    private final Random random;
+    private final String tag;
+
+    public DataGenerator(Scale scale) {
+        this.scale = scale;
+        this.random = new Random(scale.seed);
+        this.tag = Long.toString(System.currentTimeMillis(), 36);
+    }
+
+    // Generate the whole dataset on the given connection, in one transaction: if any
+    // step fails, nothing is left behind
+    public Dataset generate(Connection conn) throws SQLException {
+        long start = System.nanoTime();
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        Dataset dataset = new Dataset(scale);
+
+        try {
+            insertUsers(conn, dataset);
+            insertProducts(conn, dataset);
+            insertCarts(conn, dataset);
+            insertFavorites(conn, dataset);
+            insertOrders(conn, dataset);
+            insertRatingStats(conn, dataset);
+            insertNotifications(conn, dataset);
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        logger.info("Generated {} rows in {} ms: {}", dataset.getTotalRows(), elapsedMillis, dataset.getRowCounts());
+        return dataset;
+    }
+
+    private void insertUsers(Connection conn, Dataset dataset) throws SQLException {
+        String userSql = "INSERT INTO users (email, password, first_name, last_name, phone, address, user_type, " +
+                "created_at, security_question, security_answer) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String sellerSql = "INSERT INTO sellers (seller_id, business_name, business_address, tax_id, business_phone) " +
+                "VALUES (?, ?, ?, ?, ?)";
+        String passwordHash = PasswordUtil.hashPassword(DEFAULT_PASSWORD);
+
+        try (BatchInserter users = new BatchInserter(conn, userSql, true)) {
+            for (int i = 0; i < scale.sellers + scale.buyers; i++) {
+                boolean seller = i < scale.sellers;
+                PreparedStatement pstmt = users.statement();
+                pstmt.setString(1, (seller ? "seller" : "buyer") + i + "." + tag + "@revshop.test");
+                pstmt.setString(2, passwordHash);
+                pstmt.setString(3, (seller ? "Seller" : "Buyer") + i);
+                pstmt.setString(4, "Generated");
+                pstmt.setString(5, String.format("%010d", 1_000_000_000L + i));
+                pstmt.setString(6, (i + 1) + " Market Street, City");
+                pstmt.setString(7, seller ? "SELLER" : "BUYER");
+                pstmt.setTimestamp(8, pastTimestamp(scale.historyDays));
+                pstmt.setString(9, "What is your pet name?");
+                pstmt.setString(10, "Fluffy");
+                users.add();
+            }
+            users.flush();
+            int[] ids = users.getGeneratedIds();
+            dataset.sellerIds = Arrays.copyOfRange(ids, 0, scale.sellers);
+            dataset.buyerIds = Arrays.copyOfRange(ids, scale.sellers, ids.length);
+            dataset.count("users", users.getRows());
+        }
+
+        try (BatchInserter sellers = new BatchInserter(conn, sellerSql, false)) {
+            for (int i = 0; i < dataset.sellerIds.length; i++) {
+                PreparedStatement pstmt = sellers.statement();
+                pstmt.setInt(1, dataset.sellerIds[i]);
+                pstmt.setString(2, ADJECTIVES[i % ADJECTIVES.length] + " Traders " + i);
+                pstmt.setString(3, (i + 1) + " Business Avenue, City");
+                pstmt.setString(4, "TAX" + (100000 + i));
+                pstmt.setString(5, String.format("%010d", 2_000_000_000L + i));
+                sellers.add();
+            }
+            sellers.flush();
+            dataset.count("sellers", sellers.getRows());
+        }
+    }
+
+    private void insertProducts(Connection conn, Dataset dataset) throws SQLException {
+        String sql = "INSERT INTO products (seller_id, name, description, category, price, mrp, discount_price, " +
+                "stock_quantity, threshold_quantity, created_at, is_active) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        ZipfDistribution sellerShare = new ZipfDistribution(scale.sellers, scale.sellerSkew);
+        dataset.finalPrices = new BigDecimal[scale.products];
+
+        try (BatchInserter products = new BatchInserter(conn, sql, true)) {
+            for (int i = 0; i < scale.products; i++) {
+                String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+                String noun = NOUNS[random.nextInt(NOUNS.length)];
+                String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+                BigDecimal mrp = BigDecimal.valueOf(500 + random.nextInt(99500), 2);
+                BigDecimal price = mrp.multiply(BigDecimal.valueOf(70 + random.nextInt(31)))
+                        .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+                BigDecimal discountPrice = random.nextInt(10) < 3
+                        ? price.multiply(BigDecimal.valueOf(0.9)).setScale(2, RoundingMode.HALF_UP) : null;
+                dataset.finalPrices[i] = discountPrice != null ? discountPrice : price;
+
+                PreparedStatement pstmt = products.statement();
+                pstmt.setInt(1, dataset.sellerIds[sellerShare.sample(random)]);
+                pstmt.setString(2, adjective + " " + noun + " " + (i + 1));
+                pstmt.setString(3, adjective + " " + noun.toLowerCase() + " from our " + category.toLowerCase() +
+                        " range. Model " + Integer.toString(i + 1, 36).toUpperCase() + ".");
+                pstmt.setString(4, category);
+                pstmt.setBigDecimal(5, price);
+                pstmt.setBigDecimal(6, mrp);
+                if (discountPrice != null) {
+                    pstmt.setBigDecimal(7, discountPrice);
+                } else {
+                    pstmt.setNull(7, Types.DECIMAL);
+                }
+                pstmt.setInt(8, random.nextInt(scale.maxStock + 1));
+                pstmt.setInt(9, 5 + random.nextInt(16));
+                pstmt.setTimestamp(10, pastTimestamp(scale.historyDays));
+                pstmt.setBoolean(11, random.nextInt(100) < 97);
+                products.add();
+            }
+            products.flush();
+            dataset.productIds = products.getGeneratedIds();
+            dataset.count("products", products.getRows());
+        }
+
+        // Popularity rank -> product index, shuffled so hot products are not clustered by ID
+        dataset.popularity = new ZipfDistribution(scale.products, scale.productSkew);
+        dataset.rankToIndex = new int[scale.products];
+        for (int i = 0; i < scale.products; i++) {
+            dataset.rankToIndex[i] = i;
+        }
+        for (int i = scale.products - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = dataset.rankToIndex[i];
+            dataset.rankToIndex[i] = dataset.rankToIndex[j];
+            dataset.rankToIndex[j] = swap;
+        }
+    }
+
+    private void insertCarts(Connection conn, Dataset dataset) throws SQLException {
+        String sql = "INSERT INTO cart (buyer_id, product_id, quantity, added_at) VALUES (?, ?, ?, ?)";
+
+        try (BatchInserter cart = new BatchInserter(conn, sql, false)) {
+            for (int buyerId : dataset.buyerIds) {
+                for (int productIndex : distinctProducts(dataset, around(scale.cartItemsPerBuyer))) {
+                    PreparedStatement pstmt = cart.statement();
+                    pstmt.setInt(1, buyerId);
+                    pstmt.setInt(2, dataset.productIds[productIndex]);
+                    pstmt.setInt(3, 1 + random.nextInt(3));
+                    pstmt.setTimestamp(4, pastTimestamp(30));
+                    cart.add();
+                }
+            }
+            cart.flush();
+            dataset.count("cart", cart.getRows());
+        }
+    }
+
+    private void insertFavorites(Connection conn, Dataset dataset) throws SQLException {
+        String sql = "INSERT INTO favorites (buyer_id, product_id, added_at) VALUES (?, ?, ?)";
+
+        try (BatchInserter favorites = new BatchInserter(conn, sql, false)) {
+            for (int buyerId : dataset.buyerIds) {
+                for (int productIndex : distinctProducts(dataset, around(scale.favoritesPerBuyer))) {
+                    PreparedStatement pstmt = favorites.statement();
+                    pstmt.setInt(1, buyerId);
+                    pstmt.setInt(2, dataset.productIds[productIndex]);
+                    pstmt.setTimestamp(3, pastTimestamp(scale.historyDays));
+                    favorites.add();
+                }
+            }
+            favorites.flush();
+            dataset.count("favorites", favorites.getRows());
+        }
+    }
+
+    // Orders are written in chunks: the order rows first (for their IDs), then their
+    // items, then reviews of delivered items. Chunks only bound the batch size; they
+    // commit with the rest of the dataset.
+    private void insertOrders(Connection conn, Dataset dataset) throws SQLException {
+        dataset.starCounts = new int[dataset.productIds.length][5];
+        List<PendingOrder> chunk = new ArrayList<>();
+        for (int buyerId : dataset.buyerIds) {
+            int orders = around(scale.ordersPerBuyer);
+            for (int o = 0; o < orders; o++) {
+                chunk.add(newOrder(dataset, buyerId));
+                if (chunk.size() >= scale.batchSize) {
+                    writeOrders(conn, dataset, chunk);
+                    chunk.clear();
+                }
+            }
+        }
+        writeOrders(conn, dataset, chunk);
+    }
+
+    private PendingOrder newOrder(Dataset dataset, int buyerId) {
+        PendingOrder order = new PendingOrder();
+        order.buyerId = buyerId;
+        order.orderDate = pastTimestamp(scale.historyDays);
+
+        long ageDays = TimeUnit.MILLISECONDS.toDays(System.currentTimeMillis() - order.orderDate.getTime());
+        if (ageDays > 14) {
+            order.status = random.nextInt(10) == 0 ? "CANCELLED" : "DELIVERED";
+        } else {
+            order.status = new String[]{"PENDING", "PROCESSING", "SHIPPED", "DELIVERED"}[random.nextInt(4)];
+        }
+
+        order.total = BigDecimal.ZERO;
+        for (int productIndex : distinctProducts(dataset, Math.max(1, around(scale.itemsPerOrder)))) {
+            int quantity = 1 + random.nextInt(3);
+            BigDecimal price = dataset.finalPrices[productIndex];
+            order.productIndexes.add(productIndex);
+            order.quantities.add(quantity);
+            order.total = order.total.add(price.multiply(BigDecimal.valueOf(quantity)));
+        }
+        return order;
+    }
+
+    private void writeOrders(Connection conn, Dataset dataset, List<PendingOrder> chunk) throws SQLException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        String orderSql = "INSERT INTO orders (buyer_id, order_date, total_amount, shipping_address, " +
+                "billing_address, status, payment_method, payment_status) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        String itemSql = "INSERT INTO order_items (order_id, product_id, quantity, price) VALUES (?, ?, ?, ?)";
+        String reviewSql = "INSERT INTO reviews (product_id, buyer_id, order_id, rating, comment, review_date) " +
+                "VALUES (?, ?, ?, ?, ?, ?)";
+        String[] paymentMethods = PaymentSimulator.getAvailablePaymentMethods();
+
+        int[] orderIds;
+        try (BatchInserter orders = new BatchInserter(conn, orderSql, true)) {
+            for (PendingOrder order : chunk) {
+                PreparedStatement pstmt = orders.statement();
+                pstmt.setInt(1, order.buyerId);
+                pstmt.setTimestamp(2, order.orderDate);
+                pstmt.setBigDecimal(3, order.total);
+                pstmt.setString(4, order.buyerId + " Market Street, City");
+                pstmt.setString(5, order.buyerId + " Market Street, City");
+                pstmt.setString(6, order.status);
+                pstmt.setString(7, paymentMethods[random.nextInt(paymentMethods.length)]);
+                pstmt.setString(8, order.status.equals("CANCELLED") ? "FAILED" : "COMPLETED");
+                orders.add();
+            }
+            orders.flush();
+            orderIds = orders.getGeneratedIds();
+            dataset.count("orders", orders.getRows());
+        }
+
+        try (BatchInserter items = new BatchInserter(conn, itemSql, false);
+             BatchInserter reviews = new BatchInserter(conn, reviewSql, false)) {
+            for (int o = 0; o < chunk.size(); o++) {
+                PendingOrder order = chunk.get(o);
+                for (int k = 0; k < order.productIndexes.size(); k++) {
+                    int productIndex = order.productIndexes.get(k);
+                    PreparedStatement pstmt = items.statement();
+                    pstmt.setInt(1, orderIds[o]);
+                    pstmt.setInt(2, dataset.productIds[productIndex]);
+                    pstmt.setInt(3, order.quantities.get(k));
+                    pstmt.setBigDecimal(4, dataset.finalPrices[productIndex]);
+                    items.add();
+
+                    if (order.status.equals("DELIVERED") && random.nextDouble() < scale.reviewRate) {
+                        int rating = sampleRating();
+                        PreparedStatement review = reviews.statement();
+                        review.setInt(1, dataset.productIds[productIndex]);
+                        review.setInt(2, order.buyerId);
+                        review.setInt(3, orderIds[o]);
+                        review.setInt(4, rating);
+                        review.setString(5, REVIEW_COMMENTS[rating - 1]);
+                        review.setTimestamp(6, new Timestamp(order.orderDate.getTime() +
+                                TimeUnit.DAYS.toMillis(3 + random.nextInt(10))));
+                        reviews.add();
+                        dataset.starCounts[productIndex][rating - 1]++;
+                    }
+                }
+            }
+            // Items before reviews: both only reference orders, already written
+            items.flush();
+            reviews.flush();
+            dataset.count("order_items", items.getRows());
+            dataset.count("reviews", reviews.getRows());
+        }
+    }
+
+    // The rating stats ReviewDAO would have kept for the generated reviews
+    private void insertRatingStats(Connection conn, Dataset dataset) throws SQLException {
+        String sql = "INSERT INTO product_rating_stats (product_id, rating_count, rating_sum, " +
+                "stars_1, stars_2, stars_3, stars_4, stars_5) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+        try (BatchInserter stats = new BatchInserter(conn, sql, false)) {
+            for (int i = 0; i < dataset.productIds.length; i++) {
+                int[] stars = dataset.starCounts[i];
+                int count = 0;
+                int sum = 0;
+                for (int star = 1; star <= 5; star++) {
+                    count += stars[star - 1];
+                    sum += star * stars[star - 1];
+                }
+                if (count == 0) {
+                    continue;
+                }
+                PreparedStatement pstmt = stats.statement();
+                pstmt.setInt(1, dataset.productIds[i]);
+                pstmt.setInt(2, count);
+                pstmt.setInt(3, sum);
+                for (int star = 1; star <= 5; star++) {
+                    pstmt.setInt(3 + star, stars[star - 1]);
+                }
+                stats.add();
+            }
+            stats.flush();
+            dataset.count("product_rating_stats", stats.getRows());
+        }
+    }
+
+    private void insertNotifications(Connection conn, Dataset dataset) throws SQLException {
+        String sql = "INSERT INTO notifications (user_id, message, type, is_read, created_at) VALUES (?, ?, ?, ?, ?)";
+
+        try (BatchInserter notifications = new BatchInserter(conn, sql, false)) {
+            for (int[] userIds : new int[][]{dataset.sellerIds, dataset.buyerIds}) {
+                for (int userId : userIds) {
+                    int count = around(scale.notificationsPerUser);
+                    for (int n = 0; n < count; n++) {
+                        String type = NOTIFICATION_TYPES[random.nextInt(NOTIFICATION_TYPES.length)];
+                        PreparedStatement pstmt = notifications.statement();
+                        pstmt.setInt(1, userId);
+                        pstmt.setString(2, notificationMessage(type, dataset));
+                        pstmt.setString(3, type);
+                        pstmt.setBoolean(4, random.nextInt(10) < 7);
+                        pstmt.setTimestamp(5, pastTimestamp(30));
+                        notifications.add();
+                    }
+                }
+            }
+            notifications.flush();
+            dataset.count("notifications", notifications.getRows());
+        }
+    }
+
+    private String notificationMessage(String type, Dataset dataset) {
+        int productId = dataset.productIds[dataset.sampleProductIndex(random)];
+        switch (type) {
+            case "ORDER":
+                return "Your order status has been updated.";
+            case "STOCK":
+                return "Low stock alert for product #" + productId;
+            case "REVIEW":
+                return "New review posted for product #" + productId;
+            default:
+                return "Deals on product #" + productId + " this week!";
+        }
+    }
+
+    // Up to count distinct product indexes, drawn by popularity
+    private Set<Integer> distinctProducts(Dataset dataset, int count) {
+        count = Math.min(count, scale.products);
+        Set<Integer> chosen = new LinkedHashSet<>();
+        int attempts = 0;
+        while (chosen.size() < count && attempts++ < count * 20) {
+            chosen.add(dataset.sampleProductIndex(random));
+        }
+        return chosen;
+    }
+
+    // Uniform in [0, 2 * mean], so the average is mean
+    private int around(int mean) {
+        return mean <= 0 ? 0 : random.nextInt(2 * mean + 1);
+    }
+
+    private int sampleRating() {
+        double r = random.nextDouble();
+        double cumulative = 0;
+        for (int i = 0; i < RATING_WEIGHTS.length; i++) {
+            cumulative += RATING_WEIGHTS[i];
+            if (r < cumulative) {
+                return i + 1;
+            }
+        }
+        return RATING_WEIGHTS.length;
+    }
+
+    private Timestamp pastTimestamp(int days) {
+        long offset = (long) (random.nextDouble() * TimeUnit.DAYS.toMillis(Math.max(days, 1)));
+        return new Timestamp(System.currentTimeMillis() - offset);
+    }
+
+    // Batched insert of one table: executes every batchSize rows and keeps generated IDs
+    private class BatchInserter implements AutoCloseable {
+        private final PreparedStatement pstmt;
+        private final boolean keys;
+        private int[] ids = new int[0];
+        private int idCount;
+        private int pending;
+        private long rows;
+
+        BatchInserter(Connection conn, String sql, boolean keys) throws SQLException {
+            this.pstmt = keys ? conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS) : conn.prepareStatement(sql);
+            this.keys = keys;
+        }
+
+        PreparedStatement statement() {
+            return pstmt;
+        }
+
+        void add() throws SQLException {
+            pstmt.addBatch();
+            if (++pending >= scale.batchSize) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            if (pending == 0) {
+                return;
+            }
+            pstmt.executeBatch();
+            rows += pending;
+            if (keys) {
+                try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                    while (rs.next()) {
+                        if (idCount == ids.length) {
+                            ids = Arrays.copyOf(ids, Math.max(16, ids.length * 2));
+                        }
+                        ids[idCount++] = rs.getInt(1);
+                    }
+                }
+                if (idCount != rows) {
+                    throw new SQLException("Driver returned " + idCount + " generated keys for " + rows + " rows");
+                }
+            }
+            pending = 0;
+        }
+
+        int[] getGeneratedIds() {
+            return Arrays.copyOf(ids, idCount);
+        }
+
+        long getRows() {
+            return rows;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            pstmt.close();
+        }
+    }
+
+    private static class PendingOrder {
+        int buyerId;
+        Timestamp orderDate;
+        String status;
+        BigDecimal total;
+        final List<Integer> productIndexes = new ArrayList<>();
+        final List<Integer> quantities = new ArrayList<>();
+    }
+
+    // Data volume and shape; the defaults make a small store (~100k rows)
+    public static class Scale {
+        private int sellers = 50;
+        private int buyers = 1000;
+        private int products = 10000;
+        private int cartItemsPerBuyer = 3;
+        private int favoritesPerBuyer = 4;
+        private int ordersPerBuyer = 5;
+        private int itemsPerOrder = 3;
+        private int notificationsPerUser = 5;
+        private double reviewRate = 0.3;
+        private double productSkew = 1.0;
+        private double sellerSkew = 1.2;
+        private int maxStock = 500;
+        private int historyDays = 365;
+        private int batchSize = 1000;
+        private long seed = 42;
+
+        public Scale sellers(int sellers) { this.sellers = Math.max(1, sellers); return this; }
+        public Scale buyers(int buyers) { this.buyers = Math.max(1, buyers); return this; }
+        public Scale products(int products) { this.products = Math.max(1, products); return this; }
+        public Scale cartItemsPerBuyer(int count) { this.cartItemsPerBuyer = count; return this; }
+        public Scale favoritesPerBuyer(int count) { this.favoritesPerBuyer = count; return this; }
+        public Scale ordersPerBuyer(int count) { this.ordersPerBuyer = count; return this; }
+        public Scale itemsPerOrder(int count) { this.itemsPerOrder = count; return this; }
+        public Scale notificationsPerUser(int count) { this.notificationsPerUser = count; return this; }
+        public Scale reviewRate(double rate) { this.reviewRate = rate; return this; }
+        public Scale productSkew(double exponent) { this.productSkew = exponent; return this; }
+        public Scale sellerSkew(double exponent) { this.sellerSkew = exponent; return this; }
+        public Scale maxStock(int maxStock) { this.maxStock = maxStock; return this; }
+        public Scale historyDays(int days) { this.historyDays = days; return this; }
+        public Scale batchSize(int batchSize) { this.batchSize = Math.max(1, batchSize); return this; }
+        public Scale seed(long seed) { this.seed = seed; return this; }
+
+        // Parse --name=value arguments, e.g. --buyers=10000 --productSkew=1.1
+        public static Scale fromArgs(String[] args) {
+            Scale scale = new Scale();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+                }
+                String name = arg.substring(2, arg.indexOf('='));
+                String value = arg.substring(arg.indexOf('=') + 1);
+                switch (name) {
+                    case "sellers": scale.sellers(Integer.parseInt(value)); break;
+                    case "buyers": scale.buyers(Integer.parseInt(value)); break;
+                    case "products": scale.products(Integer.parseInt(value)); break;
+                    case "cartItemsPerBuyer": scale.cartItemsPerBuyer(Integer.parseInt(value)); break;
+                    case "favoritesPerBuyer": scale.favoritesPerBuyer(Integer.parseInt(value)); break;
+                    case "ordersPerBuyer": scale.ordersPerBuyer(Integer.parseInt(value)); break;
+                    case "itemsPerOrder": scale.itemsPerOrder(Integer.parseInt(value)); break;
+                    case "notificationsPerUser": scale.notificationsPerUser(Integer.parseInt(value)); break;
+                    case "reviewRate": scale.reviewRate(Double.parseDouble(value)); break;
+                    case "productSkew": scale.productSkew(Double.parseDouble(value)); break;
+                    case "sellerSkew": scale.sellerSkew(Double.parseDouble(value)); break;
+                    case "maxStock": scale.maxStock(Integer.parseInt(value)); break;
+                    case "historyDays": scale.historyDays(Integer.parseInt(value)); break;
+                    case "batchSize": scale.batchSize(Integer.parseInt(value)); break;
+                    case "seed": scale.seed(Long.parseLong(value)); break;
+                    default: throw new IllegalArgumentException("Unknown option: --" + name);
+                }
+            }
+            return scale;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("sellers=%d, buyers=%d, products=%d, ordersPerBuyer=%d, productSkew=%.2f, seed=%d",
+                    sellers, buyers, products, ordersPerBuyer, productSkew, seed);
+        }
+    }
+
+    // What was generated: IDs for drivers and benchmarks to pick from, and row counts
+    public static class Dataset {
+        private final Scale scale;
+        private final Map<String, Long> rowCounts = new LinkedHashMap<>();
+        private int[] sellerIds;
+        private int[] buyerIds;
+        private int[] productIds;
+        private BigDecimal[] finalPrices;
+        // Per product: number of generated reviews with 1..5 stars
+        private int[][] starCounts;
+        private int[] rankToIndex;
+        private ZipfDistribution popularity;
+
+        Dataset(Scale scale) {
+            this.scale = scale;
+        }
+
+        private void count(String table, long rows) {
+            rowCounts.merge(table, rows, Long::sum);
+        }
+
+        private int sampleProductIndex(Random random) {
+            return rankToIndex[popularity.sample(random)];
+        }
+
+        public Scale getScale() { return scale; }
+        public int[] getSellerIds() { return sellerIds.clone(); }
+        public int[] getBuyerIds() { return buyerIds.clone(); }
+        public int[] getProductIds() { return productIds.clone(); }
+        public Map<String, Long> getRowCounts() { return Collections.unmodifiableMap(rowCounts); }
+
+        public int getBuyerCount() { return buyerIds.length; }
+        public int getProductCount() { return productIds.length; }
+
+        public long getTotalRows() {
+            long total = 0;
+            for (long rows : rowCounts.values()) {
+                total += rows;
+            }
+            return total;
+        }
+
+        public int buyerId(int index) {
+            return buyerIds[Math.floorMod(index, buyerIds.length)];
+        }
+
+        public int sellerId(int index) {
+            return sellerIds[Math.floorMod(index, sellerIds.length)];
+        }
+
+        public int productId(int index) {
+            return productIds[Math.floorMod(index, productIds.length)];
+        }
+
+        // A product ID drawn with the same popularity skew as the generated orders
+        public int sampleProductId(Random random) {
+            return productIds[sampleProductIndex(random)];
+        }
+    }
+
+    public static void main(String[] args) {
+        Scale scale = Scale.fromArgs(args);
+        System.out.println("Generating RevShop data: " + scale);
+
+        try (Connection conn = DatabaseConfig.getInstance().getConnection()) {
+            Dataset dataset = new DataGenerator(scale).generate(conn);
+            for (Map.Entry<String, Long> entry : dataset.getRowCounts().entrySet()) {
+                System.out.printf("  %-15s %,12d%n", entry.getKey(), entry.getValue());
+            }
+            System.out.println("All users have the password " + DEFAULT_PASSWORD);
+        } catch (SQLException e) {
+            logger.error("Error generating data", e);
+            System.err.println("Data generation failed: " + e.getMessage());
+        } finally {
+            DatabaseConfig.shutdown();
+        }
+    }
+}
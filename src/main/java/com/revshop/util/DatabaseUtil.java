@@ -1,6 +1,8 @@
 package com.revshop.util;
 
 import com.revshop.config.DatabaseConfig;
+import com.revshop.metrics.PoolMetrics;
+import com.revshop.metrics.QueryMetrics;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -11,7 +13,9 @@ public class DatabaseUtil {
     private static DatabaseConfig dbConfig = DatabaseConfig.getInstance();
 
     public static Connection getConnection() {
-        return dbConfig.getConnection();
+        long start = System.nanoTime();
+        Connection conn = dbConfig.getConnection();
+        return QueryMetrics.getInstance().instrument(conn, System.nanoTime() - start);
     }
 
     public static void closeConnection() {
@@ -72,11 +76,9 @@ public class DatabaseUtil {
 
     // Get connection pool status
     public static String getConnectionPoolStatus() {
-        try {
-            // Check if DatabaseConfig has isDataSourceActive method
-            return "Connection pool is active";
-        } catch (Exception e) {
-            return "⚠️ Unable to determine connection pool status: " + e.getMessage();
+        if (!DatabaseConfig.isDataSourceActive()) {
+            return "⚠️ Connection pool is not active";
         }
+        return PoolMetrics.getInstance().getSummary();
     }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.revshop.util;
+
+import java.util.Scanner;
+
+import static com.revshop.util.ConsoleColors.*;
+
+public class PagingUtil {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // Clamp a requested page size to [1, MAX_PAGE_SIZE]
+    public static int clampPageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    // Ask whether to show the next page; Enter continues, anything else stops
+    public static boolean promptNextPage(Scanner scanner) {
+        System.out.print(inputPrompt("Press Enter for more, or 'q' to stop: "));
+        return scanner.nextLine().trim().isEmpty();
+    }
+}
@@ -1,41 +1,10 @@
 package com.revshop.util;
 
-import java.util.Random;
-
-import static com.revshop.util.ConsoleColors.*;
+import java.util.concurrent.ThreadLocalRandom;
 
+// Payment method names and transaction IDs for the simulated gateway
+// (authorization itself lives in com.revshop.payment)
 public class PaymentSimulator {
-    private static final Random random = new Random();
-
-    public static boolean processPayment(double amount, String paymentMethod) {
-        System.out.println();
-        System.out.println(header("Payment Processing"));
-        System.out.printf(price("Amount: $%.2f%n"), amount);
-        System.out.println(info("Payment Method: " + paymentMethod));
-
-        // Simulate payment processing delay
-        try {
-            System.out.print(info("Processing"));
-            for (int i = 0; i < 3; i++) {
-                System.out.print(info("."));
-                Thread.sleep(500);
-            }
-            System.out.println();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-
-        // Simulate 90% success rate
-        boolean success = random.nextDouble() < 0.9;
-
-        if (success) {
-            System.out.println(success("Payment processed successfully! ✅"));
-            return true;
-        } else {
-            System.out.println(error("Payment failed. Please try again. ❌"));
-            return false;
-        }
-    }
 
     public static String[] getAvailablePaymentMethods() {
         return new String[] {
@@ -48,6 +17,6 @@ public class PaymentSimulator {
     }
 
     public static String generateTransactionId() {
-        return "TXN" + System.currentTimeMillis() + random.nextInt(1000);
+        return "TXN" + System.currentTimeMillis() + ThreadLocalRandom.current().nextInt(1000);
     }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.revshop.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+// Executors for blocking work (JDBC, simulated payment, HTTP requests). Threads are
+// virtual, so a blocked JDBC call parks a cheap continuation instead of holding a
+// platform thread; DatabaseConfig's connection permits keep them from all reaching
+// the pool at once.
+public final class VirtualThreads {
+
+    private VirtualThreads() {}
+
+    // A new virtual thread for every task, named <name>-1, <name>-2, ...
+    public static ExecutorService newPerTaskExecutor(String name) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 1).factory());
+    }
+
+    // Single-threaded scheduler for periodic background jobs (reloaders, reporters)
+    public static ScheduledExecutorService newScheduledExecutor(String name) {
+        return Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name(name).factory());
+    }
+}
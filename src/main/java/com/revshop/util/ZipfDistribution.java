@@ -0,0 +1,46 @@
+package com.revshop.util;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Zipf (power-law) distribution over ranks 0..n-1: rank k is drawn with probability
+// proportional to 1 / (k + 1)^exponent. Exponent 0 is uniform; around 1 gives the usual
+// "few items get most of the traffic" shape. Sampling is a binary search over a
+// precomputed CDF, so it is O(log n) and thread-safe given a per-thread Random.
+public class ZipfDistribution {
+    private final double[] cdf;
+
+    public ZipfDistribution(int n, double exponent) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n must be positive: " + n);
+        }
+        if (exponent < 0) {
+            throw new IllegalArgumentException("exponent must not be negative: " + exponent);
+        }
+        cdf = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cdf[k] /= sum;
+        }
+        cdf[n - 1] = 1.0;
+    }
+
+    public int size() {
+        return cdf.length;
+    }
+
+    // Draw a rank; 0 is the most likely
+    public int sample(Random random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return index >= 0 ? index : Math.min(-index - 1, cdf.length - 1);
+    }
+
+    // Probability of the given rank
+    public double probability(int rank) {
+        return rank == 0 ? cdf[0] : cdf[rank] - cdf[rank - 1];
+    }
+}
@@ -0,0 +1,22 @@
+-- V1: Indexes for the hot DAO predicates
+-- InnoDB secondary indexes carry the primary key, so (x, y) also serves ORDER BY x, y, pk.
+
+-- Products: seller listings and low-stock report, category listings
+CREATE INDEX idx_products_seller_active ON products (seller_id, is_active);
+CREATE INDEX idx_products_category_active ON products (category, is_active);
+
+-- Orders: buyer history and all-orders listing, newest first (keyset pagination)
+CREATE INDEX idx_orders_buyer_date ON orders (buyer_id, order_date, order_id);
+CREATE INDEX idx_orders_date ON orders (order_date, order_id);
+
+-- Order items: items per order, and product -> order joins for seller reports (covering)
+CREATE INDEX idx_order_items_order ON order_items (order_id, order_item_id);
+CREATE INDEX idx_order_items_product ON order_items (product_id, order_id, quantity, price);
+
+-- Notifications: newest first per user, unread count and unread list
+CREATE INDEX idx_notifications_user_created ON notifications (user_id, created_at, notification_id);
+CREATE INDEX idx_notifications_user_read ON notifications (user_id, is_read, created_at);
+
+-- Reviews: per-product average rating (covering) and per-buyer history
+CREATE INDEX idx_reviews_product_rating ON reviews (product_id, rating);
+CREATE INDEX idx_reviews_buyer_date ON reviews (buyer_id, review_date);
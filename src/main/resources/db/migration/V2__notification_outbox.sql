@@ -0,0 +1,12 @@
+-- V2: Transactional outbox for notifications
+-- Services write here inside their own transaction; NotificationDispatcher moves rows
+-- to notifications in batches and deletes them in the same transaction.
+-- created_at is carried over so delivery delay does not reorder a user's notifications.
+
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    outbox_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    user_id INT NOT NULL,
+    message TEXT NOT NULL,
+    type VARCHAR(50),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,36 @@
+-- V3: Per-product rating aggregates
+-- ReviewDAO keeps one row per reviewed product up to date in the same transaction as
+-- the review write, so showing or sorting by rating does not run AVG over reviews.
+-- Existing reviews are counted here. The backfill recomputes rows that already exist,
+-- so a run interrupted before it was recorded in schema_migrations (or raced by a
+-- second node) can simply run again.
+
+CREATE TABLE IF NOT EXISTS product_rating_stats (
+    product_id INT PRIMARY KEY,
+    rating_count INT NOT NULL DEFAULT 0,
+    rating_sum INT NOT NULL DEFAULT 0,
+    stars_1 INT NOT NULL DEFAULT 0,
+    stars_2 INT NOT NULL DEFAULT 0,
+    stars_3 INT NOT NULL DEFAULT 0,
+    stars_4 INT NOT NULL DEFAULT 0,
+    stars_5 INT NOT NULL DEFAULT 0,
+    FOREIGN KEY (product_id) REFERENCES products(product_id)
+);
+
+INSERT INTO product_rating_stats (product_id, rating_count, rating_sum, stars_1, stars_2, stars_3, stars_4, stars_5)
+SELECT product_id, COUNT(*), SUM(rating),
+       SUM(CASE WHEN rating = 1 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN rating = 2 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN rating = 3 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN rating = 4 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN rating = 5 THEN 1 ELSE 0 END)
+FROM reviews
+GROUP BY product_id
+ON DUPLICATE KEY UPDATE
+       rating_count = VALUES(rating_count),
+       rating_sum = VALUES(rating_sum),
+       stars_1 = VALUES(stars_1),
+       stars_2 = VALUES(stars_2),
+       stars_3 = VALUES(stars_3),
+       stars_4 = VALUES(stars_4),
+       stars_5 = VALUES(stars_5);
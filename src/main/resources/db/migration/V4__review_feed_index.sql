@@ -0,0 +1,6 @@
+-- V4: Index for the paged review feed
+-- ReviewDAO.getReviewsPage reads a product's reviews newest first; with the primary key
+-- carried along this serves ORDER BY review_date DESC, review_id DESC without a sort.
+-- The rating orders already use idx_reviews_product_rating from V1.
+
+CREATE INDEX idx_reviews_product_date ON reviews (product_id, review_date);
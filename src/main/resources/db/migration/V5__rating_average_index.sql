@@ -0,0 +1,12 @@
+-- V5: Indexed average rating for the top rated listing
+-- ProductDAO.getTopRatedProductsPage sorts by average rating. Ordering by
+-- rating_sum / rating_count read and sorted every stats row; the average is now a
+-- stored generated column, and the index below serves the listing's ORDER BY
+-- (rating_avg DESC, rating_count DESC, product_id) and its keyset cursor directly.
+
+ALTER TABLE product_rating_stats ADD COLUMN rating_avg DECIMAL(5,4)
+    GENERATED ALWAYS AS (CASE WHEN rating_count > 0
+                              THEN CAST(rating_sum AS DECIMAL(9,4)) / rating_count
+                              ELSE 0 END) STORED;
+
+CREATE INDEX idx_rating_stats_avg ON product_rating_stats (rating_avg DESC, rating_count DESC, product_id);
@@ -140,6 +140,10 @@ CREATE TABLE notifications (
                                FOREIGN KEY (user_id) REFERENCES users(user_id)
 );
 
+-- Secondary indexes are not defined here, nor are tables added later (e.g. the
+-- notification_outbox). They are applied as versioned migrations
+-- (src/main/resources/db/migration) by MigrationRunner when the application starts.
+
 -- 10. Insert sample data
 INSERT INTO users (email, password, first_name, last_name, phone, address, user_type, security_question, security_answer) VALUES
                                                                                                                               ('buyer1@example.com', '$2a$10$ExampleHash1', 'John', 'Doe', '1234567890', '123 Main St, City', 'BUYER', 'What is your pet name?', 'Fluffy'),
@@ -0,0 +1,71 @@
+package com.revshop.test;
+
+import com.revshop.config.AppConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AppConfigTest {
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty("pool.maximumPoolSize");
+        AppConfig.reload();
+    }
+
+    @Test
+    void testTypedGetters() {
+        Properties props = new Properties();
+        props.setProperty("pool.minimumIdle", " 7 ");
+        props.setProperty("pool.connectionTimeout", "1500");
+        props.setProperty("db.migrate", "false");
+        props.setProperty("pool.maximumPoolSize", "not-a-number");
+        AppConfig config = AppConfig.of(props);
+
+        assertEquals(7, config.getInt("pool.minimumIdle", 5));
+        assertEquals(1500L, config.getLong("pool.connectionTimeout", 30000));
+        assertFalse(config.isMigrateOnStartup());
+        assertEquals(20, config.getPoolSettings().getMaximumPoolSize(), "Invalid value should fall back to default");
+        assertEquals("fallback", config.getString("missing.key", "fallback"));
+    }
+
+    @Test
+    void testPrefixLookup() {
+        Properties props = new Properties();
+        props.setProperty("pool.dataSource.cachePrepStmts", "true");
+        props.setProperty("pool.dataSource.prepStmtCacheSize", "500");
+        props.setProperty("pool.minimumIdle", "5");
+
+        Map<String, String> driver = AppConfig.of(props).getWithPrefix("pool.dataSource.");
+        assertEquals(2, driver.size());
+        assertEquals("500", driver.get("prepStmtCacheSize"));
+    }
+
+    @Test
+    void testPoolSettingsEquality() {
+        Properties props = new Properties();
+        props.setProperty("pool.maximumPoolSize", "20");
+        AppConfig.PoolSettings a = AppConfig.of(props).getPoolSettings();
+        AppConfig.PoolSettings b = AppConfig.of(props).getPoolSettings();
+        props.setProperty("pool.maximumPoolSize", "30");
+        AppConfig.PoolSettings c = AppConfig.of(props).getPoolSettings();
+
+        assertEquals(a, b);
+        assertNotEquals(a, c);
+    }
+
+    @Test
+    void testSystemPropertyOverridesFileOnReload() {
+        AppConfig before = AppConfig.get();
+        System.setProperty("pool.maximumPoolSize", "33");
+        AppConfig after = AppConfig.reload();
+
+        assertEquals(33, after.getPoolSettings().getMaximumPoolSize());
+        assertNotEquals(33, before.getPoolSettings().getMaximumPoolSize(), "Old snapshot must not change");
+        assertSame(after, AppConfig.get());
+    }
+}
@@ -0,0 +1,85 @@
+package com.revshop.test;
+
+import com.revshop.dao.CartDAO;
+import com.revshop.model.CartItem;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CartDAOTest {
+    private static final int STOCK = 50;
+    private static final int CONCURRENT_ADDS = 20;
+
+    private static CartDAO cartDAO;
+    private static TestFixture fixture;
+    private static int testProductId;
+    private static int otherProductId;
+    private static int testBuyerId;
+
+    @BeforeAll
+    static void setUp() {
+        cartDAO = new CartDAO();
+        fixture = new TestFixture("Cart");
+        testProductId = fixture.createProduct("Cart Upsert Item", "4.00", STOCK);
+        otherProductId = fixture.createProduct("Cart Batch Item", "2.00", 3);
+        testBuyerId = fixture.createBuyer();
+    }
+
+    @AfterEach
+    void emptyCart() {
+        cartDAO.clearCart(testBuyerId);
+    }
+
+    @Test
+    void testConcurrentAddsOfSameProductAllCount() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_ADDS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+
+        for (int i = 0; i < CONCURRENT_ADDS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return cartDAO.addToCart(new CartItem(testBuyerId, testProductId, 2));
+            }));
+        }
+        start.countDown();
+        for (Future<Boolean> future : futures) {
+            assertTrue(future.get(60, TimeUnit.SECONDS), "Every add fits in stock");
+        }
+        executor.shutdown();
+
+        CartItem line = cartDAO.getCartItem(testBuyerId, testProductId);
+        assertNotNull(line);
+        assertEquals(CONCURRENT_ADDS * 2, line.getQuantity(), "No increment may be lost");
+    }
+
+    @Test
+    void testAddIsCappedAtStock() {
+        assertTrue(cartDAO.addToCart(new CartItem(testBuyerId, testProductId, STOCK - 1)));
+        assertFalse(cartDAO.addToCart(new CartItem(testBuyerId, testProductId, 2)), "Would exceed stock");
+        assertTrue(cartDAO.addToCart(new CartItem(testBuyerId, testProductId, 1)));
+        assertEquals(STOCK, cartDAO.getCartItem(testBuyerId, testProductId).getQuantity());
+    }
+
+    @Test
+    void testAddAllToCartReportsRejectedItems() {
+        List<CartItem> rejected = cartDAO.addAllToCart(Arrays.asList(
+                new CartItem(testBuyerId, testProductId, 5),
+                new CartItem(testBuyerId, otherProductId, 4)));
+
+        assertEquals(1, rejected.size());
+        assertEquals(otherProductId, rejected.get(0).getProductId());
+        assertEquals(5, cartDAO.getCartItem(testBuyerId, testProductId).getQuantity());
+        assertNull(cartDAO.getCartItem(testBuyerId, otherProductId));
+    }
+
+    @AfterAll
+    static void cleanUp() {
+        fixture.cleanUp();
+    }
+}
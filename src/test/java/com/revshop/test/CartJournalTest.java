@@ -0,0 +1,94 @@
+package com.revshop.test;
+
+import com.revshop.cart.CartChanges;
+import com.revshop.cart.CartJournal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CartJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testReplayKeepsLastQuantityPerLine() throws Exception {
+        CartJournal journal = new CartJournal(directory, false);
+        journal.recordSet(1, 10, 1);
+        journal.recordSet(1, 10, 2);
+        journal.recordSet(1, 11, 5);
+        journal.recordSet(1, 11, 0);
+        journal.recordSet(2, 10, 3);
+        journal.close();
+
+        CartChanges changes = new CartJournal(directory, false).readAll();
+        assertEquals(Map.of(10, 2, 11, 0), changes.linesOf(1));
+        assertEquals(Map.of(10, 3), changes.linesOf(2));
+        assertEquals(3, changes.getLineCount());
+        assertTrue(changes.getClearedBuyers().isEmpty());
+    }
+
+    @Test
+    void testClearDropsEarlierLines() throws Exception {
+        CartJournal journal = new CartJournal(directory, false);
+        journal.recordSet(1, 10, 2);
+        journal.recordClear(1);
+        journal.recordSet(1, 12, 1);
+        journal.close();
+
+        CartChanges changes = new CartJournal(directory, false).readAll();
+        assertTrue(changes.isCleared(1));
+        assertEquals(Map.of(12, 1), changes.linesOf(1));
+    }
+
+    @Test
+    void testTornRecordIsSkipped() throws Exception {
+        CartJournal journal = new CartJournal(directory, false);
+        journal.recordSet(1, 10, 2);
+        journal.close();
+        Path segment = directory.resolve("cart-journal-1.log");
+        Files.write(segment, "S 1 10 7".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        CartChanges changes = new CartJournal(directory, false).readAll();
+        assertEquals(Map.of(10, 2), changes.linesOf(1));
+    }
+
+    @Test
+    void testRecoveredSegmentsAreDeletedAndNotReadAgain() throws Exception {
+        CartJournal first = new CartJournal(directory, false);
+        first.recordSet(1, 10, 2);
+        first.close();
+
+        CartJournal second = new CartJournal(directory, false);
+        assertFalse(second.readAll().isEmpty());
+        second.deleteRecovered();
+        second.recordSet(2, 20, 1);
+        // Its own segment is not part of what it recovered
+        assertTrue(second.readAll().isEmpty());
+        second.close();
+
+        CartChanges changes = new CartJournal(directory, false).readAll();
+        assertTrue(changes.linesOf(1).isEmpty());
+        assertEquals(Map.of(20, 1), changes.linesOf(2));
+    }
+
+    @Test
+    void testDeleteThroughClosedSegment() throws Exception {
+        CartJournal journal = new CartJournal(directory, false);
+        journal.recordSet(1, 10, 2);
+        long closed = journal.rotate();
+        journal.recordSet(1, 10, 3);
+        journal.deleteThrough(closed);
+        journal.close();
+
+        CartChanges changes = new CartJournal(directory, false).readAll();
+        assertEquals(Map.of(10, 3), changes.linesOf(1));
+    }
+}
@@ -0,0 +1,164 @@
+package com.revshop.test;
+
+import com.revshop.dao.CartSummaryCache;
+import com.revshop.model.CartItem;
+import com.revshop.model.CartSummary;
+import com.revshop.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CartSummaryCacheTest {
+    private CartSummaryCache cache;
+    private AtomicInteger loads;
+    private Product discounted;
+    private Product regular;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CartSummaryCache(100, 60000, true);
+        loads = new AtomicInteger();
+        // $19.99 instead of $25.00, and $5.00 with nothing off
+        discounted = product(1, "20.00", "25.00", "19.99");
+        regular = product(2, "5.00", "5.00", null);
+    }
+
+    @Test
+    void testSummaryUsesFinalPricesAndMrpSavings() {
+        CartSummary summary = CartSummary.of(List.of(item(discounted, 2), item(regular, 3)));
+        assertEquals(5, summary.getItemCount());
+        assertEquals(2, summary.getLineCount());
+        assertEquals(0, new BigDecimal("54.98").compareTo(summary.getSubtotal()));
+        assertEquals(0, new BigDecimal("10.02").compareTo(summary.getSavings()));
+    }
+
+    @Test
+    void testLineChangesMatchRebuiltSummary() {
+        CartSummary summary = CartSummary.EMPTY
+                .withAdded(discounted, 1)
+                .withAdded(regular, 4)
+                .withAdded(discounted, 2)
+                .withQuantity(regular, 1)
+                .without(99);
+        CartSummary rebuilt = CartSummary.of(List.of(item(discounted, 3), item(regular, 1)));
+
+        assertEquals(rebuilt.getItemCount(), summary.getItemCount());
+        assertEquals(0, rebuilt.getSubtotal().compareTo(summary.getSubtotal()));
+        assertEquals(0, rebuilt.getSavings().compareTo(summary.getSavings()));
+
+        CartSummary emptied = summary.withQuantity(regular, 0).without(1);
+        assertTrue(emptied.isEmpty());
+        assertEquals(0, emptied.getItemCount());
+        assertEquals(0, BigDecimal.ZERO.compareTo(emptied.getSubtotal()));
+    }
+
+    @Test
+    void testLoadsOnceThenFollowsUpdates() {
+        assertEquals(2, cache.get(7, this::loadTwoDiscounted).getItemCount());
+
+        long token = cache.beginUpdate(7);
+        cache.endUpdate(7, token, summary -> summary.withAdded(regular, 3));
+
+        CartSummary summary = cache.get(7, this::loadTwoDiscounted);
+        assertEquals(5, summary.getItemCount());
+        assertEquals(1, loads.get(), "Updates should be applied without rebuilding");
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void testLoadDuringUpdateIsNotCached() {
+        cache.beginUpdate(7);
+        cache.get(7, this::loadTwoDiscounted);
+        cache.endUpdate(7, 0, null);
+
+        cache.get(7, this::loadTwoDiscounted);
+        assertEquals(2, loads.get(), "A load that raced with a write must not be cached");
+        cache.get(7, this::loadTwoDiscounted);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testPriceChangeDropsCartsHoldingTheProduct() {
+        cache.get(7, this::loadTwoDiscounted);
+        cache.get(8, id -> CartSummary.of(List.of(item(regular, 1))));
+        assertEquals(2, cache.getBuyerCount());
+
+        cache.invalidateProduct(discounted.getProductId());
+        assertEquals(1, cache.getBuyerCount());
+
+        cache.get(7, this::loadTwoDiscounted);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testUpdateStartedBeforePriceChangeDropsSummary() {
+        cache.get(7, this::loadTwoDiscounted);
+
+        long token = cache.beginUpdate(7);
+        cache.invalidateProduct(regular.getProductId());
+        cache.endUpdate(7, token, summary -> summary.withAdded(regular, 1));
+
+        assertEquals(0, cache.getBuyerCount(), "The change may carry the old price");
+    }
+
+    @Test
+    void testFailedLoadIsNotCached() {
+        assertTrue(cache.get(7, id -> null).isEmpty());
+        assertEquals(0, cache.getBuyerCount());
+    }
+
+    @Test
+    void testExpiredSummaryIsRebuilt() throws InterruptedException {
+        CartSummaryCache shortLived = new CartSummaryCache(100, 20, true);
+        shortLived.get(7, this::loadTwoDiscounted);
+        long token = shortLived.beginUpdate(7);
+        shortLived.endUpdate(7, token, summary -> summary.withAdded(regular, 1));
+
+        Thread.sleep(40);
+        assertEquals(2, shortLived.get(7, this::loadTwoDiscounted).getItemCount(),
+                "Changes made on other nodes show once the summary expires");
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testFullCacheEvictsIdleBuyers() {
+        CartSummaryCache small = new CartSummaryCache(2, 60000, true);
+        small.get(1, this::loadTwoDiscounted);
+        small.get(2, this::loadTwoDiscounted);
+        assertEquals(0, small.evictIdle(), "Both were read since they were loaded");
+
+        small.get(2, this::loadTwoDiscounted);
+        small.get(3, this::loadTwoDiscounted);
+        assertEquals(1, small.getEvictionCount(), "Buyer 1 was not read since the last eviction");
+        assertEquals(2, small.getBuyerCount());
+
+        small.get(3, this::loadTwoDiscounted);
+        assertEquals(3, loads.get(), "Buyer 3 should be cached after the eviction");
+    }
+
+    private CartSummary loadTwoDiscounted(int buyerId) {
+        loads.incrementAndGet();
+        return CartSummary.of(List.of(item(discounted, 2)));
+    }
+
+    private static CartItem item(Product product, int quantity) {
+        CartItem item = new CartItem(7, product.getProductId(), quantity);
+        item.setProduct(product);
+        return item;
+    }
+
+    private static Product product(int productId, String price, String mrp, String discountPrice) {
+        Product product = new Product(1, "Product " + productId, "", "Test", new BigDecimal(price),
+                new BigDecimal(mrp), 100);
+        product.setProductId(productId);
+        if (discountPrice != null) {
+            product.setDiscountPrice(new BigDecimal(discountPrice));
+        }
+        return product;
+    }
+}
@@ -0,0 +1,92 @@
+package com.revshop.test;
+
+import com.revshop.dao.OrderDAO;
+import com.revshop.dao.ProductDAO;
+import com.revshop.model.CheckoutResult;
+import com.revshop.model.Order;
+import com.revshop.model.OrderItem;
+import com.revshop.model.Product;
+import org.junit.jupiter.api.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckoutConcurrencyTest {
+    private static final int INITIAL_STOCK = 10;
+    private static final int BUYERS = 40;
+
+    private static OrderDAO orderDAO;
+    private static ProductDAO productDAO;
+    private static TestFixture fixture;
+    private static int testProductId;
+    private static int testBuyerId;
+
+    @BeforeAll
+    static void setUp() {
+        orderDAO = new OrderDAO();
+        productDAO = new ProductDAO();
+        fixture = new TestFixture("Checkout");
+        testProductId = fixture.createProduct("Checkout Contention Item", "10.00", INITIAL_STOCK);
+        testBuyerId = fixture.createBuyer();
+    }
+
+    @Test
+    void testConcurrentCheckoutNeverOversells() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(BUYERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger outOfStock = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < BUYERS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                CheckoutResult result = orderDAO.placeOrder(newSingleItemOrder());
+                if (result.isSuccess()) {
+                    placed.incrementAndGet();
+                } else if (result.getStatus() == CheckoutResult.Status.OUT_OF_STOCK) {
+                    outOfStock.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        long startTime = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        executor.shutdown();
+
+        Product product = productDAO.getProductById(testProductId);
+        assertNotNull(product, "Contention product should still exist");
+
+        System.out.println("Checkout contention: " + BUYERS + " buyers, " + placed.get() + " placed, " +
+                outOfStock.get() + " out of stock, " + elapsedMs + " ms");
+
+        assertEquals(INITIAL_STOCK, placed.get(), "Exactly the available stock should be sold");
+        assertEquals(BUYERS - INITIAL_STOCK, outOfStock.get(), "Every other buyer should be rejected");
+        assertEquals(0, product.getStockQuantity(), "Stock must never go negative");
+    }
+
+    private static Order newSingleItemOrder() {
+        Order order = new Order(testBuyerId, new BigDecimal("10.00"), "1 Test St", "1 Test St");
+        order.setPaymentMethod("Test");
+        order.setPaymentStatus(Order.PaymentStatus.COMPLETED);
+        List<OrderItem> items = new ArrayList<>();
+        items.add(new OrderItem(0, testProductId, 1, new BigDecimal("10.00")));
+        order.setOrderItems(items);
+        return order;
+    }
+
+    @AfterAll
+    static void cleanUp() {
+        fixture.cleanUp();
+    }
+}
@@ -0,0 +1,85 @@
+package com.revshop.test;
+
+import com.revshop.config.ConnectionPermits;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPermitsTest {
+
+    @Test
+    void testClosingReleasesPermitOnce() throws Exception {
+        ConnectionPermits permits = new ConnectionPermits(1);
+        AtomicInteger closes = new AtomicInteger();
+
+        assertTrue(permits.acquire(0));
+        Connection conn = permits.bind(fakeConnection(closes));
+        assertFalse(permits.acquire(0));
+
+        conn.close();
+        conn.close();
+        assertEquals(2, closes.get());
+
+        // Only one permit came back despite two close() calls
+        assertTrue(permits.acquire(0));
+        assertFalse(permits.acquire(0));
+    }
+
+    @Test
+    void testOtherCallsReachConnection() throws Exception {
+        ConnectionPermits permits = new ConnectionPermits(1);
+        assertTrue(permits.acquire(0));
+        Connection conn = permits.bind(fakeConnection(new AtomicInteger()));
+        assertFalse(conn.isClosed());
+    }
+
+    @Test
+    void testResize() throws Exception {
+        ConnectionPermits permits = new ConnectionPermits(2);
+        assertTrue(permits.acquire(0));
+        assertTrue(permits.acquire(0));
+
+        // Shrinking below the permits in use blocks newcomers until enough are returned
+        permits.resize(1);
+        permits.release();
+        assertFalse(permits.acquire(0));
+        permits.release();
+        assertTrue(permits.acquire(0));
+        assertFalse(permits.acquire(0));
+
+        permits.resize(3);
+        assertEquals(3, permits.getPermits());
+        assertTrue(permits.acquire(0));
+        assertTrue(permits.acquire(0));
+        assertFalse(permits.acquire(0));
+    }
+
+    @Test
+    void testWaitingThreadTimesOut() throws Exception {
+        ConnectionPermits permits = new ConnectionPermits(1);
+        assertTrue(permits.acquire(0));
+
+        long start = System.nanoTime();
+        assertFalse(permits.acquire(50));
+        assertTrue(System.nanoTime() - start >= 40_000_000L);
+    }
+
+    private static Connection fakeConnection(AtomicInteger closes) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            closes.incrementAndGet();
+                            return null;
+                        case "isClosed":
+                            return false;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,62 @@
+package com.revshop.test;
+
+import com.revshop.util.DataGenerator;
+import com.revshop.util.ZipfDistribution;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataGeneratorTest {
+
+    @Test
+    void testZipfProbabilitiesSumToOne() {
+        ZipfDistribution zipf = new ZipfDistribution(1000, 1.0);
+        double total = 0;
+        for (int k = 0; k < zipf.size(); k++) {
+            total += zipf.probability(k);
+        }
+        assertEquals(1.0, total, 1e-9);
+        assertEquals(2.0, zipf.probability(0) / zipf.probability(1), 1e-9);
+    }
+
+    @Test
+    void testZipfSamplesAreSkewed() {
+        ZipfDistribution zipf = new ZipfDistribution(1000, 1.0);
+        Random random = new Random(1);
+        int[] counts = new int[zipf.size()];
+        for (int i = 0; i < 100_000; i++) {
+            counts[zipf.sample(random)]++;
+        }
+
+        // With s=1 over 1000 ranks the top 1% draws about 39% of samples
+        int top = 0;
+        for (int k = 0; k < 10; k++) {
+            top += counts[k];
+        }
+        assertTrue(top > 35_000 && top < 43_000, "top 10 ranks drew " + top);
+        assertTrue(counts[0] > counts[9]);
+    }
+
+    @Test
+    void testZeroExponentIsUniform() {
+        ZipfDistribution zipf = new ZipfDistribution(4, 0);
+        for (int k = 0; k < 4; k++) {
+            assertEquals(0.25, zipf.probability(k), 1e-9);
+        }
+    }
+
+    @Test
+    void testScaleFromArgs() {
+        DataGenerator.Scale scale = DataGenerator.Scale.fromArgs(
+                new String[]{"--buyers=200", "--products=5000", "--productSkew=1.2", "--seed=7"});
+        String description = scale.toString();
+        assertTrue(description.contains("buyers=200"));
+        assertTrue(description.contains("products=5000"));
+        assertTrue(description.contains("seed=7"));
+
+        assertThrows(IllegalArgumentException.class, () -> DataGenerator.Scale.fromArgs(new String[]{"--nope=1"}));
+        assertThrows(IllegalArgumentException.class, () -> DataGenerator.Scale.fromArgs(new String[]{"buyers"}));
+    }
+}
@@ -0,0 +1,169 @@
+package com.revshop.test;
+
+import com.revshop.http.Json;
+import com.revshop.http.RevShopServer;
+import com.revshop.http.TokenService;
+import com.revshop.model.User;
+import com.revshop.service.AuthService;
+import com.revshop.service.BuyerService;
+import com.revshop.service.NotificationService;
+import com.revshop.service.SessionContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpApiTest {
+
+    private static final byte[] SECRET = "test-secret-0123456789".getBytes(StandardCharsets.UTF_8);
+    private static TokenService tokenService;
+    private static RevShopServer server;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        tokenService = new TokenService(SECRET, 3600);
+        server = new RevShopServer(0, tokenService, new AuthService(), new BuyerService(), new NotificationService());
+        server.start();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void testJsonRoundTrip() {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("name", "Desk \"Pro\"\n");
+        value.put("price", new BigDecimal("1299.50"));
+        value.put("tags", Arrays.asList("office", null, true));
+
+        String json = Json.write(value);
+        assertEquals("{\"name\":\"Desk \\\"Pro\\\"\\n\",\"price\":1299.50,\"tags\":[\"office\",null,true]}", json);
+
+        Map<String, Object> parsed = Json.parseObject(json);
+        assertEquals("Desk \"Pro\"\n", parsed.get("name"));
+        assertEquals(new BigDecimal("1299.50"), parsed.get("price"));
+        assertEquals(Arrays.asList("office", null, true), parsed.get("tags"));
+    }
+
+    @Test
+    void testJsonRejectsMalformedInput() {
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("{\"a\":"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("[1,2] x"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("[1]"));
+        assertTrue(Json.parseObject("").isEmpty());
+    }
+
+    @Test
+    void testTokenRoundTrip() {
+        SessionContext session = tokenService.verify(tokenService.issue(user(42, User.UserType.BUYER)));
+        assertNotNull(session);
+        assertEquals(42, session.getUserId());
+        assertTrue(session.isBuyer());
+    }
+
+    @Test
+    void testTokenRejectsTamperingAndExpiry() {
+        String token = tokenService.issue(user(42, User.UserType.BUYER));
+        String forged = tokenService.issue(user(43, User.UserType.SELLER));
+        String spliced = forged.substring(0, forged.indexOf('.')) + token.substring(token.indexOf('.'));
+        assertNull(tokenService.verify(spliced));
+        assertNull(tokenService.verify("garbage"));
+        assertNull(new TokenService("another-secret-0123456".getBytes(StandardCharsets.UTF_8), 3600).verify(token));
+
+        TokenService expired = new TokenService(SECRET, -1);
+        assertNull(expired.verify(expired.issue(user(42, User.UserType.BUYER))));
+    }
+
+    @Test
+    void testHealth() throws IOException {
+        HttpURLConnection connection = open("GET", "/health", null);
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("UP", Json.parseObject(read(connection.getInputStream())).get("status"));
+    }
+
+    @Test
+    void testCartRequiresBuyerToken() throws IOException {
+        assertError(401, open("GET", "/api/cart", null));
+        assertError(401, open("GET", "/api/cart", "not-a-token"));
+        assertError(403, open("GET", "/api/cart", tokenService.issue(user(7, User.UserType.SELLER))));
+    }
+
+    @Test
+    void testCartBatchRejectsMalformedItems() throws IOException {
+        String buyer = tokenService.issue(user(7, User.UserType.BUYER));
+        assertError(400, post("/api/cart/items", buyer, "{\"items\": 5}"));
+        assertError(400, post("/api/cart/items", buyer, "{\"items\": [{\"productId\": \"x\"}]}"));
+        assertError(400, post("/api/cart/items", buyer, "{\"items\": [7]}"));
+        assertError(400, post("/api/cart/items", buyer, "{\"items\": [{\"productId\": 1.5}]}"));
+        assertError(400, post("/api/cart/items", buyer, "{\"items\": [{\"productId\": 1e12}]}"));
+    }
+
+    @Test
+    void testMalformedCursorIsBadRequest() throws IOException {
+        String buyer = tokenService.issue(user(7, User.UserType.BUYER));
+        assertError(400, open("GET", "/api/notifications?before=12345", buyer));
+        assertError(400, open("GET", "/api/notifications?before=abc_1", buyer));
+        assertError(400, open("GET", "/api/orders?before=_", buyer));
+        assertError(400, open("GET", "/api/products?sort=rating&after=4.5000_3", null));
+        assertError(400, open("GET", "/api/products?sort=rating&after=x_3_1", null));
+        assertError(400, open("GET", "/api/products?sort=rating&after=-1_3_1", null));
+    }
+
+    @Test
+    void testUnsupportedMethod() throws IOException {
+        assertError(405, open("DELETE", "/api/products", null));
+    }
+
+    private static void assertError(int status, HttpURLConnection connection) throws IOException {
+        assertEquals(status, connection.getResponseCode());
+        Object error = Json.parseObject(read(connection.getErrorStream())).get("error");
+        assertNotNull(error);
+    }
+
+    private static HttpURLConnection open(String method, String path, String token) throws IOException {
+        URL url = new URL("http://localhost:" + server.getPort() + path);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod(method);
+        if (token != null) {
+            connection.setRequestProperty("Authorization", "Bearer " + token);
+        }
+        return connection;
+    }
+
+    private static HttpURLConnection post(String path, String token, String json) throws IOException {
+        HttpURLConnection connection = open("POST", path, token);
+        connection.setDoOutput(true);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        return connection;
+    }
+
+    private static String read(InputStream in) throws IOException {
+        try (InputStream body = in) {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static User user(int userId, User.UserType type) {
+        User user = new User();
+        user.setUserId(userId);
+        user.setUserType(type);
+        return user;
+    }
+}
@@ -0,0 +1,95 @@
+package com.revshop.test;
+
+import com.revshop.dao.NotificationDAO;
+import com.revshop.dao.NotificationOutboxDAO;
+import com.revshop.dao.OrderDAO;
+import com.revshop.model.CheckoutResult;
+import com.revshop.model.Notification;
+import com.revshop.model.Order;
+import com.revshop.model.OrderItem;
+import org.junit.jupiter.api.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationOutboxTest {
+    private static OrderDAO orderDAO;
+    private static NotificationDAO notificationDAO;
+    private static NotificationOutboxDAO outboxDAO;
+    private static TestFixture fixture;
+    private static int testProductId;
+    private static int testBuyerId;
+
+    @BeforeAll
+    static void setUp() {
+        orderDAO = new OrderDAO();
+        notificationDAO = new NotificationDAO();
+        outboxDAO = new NotificationOutboxDAO();
+
+        fixture = new TestFixture("Outbox");
+        testProductId = fixture.createProduct("Outbox Item", "5.00", 1);
+        testBuyerId = fixture.createBuyer();
+
+        drainOutbox();
+    }
+
+    @Test
+    void testNotificationCommitsWithOrderAndIsDeliveredLater() {
+        CheckoutResult placed = orderDAO.placeOrder(newOrder(), order ->
+                new Notification(testBuyerId, "ORDER", "Order #" + order.getOrderId() + " placed successfully!"));
+        assertTrue(placed.isSuccess());
+        assertEquals(1, outboxDAO.getPendingCount(), "Notification should wait in the outbox");
+        assertEquals(0, notificationDAO.getUnreadNotificationCount(testBuyerId));
+
+        // Out of stock now: the rolled-back checkout must not leave a notification behind
+        CheckoutResult rejected = orderDAO.placeOrder(newOrder(), order ->
+                new Notification(testBuyerId, "ORDER", "should not be sent"));
+        assertEquals(CheckoutResult.Status.OUT_OF_STOCK, rejected.getStatus());
+        assertEquals(1, outboxDAO.getPendingCount());
+
+        assertEquals(1, outboxDAO.deliverBatch(100));
+        assertEquals(0, outboxDAO.getPendingCount());
+        assertEquals(1, notificationDAO.getUnreadNotificationCount(testBuyerId),
+                "Delivery should update the cached unread count");
+        List<Notification> delivered = notificationDAO.getNotificationsByUserId(testBuyerId);
+        assertEquals(1, delivered.size());
+        assertEquals("Order #" + placed.getOrder().getOrderId() + " placed successfully!",
+                delivered.get(0).getMessage());
+        assertNotNull(delivered.get(0).getCreatedAt());
+    }
+
+    @Test
+    void testDeliverBatchRespectsLimit() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(outboxDAO.enqueue(new Notification(testBuyerId, "TEST", "Batch " + i)));
+        }
+        assertEquals(3, outboxDAO.deliverBatch(3));
+        assertEquals(2, outboxDAO.deliverBatch(3));
+        assertEquals(0, outboxDAO.deliverBatch(3));
+    }
+
+    private static Order newOrder() {
+        Order order = new Order(testBuyerId, new BigDecimal("5.00"), "1 Test St", "1 Test St");
+        order.setPaymentMethod("Test");
+        order.setPaymentStatus(Order.PaymentStatus.COMPLETED);
+        List<OrderItem> items = new ArrayList<>();
+        items.add(new OrderItem(0, testProductId, 1, new BigDecimal("5.00")));
+        order.setOrderItems(items);
+        return order;
+    }
+
+    private static void drainOutbox() {
+        while (outboxDAO.deliverBatch(500) > 0) {
+            // Deliver anything left over from earlier runs
+        }
+    }
+
+    @AfterAll
+    static void cleanUp() {
+        drainOutbox();
+        fixture.cleanUp();
+    }
+}
@@ -0,0 +1,35 @@
+package com.revshop.test;
+
+import com.revshop.model.Page;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageTest {
+
+    @Test
+    void testExtraRowMeansMorePages() {
+        Page<Integer> page = Page.of(new ArrayList<>(Arrays.asList(1, 2, 3, 4)), 3);
+        assertEquals(Arrays.asList(1, 2, 3), page.getItems());
+        assertTrue(page.hasMore());
+        assertEquals(3, page.getLast());
+    }
+
+    @Test
+    void testLastPage() {
+        Page<Integer> page = Page.of(new ArrayList<>(Arrays.asList(1, 2, 3)), 3);
+        assertEquals(3, page.getItems().size());
+        assertFalse(page.hasMore());
+    }
+
+    @Test
+    void testEmptyPage() {
+        Page<Integer> page = Page.empty();
+        assertTrue(page.isEmpty());
+        assertFalse(page.hasMore());
+        assertNull(page.getLast());
+    }
+}
@@ -0,0 +1,180 @@
+package com.revshop.test;
+
+import com.revshop.payment.CircuitBreaker;
+import com.revshop.payment.PaymentGateway;
+import com.revshop.payment.PaymentRequest;
+import com.revshop.payment.PaymentResult;
+import com.revshop.payment.ResilientPaymentGateway;
+import com.revshop.payment.SimulatedPaymentGateway;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentGatewayTest {
+
+    private static PaymentRequest request() {
+        return new PaymentRequest(1, new BigDecimal("49.99"), "Credit Card");
+    }
+
+    // Answers authorizations from a script and records the idempotency keys it saw
+    private static class ScriptedGateway implements PaymentGateway {
+        final Deque<Supplier<CompletableFuture<PaymentResult>>> script = new ArrayDeque<>();
+        final List<String> keys = new ArrayList<>();
+        final List<String> voided = new CopyOnWriteArrayList<>();
+
+        @SafeVarargs
+        ScriptedGateway(Supplier<CompletableFuture<PaymentResult>>... steps) {
+            script.addAll(Arrays.asList(steps));
+        }
+
+        @Override
+        public CompletableFuture<PaymentResult> authorize(PaymentRequest request) {
+            keys.add(request.getIdempotencyKey());
+            return script.isEmpty() ? CompletableFuture.completedFuture(PaymentResult.approved("TXN-default"))
+                    : script.poll().get();
+        }
+
+        @Override
+        public CompletableFuture<Void> voidAuthorization(String transactionId) {
+            voided.add(transactionId);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private static Supplier<CompletableFuture<PaymentResult>> answer(PaymentResult result) {
+        return () -> CompletableFuture.completedFuture(result);
+    }
+
+    private static ResilientPaymentGateway resilient(PaymentGateway delegate, long timeoutMs, int retries,
+                                                     CircuitBreaker breaker) {
+        return new ResilientPaymentGateway(delegate, timeoutMs, retries, 1, breaker);
+    }
+
+    @Test
+    void testRetriesErrorsWithSameIdempotencyKey() {
+        ScriptedGateway gateway = new ScriptedGateway(
+                answer(PaymentResult.error("Gateway error")),
+                () -> CompletableFuture.failedFuture(new IllegalStateException("connection reset")),
+                answer(PaymentResult.approved("TXN-1")));
+
+        PaymentResult result = resilient(gateway, 1000, 2, new CircuitBreaker("test", 10, 1000))
+                .authorize(request()).join();
+
+        assertTrue(result.isApproved());
+        assertEquals("TXN-1", result.getTransactionId());
+        assertEquals(3, gateway.keys.size());
+        assertEquals(1, gateway.keys.stream().distinct().count());
+    }
+
+    @Test
+    void testDeclineIsNotRetried() {
+        ScriptedGateway gateway = new ScriptedGateway(answer(PaymentResult.declined("Card declined")));
+
+        PaymentResult result = resilient(gateway, 1000, 2, new CircuitBreaker("test", 10, 1000))
+                .authorize(request()).join();
+
+        assertEquals(PaymentResult.Status.DECLINED, result.getStatus());
+        assertEquals(1, gateway.keys.size());
+    }
+
+    @Test
+    void testTimeoutGivesUpAfterRetries() {
+        ScriptedGateway gateway = new ScriptedGateway(CompletableFuture::new, CompletableFuture::new);
+
+        PaymentResult result = resilient(gateway, 20, 1, new CircuitBreaker("test", 10, 1000))
+                .authorize(request()).join();
+
+        assertEquals(PaymentResult.Status.ERROR, result.getStatus());
+        assertTrue(result.getMessage().startsWith("Timed out"));
+        assertEquals(2, gateway.keys.size());
+    }
+
+    @Test
+    void testLateApprovalOfTimedOutAttemptIsVoided() {
+        CompletableFuture<PaymentResult> slow = new CompletableFuture<>();
+        ScriptedGateway gateway = new ScriptedGateway(() -> slow, answer(PaymentResult.approved("TXN-2")));
+
+        PaymentResult result = resilient(gateway, 20, 1, new CircuitBreaker("test", 10, 1000))
+                .authorize(request()).join();
+        assertEquals("TXN-2", result.getTransactionId(), "The retry's approval is the one kept");
+        assertTrue(gateway.voided.isEmpty());
+
+        // The first attempt comes back approved after it was given up on
+        slow.complete(PaymentResult.approved("TXN-1"));
+        assertEquals(List.of("TXN-1"), gateway.voided);
+    }
+
+    @Test
+    void testApprovalInTimeIsNotVoided() {
+        ScriptedGateway gateway = new ScriptedGateway(answer(PaymentResult.approved("TXN-1")));
+        assertTrue(resilient(gateway, 1000, 0, new CircuitBreaker("test", 10, 1000))
+                .authorize(request()).join().isApproved());
+        assertTrue(gateway.voided.isEmpty());
+    }
+
+    @Test
+    void testOpenCircuitRejectsWithoutCallingGateway() {
+        ScriptedGateway gateway = new ScriptedGateway(
+                answer(PaymentResult.error("down")), answer(PaymentResult.error("down")));
+        CircuitBreaker breaker = new CircuitBreaker("test", 2, 60_000);
+        ResilientPaymentGateway resilient = resilient(gateway, 1000, 0, breaker);
+
+        resilient.authorize(request()).join();
+        resilient.authorize(request()).join();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        PaymentResult rejected = resilient.authorize(request()).join();
+        assertEquals(PaymentResult.Status.ERROR, rejected.getStatus());
+        assertEquals(2, gateway.keys.size());
+    }
+
+    @Test
+    void testCircuitHalfOpensAfterOpenPeriod() {
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 100, now::get);
+
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+        assertFalse(breaker.tryAcquire());
+
+        now.addAndGet(100_000_000L);
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        // Only one trial call at a time
+        assertFalse(breaker.tryAcquire());
+
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        now.addAndGet(100_000_000L);
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void testSimulatorRates() {
+        SimulatedPaymentGateway approveAll = new SimulatedPaymentGateway(0, 0, 0, 0);
+        assertTrue(approveAll.authorize(request()).join().isApproved());
+
+        SimulatedPaymentGateway declineAll = new SimulatedPaymentGateway(0, 0, 1, 0);
+        assertEquals(PaymentResult.Status.DECLINED, declineAll.authorize(request()).join().getStatus());
+
+        SimulatedPaymentGateway failAll = new SimulatedPaymentGateway(5, 0, 0, 1);
+        assertEquals(PaymentResult.Status.ERROR, failAll.authorize(request()).join().getStatus());
+
+        assertThrows(IllegalArgumentException.class, () -> new SimulatedPaymentGateway(0, 0, 0.6, 0.6));
+    }
+}
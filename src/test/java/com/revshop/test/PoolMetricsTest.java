@@ -0,0 +1,115 @@
+package com.revshop.test;
+
+import com.revshop.metrics.LatencyHistogram;
+import com.revshop.metrics.PoolMetrics;
+import com.revshop.metrics.PoolMetricsReporter;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoolMetricsTest {
+
+    @Test
+    void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(50.0, histogram.getPercentileMillis(50), 5.0);
+        assertEquals(95.0, histogram.getPercentileMillis(95), 9.5);
+        assertEquals(99.0, histogram.getPercentileMillis(99), 9.9);
+        assertEquals(100.0, histogram.getMaxNanos() / 1_000_000.0, 0.001);
+        assertTrue(histogram.getPercentileNanos(100) <= histogram.getMaxNanos());
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentileNanos(99));
+    }
+
+    @Test
+    void testTrackerFeedsHistograms() {
+        PoolMetrics metrics = new PoolMetrics();
+        IMetricsTracker tracker = metrics.create("test", null);
+        tracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(2));
+        tracker.recordConnectionUsageMillis(40);
+        tracker.recordConnectionTimeout();
+
+        assertEquals(1, metrics.getConnectionsAcquired());
+        assertEquals(2.0, metrics.getAcquireP50Millis(), 0.2);
+        assertEquals(40.0, metrics.getUsageP99Millis(), 4.0);
+        assertEquals(1, metrics.getConnectionTimeouts());
+    }
+
+    @Test
+    void testAwaitingAlertNeedsConsecutiveSamples() {
+        FakePool pool = new FakePool();
+        PoolMetrics metrics = new PoolMetrics();
+        metrics.attach(pool);
+        PoolMetricsReporter reporter = new PoolMetricsReporter(metrics, 10, 100, 3, null);
+
+        pool.awaiting = 2;
+        reporter.sample();
+        reporter.sample();
+        assertFalse(reporter.isAlerting(), "Two samples are below the threshold");
+
+        pool.awaiting = 0;
+        reporter.sample();
+        pool.awaiting = 1;
+        reporter.sample();
+        reporter.sample();
+        assertFalse(reporter.isAlerting(), "A clear sample resets the streak");
+
+        reporter.sample();
+        assertTrue(reporter.isAlerting());
+        assertEquals(2, metrics.getPeakThreadsAwaiting());
+
+        pool.awaiting = 0;
+        reporter.sample();
+        assertFalse(reporter.isAlerting());
+    }
+
+    @Test
+    void testPermitQueueCountsAsAwaiting() {
+        FakePool pool = new FakePool();
+        PoolMetrics metrics = new PoolMetrics();
+        metrics.attach(pool);
+        AtomicInteger permitWaiters = new AtomicInteger(5);
+        metrics.attachPermitQueue(permitWaiters::get);
+        PoolMetricsReporter reporter = new PoolMetricsReporter(metrics, 10, 100, 2, null);
+
+        // Saturated behind the permits: Hikari itself sees no waiters
+        reporter.sample();
+        reporter.sample();
+        assertTrue(reporter.isAlerting());
+        assertEquals(5, metrics.getThreadsAwaitingConnection());
+        assertEquals(5, metrics.getThreadsAwaitingPermit());
+
+        metrics.recordPermitWait(TimeUnit.MILLISECONDS.toNanos(30));
+        metrics.recordPermitTimeout();
+        assertEquals(30.0, metrics.getPermitWaitP99Millis(), 3.0);
+        assertEquals(1, metrics.getConnectionTimeouts());
+
+        permitWaiters.set(0);
+        reporter.sample();
+        assertFalse(reporter.isAlerting());
+    }
+
+    private static class FakePool implements HikariPoolMXBean {
+        volatile int awaiting;
+
+        @Override public int getIdleConnections() { return 0; }
+        @Override public int getActiveConnections() { return 20; }
+        @Override public int getTotalConnections() { return 20; }
+        @Override public int getThreadsAwaitingConnection() { return awaiting; }
+        @Override public void softEvictConnections() {}
+        @Override public void suspendPool() {}
+        @Override public void resumePool() {}
+    }
+}
@@ -0,0 +1,105 @@
+package com.revshop.test;
+
+import com.revshop.dao.ProductCatalogCache;
+import com.revshop.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCatalogCacheTest {
+    private ProductCatalogCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProductCatalogCache(3, 10, true);
+    }
+
+    @Test
+    void testReadThroughHitAndMiss() {
+        assertNull(cache.getProduct(1), "Empty cache should miss");
+        cache.putProduct(product(1, 10), cache.currentVersion());
+
+        Product cached = cache.getProduct(1);
+        assertNotNull(cached, "Should hit after put");
+        assertEquals(10, cached.getStockQuantity());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void testReturnsCopies() {
+        cache.putProduct(product(1, 10), cache.currentVersion());
+        cache.getProduct(1).setStockQuantity(0);
+        assertEquals(10, cache.getProduct(1).getStockQuantity(), "Caller changes must not leak into the cache");
+    }
+
+    @Test
+    void testLeastRecentlyUsedIsEvicted() {
+        long version = cache.currentVersion();
+        cache.putProduct(product(1, 1), version);
+        cache.putProduct(product(2, 2), version);
+        cache.putProduct(product(3, 3), version);
+        cache.getProduct(1); // 2 is now least recently used
+        cache.putProduct(product(4, 4), version);
+
+        assertNull(cache.getProduct(2), "LRU entry should be evicted");
+        assertNotNull(cache.getProduct(1));
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(3, cache.getProductCount());
+    }
+
+    @Test
+    void testStaleLoadIsRejectedAfterInvalidation() {
+        long version = cache.currentVersion();
+        cache.invalidateProduct(1); // a write lands while the load is in flight
+        cache.putProduct(product(1, 10), version);
+        assertNull(cache.getProduct(1), "Load from before the write must not be installed");
+    }
+
+    @Test
+    void testStockChangeKeepsViewButDropsProduct() {
+        List<Product> products = new ArrayList<>(Arrays.asList(product(1, 5), product(2, 5)));
+        cache.putView(ProductCatalogCache.ALL_PRODUCTS_VIEW, products, cache.currentVersion());
+
+        cache.invalidateProduct(2);
+
+        List<Integer> ids = cache.getView(ProductCatalogCache.ALL_PRODUCTS_VIEW);
+        assertEquals(Arrays.asList(1, 2), ids, "Listing membership is unchanged by a stock update");
+
+        Map<Integer, Product> found = new HashMap<>();
+        List<Integer> missing = cache.getProducts(ids, found);
+        assertEquals(Arrays.asList(2), missing, "Only the changed product needs reloading");
+        assertTrue(found.containsKey(1));
+    }
+
+    @Test
+    void testProductUpdateDropsViews() {
+        cache.putView(ProductCatalogCache.categoryView("Electronics"),
+                new ArrayList<>(Arrays.asList(product(1, 5))), cache.currentVersion());
+        cache.invalidateProductAndViews(1);
+        assertNull(cache.getView(ProductCatalogCache.categoryView("Electronics")));
+    }
+
+    @Test
+    void testDisabledCacheNeverHits() {
+        ProductCatalogCache disabled = new ProductCatalogCache(3, 10, false);
+        disabled.putProduct(product(1, 1), disabled.currentVersion());
+        assertNull(disabled.getProduct(1));
+    }
+
+    private Product product(int productId, int stock) {
+        Product product = new Product(2, "Product " + productId, "Test product", "Electronics",
+                new BigDecimal("9.99"), new BigDecimal("9.99"), stock);
+        product.setProductId(productId);
+        product.setActive(true);
+        return product;
+    }
+}
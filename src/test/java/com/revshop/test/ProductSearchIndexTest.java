@@ -0,0 +1,173 @@
+package com.revshop.test;
+
+import com.revshop.dao.ProductSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.index(1, "Wireless Headphones", "Over-ear bluetooth headphones", "Electronics");
+        index.index(2, "Phone Case", "Silicone case for phones", "Accessories");
+        index.index(3, "Bluetooth Speaker", "Portable wireless speaker", "Electronics");
+        index.index(4, "Cotton T-Shirt", "Plain cotton tee", "Clothing");
+    }
+
+    @Test
+    void testCaseInsensitiveWordMatch() {
+        assertEquals(Arrays.asList(4), index.search("COTTON", 10));
+        assertEquals(Arrays.asList(4), index.search("t-shirt", 10));
+    }
+
+    @Test
+    void testPrefixMatch() {
+        List<Integer> results = index.search("head", 10);
+        assertEquals(Arrays.asList(1), results, "Prefix should match 'headphones'");
+        assertTrue(index.search("bluet", 10).containsAll(Arrays.asList(1, 3)));
+    }
+
+    @Test
+    void testAllWordsMustMatch() {
+        assertEquals(Arrays.asList(3), index.search("wireless speaker", 10));
+        assertTrue(index.search("wireless shirt", 10).isEmpty());
+    }
+
+    @Test
+    void testNameMatchRanksAboveDescription() {
+        // "wireless" is in the name of 1 and only the description of 3
+        assertEquals(Arrays.asList(1, 3), index.search("wireless", 10));
+        // "speaker" is in both name and description of 3
+        assertEquals(Arrays.asList(3), index.search("speaker", 10));
+    }
+
+    @Test
+    void testCategoryMatch() {
+        List<Integer> results = index.search("electronics", 10);
+        assertEquals(2, results.size());
+        assertTrue(results.containsAll(Arrays.asList(1, 3)));
+    }
+
+    @Test
+    void testLimit() {
+        assertEquals(1, index.search("electronics", 1).size());
+        assertTrue(index.search("electronics", 0).isEmpty());
+    }
+
+    @Test
+    void testUpdateAndRemove() {
+        index.index(4, "Linen Shirt", "Breathable linen", "Clothing");
+        assertTrue(index.search("cotton", 10).isEmpty(), "Old terms should be dropped on re-index");
+        assertEquals(Arrays.asList(4), index.search("linen", 10));
+
+        index.remove(1);
+        assertEquals(Arrays.asList(3), index.search("wireless", 10));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testReplaceWith() {
+        ProductSearchIndex fresh = new ProductSearchIndex();
+        fresh.index(9, "Desk Lamp", "LED lamp", "Home");
+        assertFalse(index.isBuilt());
+
+        index.replaceWith(fresh);
+        assertTrue(index.isBuilt());
+        assertEquals(1, index.size());
+        assertEquals(Arrays.asList(9), index.search("lamp", 10));
+        assertTrue(index.search("wireless", 10).isEmpty());
+    }
+
+    @Test
+    void testChangesDuringRebuildAreReplayed() {
+        assertTrue(index.rebuild(fresh -> {
+            // Loaded before the changes below, as a slow database read would be
+            fresh.index(1, "Wireless Headphones", "Over-ear bluetooth headphones", "Electronics");
+            fresh.index(2, "Phone Case", "Silicone case for phones", "Accessories");
+
+            index.index(2, "Leather Case", "Case for phones", "Accessories");
+            index.remove(1);
+            index.index(5, "Desk Lamp", "LED lamp", "Home");
+            return true;
+        }));
+
+        assertTrue(index.isBuilt());
+        assertTrue(index.search("headphones", 10).isEmpty(), "Removed while loading");
+        assertEquals(Arrays.asList(2), index.search("leather", 10), "Updated while loading");
+        assertTrue(index.search("silicone", 10).isEmpty());
+        assertEquals(Arrays.asList(5), index.search("lamp", 10), "Added while loading");
+        assertEquals(2, index.size());
+
+        // Recording stops with the swap
+        index.index(6, "Floor Lamp", "", "Home");
+        assertTrue(index.rebuild(fresh -> true));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testFailedRebuildKeepsContents() {
+        assertFalse(index.rebuild(fresh -> {
+            fresh.index(9, "Desk Lamp", "LED lamp", "Home");
+            return false;
+        }));
+        assertFalse(index.isBuilt());
+        assertEquals(4, index.size());
+        assertTrue(index.search("lamp", 10).isEmpty());
+    }
+
+    @Test
+    void testBackgroundRebuild() throws InterruptedException {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        assertTrue(index.rebuildInBackground(fresh -> {
+            loading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            fresh.index(9, "Desk Lamp", "LED lamp", "Home");
+            return true;
+        }, 0));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        assertFalse(index.rebuildInBackground(fresh -> true, 0), "One background rebuild at a time");
+        release.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!index.isBuilt() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(index.isBuilt());
+        assertEquals(Arrays.asList(9), index.search("lamp", 10));
+    }
+
+    @Test
+    void testBackgroundRebuildRetriesAreRateLimited() throws InterruptedException {
+        CountDownLatch attempted = new CountDownLatch(1);
+        assertTrue(index.rebuildInBackground(fresh -> {
+            attempted.countDown();
+            return false;
+        }, TimeUnit.HOURS.toMillis(1)));
+        assertTrue(attempted.await(5, TimeUnit.SECONDS));
+
+        assertFalse(index.rebuildInBackground(fresh -> true, TimeUnit.HOURS.toMillis(1)),
+                "Retry within the interval");
+        assertFalse(index.isBuilt());
+    }
+
+    @Test
+    void testBlankQuery() {
+        assertTrue(index.search("", 10).isEmpty());
+        assertTrue(index.search("  --  ", 10).isEmpty());
+        assertTrue(index.search(null, 10).isEmpty());
+    }
+}
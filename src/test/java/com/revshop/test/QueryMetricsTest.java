@@ -0,0 +1,133 @@
+package com.revshop.test;
+
+import com.revshop.metrics.QueryMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryMetricsTest {
+    private QueryMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new QueryMetrics(true, 1000);
+    }
+
+    @Test
+    void testFingerprintCollapsesLiteralsAndInLists() {
+        assertEquals("SELECT * FROM products WHERE product_id IN (...) AND is_active = TRUE",
+                metrics.fingerprint("SELECT * FROM products WHERE product_id IN (?, ?, ?)\n   AND is_active = TRUE"));
+        assertEquals("SELECT * FROM orders WHERE status = ? AND order_id > ?",
+                metrics.fingerprint("SELECT * FROM orders WHERE status = 'DELIVERED' AND order_id > 42"));
+        assertEquals(metrics.fingerprint("SELECT * FROM t WHERE id IN (?)"),
+                metrics.fingerprint("SELECT * FROM t WHERE id IN (?, ?)"));
+    }
+
+    @Test
+    void testRecordAggregatesByFingerprint() {
+        metrics.record("SELECT * FROM users WHERE user_id = ?", TimeUnit.MILLISECONDS.toNanos(2), 0);
+        metrics.record("SELECT *  FROM users WHERE user_id = ?", TimeUnit.MILLISECONDS.toNanos(4), -1);
+        metrics.recordRows("SELECT * FROM users WHERE user_id = ?", 2);
+
+        assertEquals(1, metrics.getStats().size());
+        QueryMetrics.QueryStats stats = metrics.getStats().get(0);
+        assertEquals(2, stats.getCount());
+        assertEquals(1.0, stats.getRowsPerExecution(), 0.001);
+        assertEquals(1, stats.getConnectionWait().getCount(), "Wait is only charged once per connection");
+        assertTrue(metrics.getReport(10).contains("SELECT * FROM users WHERE user_id = ?"));
+    }
+
+    @Test
+    void testInstrumentedConnectionTimesStatementsAndCountsRows() throws Exception {
+        Connection conn = metrics.instrument(fakeConnection(3), TimeUnit.MILLISECONDS.toNanos(5));
+
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT * FROM products WHERE seller_id = ?")) {
+            pstmt.setInt(1, 2);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                int read = 0;
+                while (rs.next()) {
+                    read++;
+                }
+                assertEquals(3, read);
+            }
+            pstmt.executeQuery().close();
+        }
+
+        QueryMetrics.QueryStats stats = metrics.getStats().get(0);
+        assertEquals("SELECT * FROM products WHERE seller_id = ?", stats.getFingerprint());
+        assertEquals(2, stats.getCount());
+        assertEquals(3, stats.getRows(), "Only rows actually read are counted");
+        assertEquals(1, stats.getConnectionWait().getCount());
+        assertEquals(5.0, stats.getConnectionWait().getPercentileMillis(50), 0.5);
+    }
+
+    @Test
+    void testListenerSeesStatementsWithTheirParameters() throws Exception {
+        List<String> seen = new ArrayList<>();
+        metrics.setStatementListener((sql, parameters) -> seen.add(sql + " " + parameters));
+        Connection conn = metrics.instrument(fakeConnection(0), 0);
+
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT * FROM orders WHERE buyer_id = ? AND status = ?")) {
+            pstmt.setInt(1, 7);
+            pstmt.setNull(2, Types.VARCHAR);
+            pstmt.executeQuery();
+            pstmt.clearParameters();
+            pstmt.setString(2, "SHIPPED");
+            pstmt.executeQuery();
+        }
+        metrics.setStatementListener(null);
+        conn.prepareStatement("SELECT 1").executeQuery();
+
+        assertEquals(List.of("SELECT * FROM orders WHERE buyer_id = ? AND status = ? {1=7, 2=null}",
+                "SELECT * FROM orders WHERE buyer_id = ? AND status = ? {2=SHIPPED}"), seen);
+    }
+
+    @Test
+    void testDisabledReturnsSameConnection() {
+        Connection conn = fakeConnection(0);
+        assertSame(conn, new QueryMetrics(false, 1000).instrument(conn, 0));
+    }
+
+    // Connection whose statements return a result set with the given number of rows
+    private static Connection fakeConnection(int rows) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("prepareStatement")) {
+                        return fakeStatement(rows);
+                    }
+                    return null;
+                });
+    }
+
+    private static PreparedStatement fakeStatement(int rows) {
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("executeQuery")) {
+                        return fakeResultSet(rows);
+                    }
+                    return null;
+                });
+    }
+
+    private static ResultSet fakeResultSet(int rows) {
+        AtomicInteger remaining = new AtomicInteger(rows);
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("next")) {
+                        return remaining.getAndDecrement() > 0;
+                    }
+                    return null;
+                });
+    }
+}
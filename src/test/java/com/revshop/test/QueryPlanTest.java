@@ -0,0 +1,211 @@
+package com.revshop.test;
+
+import com.revshop.config.DatabaseConfig;
+import com.revshop.dao.*;
+import com.revshop.metrics.QueryMetrics;
+import com.revshop.model.Product;
+import com.revshop.model.RatedProduct;
+import com.revshop.model.RatingStats;
+import com.revshop.model.Review;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the selective DAO reads against the sample data, captures the statements they
+// execute (QueryMetrics statement listener) and EXPLAINs each one with the parameters it
+// was run with. The index named for each call must be a candidate for one of its
+// statements, and no statement may read a table with a full scan while no index could
+// serve it. Which candidate the optimizer picks depends on table statistics, so on the
+// small sample data the chosen key is not asserted. Full listings (getAllProducts,
+// getAllOrders, getAllUsers) scan by design and are not run. The product and unread
+// count caches are cleared first so the DAOs go to the database.
+class QueryPlanTest {
+    private static final int BUYER_ID = 1;     // From sample data
+    private static final int SELLER_ID = 2;
+    private static final int PRODUCT_ID = 1;
+    private static final int ORDER_ID = 1;
+
+    private final ProductDAO productDAO = new ProductDAO();
+    private final OrderDAO orderDAO = new OrderDAO();
+    private final CartDAO cartDAO = new CartDAO();
+    private final NotificationDAO notificationDAO = new NotificationDAO();
+    private final ReviewDAO reviewDAO = new ReviewDAO();
+    private final UserDAO userDAO = new UserDAO();
+    private final SellerDAO sellerDAO = new SellerDAO();
+    private final SalesReportDAO salesReportDAO = new SalesReportDAO();
+
+    // Description -> {index that must be able to serve the call, the call}
+    private Map<String, Object[]> calls() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        Review lastSeen = new Review();
+        lastSeen.setReviewId(Integer.MAX_VALUE);
+        lastSeen.setRating(5);
+        lastSeen.setReviewDate(now);
+        Product ratedProduct = new Product();
+        ratedProduct.setProductId(PRODUCT_ID);
+        RatedProduct lastRated = new RatedProduct(ratedProduct, RatingStats.none(PRODUCT_ID),
+                new BigDecimal("4.5000"));
+
+        Map<String, Object[]> calls = new LinkedHashMap<>();
+        // ProductDAO
+        calls.put("ProductDAO.getProductById", call("PRIMARY", () -> productDAO.getProductById(PRODUCT_ID)));
+        calls.put("ProductDAO.getProductsPage", call("PRIMARY", () -> productDAO.getProductsPage(0, 20)));
+        calls.put("ProductDAO.getProductsBySeller",
+                call("idx_products_seller_active", () -> productDAO.getProductsBySeller(SELLER_ID)));
+        calls.put("ProductDAO.getProductsByCategory",
+                call("idx_products_category_active", () -> productDAO.getProductsByCategory("Electronics")));
+        calls.put("ProductDAO.getLowStockProducts",
+                call("idx_products_seller_active", () -> productDAO.getLowStockProducts(SELLER_ID)));
+        calls.put("ProductDAO.getTopRatedProductsPage",
+                call("idx_rating_stats_avg", () -> productDAO.getTopRatedProductsPage(null, 20)));
+        calls.put("ProductDAO.getTopRatedProductsPage(after)",
+                call("idx_rating_stats_avg", () -> productDAO.getTopRatedProductsPage(lastRated, 20)));
+        // OrderDAO
+        calls.put("OrderDAO.getOrderById", call("PRIMARY", () -> orderDAO.getOrderById(ORDER_ID)));
+        calls.put("OrderDAO.getOrdersByBuyer",
+                call("idx_orders_buyer_date", () -> orderDAO.getOrdersByBuyer(BUYER_ID)));
+        calls.put("OrderDAO.getOrdersByBuyerPage",
+                call("idx_orders_buyer_date", () -> orderDAO.getOrdersByBuyerPage(BUYER_ID, now, 100, 20)));
+        calls.put("OrderDAO.getAllOrdersPage",
+                call("idx_orders_date", () -> orderDAO.getAllOrdersPage(now, 100, 20)));
+        calls.put("OrderDAO.getOrderItems", call("idx_order_items_order", () -> orderDAO.getOrderItems(ORDER_ID)));
+        calls.put("OrderDAO.getOrdersBySeller",
+                call("idx_products_seller_active", () -> orderDAO.getOrdersBySeller(SELLER_ID)));
+        calls.put("OrderDAO.getOrderItemsForSeller",
+                call("idx_order_items_order", () -> orderDAO.getOrderItemsForSeller(ORDER_ID, SELLER_ID)));
+        calls.put("OrderDAO.sellerHasItemsInOrder",
+                call("idx_order_items_order", () -> orderDAO.sellerHasItemsInOrder(ORDER_ID, SELLER_ID)));
+        calls.put("OrderDAO.getTotalSalesForSeller",
+                call("idx_products_seller_active", () -> orderDAO.getTotalSalesForSeller(SELLER_ID)));
+        calls.put("SalesReportDAO.getSalesReport",
+                call("idx_products_seller_active", () -> salesReportDAO.getSalesReport(SELLER_ID)));
+        // CartDAO
+        calls.put("CartDAO.getCartItem", call("unique_cart_item", () -> cartDAO.getCartItem(BUYER_ID, PRODUCT_ID)));
+        calls.put("CartDAO.getCartItems", call("unique_cart_item", () -> cartDAO.getCartItems(BUYER_ID)));
+        // NotificationDAO
+        calls.put("NotificationDAO.getNotificationsPage", call("idx_notifications_user_created",
+                () -> notificationDAO.getNotificationsPage(BUYER_ID, now, 100, 20)));
+        calls.put("NotificationDAO.getUnreadNotificationsByUserId",
+                call("idx_notifications_user_read", () -> notificationDAO.getUnreadNotificationsByUserId(BUYER_ID)));
+        calls.put("NotificationDAO.getUnreadNotificationCount",
+                call("idx_notifications_user_read", () -> notificationDAO.getUnreadNotificationCount(BUYER_ID)));
+        // ReviewDAO
+        calls.put("ReviewDAO.getReviewsPage(NEWEST)", call("idx_reviews_product_date",
+                () -> reviewDAO.getReviewsPage(PRODUCT_ID, Review.SortOrder.NEWEST, lastSeen, 20)));
+        calls.put("ReviewDAO.getReviewsPage(HIGHEST)", call("idx_reviews_product_rating",
+                () -> reviewDAO.getReviewsPage(PRODUCT_ID, Review.SortOrder.HIGHEST, lastSeen, 20)));
+        calls.put("ReviewDAO.getReviewsPage(LOWEST)", call("idx_reviews_product_rating",
+                () -> reviewDAO.getReviewsPage(PRODUCT_ID, Review.SortOrder.LOWEST, null, 20)));
+        calls.put("ReviewDAO.getReviewComment", call("PRIMARY", () -> reviewDAO.getReviewComment(PRODUCT_ID, 1)));
+        calls.put("ReviewDAO.getReviewsByBuyer",
+                call("idx_reviews_buyer_date", () -> reviewDAO.getReviewsByBuyer(BUYER_ID)));
+        calls.put("ReviewDAO.getRatingStats", call("PRIMARY", () -> reviewDAO.getRatingStats(PRODUCT_ID)));
+        // UserDAO / SellerDAO
+        calls.put("UserDAO.getUserByEmail", call("email", () -> userDAO.getUserByEmail("buyer1@example.com")));
+        calls.put("UserDAO.getUserById", call("PRIMARY", () -> userDAO.getUserById(BUYER_ID)));
+        calls.put("SellerDAO.getSellerById", call("PRIMARY", () -> sellerDAO.getSellerById(SELLER_ID)));
+        return calls;
+    }
+
+    @AfterEach
+    void removeListener() {
+        QueryMetrics.getInstance().setStatementListener(null);
+    }
+
+    @Test
+    void testDaoQueriesUseTheirIndexes() throws SQLException {
+        assertTrue(QueryMetrics.getInstance().isEnabled(), "Statements are captured through QueryMetrics");
+        ProductCatalogCache.getInstance().clear();
+        UnreadCountCache.getInstance().clear();
+
+        List<String> failures = new ArrayList<>();
+        try (Connection conn = DatabaseConfig.getInstance().getConnection()) {
+            for (Map.Entry<String, Object[]> entry : calls().entrySet()) {
+                String expectedIndex = (String) entry.getValue()[0];
+                List<Object[]> statements = new ArrayList<>();
+                QueryMetrics.getInstance().setStatementListener(
+                        (sql, parameters) -> statements.add(new Object[] {sql, parameters}));
+                ((Runnable) entry.getValue()[1]).run();
+                QueryMetrics.getInstance().setStatementListener(null);
+
+                if (statements.isEmpty()) {
+                    failures.add(entry.getKey() + ": ran no statement");
+                    continue;
+                }
+                boolean indexCandidate = false;
+                for (Object[] statement : statements) {
+                    @SuppressWarnings("unchecked")
+                    Map<Integer, Object> parameters = (Map<Integer, Object>) statement[1];
+                    indexCandidate |= explain(conn, entry.getKey(), (String) statement[0], parameters, expectedIndex,
+                            failures);
+                }
+                if (!indexCandidate) {
+                    failures.add(entry.getKey() + ": " + expectedIndex + " cannot serve it");
+                }
+            }
+        }
+
+        assertTrue(failures.isEmpty(), "Query plan regressions:\n" + String.join("\n", failures));
+    }
+
+    @Test
+    void testMigrationsRecorded() throws SQLException {
+        try (Connection conn = DatabaseConfig.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT MAX(version) FROM schema_migrations");
+             ResultSet rs = pstmt.executeQuery()) {
+            assertTrue(rs.next());
+            assertTrue(rs.getInt(1) >= 1, "Index pack migration should be applied");
+        }
+    }
+
+    // EXPLAIN one captured statement; records unindexed full scans in failures and
+    // returns whether expectedIndex is a possible key (or the key) for any table
+    private static boolean explain(Connection conn, String call, String sql, Map<Integer, Object> parameters,
+                                   String expectedIndex, List<String> failures) throws SQLException {
+        boolean indexCandidate = false;
+        try (PreparedStatement pstmt = conn.prepareStatement("EXPLAIN " + sql)) {
+            for (Map.Entry<Integer, Object> parameter : parameters.entrySet()) {
+                pstmt.setObject(parameter.getKey(), parameter.getValue());
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    if ("ALL".equals(rs.getString("type")) && rs.getString("possible_keys") == null) {
+                        failures.add(call + ": full scan of " + rs.getString("table") + " in " + sql);
+                    }
+                    indexCandidate |= expectedIndex.equals(rs.getString("key")) ||
+                            hasKey(rs.getString("possible_keys"), expectedIndex);
+                }
+            }
+        }
+        return indexCandidate;
+    }
+
+    // possible_keys is a comma separated list, or null
+    private static boolean hasKey(String possibleKeys, String index) {
+        if (possibleKeys == null) {
+            return false;
+        }
+        for (String key : possibleKeys.split(",")) {
+            if (key.trim().equals(index)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Object[] call(String expectedIndex, Runnable call) {
+        return new Object[] {expectedIndex, call};
+    }
+}
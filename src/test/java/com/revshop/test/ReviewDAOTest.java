@@ -0,0 +1,146 @@
+package com.revshop.test;
+
+import com.revshop.dao.OrderDAO;
+import com.revshop.dao.ProductDAO;
+import com.revshop.dao.ReviewDAO;
+import com.revshop.model.*;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReviewDAOTest {
+    private static ReviewDAO reviewDAO;
+    private static ProductDAO productDAO;
+    private static TestFixture fixture;
+    private static int testProductId;
+    private static int testBuyerId;
+    private static int testOrderId;
+
+    @BeforeAll
+    static void setUp() {
+        reviewDAO = new ReviewDAO();
+        productDAO = new ProductDAO();
+        fixture = new TestFixture("Review");
+        testProductId = fixture.createProduct("Rated Item", "9.00", 10);
+        testBuyerId = fixture.createBuyer();
+
+        Order order = new Order(testBuyerId, new BigDecimal("9.00"), "1 Test St", "1 Test St");
+        order.setOrderItems(new ArrayList<>());
+        assertTrue(new OrderDAO().createOrder(order), "Should create review order");
+        testOrderId = order.getOrderId();
+    }
+
+    @Test
+    void testStatsFollowCreateUpdateAndDelete() {
+        assertEquals(0, reviewDAO.getRatingStats(testProductId).getCount());
+
+        List<Review> reviews = new ArrayList<>();
+        for (int rating : new int[] {5, 4, 4, 1}) {
+            Review review = new Review(testProductId, testBuyerId, testOrderId, rating, "Rated " + rating);
+            assertTrue(reviewDAO.createReview(review));
+            reviews.add(review);
+        }
+        RatingStats stats = reviewDAO.getRatingStats(testProductId);
+        assertEquals(4, stats.getCount());
+        assertEquals(14, stats.getSum());
+        assertEquals(3.5, stats.getAverage(), 0.0001);
+        assertEquals(2, stats.getStarCount(4));
+        assertEquals(1, stats.getStarCount(1));
+
+        // 1 -> 3 moves the review between stars
+        Review changed = reviews.get(3);
+        changed.setRating(3);
+        assertTrue(reviewDAO.updateReview(changed));
+        stats = reviewDAO.getRatingStats(testProductId);
+        assertEquals(4, stats.getCount());
+        assertEquals(16, stats.getSum());
+        assertEquals(0, stats.getStarCount(1));
+        assertEquals(1, stats.getStarCount(3));
+
+        assertTrue(reviewDAO.deleteReview(reviews.get(0).getReviewId()));
+        stats = reviewDAO.getRatingStats(testProductId);
+        assertEquals(3, stats.getCount());
+        assertEquals(11, stats.getSum());
+        assertEquals(0, stats.getStarCount(5));
+
+        assertFalse(reviewDAO.deleteReview(reviews.get(0).getReviewId()), "Already deleted");
+        assertEquals(3, reviewDAO.getRatingStats(testProductId).getCount());
+
+        List<RatedProduct> topRated = new ArrayList<>();
+        Page<RatedProduct> page = productDAO.getTopRatedProductsPage(null, 2);
+        while (true) {
+            topRated.addAll(page.getItems());
+            if (!page.hasMore()) {
+                break;
+            }
+            page = productDAO.getTopRatedProductsPage(page.getLast(), 2);
+        }
+        assertTrue(topRated.stream().anyMatch(r -> r.getProduct().getProductId() == testProductId));
+        assertEquals(topRated.size(), topRated.stream().map(r -> r.getProduct().getProductId()).distinct().count(),
+                "No product on two pages");
+        for (int i = 1; i < topRated.size(); i++) {
+            RatingStats previous = topRated.get(i - 1).getRatingStats();
+            RatingStats current = topRated.get(i).getRatingStats();
+            assertTrue(previous.getAverage() >= current.getAverage(), "Highest average first");
+            assertEquals(0, BigDecimal.valueOf(current.getSum())
+                    .divide(BigDecimal.valueOf(current.getCount()), 4, RoundingMode.HALF_UP)
+                    .compareTo(topRated.get(i).getRatingAverage()), "Stored average matches the stats");
+        }
+    }
+
+    @Test
+    void testFeedPagesInEveryOrderAndTruncatesComments() {
+        int productId = fixture.createProduct("Feed Item", "9.00", 10);
+
+        String longComment = "x".repeat(ReviewDAO.COMMENT_PREVIEW_LENGTH + 50);
+        int[] ratings = {3, 5, 1, 5, 2};
+        for (int rating : ratings) {
+            String comment = rating == 1 ? longComment : "Rated " + rating;
+            assertTrue(reviewDAO.createReview(new Review(productId, testBuyerId, testOrderId, rating, comment)));
+        }
+
+        for (Review.SortOrder sort : Review.SortOrder.values()) {
+            List<Review> all = new ArrayList<>();
+            Page<Review> page = reviewDAO.getReviewsPage(productId, sort, null, 2);
+            while (true) {
+                all.addAll(page.getItems());
+                if (!page.hasMore()) {
+                    break;
+                }
+                page = reviewDAO.getReviewsPage(productId, sort, page.getLast(), 2);
+            }
+
+            assertEquals(ratings.length, all.size(), sort + " should return every review once");
+            assertEquals(ratings.length, all.stream().mapToInt(Review::getReviewId).distinct().count());
+            for (int i = 1; i < all.size(); i++) {
+                Review previous = all.get(i - 1);
+                Review current = all.get(i);
+                if (sort == Review.SortOrder.HIGHEST) {
+                    assertTrue(previous.getRating() >= current.getRating(), "Highest rating first");
+                } else if (sort == Review.SortOrder.LOWEST) {
+                    assertTrue(previous.getRating() <= current.getRating(), "Lowest rating first");
+                } else {
+                    assertFalse(previous.getReviewDate().before(current.getReviewDate()), "Newest first");
+                }
+            }
+        }
+
+        Review truncated = reviewDAO.getReviewsPage(productId, Review.SortOrder.LOWEST, null, 1).getItems().get(0);
+        assertTrue(truncated.isCommentTruncated());
+        assertEquals(ReviewDAO.COMMENT_PREVIEW_LENGTH, truncated.getComment().length());
+        assertEquals(longComment, reviewDAO.getReviewComment(productId, truncated.getReviewId()));
+        assertNull(reviewDAO.getReviewComment(testProductId, truncated.getReviewId()), "Other product's review");
+    }
+
+    @AfterAll
+    static void cleanUp() {
+        fixture.cleanUp();
+    }
+}
@@ -0,0 +1,63 @@
+package com.revshop.test;
+
+import com.revshop.model.Buyer;
+import com.revshop.model.ServiceResult;
+import com.revshop.model.User;
+import com.revshop.service.SessionContext;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionContextTest {
+
+    @Test
+    void testAnonymousSession() {
+        SessionContext session = new SessionContext();
+        assertFalse(session.isLoggedIn());
+        assertFalse(session.isBuyer());
+        assertFalse(session.isSeller());
+        assertThrows(IllegalStateException.class, session::getUserId);
+    }
+
+    @Test
+    void testLoginAndLogout() {
+        User buyer = new Buyer("buyer@example.com", "Password1", "Ann", "Lee", "1234567890", "1 Main St");
+        buyer.setUserId(42);
+
+        SessionContext session = new SessionContext();
+        session.setUser(buyer);
+        assertTrue(session.isBuyer());
+        assertFalse(session.isSeller());
+        assertEquals(42, session.getUserId());
+
+        session.clear();
+        assertFalse(session.isLoggedIn());
+    }
+
+    @Test
+    void testSessionsAreIndependent() {
+        User first = new User("a@example.com", "Password1", "A", "A", "1234567890", "", User.UserType.BUYER);
+        first.setUserId(1);
+        User second = new User("b@example.com", "Password1", "B", "B", "1234567890", "", User.UserType.SELLER);
+        second.setUserId(2);
+
+        SessionContext buyerSession = new SessionContext(first);
+        SessionContext sellerSession = new SessionContext(second);
+        assertEquals(1, buyerSession.getUserId());
+        assertEquals(2, sellerSession.getUserId());
+        assertTrue(sellerSession.isSeller());
+    }
+
+    @Test
+    void testServiceResult() {
+        ServiceResult<Integer> ok = ServiceResult.ok(7);
+        assertTrue(ok.isSuccess());
+        assertEquals(7, ok.getValue());
+        assertNull(ok.getMessage());
+
+        ServiceResult<Integer> failed = ServiceResult.fail("Product not found!");
+        assertFalse(failed.isSuccess());
+        assertNull(failed.getValue());
+        assertEquals("Product not found!", failed.getMessage());
+    }
+}
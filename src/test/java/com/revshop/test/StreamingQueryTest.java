@@ -0,0 +1,67 @@
+package com.revshop.test;
+
+import com.revshop.dao.OrderDAO;
+import com.revshop.dao.ProductDAO;
+import com.revshop.dao.UserDAO;
+import com.revshop.metrics.PoolMetrics;
+import com.revshop.model.Order;
+import com.revshop.model.Product;
+import com.revshop.model.User;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingQueryTest {
+    private static ProductDAO productDAO;
+    private static UserDAO userDAO;
+    private static OrderDAO orderDAO;
+
+    @BeforeAll
+    static void setUp() {
+        productDAO = new ProductDAO();
+        userDAO = new UserDAO();
+        orderDAO = new OrderDAO();
+    }
+
+    @Test
+    void testStreamedProductsMatchList() {
+        List<Integer> listed = productDAO.getAllProducts().stream()
+                .map(Product::getProductId).collect(Collectors.toList());
+        try (Stream<Product> products = productDAO.streamAllProducts()) {
+            assertEquals(listed, products.map(Product::getProductId).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void testStreamedUsersMatchList() {
+        int listed = userDAO.getAllUsers().size();
+        try (Stream<User> users = userDAO.streamAllUsers()) {
+            assertEquals(listed, users.count());
+        }
+    }
+
+    @Test
+    void testEarlyCloseReleasesConnection() {
+        PoolMetrics pool = PoolMetrics.getInstance();
+        int activeBefore = pool.getActiveConnections();
+
+        try (Stream<Order> orders = orderDAO.streamAllOrders()) {
+            orders.findFirst();
+            assertEquals(activeBefore + 1, pool.getActiveConnections(), "An open stream holds its connection");
+        }
+        assertEquals(activeBefore, pool.getActiveConnections(), "Closing the stream returns its connection");
+
+        // Abandoning streams part-way must not leak a connection each
+        for (int i = 0; i < 50; i++) {
+            try (Stream<Product> products = productDAO.streamAllProducts()) {
+                products.findFirst();
+            }
+        }
+        assertEquals(activeBefore, pool.getActiveConnections());
+    }
+}
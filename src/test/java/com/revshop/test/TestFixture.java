@@ -0,0 +1,63 @@
+package com.revshop.test;
+
+import com.revshop.dao.CartDAO;
+import com.revshop.dao.ProductDAO;
+import com.revshop.dao.UserDAO;
+import com.revshop.model.Product;
+import com.revshop.model.User;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Products and buyers a DAO test creates for itself. Products belong to the sample data
+// seller; buyers get a unique email. Create one per test class in @BeforeAll and call
+// cleanUp() from @AfterAll, which empties the buyers' carts and deactivates every row
+// created here.
+final class TestFixture {
+    static final int SELLER_ID = 2; // From sample data
+
+    private final String name;
+    private final ProductDAO productDAO = new ProductDAO();
+    private final UserDAO userDAO = new UserDAO();
+    private final CartDAO cartDAO = new CartDAO();
+    private final List<Integer> productIds = new ArrayList<>();
+    private final List<Integer> buyerIds = new ArrayList<>();
+
+    // name labels the rows, e.g. "Cart" gives cart_test_...@test.com
+    TestFixture(String name) {
+        this.name = name;
+    }
+
+    // New product of the sample seller at the given price (no discount); returns its ID
+    int createProduct(String productName, String price, int stock) {
+        Product product = new Product(SELLER_ID, productName, "JUnit " + name.toLowerCase() + " product",
+                "Test", new BigDecimal(price), new BigDecimal(price), stock);
+        assertTrue(productDAO.createProduct(product), "Should create " + productName);
+        productIds.add(product.getProductId());
+        return product.getProductId();
+    }
+
+    // New buyer; returns its user ID
+    int createBuyer() {
+        User buyer = new User(name.toLowerCase() + "_test_" + System.nanoTime() + "@test.com", "TestPass123",
+                name, "Test", "5551234567", "1 Test St", User.UserType.BUYER);
+        assertTrue(userDAO.createUser(buyer), "Should create " + name.toLowerCase() + " buyer");
+        buyerIds.add(buyer.getUserId());
+        return buyer.getUserId();
+    }
+
+    void cleanUp() {
+        for (int buyerId : buyerIds) {
+            cartDAO.clearCart(buyerId);
+            userDAO.deleteUser(buyerId);
+        }
+        for (int productId : productIds) {
+            productDAO.deleteProduct(productId);
+        }
+        buyerIds.clear();
+        productIds.clear();
+    }
+}
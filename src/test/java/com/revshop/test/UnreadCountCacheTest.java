@@ -0,0 +1,121 @@
+package com.revshop.test;
+
+import com.revshop.dao.UnreadCountCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnreadCountCacheTest {
+    private UnreadCountCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UnreadCountCache(100, true);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testLoadsOnceThenServesFromCache() {
+        assertEquals(3, cache.get(1, this::loadThree));
+        assertEquals(3, cache.get(1, this::loadThree));
+        assertEquals(1, loads.get(), "Second read should not hit the table");
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void testUpdatesAdjustCachedCount() {
+        cache.get(1, this::loadThree);
+
+        cache.beginUpdate(1);
+        cache.endUpdate(1, 1);
+        assertEquals(4, cache.get(1, this::loadThree));
+
+        cache.beginUpdate(1);
+        cache.endUpdate(1, -4);
+        assertEquals(0, cache.get(1, this::loadThree));
+
+        cache.beginUpdate(1);
+        cache.endUpdate(1, -1);
+        assertEquals(0, cache.get(1, this::loadThree), "Count should never go negative");
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testLoadDuringUpdateIsNotCached() {
+        cache.beginUpdate(1);
+        assertEquals(3, cache.get(1, this::loadThree));
+        cache.endUpdate(1, 1);
+
+        // The first load may or may not have seen the write, so it must not have been kept
+        assertEquals(3, cache.get(1, this::loadThree));
+        assertEquals(2, loads.get());
+        assertEquals(3, cache.get(1, this::loadThree));
+        assertEquals(2, loads.get(), "Load after the write ended should be cached");
+    }
+
+    @Test
+    void testUpdateStartedDuringLoadIsNotLost() {
+        int count = cache.get(1, userId -> {
+            loads.incrementAndGet();
+            // A notification arrives while the count query runs
+            cache.beginUpdate(userId);
+            cache.endUpdate(userId, 1);
+            return 3;
+        });
+        assertEquals(3, count);
+        assertEquals(7, cache.get(1, userId -> 7), "Racing load should not have been cached");
+    }
+
+    @Test
+    void testLoadErrorIsNotCached() {
+        assertEquals(0, cache.get(1, userId -> -1));
+        assertEquals(3, cache.get(1, this::loadThree));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testReconcileCorrectsDriftAndDropsIdleUsers() {
+        cache.get(1, this::loadThree);
+        cache.get(2, this::loadThree);
+        cache.reconcile(userIds -> counts(1, 3, 2, 3)); // Marks both idle
+        cache.get(1, this::loadThree);
+
+        Map<Integer, Integer> actual = counts(1, 5, 2, 3);
+        assertEquals(1, cache.reconcile(userIds -> {
+            assertEquals(Collections.singletonList(1), userIds, "Only recently read users are recounted");
+            return actual;
+        }));
+        assertEquals(5, cache.get(1, this::loadThree));
+        assertEquals(1, cache.getUserCount(), "Idle user should be dropped");
+        assertEquals(1, cache.getCorrectionCount());
+    }
+
+    @Test
+    void testDisabledCacheAlwaysLoads() {
+        UnreadCountCache disabled = new UnreadCountCache(100, false);
+        disabled.get(1, this::loadThree);
+        disabled.get(1, this::loadThree);
+        assertEquals(2, loads.get());
+        assertEquals(0, disabled.getUserCount());
+    }
+
+    private int loadThree(int userId) {
+        loads.incrementAndGet();
+        return 3;
+    }
+
+    private static Map<Integer, Integer> counts(int user1, int count1, int user2, int count2) {
+        Map<Integer, Integer> counts = new HashMap<>();
+        counts.put(user1, count1);
+        counts.put(user2, count2);
+        return counts;
+    }
+}
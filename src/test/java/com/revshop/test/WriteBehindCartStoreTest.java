@@ -0,0 +1,200 @@
+package com.revshop.test;
+
+import com.revshop.cart.WriteBehindCartStore;
+import com.revshop.dao.CartDAO;
+import com.revshop.dao.ProductDAO;
+import com.revshop.model.CartItem;
+import com.revshop.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindCartStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private RecordingCartDAO cartDAO;
+    private WriteBehindCartStore store;
+
+    // Keeps the cart table in memory and records every batch written to it
+    private static class RecordingCartDAO extends CartDAO {
+        final Map<Integer, Map<Integer, Integer>> table = new HashMap<>();
+        final List<Map<Integer, Map<Integer, Integer>>> batches = new ArrayList<>();
+        final List<Set<Integer>> clears = new ArrayList<>();
+        boolean failing;
+
+        @Override
+        public synchronized List<CartItem> getCartLines(int buyerId) {
+            List<CartItem> lines = new ArrayList<>();
+            for (Map.Entry<Integer, Integer> line : table.getOrDefault(buyerId, Map.of()).entrySet()) {
+                CartItem item = new CartItem(buyerId, line.getKey(), line.getValue());
+                item.setAddedAt(new Timestamp(0));
+                lines.add(item);
+            }
+            return lines;
+        }
+
+        @Override
+        public synchronized boolean applyCartChanges(Collection<Integer> clearedBuyerIds, List<CartItem> lines) {
+            clears.add(new HashSet<>(clearedBuyerIds));
+            Map<Integer, Map<Integer, Integer>> batch = new HashMap<>();
+            for (CartItem line : lines) {
+                batch.computeIfAbsent(line.getBuyerId(), id -> new HashMap<>())
+                        .put(line.getProductId(), line.getQuantity());
+            }
+            batches.add(batch);
+            if (failing) {
+                return false;
+            }
+            for (int buyerId : clearedBuyerIds) {
+                table.remove(buyerId);
+            }
+            for (CartItem line : lines) {
+                Map<Integer, Integer> cart = table.computeIfAbsent(line.getBuyerId(), id -> new LinkedHashMap<>());
+                if (line.getQuantity() > 0) {
+                    cart.put(line.getProductId(), line.getQuantity());
+                } else {
+                    cart.remove(line.getProductId());
+                }
+            }
+            return true;
+        }
+    }
+
+    // Products 1-9 with 100 in stock
+    private static class StockedProductDAO extends ProductDAO {
+        @Override
+        public Product getProductById(int productId) {
+            if (productId < 1 || productId > 9) {
+                return null;
+            }
+            Product product = new Product(1, "Product " + productId, "", "Test", new BigDecimal("5.00"),
+                    new BigDecimal("5.00"), 100);
+            product.setProductId(productId);
+            return product;
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        cartDAO = new RecordingCartDAO();
+        store = new WriteBehindCartStore(cartDAO, new StockedProductDAO(), directory, false, 1000, 500, 1800);
+    }
+
+    @Test
+    void testChangesToALineCoalesceIntoOneRow() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(store.add(new CartItem(7, 1, 1)));
+        }
+        store.add(new CartItem(7, 2, 3));
+        store.remove(7, 2);
+        assertTrue(cartDAO.batches.isEmpty(), "Nothing is written before a flush");
+
+        store.flush();
+        assertEquals(1, cartDAO.batches.size());
+        assertEquals(Map.of(7, Map.of(1, 10, 2, 0)), cartDAO.batches.get(0));
+        assertEquals(Map.of(1, 10), cartDAO.table.get(7));
+        assertEquals(2, store.getFlushedLineCount());
+
+        store.flush();
+        assertEquals(1, cartDAO.batches.size(), "A flush without changes writes nothing");
+    }
+
+    @Test
+    void testFlushSplitsIntoBatches() throws Exception {
+        store = new WriteBehindCartStore(cartDAO, new StockedProductDAO(), directory.resolve("batched"), false,
+                1000, 2, 1800);
+        for (int buyerId = 1; buyerId <= 5; buyerId++) {
+            store.add(new CartItem(buyerId, 1, 1));
+        }
+        store.flush();
+        assertEquals(3, cartDAO.batches.size(), "Five carts of one line in batches of two rows");
+        assertEquals(5, cartDAO.table.size());
+    }
+
+    @Test
+    void testFailedFlushIsRetriedWithoutLosingNewerChanges() {
+        store.add(new CartItem(7, 1, 2));
+        store.add(new CartItem(7, 2, 1));
+        cartDAO.failing = true;
+        store.flush();
+        assertTrue(cartDAO.table.isEmpty());
+        assertEquals(1, store.getDirtyCartCount(), "The failed changes are put back");
+
+        // Made while the batch was failing: must win over the restored quantity
+        store.updateQuantity(7, 1, 4);
+        cartDAO.failing = false;
+        store.flush();
+        assertEquals(Map.of(1, 4, 2, 1), cartDAO.table.get(7));
+        assertEquals(0, store.getDirtyCartCount());
+    }
+
+    @Test
+    void testCheckoutClearsCartAndWritesAtOnce() {
+        store.add(new CartItem(7, 1, 2));
+        store.flush();
+        store.add(new CartItem(7, 3, 1));
+
+        store.checkedOut(7);
+        assertEquals(Set.of(7), cartDAO.clears.get(cartDAO.clears.size() - 1));
+        assertFalse(cartDAO.table.containsKey(7), "Written without waiting for the next flush");
+        assertTrue(store.getItems(7).isEmpty());
+        assertEquals(0, store.getDirtyCartCount());
+    }
+
+    @Test
+    void testIdleCartIsDroppedAndReloaded() throws Exception {
+        store = new WriteBehindCartStore(cartDAO, new StockedProductDAO(), directory.resolve("idle"), false,
+                1000, 500, 0);
+        store.add(new CartItem(7, 1, 2));
+        Thread.sleep(5);
+        store.flush();
+        assertEquals(0, store.getLiveCartCount(), "Flushed and idle");
+
+        List<CartItem> items = store.getItems(7);
+        assertEquals(1, items.size());
+        assertEquals(2, items.get(0).getQuantity());
+        assertEquals(1, store.getLiveCartCount());
+    }
+
+    @Test
+    void testJournalIsReplayedAtStart() throws Exception {
+        store.add(new CartItem(7, 1, 2));
+        store.add(new CartItem(8, 1, 1));
+        store.checkedOut(8);
+        int batchesBeforeCrash = cartDAO.batches.size();
+        // No flush and no stop: the process dies here
+
+        RecordingCartDAO restarted = new RecordingCartDAO();
+        restarted.table.putAll(cartDAO.table);
+        new WriteBehindCartStore(restarted, new StockedProductDAO(), directory, false, 1000, 500, 1800);
+        assertEquals(1, batchesBeforeCrash);
+        assertEquals(Map.of(1, 2), restarted.table.get(7));
+        assertFalse(restarted.table.containsKey(8));
+    }
+
+    @Test
+    void testStartFailsIfJournalCannotBeReplayed() {
+        store.add(new CartItem(7, 1, 2));
+
+        RecordingCartDAO down = new RecordingCartDAO();
+        down.failing = true;
+        assertThrows(IllegalStateException.class, () ->
+                new WriteBehindCartStore(down, new StockedProductDAO(), directory, false, 1000, 500, 1800));
+    }
+}